@@ -0,0 +1,6 @@
+package com.placehub.DTO;
+
+/**
+ * DTO for a category of the taxonomy.
+ */
+public record CategoryResponse(short code, String slug, String name, Short parentCode) {}
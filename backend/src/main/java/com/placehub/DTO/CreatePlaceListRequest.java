@@ -0,0 +1,30 @@
+package com.placehub.DTO;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for place list creation requests.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreatePlaceListRequest {
+
+    @NotBlank(message = "List name is required")
+    @Size(max = 255, message = "List name must be at most 255 characters")
+    private String name;
+
+    private String description;
+
+    private String coverImageUrl;
+
+    private Boolean isPublic;
+}
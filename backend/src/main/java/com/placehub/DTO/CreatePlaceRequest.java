@@ -0,0 +1,55 @@
+package com.placehub.DTO;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for place creation requests.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreatePlaceRequest {
+
+    @NotBlank(message = "Place name is required")
+    private String name;
+
+    @NotBlank(message = "Category is required")
+    private String category;
+
+    @NotNull(message = "Latitude is required")
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @NotNull(message = "Longitude is required")
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
+    private String streetAddress;
+
+    private String city;
+
+    private String state;
+
+    private String country;
+
+    private String postalCode;
+
+    private String formattedAddress;
+
+    private String googlePlaceId;
+
+    // Create the place even if a near-duplicate exists
+    private boolean skipDuplicateCheck;
+}
@@ -0,0 +1,46 @@
+package com.placehub.DTO;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.placehub.util.PageCursor;
+
+/**
+ * DTO for one page of a keyset-paginated collection.
+ *
+ * @param items      the items of this page
+ * @param nextCursor the cursor for the next page, or null if this is the last page
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    /**
+     * Clamps a requested page size to [1, MAX_LIMIT].
+     */
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}: the extra row only tells
+     * that there is a next page.
+     *
+     * @param rows  up to limit + 1 rows in collection order
+     * @param limit the page size
+     * @param keyOf the cursor position of a row
+     * @return the page
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, ? extends PageCursor> keyOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, keyOf.apply(items.get(limit - 1)).encode());
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+}
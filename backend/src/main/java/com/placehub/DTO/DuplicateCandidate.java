@@ -0,0 +1,10 @@
+package com.placehub.DTO;
+
+/**
+ * An existing place that looks like a duplicate of the one being created.
+ *
+ * @param placeId        the existing place id
+ * @param distanceMeters distance between the two places
+ * @param score          combined similarity between 0 and 1
+ */
+public record DuplicateCandidate(Long placeId, double distanceMeters, double score) {}
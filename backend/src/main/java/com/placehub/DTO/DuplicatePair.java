@@ -0,0 +1,11 @@
+package com.placehub.DTO;
+
+/**
+ * Two existing places found to be near-duplicates by a batch scan.
+ * The place with the higher id is suggested to be merged into the older one.
+ *
+ * @param placeId     the newer place, to be merged away
+ * @param duplicateOf the older place, to keep
+ * @param score       combined similarity between 0 and 1
+ */
+public record DuplicatePair(Long placeId, Long duplicateOf, double score) {}
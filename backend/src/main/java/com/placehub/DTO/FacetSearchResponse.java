@@ -0,0 +1,30 @@
+package com.placehub.DTO;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO returned by faceted searches over places or saved places.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetSearchResponse {
+
+    // Number of matching places or saved places
+    private long total;
+
+    // Ids of the first matches, ascending
+    private List<Long> ids;
+
+    // Per facet (category, city, ...), the number of results for each value, most frequent first
+    private Map<String, Map<String, Integer>> facets;
+}
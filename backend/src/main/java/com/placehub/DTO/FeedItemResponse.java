@@ -0,0 +1,34 @@
+package com.placehub.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for a feed entry: a place saved by a followed user into a public list.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedItemResponse {
+
+    private Long savedPlaceId;
+
+    private UserDTO user;
+
+    private Long placeListId;
+
+    private String placeListName;
+
+    private String note;
+
+    private PlaceResponse place;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,27 @@
+package com.placehub.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for the follow counts of a user, as seen by the current user.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FollowStatsResponse {
+
+    private Long userId;
+
+    private long followerCount;
+
+    private long followingCount;
+
+    // Whether the current user follows this user
+    private boolean followedByMe;
+}
@@ -0,0 +1,23 @@
+package com.placehub.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for a user suggested to follow.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FollowSuggestionResponse {
+
+    private UserDTO user;
+
+    // Number of users followed by the current user who follow this user
+    private int mutualFollowCount;
+}
@@ -0,0 +1,30 @@
+package com.placehub.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for a place saved near a location by users the current user follows.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FollowingSavedPlaceResponse {
+
+    private PlaceResponse place;
+
+    private double distanceMeters;
+
+    // Number of followed users who saved the place in a public list
+    private int savedByCount;
+
+    // A few of them
+    private List<UserDTO> savedBy;
+}
@@ -0,0 +1,22 @@
+package com.placehub.DTO;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for forking a place list; a null name keeps the name of the source list.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ForkPlaceListRequest {
+
+    @Size(max = 255, message = "List name must be at most 255 characters")
+    private String name;
+}
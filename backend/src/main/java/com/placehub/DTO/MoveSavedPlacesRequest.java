@@ -0,0 +1,32 @@
+package com.placehub.DTO;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for moving saved places within their list: the saved places are placed, in the
+ * given order, directly after afterId, or at the top of the list if afterId is null.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MoveSavedPlacesRequest {
+
+    @NotEmpty(message = "At least one saved place is required")
+    @Size(max = 1000, message = "At most 1000 saved places per request")
+    private List<Long> savedPlaceIds;
+
+    private Long afterId;
+
+    // Version of the list the client last saw; the write is rejected if the list has changed since
+    private Long expectedVersion;
+}
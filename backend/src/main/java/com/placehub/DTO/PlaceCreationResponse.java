@@ -0,0 +1,29 @@
+package com.placehub.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO returned when creating a place.
+ * If the request matched an existing place closely enough, that place is returned
+ * with linkedToExisting set instead of creating a new row.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaceCreationResponse {
+
+    private PlaceResponse place;
+
+    private boolean linkedToExisting;
+
+    // Other existing places that look similar, best first
+    private List<DuplicateCandidate> possibleDuplicates;
+}
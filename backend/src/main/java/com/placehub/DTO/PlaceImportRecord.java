@@ -0,0 +1,47 @@
+package com.placehub.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * One place row read from a bulk import file (NDJSON object or CSV line).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PlaceImportRecord(
+        String name,
+        String category,
+        Double latitude,
+        Double longitude,
+        String streetAddress,
+        String city,
+        String state,
+        String country,
+        String postalCode,
+        String formattedAddress,
+        String googlePlaceId
+) {
+
+    /**
+     * Checks the record against the same rules as the Place entity.
+     *
+     * @return the rejection reason, or null if the record is valid
+     */
+    public String validate() {
+        if (name == null || name.isBlank()) {
+            return "Place name is required";
+        }
+        if (category == null || category.isBlank()) {
+            return "Category is required";
+        }
+        if (latitude == null || latitude < -90 || latitude > 90) {
+            return "Latitude is missing or out of range";
+        }
+        if (longitude == null || longitude < -180 || longitude > 180) {
+            return "Longitude is missing or out of range";
+        }
+        return null;
+    }
+
+    public boolean hasGooglePlaceId() {
+        return googlePlaceId != null && !googlePlaceId.isBlank();
+    }
+}
@@ -0,0 +1,49 @@
+package com.placehub.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO summarising the outcome of a bulk place import.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaceImportReport {
+
+    private String format;
+
+    private long rowsRead;
+
+    private long rowsWritten;
+
+    // Rows sharing a googlePlaceId with a later row of the same batch, or unkeyed rows
+    // matching an earlier unkeyed row of it
+    private long duplicatesCollapsed;
+
+    // Rows without googlePlaceId matched to an existing near-duplicate and skipped
+    private long linkedToExisting;
+
+    private long rowsRejected;
+
+    private long batches;
+
+    private long elapsedMillis;
+
+    private double rowsPerSecond;
+
+    // First rejections only, the full count is in rowsRejected
+    private List<RejectedRow> rejects;
+
+    /**
+     * A rejected input row.
+     */
+    public record RejectedRow(long line, String reason) {}
+}
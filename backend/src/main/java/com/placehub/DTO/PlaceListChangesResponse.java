@@ -0,0 +1,33 @@
+package com.placehub.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for the changes of a place list since a version. When full is true, items holds the
+ * whole list and the client must drop the items it has; otherwise items holds the inserted
+ * or updated items and deletedIds the removed ones. Clients order items by rank.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaceListChangesResponse {
+
+    private PlaceListResponse list;
+
+    // The version the response brings the client to
+    private long version;
+
+    private boolean full;
+
+    private List<SavedPlaceResponse> items;
+
+    private List<Long> deletedIds;
+}
@@ -0,0 +1,27 @@
+package com.placehub.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for returning a place list with one page of its saved places.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaceListDetailResponse {
+
+    private PlaceListResponse list;
+
+    private List<SavedPlaceResponse> items;
+
+    // Cursor for the next page of items, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,44 @@
+package com.placehub.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for returning a place list without its items.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaceListResponse {
+
+    private Long id;
+
+    private String name;
+
+    private String description;
+
+    private String coverImageUrl;
+
+    private Boolean isPublic;
+
+    private UserDTO owner;
+
+    // Incremented on every change; the starting point for delta sync
+    private Long version;
+
+    // The list this one was forked from, if any
+    private Long forkedFromId;
+
+    private PlaceListSummaryResponse summary;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,42 @@
+package com.placehub.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for returning the aggregates of a place list's items.
+ * Rating, bounds and center are null when no item contributes to them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaceListSummaryResponse {
+
+    private long itemCount;
+
+    private long visitedCount;
+
+    private Double averageRating;
+
+    private Double minLatitude;
+
+    private Double maxLatitude;
+
+    private Double minLongitude;
+
+    private Double maxLongitude;
+
+    private Double centerLatitude;
+
+    private Double centerLongitude;
+
+    private long forkCount;
+
+    // Image of the most recently saved item that has one
+    private String thumbnailUrl;
+}
@@ -0,0 +1,80 @@
+package com.placehub.DTO;
+
+import java.time.LocalDateTime;
+
+import com.placehub.entity.Place;
+import com.placehub.entity.PlaceSource;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for returning a place.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaceResponse {
+
+    private Long id;
+
+    private String name;
+
+    private String category;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private String streetAddress;
+
+    private String city;
+
+    private String state;
+
+    private String country;
+
+    private String postalCode;
+
+    private String formattedAddress;
+
+    private String googlePlaceId;
+
+    private PlaceSource source;
+
+    private Long createdById;
+
+    private LocalDateTime createdAt;
+
+    /**
+     * Maps a place entity without initialising any lazy association.
+     *
+     * @param place    the place
+     * @param category the slug of the place's category code
+     * @return the response DTO
+     */
+    public static PlaceResponse from(Place place, String category) {
+        return PlaceResponse.builder()
+                .id(place.getId())
+                .name(place.getName())
+                .category(category)
+                .latitude(place.getLatitude())
+                .longitude(place.getLongitude())
+                .streetAddress(place.getStreetAddress())
+                .city(place.getCity())
+                .state(place.getState())
+                .country(place.getCountry())
+                .postalCode(place.getPostalCode())
+                .formattedAddress(place.getFormattedAddress())
+                .googlePlaceId(place.getGooglePlaceId())
+                .source(place.getSource())
+                .createdById(place.getCreatedBy() != null ? place.getCreatedBy().getId() : null)
+                .createdAt(place.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.placehub.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for the counts and rating aggregates of a place.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaceStatsResponse {
+
+    private Long placeId;
+
+    // Number of lists the place is saved in
+    private long saveCount;
+
+    // Number of saved entries with a rating
+    private long ratingCount;
+
+    // Null when the place has no rating
+    private Double averageRating;
+
+    // Number of entries rated 1 to 5, at indexes 0 to 4
+    private List<Long> ratingHistogram;
+
+    // Number of saved entries marked as visited
+    private long visitedCount;
+}
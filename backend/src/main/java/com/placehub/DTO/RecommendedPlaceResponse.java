@@ -0,0 +1,26 @@
+package com.placehub.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for a recommended place.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecommendedPlaceResponse {
+
+    private PlaceResponse place;
+
+    // Cosine similarity of list memberships, summed over the places recommended from
+    private double score;
+
+    // Number of public lists in which the place was saved together with them
+    private int sharedListCount;
+}
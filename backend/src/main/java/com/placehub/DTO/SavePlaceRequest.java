@@ -0,0 +1,44 @@
+package com.placehub.DTO;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for saving a place into a list.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SavePlaceRequest {
+
+    @NotNull(message = "Place id is required")
+    private Long placeId;
+
+    @Size(max = 1000, message = "Note must be at most 1000 characters")
+    private String note;
+
+    private String imageUrl;
+
+    @Size(max = 50, message = "At most 50 tags per saved place")
+    private List<String> tags;
+
+    @Min(value = 1, message = "Rating must be between 1 and 5")
+    @Max(value = 5, message = "Rating must be between 1 and 5")
+    private Integer rating;
+
+    private Boolean visited;
+
+    // Version of the list the client last saw; the write is rejected if the list has changed since
+    private Long expectedVersion;
+}
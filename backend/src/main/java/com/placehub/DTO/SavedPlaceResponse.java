@@ -0,0 +1,43 @@
+package com.placehub.DTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for returning a saved place with its place.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SavedPlaceResponse {
+
+    private Long id;
+
+    private PlaceResponse place;
+
+    // Sort key of the item within its list
+    private String rank;
+
+    private String note;
+
+    private String imageUrl;
+
+    private List<String> tags;
+
+    private Integer rating;
+
+    private Boolean visited;
+
+    private LocalDateTime createdAt;
+
+    // Version of the list after a write; null on reads
+    private Long listVersion;
+}
@@ -0,0 +1,30 @@
+package com.placehub.DTO;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for adding tags to or removing tags from several saved places at once.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagUpdateRequest {
+
+    @NotEmpty(message = "At least one saved place is required")
+    @Size(max = 1000, message = "At most 1000 saved places per request")
+    private List<Long> savedPlaceIds;
+
+    @NotEmpty(message = "At least one tag is required")
+    @Size(max = 50, message = "At most 50 tags per request")
+    private List<String> tags;
+}
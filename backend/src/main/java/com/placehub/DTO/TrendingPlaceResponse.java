@@ -0,0 +1,23 @@
+package com.placehub.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for a trending place.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingPlaceResponse {
+
+    private PlaceResponse place;
+
+    // Recent saves, each weighted down by half per half-life of age
+    private double score;
+}
@@ -0,0 +1,35 @@
+package com.placehub.DTO;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for partially updating a saved place; null fields are left unchanged.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateSavedPlaceRequest {
+
+    @Size(max = 1000, message = "Note must be at most 1000 characters")
+    private String note;
+
+    private String imageUrl;
+
+    @Min(value = 1, message = "Rating must be between 1 and 5")
+    @Max(value = 5, message = "Rating must be between 1 and 5")
+    private Integer rating;
+
+    private Boolean visited;
+
+    // Version of the list the client last saw; the write is rejected if the list has changed since
+    private Long expectedVersion;
+}
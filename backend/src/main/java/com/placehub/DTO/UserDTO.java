@@ -1,5 +1,26 @@
 package com.placehub.DTO;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for the public fields of a user, e.g. the owner of a list.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
 public class UserDTO {
-    
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String avatarUrl;
 }
@@ -0,0 +1,38 @@
+package com.placehub.DTO;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for the public profile of a user.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserProfileResponse {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String bio;
+
+    private String avatarUrl;
+
+    private String url;
+
+    private String city;
+
+    private String country;
+
+    private LocalDateTime createdAt;
+}
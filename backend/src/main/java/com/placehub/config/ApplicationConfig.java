@@ -33,7 +33,7 @@ public class ApplicationConfig {
      */
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
+        return username -> userRepository.loadByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
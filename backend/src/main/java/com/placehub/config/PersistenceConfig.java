@@ -0,0 +1,26 @@
+package com.placehub.config;
+
+import javax.sql.DataSource;
+
+import com.placehub.repository.DatabaseDialect;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for persistence beans used by hand-written JDBC repositories.
+ */
+@Configuration
+public class PersistenceConfig {
+
+    /**
+     * Exposes the detected database dialect so JDBC repositories can pick vendor-specific SQL.
+     *
+     * @param dataSource the application DataSource
+     * @return the detected dialect
+     */
+    @Bean
+    public DatabaseDialect databaseDialect(DataSource dataSource) {
+        return DatabaseDialect.detect(dataSource);
+    }
+}
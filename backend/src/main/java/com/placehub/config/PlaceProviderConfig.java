@@ -0,0 +1,37 @@
+package com.placehub.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Configuration of the HTTP client used by place provider implementations. Its connect and
+ * read timeouts bound every upstream call, so a hung provider releases the bulkhead permit
+ * and the coalesced callers of PlaceProviderClient instead of holding them indefinitely.
+ */
+@Configuration
+public class PlaceProviderConfig {
+
+    /**
+     * Defines the RestClient place providers make their upstream calls with.
+     *
+     * @param connectTimeout the time allowed to open a connection
+     * @param readTimeout    the time allowed between bytes of a response
+     * @return the RestClient
+     */
+    @Bean
+    public RestClient placeProviderRestClient(
+            @Value("${placehub.provider.connect-timeout:PT1S}") Duration connectTimeout,
+            @Value("${placehub.provider.read-timeout:PT3S}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        return RestClient.builder()
+                .requestFactory(requestFactory)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.placehub.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.placehub.entity.Place;
+import com.placehub.entity.PlaceList;
+import com.placehub.entity.User;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the Hibernate second-level cache. Regions are bounded Caffeine caches
+ * local to the node; CacheInvalidationBus keeps the nodes consistent. Entries also expire
+ * after a while, so a missed invalidation cannot serve stale data for long.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /**
+     * Regions of the cached entities, see the @Cache annotations.
+     */
+    public static final List<String> REGIONS = List.of(Place.CACHE_REGION, PlaceList.CACHE_REGION,
+            User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION);
+
+    @Value("${placehub.entity-cache.max-entries:100000}")
+    private long maxEntries;
+
+    @Value("${placehub.entity-cache.ttl:PT10M}")
+    private Duration ttl;
+
+    /**
+     * Creates the cache manager holding one cache per region. Each application context gets
+     * its own manager, even when several run in one JVM.
+     *
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("placehub-entity-cache-" + UUID.randomUUID()),
+                        getClass().getClassLoader());
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate.
+     *
+     * @param entityCacheManager the cache manager
+     * @return the customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+}
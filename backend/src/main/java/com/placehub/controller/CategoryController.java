@@ -0,0 +1,34 @@
+package com.placehub.controller;
+
+import java.util.List;
+
+import com.placehub.DTO.CategoryResponse;
+import com.placehub.service.category.CategoryDictionary;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for the place category taxonomy.
+ */
+@RestController
+@RequestMapping("/api/categories")
+@RequiredArgsConstructor
+public class CategoryController {
+
+    private final CategoryDictionary categoryDictionary;
+
+    /**
+     * Lists all categories with their codes and parents.
+     *
+     * @return the categories ordered by code
+     */
+    @GetMapping
+    public ResponseEntity<List<CategoryResponse>> getCategories() {
+        return ResponseEntity.ok(categoryDictionary.getAll());
+    }
+}
@@ -0,0 +1,87 @@
+package com.placehub.controller;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.placehub.service.cache.CachedResponse;
+import com.placehub.util.ResourceVersion;
+import com.placehub.util.Versioned;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET support for controllers. A request carrying validators is first checked
+ * against a cheap version lookup and answered 304 without building the body; otherwise
+ * the body is loaded as usual and its validators come with it, at no extra query.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Answers 304 Not Modified when If-None-Match or If-Modified-Since match the current
+     * validators; otherwise 200 with the body, an ETag and Last-Modified. A missing resource
+     * skips the check, so that the loader reports it.
+     *
+     * @param request the current request
+     * @param lookup  reads the current validators, empty if the resource is missing or hidden
+     * @param loader  builds the response body with its validators
+     * @return the response, or null once the 304 has been written
+     */
+    static <T> ResponseEntity<T> ok(WebRequest request, Supplier<Optional<ResourceVersion>> lookup,
+                                    Supplier<Versioned<T>> loader) {
+        if (isNotModified(request, lookup)) {
+            return null;
+        }
+        Versioned<T> response = loader.get();
+        return validated(response.version()).body(response.body());
+    }
+
+    /**
+     * Like {@link #ok}, for a body already serialized by the response cache. The gzip form
+     * is sent to clients that accept it.
+     *
+     * @param request the current request
+     * @param lookup  reads the current validators, empty if the resource is missing or hidden
+     * @param loader  returns the serialized body with its validators
+     * @return the response, or null once the 304 has been written
+     */
+    static ResponseEntity<byte[]> serialized(WebRequest request, Supplier<Optional<ResourceVersion>> lookup,
+                                             Supplier<CachedResponse> loader) {
+        if (isNotModified(request, lookup)) {
+            return null;
+        }
+        CachedResponse response = loader.get();
+        ResponseEntity.BodyBuilder builder = validated(response.version()).contentType(MediaType.APPLICATION_JSON);
+        if (response.gzip() == null) {
+            return builder.body(response.json());
+        }
+        builder.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzip());
+        }
+        return builder.body(response.json());
+    }
+
+    private static boolean isNotModified(WebRequest request, Supplier<Optional<ResourceVersion>> lookup) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null
+                && request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) == null) {
+            return false;
+        }
+        Optional<ResourceVersion> current = lookup.get();
+        return current.isPresent() && request.checkNotModified(current.get().eTag(), current.get().lastModified());
+    }
+
+    private static ResponseEntity.BodyBuilder validated(ResourceVersion version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(version.eTag());
+        if (version.lastModified() >= 0) {
+            builder.lastModified(version.lastModified());
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,36 @@
+package com.placehub.controller;
+
+import com.placehub.entity.User;
+import com.placehub.service.push.EventHub;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for the server-sent event stream of the current user.
+ */
+@RestController
+@RequestMapping("/api/users/me")
+@RequiredArgsConstructor
+public class EventStreamController {
+
+    private final EventHub eventHub;
+
+    /**
+     * Opens a stream of the events of the current user: new followers, changes to their
+     * lists and places saved by the users they follow.
+     *
+     * @param user the authenticated user
+     * @return the event stream
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@AuthenticationPrincipal User user) {
+        return eventHub.subscribe(user.getId());
+    }
+}
@@ -0,0 +1,63 @@
+package com.placehub.controller;
+
+import com.placehub.DTO.FacetSearchResponse;
+import com.placehub.entity.User;
+import com.placehub.service.facet.FacetSearchService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for faceted filtering. Facets are passed as repeatable query parameters,
+ * e.g. {@code ?category=food&city=Paris&city=Lyon&visited=false}: values of one facet are
+ * OR-ed, different facets are AND-ed.
+ */
+@RestController
+@RequestMapping("/api/facets")
+@RequiredArgsConstructor
+public class FacetController {
+
+    private final FacetSearchService facetSearchService;
+
+    /**
+     * Filters places by category, city and country.
+     *
+     * @param limit  the maximum number of ids to return
+     * @param params the facet parameters
+     * @return the matching place ids and facet counts
+     */
+    @GetMapping("/places")
+    public ResponseEntity<FacetSearchResponse> searchPlaces(
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam MultiValueMap<String, String> params
+    ) {
+        return ResponseEntity.ok(facetSearchService.searchPlaces(params, limit));
+    }
+
+    /**
+     * Filters saved places by category, city, country, tag, rating and visited,
+     * within one list or across all lists of the current user.
+     *
+     * @param list   the list to search (own or public), or none for all own lists
+     * @param limit  the maximum number of ids to return
+     * @param params the facet parameters
+     * @param user   the authenticated user
+     * @return the matching saved place ids and facet counts
+     */
+    @GetMapping("/saved-places")
+    public ResponseEntity<FacetSearchResponse> searchSavedPlaces(
+            @RequestParam(required = false) Long list,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam MultiValueMap<String, String> params,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(facetSearchService.searchSavedPlaces(list, params, limit, user));
+    }
+}
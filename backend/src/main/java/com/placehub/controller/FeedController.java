@@ -0,0 +1,43 @@
+package com.placehub.controller;
+
+import com.placehub.DTO.CursorPage;
+import com.placehub.DTO.FeedItemResponse;
+import com.placehub.entity.User;
+import com.placehub.service.feed.FeedService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for the feed of the current user.
+ */
+@RestController
+@RequestMapping("/api/feed")
+@RequiredArgsConstructor
+public class FeedController {
+
+    private final FeedService feedService;
+
+    /**
+     * Gets a page of the places recently saved by users the current user follows.
+     *
+     * @param cursor the cursor from the previous page
+     * @param limit  the page size
+     * @param user   the current user
+     * @return a page of feed entries, most recent first
+     */
+    @GetMapping
+    public ResponseEntity<CursorPage<FeedItemResponse>> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(feedService.getFeed(user.getId(), cursor, limit));
+    }
+}
@@ -0,0 +1,123 @@
+package com.placehub.controller;
+
+import java.util.List;
+
+import com.placehub.DTO.CursorPage;
+import com.placehub.DTO.FollowStatsResponse;
+import com.placehub.DTO.FollowSuggestionResponse;
+import com.placehub.DTO.UserDTO;
+import com.placehub.entity.User;
+import com.placehub.service.FollowService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for follows, follower and following lists, and follow suggestions.
+ */
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class FollowController {
+
+    private final FollowService followService;
+
+    /**
+     * Gets a page of the followers of a user.
+     *
+     * @param userId the user id
+     * @param cursor the cursor from the previous page
+     * @param limit  the page size
+     * @return a page of followers, most recent first
+     */
+    @GetMapping("/{userId}/followers")
+    public ResponseEntity<CursorPage<UserDTO>> getFollowers(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(followService.getFollowers(userId, cursor, limit));
+    }
+
+    /**
+     * Gets a page of the users a user follows.
+     *
+     * @param userId the user id
+     * @param cursor the cursor from the previous page
+     * @param limit  the page size
+     * @return a page of followed users, most recent first
+     */
+    @GetMapping("/{userId}/following")
+    public ResponseEntity<CursorPage<UserDTO>> getFollowing(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(followService.getFollowing(userId, cursor, limit));
+    }
+
+    /**
+     * Gets the follow counts of a user and whether the current user follows them.
+     *
+     * @param userId the user id
+     * @param user   the current user
+     * @return the counts
+     */
+    @GetMapping("/{userId}/follow-stats")
+    public ResponseEntity<FollowStatsResponse> getFollowStats(
+            @PathVariable Long userId,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(followService.getStats(userId, user));
+    }
+
+    /**
+     * Follows a user.
+     *
+     * @param userId the user id
+     * @param user   the current user
+     * @return no content
+     */
+    @PutMapping("/{userId}/follow")
+    public ResponseEntity<Void> follow(@PathVariable Long userId, @AuthenticationPrincipal User user) {
+        followService.follow(userId, user);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Unfollows a user.
+     *
+     * @param userId the user id
+     * @param user   the current user
+     * @return no content
+     */
+    @DeleteMapping("/{userId}/follow")
+    public ResponseEntity<Void> unfollow(@PathVariable Long userId, @AuthenticationPrincipal User user) {
+        followService.unfollow(userId, user);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Gets users the current user may want to follow.
+     *
+     * @param limit the maximum number of suggestions
+     * @param user  the current user
+     * @return the suggestions, best first
+     */
+    @GetMapping("/me/suggestions")
+    public ResponseEntity<List<FollowSuggestionResponse>> getSuggestions(
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(followService.getSuggestions(user, limit));
+    }
+}
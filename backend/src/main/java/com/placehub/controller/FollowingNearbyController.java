@@ -0,0 +1,49 @@
+package com.placehub.controller;
+
+import java.util.List;
+
+import com.placehub.DTO.FollowingSavedPlaceResponse;
+import com.placehub.entity.User;
+import com.placehub.service.socialgeo.FollowingNearbyService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for the places saved nearby by the users one follows.
+ */
+@RestController
+@RequestMapping("/api/users/me")
+@RequiredArgsConstructor
+public class FollowingNearbyController {
+
+    private final FollowingNearbyService followingNearbyService;
+
+    /**
+     * Gets the places the users followed by the current user saved in public lists near a location.
+     *
+     * @param latitude  the latitude
+     * @param longitude the longitude
+     * @param radius    the radius in meters
+     * @param limit     the maximum number of places
+     * @param user      the authenticated user
+     * @return the places saved by the most followed users first, then the closest
+     */
+    @GetMapping("/following-places/nearby")
+    public ResponseEntity<List<FollowingSavedPlaceResponse>> getFollowingSavesNearby(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "2000") double radius,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(followingNearbyService.getFollowingSavesNearby(user, latitude, longitude, radius,
+                limit));
+    }
+}
@@ -0,0 +1,134 @@
+package com.placehub.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import com.placehub.DTO.CreatePlaceRequest;
+import com.placehub.DTO.DuplicatePair;
+import com.placehub.DTO.PlaceCreationResponse;
+import com.placehub.DTO.PlaceResponse;
+import com.placehub.DTO.PlaceStatsResponse;
+import com.placehub.entity.User;
+import com.placehub.service.PlaceService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for place endpoints.
+ */
+@RestController
+@RequestMapping("/api/places")
+@RequiredArgsConstructor
+public class PlaceController {
+
+    private final PlaceService placeService;
+
+    /**
+     * Creates a place. Returns 201 for a new place, or 200 with linkedToExisting
+     * when the request matched an existing place.
+     *
+     * @param request the place creation request
+     * @param user    the authenticated user
+     * @return the created or linked place
+     */
+    @PostMapping
+    public ResponseEntity<PlaceCreationResponse> createPlace(
+            @Valid @RequestBody CreatePlaceRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        PlaceCreationResponse response = placeService.createPlace(request, user);
+        HttpStatus status = response.isLinkedToExisting() ? HttpStatus.OK : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    /**
+     * Gets a place by id. Answers 304 Not Modified when the client's ETag is current.
+     *
+     * @param id      the place id
+     * @param request the current request, for its conditional headers
+     * @return the place
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<PlaceResponse> getPlace(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.ok(request, () -> placeService.getPlaceVersion(id), () -> placeService.getPlace(id));
+    }
+
+    /**
+     * Gets the save count of a place.
+     *
+     * @param id the place id
+     * @return the counts
+     */
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<PlaceStatsResponse> getPlaceStats(@PathVariable Long id) {
+        return ResponseEntity.ok(placeService.getPlaceStats(id));
+    }
+
+    /**
+     * Gets a place by Google Place ID, fetching and storing it from the external provider
+     * if it is not known yet.
+     *
+     * @param googlePlaceId the Google Place ID
+     * @param user          the authenticated user
+     * @return the place
+     */
+    @PostMapping("/external/{googlePlaceId}")
+    public ResponseEntity<PlaceResponse> getOrFetchExternalPlace(
+            @PathVariable String googlePlaceId,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(placeService.getOrFetchExternalPlace(googlePlaceId, user));
+    }
+
+    /**
+     * Lists existing near-duplicate places for clean-up.
+     *
+     * @param limit the maximum number of pairs
+     * @return the duplicate pairs, best first
+     */
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<DuplicatePair>> findDuplicates(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(placeService.findDuplicatePairs(Math.min(limit, 1000)));
+    }
+
+    /**
+     * Fills missing city, region and country of existing places from the offline gazetteer.
+     *
+     * @return the number of places updated
+     */
+    @PostMapping("/geocode/backfill")
+    public ResponseEntity<Map<String, Long>> backfillAddresses() {
+        return ResponseEntity.ok(Map.of("updated", placeService.backfillAddresses()));
+    }
+
+    /**
+     * Merges a place into another one.
+     *
+     * @param id   the place to merge away
+     * @param into the place to keep
+     * @param user the authenticated user
+     * @return 204 No Content
+     */
+    @PostMapping("/{id}/merge")
+    public ResponseEntity<Void> mergePlace(
+            @PathVariable Long id,
+            @RequestParam Long into,
+            @AuthenticationPrincipal User user
+    ) {
+        placeService.mergePlace(id, into, user);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.placehub.controller;
+
+import java.io.IOException;
+
+import com.placehub.DTO.PlaceImportReport;
+import com.placehub.entity.PlaceSource;
+import com.placehub.entity.User;
+import com.placehub.service.PlaceImportService;
+import com.placehub.service.importer.ImportFormat;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for bulk place imports.
+ */
+@RestController
+@RequestMapping("/api/places")
+@RequiredArgsConstructor
+public class PlaceImportController {
+
+    private final PlaceImportService placeImportService;
+
+    /**
+     * Imports places from the request body, streamed without buffering the whole file.
+     * Send NDJSON as application/x-ndjson or CSV (with a header row) as text/csv.
+     * Requires the IMPORTER or ADMIN role, since keyed rows overwrite existing places.
+     *
+     * @param source         the source recorded on new places
+     * @param user           the authenticated user
+     * @param servletRequest the HTTP servlet request carrying the file
+     * @return the import report
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<PlaceImportReport> importPlaces(
+            @RequestParam(defaultValue = "IMPORTED") PlaceSource source,
+            @AuthenticationPrincipal User user,
+            HttpServletRequest servletRequest
+    ) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(servletRequest.getContentType());
+        PlaceImportReport report = placeImportService.importPlaces(
+                servletRequest.getInputStream(), format, source, user);
+        return ResponseEntity.ok(report);
+    }
+}
@@ -0,0 +1,200 @@
+package com.placehub.controller;
+
+import java.util.Map;
+
+import com.placehub.DTO.CreatePlaceListRequest;
+import com.placehub.DTO.CursorPage;
+import com.placehub.DTO.ForkPlaceListRequest;
+import com.placehub.DTO.MoveSavedPlacesRequest;
+import com.placehub.DTO.PlaceListChangesResponse;
+import com.placehub.DTO.PlaceListResponse;
+import com.placehub.DTO.SavePlaceRequest;
+import com.placehub.DTO.SavedPlaceResponse;
+import com.placehub.entity.User;
+import com.placehub.service.PlaceListService;
+import com.placehub.service.SavedPlaceService;
+import com.placehub.service.ordering.SavedPlaceOrderService;
+import com.placehub.service.ordering.SavedPlaceOrderService.MoveResult;
+import com.placehub.service.writebehind.SavedPlaceWriteBehindService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for place list endpoints. Reads by an owner first write the owner's
+ * buffered saved place edits, before the read transaction starts, so owners read their
+ * own writes.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class PlaceListController {
+
+    private final PlaceListService placeListService;
+    private final SavedPlaceService savedPlaceService;
+    private final SavedPlaceOrderService savedPlaceOrderService;
+    private final SavedPlaceWriteBehindService savedPlaceWriteBehindService;
+
+    /**
+     * Creates a list for the current user.
+     *
+     * @param request the list details
+     * @param user    the authenticated user
+     * @return the created list
+     */
+    @PostMapping("/lists")
+    public ResponseEntity<PlaceListResponse> createList(
+            @Valid @RequestBody CreatePlaceListRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(placeListService.createList(request, user));
+    }
+
+    /**
+     * Copies a public list, or a list of the current user, into a new private list of the current user.
+     *
+     * @param id      the source list id
+     * @param request the name of the copy, optional
+     * @param user    the authenticated user
+     * @return the new list
+     */
+    @PostMapping("/lists/{id}/fork")
+    public ResponseEntity<PlaceListResponse> forkList(
+            @PathVariable Long id,
+            @Valid @RequestBody(required = false) ForkPlaceListRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(placeListService.forkList(id, request, user));
+    }
+
+    /**
+     * Saves a place into a list of the current user.
+     *
+     * @param id      the list id
+     * @param request the place and personal details
+     * @param user    the authenticated user
+     * @return the saved place
+     */
+    @PostMapping("/lists/{id}/places")
+    public ResponseEntity<SavedPlaceResponse> savePlace(
+            @PathVariable Long id,
+            @Valid @RequestBody SavePlaceRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedPlaceService.savePlace(id, request, user));
+    }
+
+    /**
+     * Gets the lists of the current user.
+     *
+     * @param cursor the cursor from the previous page
+     * @param limit  the page size
+     * @param user   the authenticated user
+     * @return a page of lists, newest first
+     */
+    @GetMapping("/lists")
+    public ResponseEntity<CursorPage<PlaceListResponse>> getMyLists(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            @AuthenticationPrincipal User user
+    ) {
+        savedPlaceWriteBehindService.flushUser(user.getId());
+        return ResponseEntity.ok(placeListService.getMyLists(cursor, limit, user));
+    }
+
+    /**
+     * Gets a list with a page of its saved places. Private lists are only visible to their owner.
+     * Answers 304 Not Modified when the client's ETag is current; pages of public lists are
+     * served from the response cache.
+     *
+     * @param id      the list id
+     * @param cursor  the cursor from the previous page of items
+     * @param limit   the page size
+     * @param user    the authenticated user
+     * @param request the current request, for its conditional headers
+     * @return the list and a page of its items, as JSON
+     */
+    @GetMapping("/lists/{id}")
+    public ResponseEntity<byte[]> getList(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            @AuthenticationPrincipal User user,
+            WebRequest request
+    ) {
+        savedPlaceWriteBehindService.flushList(id, user.getId());
+        return ConditionalGet.serialized(request, () -> placeListService.getListVersion(id, user),
+                () -> placeListService.getSerializedList(id, cursor, limit, user));
+    }
+
+    /**
+     * Gets the changes of a list since a version the client already has, or the whole list
+     * when the change log no longer covers that version.
+     *
+     * @param id    the list id
+     * @param since the list version the client has, 0 for none
+     * @param user  the authenticated user
+     * @return the changed and removed items and the current list version
+     */
+    @GetMapping("/lists/{id}/changes")
+    public ResponseEntity<PlaceListChangesResponse> getChanges(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") long since,
+            @AuthenticationPrincipal User user
+    ) {
+        savedPlaceWriteBehindService.flushList(id, user.getId());
+        return ResponseEntity.ok(placeListService.getChanges(id, since, user));
+    }
+
+    /**
+     * Moves saved places of a list of the current user to directly after another saved place.
+     *
+     * @param id      the list id
+     * @param request the saved places, in their new order, and the anchor
+     * @param user    the authenticated user
+     * @return the number of moved saved places and the new list version
+     */
+    @PostMapping("/lists/{id}/move")
+    public ResponseEntity<Map<String, Number>> moveItems(
+            @PathVariable Long id,
+            @Valid @RequestBody MoveSavedPlacesRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        MoveResult result = savedPlaceOrderService.moveItems(id, request, user);
+        return ResponseEntity.ok(Map.of("moved", result.moved(), "version", result.version()));
+    }
+
+    /**
+     * Gets the public lists of a user, or all lists if the user is the current user.
+     *
+     * @param userId the owner id
+     * @param cursor the cursor from the previous page
+     * @param limit  the page size
+     * @param user   the authenticated user
+     * @return a page of lists, newest first
+     */
+    @GetMapping("/users/{userId}/lists")
+    public ResponseEntity<CursorPage<PlaceListResponse>> getUserLists(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            @AuthenticationPrincipal User user
+    ) {
+        if (userId.equals(user.getId())) {
+            savedPlaceWriteBehindService.flushUser(user.getId());
+        }
+        return ResponseEntity.ok(placeListService.getUserLists(userId, cursor, limit, user));
+    }
+}
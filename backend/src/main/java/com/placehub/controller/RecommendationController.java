@@ -0,0 +1,75 @@
+package com.placehub.controller;
+
+import java.util.List;
+
+import com.placehub.DTO.RecommendedPlaceResponse;
+import com.placehub.entity.User;
+import com.placehub.service.recommendation.RecommendationService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for place recommendations from list co-occurrence.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class RecommendationController {
+
+    private final RecommendationService recommendationService;
+
+    /**
+     * Gets the places people who saved a place also saved.
+     *
+     * @param id    the place id
+     * @param limit the maximum number of places
+     * @return the places, most related first
+     */
+    @GetMapping("/places/{id}/similar")
+    public ResponseEntity<List<RecommendedPlaceResponse>> getSimilarPlaces(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(recommendationService.getSimilarPlaces(id, limit));
+    }
+
+    /**
+     * Gets places to add to a list of the current user.
+     *
+     * @param id    the list id
+     * @param limit the maximum number of places
+     * @param user  the current user
+     * @return the places, most related first
+     */
+    @GetMapping("/lists/{id}/suggestions")
+    public ResponseEntity<List<RecommendedPlaceResponse>> getListSuggestions(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(recommendationService.getListSuggestions(id, user, limit));
+    }
+
+    /**
+     * Gets places the current user may want to save.
+     *
+     * @param limit the maximum number of places
+     * @param user  the current user
+     * @return the places, most related first
+     */
+    @GetMapping("/users/me/place-suggestions")
+    public ResponseEntity<List<RecommendedPlaceResponse>> getUserSuggestions(
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(recommendationService.getUserSuggestions(user, limit));
+    }
+}
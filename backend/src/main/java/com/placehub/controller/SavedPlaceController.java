@@ -0,0 +1,98 @@
+package com.placehub.controller;
+
+import java.util.Map;
+
+import com.placehub.DTO.SavedPlaceResponse;
+import com.placehub.DTO.TagUpdateRequest;
+import com.placehub.DTO.UpdateSavedPlaceRequest;
+import com.placehub.entity.User;
+import com.placehub.service.SavedPlaceService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for saved place endpoints.
+ */
+@RestController
+@RequestMapping("/api/saved-places")
+@RequiredArgsConstructor
+public class SavedPlaceController {
+
+    private final SavedPlaceService savedPlaceService;
+
+    /**
+     * Updates the note, image, rating or visited flag of a saved place of the current user.
+     *
+     * @param id      the saved place id
+     * @param request the fields to change
+     * @param user    the authenticated user
+     * @return the updated saved place
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<SavedPlaceResponse> updateSavedPlace(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateSavedPlaceRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(savedPlaceService.updateSavedPlace(id, request, user));
+    }
+
+    /**
+     * Removes a saved place of the current user from its list.
+     *
+     * @param id              the saved place id
+     * @param expectedVersion the list version the client last saw, optional
+     * @param user            the authenticated user
+     * @return the new list version
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, Long>> removeSavedPlace(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long expectedVersion,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(Map.of("version", savedPlaceService.removeSavedPlace(id, expectedVersion, user)));
+    }
+
+    /**
+     * Adds tags to several saved places of the current user.
+     *
+     * @param request the saved places and tags
+     * @param user    the authenticated user
+     * @return the number of tag links added
+     */
+    @PostMapping("/tags")
+    public ResponseEntity<Map<String, Integer>> addTags(
+            @Valid @RequestBody TagUpdateRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(Map.of("added", savedPlaceService.addTags(request, user)));
+    }
+
+    /**
+     * Removes tags from several saved places of the current user.
+     *
+     * @param request the saved places and tags
+     * @param user    the authenticated user
+     * @return the number of tag links removed
+     */
+    @PostMapping("/tags/remove")
+    public ResponseEntity<Map<String, Integer>> removeTags(
+            @Valid @RequestBody TagUpdateRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(Map.of("removed", savedPlaceService.removeTags(request, user)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.placehub.controller;
+
+import java.util.List;
+
+import com.placehub.DTO.TrendingPlaceResponse;
+import com.placehub.service.trending.TrendingService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for trending places.
+ */
+@RestController
+@RequestMapping("/api/trending")
+@RequiredArgsConstructor
+public class TrendingController {
+
+    private final TrendingService trendingService;
+
+    /**
+     * Gets the places saved most often recently in a city.
+     *
+     * @param city    the city
+     * @param country the country
+     * @param limit   the maximum number of places
+     * @return the places, most saved first
+     */
+    @GetMapping("/city")
+    public ResponseEntity<List<TrendingPlaceResponse>> getTrendingInCity(
+            @RequestParam String city,
+            @RequestParam String country,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(trendingService.getTrendingInCity(city, country, limit));
+    }
+
+    /**
+     * Gets the places saved most often recently around a location.
+     *
+     * @param latitude  the latitude
+     * @param longitude the longitude
+     * @param limit     the maximum number of places
+     * @return the places, most saved first
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<TrendingPlaceResponse>> getTrendingNearby(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(trendingService.getTrendingNearby(latitude, longitude, limit));
+    }
+}
@@ -0,0 +1,37 @@
+package com.placehub.controller;
+
+import com.placehub.service.UserService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for user profiles.
+ */
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final UserService userService;
+
+    /**
+     * Gets the public profile of a user, from the response cache while it is unchanged.
+     * Answers 304 Not Modified when the client's ETag is current.
+     *
+     * @param userId  the user id
+     * @param request the current request, for its conditional headers
+     * @return the profile, as JSON
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<byte[]> getProfile(@PathVariable Long userId, WebRequest request) {
+        return ConditionalGet.serialized(request, () -> userService.getProfileVersion(userId),
+                () -> userService.getSerializedProfile(userId));
+    }
+}
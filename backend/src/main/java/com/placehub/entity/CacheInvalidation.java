@@ -0,0 +1,50 @@
+package com.placehub.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * CacheInvalidation Entity - Second-level cache entries a node asks the other nodes to drop.
+ * Polled on databases without LISTEN/NOTIFY; written and read by CacheInvalidationRepository.
+ */
+@Entity
+@Table(name = "cache_invalidations", indexes = {
+        @Index(name = "idx_cache_invalidations_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Node that changed the entities; it skips its own entries
+    @Column(name = "node_id", nullable = false, length = 36)
+    private String nodeId;
+
+    @Column(name = "entity_name", nullable = false, length = 64)
+    private String entityName;
+
+    // Comma-separated ids, or * for every entity of the type
+    @Column(name = "entity_ids", nullable = false, columnDefinition = "TEXT")
+    private String entityIds;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,47 @@
+package com.placehub.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * FeedActivity Entity - A user saved a place into a public list. Activities of users with
+ * few followers are copied into their followers' timelines (FeedItem); those of users with
+ * many followers are read from here when a follower opens the feed. Written and read by
+ * FeedRepository.
+ */
+@Entity
+@Table(name = "feed_activities", indexes = {
+        @Index(name = "idx_feed_activities_actor_created", columnList = "actor_id, created_at, saved_place_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedActivity {
+
+    // Plain ids: activities of deleted saved places are skipped when reading
+    @Id
+    @Column(name = "saved_place_id")
+    private Long savedPlaceId;
+
+    @Column(name = "actor_id", nullable = false)
+    private Long actorId;
+
+    // Whether the activity was copied into the followers' timelines
+    @Column(name = "fanned_out", nullable = false)
+    private boolean fannedOut;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
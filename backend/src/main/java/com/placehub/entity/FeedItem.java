@@ -0,0 +1,48 @@
+package com.placehub.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * FeedItem Entity - Entry of a user's timeline: an activity of someone the user follows,
+ * copied when it happened. Written and read by FeedRepository.
+ */
+@Entity
+@Table(name = "feed_items", indexes = {
+        @Index(name = "idx_feed_items_user_created", columnList = "user_id, created_at, saved_place_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owner of the timeline
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // The FeedActivity shown
+    @Column(name = "saved_place_id", nullable = false)
+    private Long savedPlaceId;
+
+    // Copied from the activity, so the timeline is read in one index range
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -10,9 +10,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -23,7 +25,14 @@ import lombok.Setter;
  * Follow Entity - Represents a follow relationship between two users.
  */
 @Entity
-@Table(name = "follows")
+@Table(name = "follows", indexes = {
+        @Index(name = "idx_follows_following_created", columnList = "following_id, created_at, id"),
+        @Index(name = "idx_follows_follower_created", columnList = "follower_id, created_at, id")
+}, uniqueConstraints = {
+        // A duplicate follow would be counted twice by the follower and following counters.
+        // Added to existing databases by FollowMigration, which first deletes the duplicates.
+        @UniqueConstraint(name = "uk_follows_follower_following", columnNames = {"follower_id", "following_id"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -4,8 +4,13 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -18,7 +23,9 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -32,6 +39,8 @@ import lombok.Setter;
  */
 @Entity
 @Table(name = "places")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Place.CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,17 +48,31 @@ import lombok.Setter;
 @Builder
 public class Place {
 
+    /**
+     * Number of ids reserved per sequence call. Shared with the bulk importer,
+     * which allocates blocks from the same sequence outside of Hibernate.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Second-level cache region. Writers that bypass Hibernate evict through CacheInvalidationBus.
+     */
+    public static final String CACHE_REGION = "places";
+
+    // Sequence ids (instead of IDENTITY) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "places_seq")
+    @SequenceGenerator(name = "places_seq", sequenceName = "places_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Place name is required")
     @Column(nullable = false)
     private String name;
 
-    @NotBlank(message = "Category is required")
-    @Column(nullable = false)
-    private String category;
+    // Code of the category in place_categories, see CategoryDictionary
+    @NotNull(message = "Category is required")
+    @Column(name = "category_code", nullable = false)
+    private Short categoryCode;
 
     @NotNull(message = "Latitude is required")
     @Column(nullable = false)
@@ -89,10 +112,19 @@ public class Place {
     @JoinColumn(name = "created_by_id", nullable = false)
     private User createdBy;
 
+    // Incremented on every change; the ETag of the place
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     // ========== Relationships ==========
 
     // All saved entries referencing this place
@@ -0,0 +1,40 @@
+package com.placehub.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * PlaceCategory Entity - A node of the category taxonomy (e.g. food > cafe).
+ * Places reference categories by their small integer code.
+ */
+@Entity
+@Table(name = "place_categories")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaceCategory {
+
+    // Assigned by CategoryDictionary, dense from 1
+    @Id
+    private Short code;
+
+    // Normalised lookup key, e.g. "fast-food"
+    @Column(nullable = false, unique = true, length = 64)
+    private String slug;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Code of the parent category, null for top-level categories
+    @Column(name = "parent_code")
+    private Short parentCode;
+}
@@ -0,0 +1,34 @@
+package com.placehub.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * PlaceCounter Entity - Number of lists a place is saved in, kept apart from the places
+ * table so saves neither lock the place row nor invalidate cached places. Maintained by
+ * CounterService; a missing row means zero.
+ */
+@Entity
+@Table(name = "place_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaceCounter {
+
+    // Same value as the id of the counted Place
+    @Id
+    @Column(name = "place_id")
+    private Long placeId;
+
+    @Column(name = "save_count", nullable = false)
+    private long saveCount;
+}
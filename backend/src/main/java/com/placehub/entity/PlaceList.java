@@ -4,9 +4,13 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -14,10 +18,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,7 +35,11 @@ import lombok.Setter;
  * PlaceList Entity - A collection of saved places (like a playlist but for places).
  */
 @Entity
-@Table(name = "place_lists")
+@Table(name = "place_lists", indexes = {
+        @Index(name = "idx_place_lists_owner_created", columnList = "owner_id, created_at, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = PlaceList.CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,6 +47,12 @@ import lombok.Setter;
 @Builder
 public class PlaceList {
 
+    /**
+     * Second-level cache region for list metadata; items are not cached. Writers that bypass
+     * Hibernate evict through CacheInvalidationBus.
+     */
+    public static final String CACHE_REGION = "place-lists";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -60,6 +76,16 @@ public class PlaceList {
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
 
+    // Incremented on every change to the list or its items; clients sync from it
+    // and send it back for optimistic concurrency
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    // The list this one was forked from; a plain id so the source can be deleted
+    @Column(name = "forked_from_id")
+    private Long forkedFromId;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,51 @@
+package com.placehub.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * PlaceListChange Entity - Change log entry: a saved place of a list was inserted,
+ * updated or deleted in the given list version. Written and read by PlaceListChangeRepository.
+ */
+@Entity
+@Table(name = "place_list_changes", indexes = {
+        @Index(name = "idx_place_list_changes_list_version", columnList = "place_list_id, version"),
+        @Index(name = "idx_place_list_changes_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaceListChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain ids: entries outlive the saved places they describe
+    @Column(name = "place_list_id", nullable = false)
+    private Long placeListId;
+
+    @Column(name = "saved_place_id", nullable = false)
+    private Long savedPlaceId;
+
+    // Version of the list after the change
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,77 @@
+package com.placehub.entity;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * PlaceListSummary Entity - Aggregates of a list's saved places, kept up to date
+ * incrementally by PlaceListSummaryService so browsing reads one row per list.
+ */
+@Entity
+@Table(name = "place_list_summaries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaceListSummary {
+
+    // Same value as the id of the summarised PlaceList
+    @Id
+    @Column(name = "place_list_id")
+    private Long placeListId;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(name = "visited_count", nullable = false)
+    private long visitedCount;
+
+    // Number of rated items and the sum of their ratings
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    // Sums of item coordinates, for the centroid
+    @Column(name = "latitude_sum", nullable = false)
+    private double latitudeSum;
+
+    @Column(name = "longitude_sum", nullable = false)
+    private double longitudeSum;
+
+    // Bounding box, null while the list is empty
+    @Column(name = "min_latitude")
+    private Double minLatitude;
+
+    @Column(name = "max_latitude")
+    private Double maxLatitude;
+
+    @Column(name = "min_longitude")
+    private Double minLongitude;
+
+    @Column(name = "max_longitude")
+    private Double maxLongitude;
+
+    // Number of times the list was forked; defaulted so the column can be added to existing rows
+    @Column(name = "fork_count", nullable = false)
+    @ColumnDefault("0")
+    private long forkCount;
+
+    // Most recently saved item with an image, used as thumbnail
+    @Column(name = "cover_saved_place_id")
+    private Long coverSavedPlaceId;
+
+    @Column(name = "cover_image_url")
+    private String coverImageUrl;
+}
@@ -0,0 +1,57 @@
+package com.placehub.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * PlaceRatingSummary Entity - Ratings and visits of a place across all saved entries, kept
+ * up to date incrementally by PlaceRatingSummaryService so a place page reads one row.
+ * A missing row means the place is saved nowhere.
+ */
+@Entity
+@Table(name = "place_rating_summaries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaceRatingSummary {
+
+    // Same value as the id of the summarised Place
+    @Id
+    @Column(name = "place_id")
+    private Long placeId;
+
+    // Number of rated entries and the sum of their ratings
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    // Histogram of ratings, one column per star value
+    @Column(name = "rating_1_count", nullable = false)
+    private long rating1Count;
+
+    @Column(name = "rating_2_count", nullable = false)
+    private long rating2Count;
+
+    @Column(name = "rating_3_count", nullable = false)
+    private long rating3Count;
+
+    @Column(name = "rating_4_count", nullable = false)
+    private long rating4Count;
+
+    @Column(name = "rating_5_count", nullable = false)
+    private long rating5Count;
+
+    @Column(name = "visited_count", nullable = false)
+    private long visitedCount;
+}
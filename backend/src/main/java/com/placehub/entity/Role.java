@@ -0,0 +1,10 @@
+package com.placehub.entity;
+
+/**
+ * Enum representing the role of a user, granted as a ROLE_ authority.
+ */
+public enum Role {
+    USER,       // Regular account
+    IMPORTER,   // May bulk import places, e.g. a data feed account
+    ADMIN       // Full access
+}
@@ -1,21 +1,24 @@
 package com.placehub.entity;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
-import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -27,7 +30,10 @@ import lombok.Setter;
  * SavedPlace Entity - Links a Place to a PlaceList.
  */
 @Entity
-@Table(name = "saved_places")
+@Table(name = "saved_places", indexes = {
+        @Index(name = "idx_saved_places_list_created", columnList = "place_list_id, created_at, id"),
+        @Index(name = "idx_saved_places_list_rank", columnList = "place_list_id, rank_key")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,8 +41,16 @@ import lombok.Setter;
 @Builder
 public class SavedPlace {
 
+    // Number of saved places whose tags are loaded together when one of them is accessed
+    public static final int TAG_BATCH_SIZE = 500;
+
+    // Number of ids reserved per sequence call, shared with set-based copies of lists
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Sequence ids (instead of IDENTITY) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "saved_places_seq")
+    @SequenceGenerator(name = "saved_places_seq", sequenceName = "saved_places_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     // Which list does this belong to?
@@ -49,6 +63,10 @@ public class SavedPlace {
     @JoinColumn(name = "place_id", nullable = false)
     private Place place;
 
+    // Position in the list as a fractional rank key (see RankKeys); lists are read in rank order
+    @Column(name = "rank_key", length = 255)
+    private String rank;
+
     // Your personal note about this place
     @Column(length = 1000)
     private String note;
@@ -57,12 +75,15 @@ public class SavedPlace {
     @Column(name = "image_url")
     private String imageUrl;
 
-    // Tags (e.g., "vegan", "cheap", "romantic")
-    @ElementCollection
-    @CollectionTable(name = "saved_place_tags", joinColumns = @JoinColumn(name = "saved_place_id"))
-    @Column(name = "tag")
+    // Tags (e.g., "vegan", "cheap", "romantic") as references to the shared tag dictionary.
+    // A Set so Hibernate inserts/deletes single link rows; batch-fetched for whole lists.
+    @ManyToMany
+    @JoinTable(name = "saved_place_tag_links",
+            joinColumns = @JoinColumn(name = "saved_place_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_id"))
+    @BatchSize(size = TAG_BATCH_SIZE)
     @Builder.Default
-    private List<String> tags = new ArrayList<>();
+    private Set<Tag> tags = new HashSet<>();
 
     // Rating (1-5 stars)
     private Integer rating;
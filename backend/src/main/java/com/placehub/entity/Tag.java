@@ -0,0 +1,38 @@
+package com.placehub.entity;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Tag Entity - A normalised tag name (e.g. "vegan") shared by all saved places using it.
+ * Rows are only created through TagDictionary and never change.
+ */
+@Entity
+@Immutable
+@Table(name = "tags")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Tag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    // Lowercase, trimmed
+    @Column(nullable = false, unique = true, length = 64)
+    private String name;
+}
@@ -0,0 +1,38 @@
+package com.placehub.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * TrendingSnapshot Entity - Serialized trending sketch of one region, written periodically
+ * by TrendingService so trends survive restarts. Written and read by TrendingSnapshotRepository.
+ */
+@Entity
+@Table(name = "trending_snapshots")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingSnapshot {
+
+    // City or grid cell key, see TrendingService
+    @Id
+    @Column(name = "region_key", length = 255)
+    private String regionKey;
+
+    @Column(nullable = false, length = 65536)
+    private byte[] payload;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,37 @@
+package com.placehub.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * UserCounter Entity - Follower and following counts of a user, kept apart from the users
+ * table so count changes neither lock the user row nor invalidate cached users. Maintained
+ * by CounterService; a missing row means zero.
+ */
+@Entity
+@Table(name = "user_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserCounter {
+
+    // Same value as the id of the counted User
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "follower_count", nullable = false)
+    private long followerCount;
+
+    @Column(name = "following_count", nullable = false)
+    private long followingCount;
+}
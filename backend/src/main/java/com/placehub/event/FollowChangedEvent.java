@@ -0,0 +1,11 @@
+package com.placehub.event;
+
+/**
+ * Application event published when a user followed or unfollowed another.
+ * Listeners update what they derived from the follow graph after commit.
+ */
+public record FollowChangedEvent(
+        Long followerId,
+        Long followingId,
+        boolean followed
+) {}
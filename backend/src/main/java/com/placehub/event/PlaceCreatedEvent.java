@@ -0,0 +1,13 @@
+package com.placehub.event;
+
+/**
+ * Application event published when a new place has been persisted.
+ * Listeners that maintain in-memory indexes should react after commit.
+ */
+public record PlaceCreatedEvent(
+        Long placeId,
+        String name,
+        short categoryCode,
+        double latitude,
+        double longitude
+) {}
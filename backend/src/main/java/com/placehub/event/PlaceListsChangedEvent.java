@@ -0,0 +1,11 @@
+package com.placehub.event;
+
+import java.util.List;
+
+/**
+ * Application event published when place lists, or the items they show, were changed.
+ * Listeners drop what they derived from the lists after commit.
+ */
+public record PlaceListsChangedEvent(
+        List<Long> placeListIds
+) {}
@@ -0,0 +1,18 @@
+package com.placehub.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published when a user saved a place into one of their lists.
+ * The feed fans it out to the user's followers after commit, the save count of the
+ * place is incremented, its co-occurrences with the other places of the list are counted,
+ * and it is indexed near the place for the user's followers.
+ */
+public record PlaceSavedEvent(
+        Long savedPlaceId,
+        Long placeId,
+        Long placeListId,
+        Long userId,
+        boolean publicList,
+        LocalDateTime createdAt
+) {}
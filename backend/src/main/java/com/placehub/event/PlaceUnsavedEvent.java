@@ -0,0 +1,14 @@
+package com.placehub.event;
+
+/**
+ * Application event published when a saved place was removed from its list.
+ * The save count of the place, its co-occurrences and the saves near it are decremented
+ * after commit.
+ */
+public record PlaceUnsavedEvent(
+        Long savedPlaceId,
+        Long placeId,
+        Long placeListId,
+        Long userId,
+        boolean publicList
+) {}
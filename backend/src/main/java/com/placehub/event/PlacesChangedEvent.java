@@ -0,0 +1,11 @@
+package com.placehub.event;
+
+import java.util.List;
+
+/**
+ * Application event published when existing places were updated, merged or deleted.
+ * Listeners re-read the rows after commit; ids that no longer exist were deleted.
+ */
+public record PlacesChangedEvent(
+        List<Long> placeIds
+) {}
@@ -0,0 +1,11 @@
+package com.placehub.event;
+
+import java.util.List;
+
+/**
+ * Application event published when saved places were created, updated or deleted.
+ * Listeners re-read the rows after commit; ids that no longer exist were deleted.
+ */
+public record SavedPlacesChangedEvent(
+        List<Long> savedPlaceIds
+) {}
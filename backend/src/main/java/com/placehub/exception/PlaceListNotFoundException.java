@@ -0,0 +1,15 @@
+package com.placehub.exception;
+
+/**
+ * Exception thrown when a place list is not found or not visible to the current user.
+ */
+public class PlaceListNotFoundException extends RuntimeException {
+
+    public PlaceListNotFoundException(String message) {
+        super(message);
+    }
+
+    public PlaceListNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
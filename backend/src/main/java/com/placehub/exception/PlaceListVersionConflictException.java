@@ -0,0 +1,15 @@
+package com.placehub.exception;
+
+/**
+ * Exception thrown when a write expected another version of a place list than the current one.
+ */
+public class PlaceListVersionConflictException extends RuntimeException {
+
+    public PlaceListVersionConflictException(String message) {
+        super(message);
+    }
+
+    public PlaceListVersionConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.placehub.exception;
+
+/**
+ * Exception thrown when a place is not found.
+ */
+public class PlaceNotFoundException extends RuntimeException {
+
+    public PlaceNotFoundException(String message) {
+        super(message);
+    }
+
+    public PlaceNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.placehub.exception;
+
+/**
+ * Exception thrown when the external place provider cannot serve a request,
+ * because it failed, its circuit is open or too many calls are in flight.
+ */
+public class ProviderUnavailableException extends RuntimeException {
+
+    public ProviderUnavailableException(String message) {
+        super(message);
+    }
+
+    public ProviderUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
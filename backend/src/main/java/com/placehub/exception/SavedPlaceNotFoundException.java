@@ -0,0 +1,15 @@
+package com.placehub.exception;
+
+/**
+ * Exception thrown when a saved place is not found or not owned by the current user.
+ */
+public class SavedPlaceNotFoundException extends RuntimeException {
+
+    public SavedPlaceNotFoundException(String message) {
+        super(message);
+    }
+
+    public SavedPlaceNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,61 @@
+package com.placehub.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.placehub.repository.projection.CacheInvalidationRow;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC repository of the cache_invalidations table, which carries second-level cache
+ * invalidations between nodes on databases without Postgres notifications.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CacheInvalidationRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Appends an entry to the cache_invalidations table.
+     */
+    public void insert(String nodeId, String entityName, String entityIds) {
+        jdbcTemplate.update("INSERT INTO cache_invalidations (node_id, entity_name, entity_ids, created_at) " +
+                "VALUES (?, ?, ?, ?)", nodeId, entityName, entityIds, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Finds the id of the latest entry.
+     *
+     * @return the id, or 0 if the table is empty
+     */
+    public long findMaxId() {
+        Long id = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cache_invalidations", Long.class);
+        return id != null ? id : 0;
+    }
+
+    /**
+     * Finds the entries after an id, oldest first.
+     */
+    public List<CacheInvalidationRow> findAfter(long id) {
+        return jdbcTemplate.query("SELECT id, node_id, entity_name, entity_ids FROM cache_invalidations " +
+                "WHERE id > ? ORDER BY id",
+                (rs, rowNum) -> new CacheInvalidationRow(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        rs.getString(4)),
+                id);
+    }
+
+    /**
+     * Deletes entries older than a time.
+     *
+     * @return the number of deleted entries
+     */
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ?", Timestamp.valueOf(cutoff));
+    }
+}
@@ -0,0 +1,171 @@
+package com.placehub.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC repository for the user_counters and place_counters tables. Deltas are added with
+ * batched upserts; reconciliation recomputes the counts of an id range from the follows and
+ * saved_places tables and writes only the rows that drifted.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CounterRepository {
+
+    private static final String FOLLOW_COUNTS = "SELECT u.id AS user_id, " +
+            "(SELECT COUNT(*) FROM follows f WHERE f.following_id = u.id) AS follower_count, " +
+            "(SELECT COUNT(*) FROM follows f WHERE f.follower_id = u.id) AS following_count " +
+            "FROM users u WHERE u.id > ? AND u.id <= ?";
+    private static final String SAVE_COUNTS = "SELECT p.id AS place_id, " +
+            "(SELECT COUNT(*) FROM saved_places sp WHERE sp.place_id = p.id) AS save_count " +
+            "FROM places p WHERE p.id > ? AND p.id <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    /**
+     * Adds follower and following deltas to user counters, creating missing rows. Rows are
+     * written in id order, so concurrent flushes of several nodes cannot deadlock.
+     *
+     * @param deltas the follower and following deltas by user id
+     */
+    public void addUserDeltas(SortedMap<Long, long[]> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (Map.Entry<Long, long[]> entry : deltas.entrySet()) {
+            args.add(new Object[] {entry.getKey(), entry.getValue()[0], entry.getValue()[1]});
+        }
+        if (dialect.isPostgres()) {
+            jdbcTemplate.batchUpdate("INSERT INTO user_counters (user_id, follower_count, following_count) " +
+                    "VALUES (?, ?, ?) ON CONFLICT (user_id) DO UPDATE SET " +
+                    "follower_count = user_counters.follower_count + EXCLUDED.follower_count, " +
+                    "following_count = user_counters.following_count + EXCLUDED.following_count", args);
+        } else {
+            jdbcTemplate.batchUpdate("MERGE INTO user_counters t USING (SELECT CAST(? AS BIGINT) AS user_id, " +
+                    "CAST(? AS BIGINT) AS follower_count, CAST(? AS BIGINT) AS following_count) s " +
+                    "ON t.user_id = s.user_id WHEN MATCHED THEN UPDATE SET " +
+                    "follower_count = t.follower_count + s.follower_count, " +
+                    "following_count = t.following_count + s.following_count " +
+                    "WHEN NOT MATCHED THEN INSERT (user_id, follower_count, following_count) " +
+                    "VALUES (s.user_id, s.follower_count, s.following_count)", args);
+        }
+    }
+
+    /**
+     * Adds save deltas to place counters, creating missing rows, in id order.
+     *
+     * @param deltas the save deltas by place id
+     */
+    public void addPlaceDeltas(SortedMap<Long, Long> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            args.add(new Object[] {entry.getKey(), entry.getValue()});
+        }
+        jdbcTemplate.batchUpdate(addPlaceDeltasSql("SELECT CAST(? AS BIGINT) AS place_id, " +
+                "CAST(? AS BIGINT) AS save_count"), args);
+    }
+
+    /**
+     * Adds one save to the counter of every place of a list, in one statement, e.g. after
+     * its items were copied.
+     */
+    public void addListSaves(Long placeListId) {
+        jdbcTemplate.update(addPlaceDeltasSql("SELECT place_id, COUNT(*) AS save_count FROM saved_places " +
+                "WHERE place_list_id = ? GROUP BY place_id ORDER BY place_id"), placeListId);
+    }
+
+    /**
+     * Moves the save count of a place merged into another one.
+     */
+    public void mergePlaceCounter(Long duplicateId, Long targetId) {
+        jdbcTemplate.update(addPlaceDeltasSql("SELECT CAST(? AS BIGINT) AS place_id, save_count FROM place_counters " +
+                "WHERE place_id = ?"), targetId, duplicateId);
+        jdbcTemplate.update("DELETE FROM place_counters WHERE place_id = ?", duplicateId);
+    }
+
+    private String addPlaceDeltasSql(String source) {
+        if (dialect.isPostgres()) {
+            return "INSERT INTO place_counters (place_id, save_count) " + source + " " +
+                    "ON CONFLICT (place_id) DO UPDATE SET save_count = place_counters.save_count + EXCLUDED.save_count";
+        }
+        return "MERGE INTO place_counters t USING (" + source + ") s ON t.place_id = s.place_id " +
+                "WHEN MATCHED THEN UPDATE SET save_count = t.save_count + s.save_count " +
+                "WHEN NOT MATCHED THEN INSERT (place_id, save_count) VALUES (s.place_id, s.save_count)";
+    }
+
+    /**
+     * Finds the follower and following counts of a user.
+     *
+     * @return the two counts, zero if the user has no counter
+     */
+    public long[] findUserCounts(Long userId) {
+        List<long[]> counts = jdbcTemplate.query("SELECT follower_count, following_count FROM user_counters " +
+                "WHERE user_id = ?", (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)}, userId);
+        return counts.isEmpty() ? new long[2] : counts.get(0);
+    }
+
+    /**
+     * Finds the number of lists a place is saved in.
+     *
+     * @return the count, zero if the place has no counter
+     */
+    public long findSaveCount(Long placeId) {
+        List<Long> counts = jdbcTemplate.queryForList("SELECT save_count FROM place_counters WHERE place_id = ?",
+                Long.class, placeId);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    /**
+     * Recomputes the counters of the users with ids in (fromId, toId].
+     *
+     * @return the number of counters written; on Postgres only drifted ones are
+     */
+    public int reconcileUsers(long fromId, long toId) {
+        if (dialect.isPostgres()) {
+            return jdbcTemplate.update("INSERT INTO user_counters (user_id, follower_count, following_count) " +
+                    FOLLOW_COUNTS + " ON CONFLICT (user_id) DO UPDATE SET " +
+                    "follower_count = EXCLUDED.follower_count, following_count = EXCLUDED.following_count " +
+                    "WHERE user_counters.follower_count <> EXCLUDED.follower_count " +
+                    "OR user_counters.following_count <> EXCLUDED.following_count", fromId, toId);
+        }
+        return jdbcTemplate.update("MERGE INTO user_counters t USING (" + FOLLOW_COUNTS + ") s " +
+                "ON t.user_id = s.user_id WHEN MATCHED AND (t.follower_count <> s.follower_count " +
+                "OR t.following_count <> s.following_count) THEN UPDATE SET " +
+                "follower_count = s.follower_count, following_count = s.following_count " +
+                "WHEN NOT MATCHED THEN INSERT (user_id, follower_count, following_count) " +
+                "VALUES (s.user_id, s.follower_count, s.following_count)", fromId, toId);
+    }
+
+    /**
+     * Recomputes the counters of the places with ids in (fromId, toId].
+     *
+     * @return the number of counters written; on Postgres only drifted ones are
+     */
+    public int reconcilePlaces(long fromId, long toId) {
+        if (dialect.isPostgres()) {
+            return jdbcTemplate.update("INSERT INTO place_counters (place_id, save_count) " + SAVE_COUNTS +
+                    " ON CONFLICT (place_id) DO UPDATE SET save_count = EXCLUDED.save_count " +
+                    "WHERE place_counters.save_count <> EXCLUDED.save_count", fromId, toId);
+        }
+        return jdbcTemplate.update("MERGE INTO place_counters t USING (" + SAVE_COUNTS + ") s " +
+                "ON t.place_id = s.place_id WHEN MATCHED AND t.save_count <> s.save_count THEN UPDATE SET " +
+                "save_count = s.save_count WHEN NOT MATCHED THEN INSERT (place_id, save_count) " +
+                "VALUES (s.place_id, s.save_count)", fromId, toId);
+    }
+
+    public long findMaxUserId() {
+        Long id = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        return id != null ? id : 0;
+    }
+
+    public long findMaxPlaceId() {
+        Long id = jdbcTemplate.queryForObject("SELECT MAX(id) FROM places", Long.class);
+        return id != null ? id : 0;
+    }
+}
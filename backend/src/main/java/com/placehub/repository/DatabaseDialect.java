@@ -0,0 +1,38 @@
+package com.placehub.repository;
+
+import java.sql.DatabaseMetaData;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+/**
+ * The database family behind the application's DataSource.
+ * Used by hand-written SQL that relies on vendor-specific features
+ * (upserts, sequences, notifications) and needs a portable fallback for H2 in tests.
+ */
+public enum DatabaseDialect {
+
+    POSTGRESQL,
+    GENERIC;
+
+    /**
+     * Detects the dialect from the JDBC metadata of the given DataSource.
+     *
+     * @param dataSource the application DataSource
+     * @return the detected dialect, GENERIC if the product is not recognised
+     */
+    public static DatabaseDialect detect(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(productName) ? POSTGRESQL : GENERIC;
+        } catch (MetaDataAccessException e) {
+            return GENERIC;
+        }
+    }
+
+    public boolean isPostgres() {
+        return this == POSTGRESQL;
+    }
+}
@@ -0,0 +1,141 @@
+package com.placehub.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.placehub.repository.projection.FeedRow;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC repository for the activity feed: activities, the per-user timelines they are
+ * copied into, and the accounts whose activities are merged in when a feed is read.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FeedRepository {
+
+    // Activities shown only while the saved place exists in a public list
+    private static final String FEED_COLUMNS = "SELECT a.saved_place_id, a.created_at, u.id AS actor_id, " +
+            "u.first_name, u.last_name, u.avatar_url, pl.id AS place_list_id, pl.name AS place_list_name, sp.note, " +
+            "p.id AS place_id, p.name AS place_name, p.category_code, p.latitude, p.longitude, p.city, p.country, " +
+            "p.formatted_address FROM ";
+    private static final String FEED_JOINS = " JOIN saved_places sp ON sp.id = a.saved_place_id " +
+            "JOIN place_lists pl ON pl.id = sp.place_list_id AND pl.is_public = TRUE " +
+            "JOIN places p ON p.id = sp.place_id JOIN users u ON u.id = a.actor_id ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    /**
+     * Counts the followers of a user, up to a maximum.
+     *
+     * @return the number of followers, or max if there are more
+     */
+    public int countFollowers(Long userId, int max) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM follows " +
+                "WHERE following_id = ? FETCH FIRST " + max + " ROWS ONLY) f", Integer.class, userId);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Records an activity of a user.
+     */
+    public void insertActivity(Long savedPlaceId, Long actorId, boolean fannedOut, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO feed_activities (saved_place_id, actor_id, fanned_out, created_at) " +
+                "VALUES (?, ?, ?, ?)", savedPlaceId, actorId, fannedOut, Timestamp.valueOf(createdAt));
+    }
+
+    /**
+     * Copies an activity into the timeline of every follower of its actor, in one statement.
+     *
+     * @return the number of timelines written
+     */
+    public int fanOut(Long savedPlaceId, Long actorId, LocalDateTime createdAt) {
+        return jdbcTemplate.update("INSERT INTO feed_items (user_id, saved_place_id, created_at) " +
+                "SELECT follower_id, ?, ? FROM follows WHERE following_id = ?",
+                savedPlaceId, Timestamp.valueOf(createdAt), actorId);
+    }
+
+    /**
+     * Removes the activities of a user from the timeline of a former follower.
+     */
+    public void deleteFromTimeline(Long userId, Long actorId) {
+        jdbcTemplate.update("DELETE FROM feed_items WHERE user_id = ? AND saved_place_id IN " +
+                "(SELECT saved_place_id FROM feed_activities WHERE actor_id = ?)", userId, actorId);
+    }
+
+    /**
+     * Marks a user as an account whose activities are merged into feeds on read.
+     */
+    public void insertPullAccount(Long userId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (dialect.isPostgres()) {
+            jdbcTemplate.update("INSERT INTO feed_pull_accounts (user_id, created_at) VALUES (?, ?) " +
+                    "ON CONFLICT (user_id) DO NOTHING", userId, now);
+        } else {
+            jdbcTemplate.update("MERGE INTO feed_pull_accounts t USING (SELECT CAST(? AS BIGINT) AS user_id) s " +
+                    "ON t.user_id = s.user_id WHEN NOT MATCHED THEN INSERT (user_id, created_at) " +
+                    "VALUES (s.user_id, ?)", userId, now);
+        }
+    }
+
+    /**
+     * Makes a user's activities be copied into timelines again.
+     */
+    public void deletePullAccount(Long userId) {
+        jdbcTemplate.update("DELETE FROM feed_pull_accounts WHERE user_id = ?", userId);
+    }
+
+    /**
+     * Reads one page of a user's feed, most recent first: the user's timeline merged with the
+     * activities of followed pull accounts. Each branch is an index range scan continuing after
+     * the cursor; the timeline needs one whatever the number of followed users.
+     *
+     * @param userId    the reader
+     * @param createdAt creation time of the last entry of the previous page
+     * @param id        saved place id of the last entry of the previous page
+     * @param limit     the maximum number of rows
+     * @return the feed rows
+     */
+    public List<FeedRow> findFeed(Long userId, LocalDateTime createdAt, long id, int limit) {
+        Timestamp after = Timestamp.valueOf(createdAt);
+        String timeline = FEED_COLUMNS + "feed_items fi JOIN feed_activities a ON a.saved_place_id = fi.saved_place_id" +
+                FEED_JOINS + "WHERE fi.user_id = ? AND (fi.created_at < ? OR (fi.created_at = ? " +
+                "AND fi.saved_place_id < ?)) ORDER BY fi.created_at DESC, fi.saved_place_id DESC " +
+                "FETCH FIRST " + limit + " ROWS ONLY";
+        String pulled = FEED_COLUMNS + "feed_pull_accounts pa " +
+                "JOIN follows f ON f.following_id = pa.user_id AND f.follower_id = ? " +
+                "JOIN feed_activities a ON a.actor_id = pa.user_id AND a.fanned_out = FALSE" + FEED_JOINS +
+                "WHERE a.created_at < ? OR (a.created_at = ? AND a.saved_place_id < ?) " +
+                "ORDER BY a.created_at DESC, a.saved_place_id DESC FETCH FIRST " + limit + " ROWS ONLY";
+        return jdbcTemplate.query("SELECT * FROM (" + timeline + ") t UNION ALL SELECT * FROM (" + pulled + ") p " +
+                "ORDER BY 2 DESC, 1 DESC FETCH FIRST " + limit + " ROWS ONLY",
+                FeedRepository::mapRow, userId, after, after, id, userId, after, after, id);
+    }
+
+    /**
+     * Deletes timeline entries and activities older than a time.
+     *
+     * @return the number of deleted timeline entries
+     */
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        Timestamp timestamp = Timestamp.valueOf(cutoff);
+        int deleted = jdbcTemplate.update("DELETE FROM feed_items WHERE created_at < ?", timestamp);
+        jdbcTemplate.update("DELETE FROM feed_activities WHERE created_at < ?", timestamp);
+        return deleted;
+    }
+
+    private static FeedRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new FeedRow(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime(), rs.getLong(3), rs.getString(4),
+                rs.getString(5), rs.getString(6), rs.getLong(7), rs.getString(8), rs.getString(9), rs.getLong(10),
+                rs.getString(11), rs.getShort(12), rs.getDouble(13), rs.getDouble(14), rs.getString(15),
+                rs.getString(16), rs.getString(17));
+    }
+}
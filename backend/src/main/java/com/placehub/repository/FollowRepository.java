@@ -0,0 +1,79 @@
+package com.placehub.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.placehub.entity.Follow;
+import com.placehub.repository.projection.FollowRow;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for Follow entity.
+ */
+@Repository
+public interface FollowRepository extends JpaRepository<Follow, Long> {
+
+    /**
+     * Reads one page of the followers of a user, most recent first.
+     *
+     * @param userId    the followed user
+     * @param createdAt creation time of the last follow of the previous page
+     * @param id        id of the last follow of the previous page
+     * @param limit     the maximum number of rows
+     * @return the follow rows with the follower
+     */
+    @Query("SELECT new com.placehub.repository.projection.FollowRow(" +
+            "f.id, f.createdAt, u.id, u.firstName, u.lastName, u.avatarUrl) " +
+            "FROM Follow f JOIN f.follower u WHERE f.following.id = :userId " +
+            "AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id)) " +
+            "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FollowRow> findFollowerRows(@Param("userId") Long userId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") long id,
+                                     Limit limit);
+
+    /**
+     * Reads one page of the users a user follows, most recent first.
+     *
+     * @param userId    the following user
+     * @param createdAt creation time of the last follow of the previous page
+     * @param id        id of the last follow of the previous page
+     * @param limit     the maximum number of rows
+     * @return the follow rows with the followed user
+     */
+    @Query("SELECT new com.placehub.repository.projection.FollowRow(" +
+            "f.id, f.createdAt, u.id, u.firstName, u.lastName, u.avatarUrl) " +
+            "FROM Follow f JOIN f.following u WHERE f.follower.id = :userId " +
+            "AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id)) " +
+            "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FollowRow> findFollowingRows(@Param("userId") Long userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") long id,
+                                      Limit limit);
+
+    /**
+     * Check if a user follows another.
+     *
+     * @param followerId  the following user
+     * @param followingId the followed user
+     * @return true if the follow exists
+     */
+    boolean existsByFollower_IdAndFollowing_Id(Long followerId, Long followingId);
+
+    /**
+     * Deletes the follow of a user by another.
+     *
+     * @param followerId  the following user
+     * @param followingId the followed user
+     * @return number of follows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Follow f WHERE f.follower.id = :followerId AND f.following.id = :followingId")
+    int deleteFollow(@Param("followerId") Long followerId, @Param("followingId") Long followingId);
+}
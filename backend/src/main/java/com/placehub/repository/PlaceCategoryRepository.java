@@ -0,0 +1,13 @@
+package com.placehub.repository;
+
+import com.placehub.entity.PlaceCategory;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for PlaceCategory entity.
+ */
+@Repository
+public interface PlaceCategoryRepository extends JpaRepository<PlaceCategory, Short> {
+}
@@ -0,0 +1,150 @@
+package com.placehub.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.placehub.DTO.PlaceImportRecord;
+import com.placehub.entity.Place;
+import com.placehub.entity.PlaceSource;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC repository for bulk place writes that bypass the persistence context.
+ * Rows are upserted on google_place_id in a single JDBC batch per call.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PlaceImportRepository {
+
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO places (id, name, category_code, latitude, longitude, street_address, city, state, country, " +
+            "postal_code, formatted_address, google_place_id, source, created_by_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (google_place_id) DO UPDATE SET name = EXCLUDED.name, category_code = EXCLUDED.category_code, " +
+            "latitude = EXCLUDED.latitude, longitude = EXCLUDED.longitude, street_address = EXCLUDED.street_address, " +
+            "city = EXCLUDED.city, state = EXCLUDED.state, country = EXCLUDED.country, " +
+            "postal_code = EXCLUDED.postal_code, formatted_address = EXCLUDED.formatted_address, " +
+            "version = places.version + 1, updated_at = CURRENT_TIMESTAMP";
+
+    // Standard SQL MERGE, used on H2 in tests
+    private static final String GENERIC_UPSERT =
+            "MERGE INTO places p USING (SELECT CAST(? AS BIGINT) AS id, CAST(? AS VARCHAR(255)) AS name, " +
+            "CAST(? AS SMALLINT) AS category_code, CAST(? AS DOUBLE PRECISION) AS latitude, " +
+            "CAST(? AS DOUBLE PRECISION) AS longitude, CAST(? AS VARCHAR(255)) AS street_address, " +
+            "CAST(? AS VARCHAR(255)) AS city, CAST(? AS VARCHAR(255)) AS state, CAST(? AS VARCHAR(255)) AS country, " +
+            "CAST(? AS VARCHAR(255)) AS postal_code, CAST(? AS VARCHAR(255)) AS formatted_address, " +
+            "CAST(? AS VARCHAR(255)) AS google_place_id, CAST(? AS VARCHAR(255)) AS source, " +
+            "CAST(? AS BIGINT) AS created_by_id, CAST(? AS TIMESTAMP) AS created_at) s " +
+            "ON p.google_place_id = s.google_place_id " +
+            "WHEN MATCHED THEN UPDATE SET name = s.name, category_code = s.category_code, latitude = s.latitude, " +
+            "longitude = s.longitude, street_address = s.street_address, city = s.city, state = s.state, " +
+            "country = s.country, postal_code = s.postal_code, formatted_address = s.formatted_address, " +
+            "version = p.version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "WHEN NOT MATCHED THEN INSERT (id, name, category_code, latitude, longitude, street_address, city, state, " +
+            "country, postal_code, formatted_address, google_place_id, source, created_by_id, created_at) " +
+            "VALUES (s.id, s.name, s.category_code, s.latitude, s.longitude, s.street_address, s.city, s.state, " +
+            "s.country, s.postal_code, s.formatted_address, s.google_place_id, s.source, s.created_by_id, s.created_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+    private final SequenceRepository sequenceRepository;
+
+    /**
+     * Upserts a batch of validated records. The batch must not contain two records
+     * with the same googlePlaceId.
+     *
+     * @param records       the records to write
+     * @param categoryCodes the category code of each record, in order
+     * @param source        the source recorded on inserted places
+     * @param createdById   the id of the importing user
+     * @return the ids allocated to the records, in order; for a record that updated an
+     *         existing place the allocated id is unused
+     */
+    public long[] upsertBatch(List<PlaceImportRecord> records, short[] categoryCodes, PlaceSource source,
+                              Long createdById) {
+        long[] ids = allocatePlaceIds(records.size());
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(
+                dialect.isPostgres() ? POSTGRES_UPSERT : GENERIC_UPSERT,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PlaceImportRecord record = records.get(i);
+                        ps.setLong(1, ids[i]);
+                        ps.setString(2, record.name());
+                        ps.setShort(3, categoryCodes[i]);
+                        ps.setDouble(4, record.latitude());
+                        ps.setDouble(5, record.longitude());
+                        setNullableString(ps, 6, record.streetAddress());
+                        setNullableString(ps, 7, record.city());
+                        setNullableString(ps, 8, record.state());
+                        setNullableString(ps, 9, record.country());
+                        setNullableString(ps, 10, record.postalCode());
+                        setNullableString(ps, 11, record.formattedAddress());
+                        setNullableString(ps, 12, record.hasGooglePlaceId() ? record.googlePlaceId() : null);
+                        ps.setString(13, source.name());
+                        ps.setLong(14, createdById);
+                        ps.setTimestamp(15, createdAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return records.size();
+                    }
+                }
+        );
+        return ids;
+    }
+
+    /**
+     * Resolves the ids of places by Google Place ID.
+     *
+     * @param googlePlaceIds the Google Place IDs
+     * @return map of Google Place ID to place id, for the ids that exist
+     */
+    public Map<String, Long> findIdsByGooglePlaceIds(Collection<String> googlePlaceIds) {
+        Map<String, Long> ids = new HashMap<>();
+        if (googlePlaceIds.isEmpty()) {
+            return ids;
+        }
+        String placeholders = String.join(",", Collections.nCopies(googlePlaceIds.size(), "?"));
+        jdbcTemplate.query("SELECT google_place_id, id FROM places WHERE google_place_id IN (" + placeholders + ")",
+                rs -> {
+                    ids.put(rs.getString(1), rs.getLong(2));
+                },
+                googlePlaceIds.toArray());
+        return ids;
+    }
+
+    /**
+     * Reserves ids from places_seq, see SequenceRepository.
+     *
+     * @param count the number of ids needed
+     * @return the allocated ids
+     */
+    public long[] allocatePlaceIds(int count) {
+        return sequenceRepository.allocateIds("places_seq", Place.ID_ALLOCATION_SIZE, count);
+    }
+
+    private static void setNullableString(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value);
+        }
+    }
+}
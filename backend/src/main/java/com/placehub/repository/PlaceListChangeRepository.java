@@ -0,0 +1,137 @@
+package com.placehub.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC repository for list versions and the place_list_changes log. Version bumps and log
+ * entries are single set-based statements, whatever the number of changed items.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PlaceListChangeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Increments the version of a list.
+     *
+     * @param placeListId the list id
+     * @return the new version
+     */
+    public long incrementVersion(Long placeListId) {
+        jdbcTemplate.update("UPDATE place_lists SET version = COALESCE(version, 0) + 1, " +
+                "updated_at = CURRENT_TIMESTAMP WHERE id = ?", placeListId);
+        Long version = jdbcTemplate.queryForObject("SELECT version FROM place_lists WHERE id = ?",
+                Long.class, placeListId);
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Logs changes of saved places of one list, which may no longer exist.
+     */
+    public void insertChanges(Long placeListId, long version, Collection<Long> savedPlaceIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(savedPlaceIds.size());
+        for (Long savedPlaceId : savedPlaceIds) {
+            args.add(new Object[] {placeListId, savedPlaceId, version, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO place_list_changes (place_list_id, saved_place_id, version, created_at) " +
+                "VALUES (?, ?, ?, ?)", args);
+    }
+
+    /**
+     * Increments the version of every list of a user containing one of the saved places,
+     * and logs those saved places under the new versions.
+     *
+     * @param savedPlaceIds existing saved places, in any lists
+     * @param ownerId       the owner of the lists; saved places in other lists are ignored
+     * @return the ids of the changed lists
+     */
+    public List<Long> recordChanges(Collection<Long> savedPlaceIds, Long ownerId) {
+        String placeholders = String.join(",", Collections.nCopies(savedPlaceIds.size(), "?"));
+        List<Object> args = new ArrayList<>(savedPlaceIds.size() + 1);
+        args.add(ownerId);
+        args.addAll(savedPlaceIds);
+        List<Long> placeListIds = jdbcTemplate.queryForList("SELECT DISTINCT sp.place_list_id FROM saved_places sp " +
+                "JOIN place_lists pl ON pl.id = sp.place_list_id " +
+                "WHERE pl.owner_id = ? AND sp.id IN (" + placeholders + ")", Long.class, args.toArray());
+        jdbcTemplate.update("UPDATE place_lists SET version = COALESCE(version, 0) + 1, " +
+                "updated_at = CURRENT_TIMESTAMP WHERE owner_id = ? AND id IN " +
+                "(SELECT place_list_id FROM saved_places WHERE id IN (" + placeholders + "))", args.toArray());
+        jdbcTemplate.update("INSERT INTO place_list_changes (place_list_id, saved_place_id, version, created_at) " +
+                "SELECT sp.place_list_id, sp.id, pl.version, CURRENT_TIMESTAMP FROM saved_places sp " +
+                "JOIN place_lists pl ON pl.id = sp.place_list_id " +
+                "WHERE pl.owner_id = ? AND sp.id IN (" + placeholders + ")", args.toArray());
+        return placeListIds;
+    }
+
+    /**
+     * Increments the version of every list containing one of the places, and logs their saved
+     * places.
+     *
+     * @param placeIds the place ids
+     * @return the ids of the changed lists
+     */
+    public List<Long> recordPlaceChanges(Collection<Long> placeIds) {
+        String placeholders = String.join(",", Collections.nCopies(placeIds.size(), "?"));
+        Object[] args = placeIds.toArray();
+        List<Long> placeListIds = jdbcTemplate.queryForList("SELECT DISTINCT place_list_id FROM saved_places " +
+                "WHERE place_id IN (" + placeholders + ")", Long.class, args);
+        jdbcTemplate.update("UPDATE place_lists SET version = COALESCE(version, 0) + 1, " +
+                "updated_at = CURRENT_TIMESTAMP WHERE id IN " +
+                "(SELECT place_list_id FROM saved_places WHERE place_id IN (" + placeholders + "))", args);
+        jdbcTemplate.update("INSERT INTO place_list_changes (place_list_id, saved_place_id, version, created_at) " +
+                "SELECT sp.place_list_id, sp.id, pl.version, CURRENT_TIMESTAMP FROM saved_places sp " +
+                "JOIN place_lists pl ON pl.id = sp.place_list_id WHERE sp.place_id IN (" + placeholders + ")", args);
+        return placeListIds;
+    }
+
+    /**
+     * Logs every saved place of a list under one version, e.g. after its items were copied.
+     */
+    public void insertAllItems(Long placeListId, long version) {
+        jdbcTemplate.update("INSERT INTO place_list_changes (place_list_id, saved_place_id, version, created_at) " +
+                "SELECT place_list_id, id, ?, CURRENT_TIMESTAMP FROM saved_places WHERE place_list_id = ?",
+                version, placeListId);
+    }
+
+    /**
+     * Finds the first logged version of a list after a version.
+     *
+     * @return the version, or null if none is logged
+     */
+    public Long findFirstVersionAfter(Long placeListId, long version) {
+        return jdbcTemplate.queryForObject("SELECT MIN(version) FROM place_list_changes " +
+                "WHERE place_list_id = ? AND version > ?", Long.class, placeListId, version);
+    }
+
+    /**
+     * Finds the saved places of a list changed in versions (from, to].
+     *
+     * @return the distinct saved place ids, at most limit + 1 of them
+     */
+    public List<Long> findChangedSavedPlaceIds(Long placeListId, long from, long to, int limit) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT saved_place_id FROM place_list_changes " +
+                "WHERE place_list_id = ? AND version > ? AND version <= ? FETCH FIRST " + (limit + 1) + " ROWS ONLY",
+                Long.class, placeListId, from, to);
+    }
+
+    /**
+     * Deletes log entries older than a time.
+     *
+     * @return the number of deleted entries
+     */
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM place_list_changes WHERE created_at < ?", Timestamp.valueOf(cutoff));
+    }
+}
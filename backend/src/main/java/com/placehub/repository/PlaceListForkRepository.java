@@ -0,0 +1,107 @@
+package com.placehub.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.placehub.entity.SavedPlace;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC repository copying the items of a list into another list with set-based
+ * INSERT ... SELECT statements, so a copy never loads saved places into memory.
+ *
+ * <p>Copies take their ids from blocks reserved on saved_places_seq. The n-th source item
+ * in id order gets the n-th id of those blocks, computed in SQL from its row number, which
+ * also lets the tag link copy find the new id of every source item.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PlaceListForkRepository {
+
+    private static final int BLOCK = SavedPlace.ID_ALLOCATION_SIZE;
+
+    // Source items numbered 0..n-1 in id order, joined to the block owning their new id
+    private static final String NUMBERED_SOURCE =
+            "FROM (SELECT sp.*, ROW_NUMBER() OVER (ORDER BY sp.id) - 1 AS n " +
+            "FROM saved_places sp WHERE sp.place_list_id = ?) s " +
+            "JOIN (VALUES %s) AS b(k, hi) ON b.k = s.n / " + BLOCK + " ";
+
+    private static final String NEW_ID = "b.hi - " + (BLOCK - 1) + " + MOD(s.n, " + BLOCK + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceRepository sequenceRepository;
+
+    /**
+     * Counts the items of a list.
+     */
+    public int countItems(Long placeListId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM saved_places WHERE place_list_id = ?",
+                Integer.class, placeListId);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Copies the items of a list and their tag links into another list, keeping notes,
+     * images and order. Ratings and visited flags are personal and start empty.
+     * The caller must keep the source items from changing, e.g. by locking the source list.
+     *
+     * @param sourceId  the source list id
+     * @param targetId  the target list id
+     * @param itemCount the number of items of the source list
+     * @return the ids of the copied items
+     */
+    public List<Long> copyItems(Long sourceId, Long targetId, int itemCount) {
+        if (itemCount == 0) {
+            return List.of();
+        }
+        List<Long> blocks = allocateBlocks((itemCount + BLOCK - 1) / BLOCK);
+        String values = String.join(", ", Collections.nCopies(blocks.size(), "(CAST(? AS BIGINT), CAST(? AS BIGINT))"));
+        List<Object> blockArgs = new ArrayList<>(blocks.size() * 2);
+        for (int k = 0; k < blocks.size(); k++) {
+            blockArgs.add(k);
+            blockArgs.add(blocks.get(k));
+        }
+
+        List<Object> args = new ArrayList<>();
+        args.add(targetId);
+        args.add(sourceId);
+        args.addAll(blockArgs);
+        jdbcTemplate.update("INSERT INTO saved_places (id, place_list_id, place_id, rank_key, note, image_url, " +
+                "rating, visited, created_at) " +
+                "SELECT " + NEW_ID + ", ?, s.place_id, s.rank_key, s.note, s.image_url, NULL, FALSE, CURRENT_TIMESTAMP " +
+                NUMBERED_SOURCE.formatted(values), args.toArray());
+
+        args = new ArrayList<>();
+        args.add(sourceId);
+        args.addAll(blockArgs);
+        jdbcTemplate.update("INSERT INTO saved_place_tag_links (saved_place_id, tag_id) " +
+                "SELECT " + NEW_ID + ", l.tag_id " + NUMBERED_SOURCE.formatted(values) +
+                "JOIN saved_place_tag_links l ON l.saved_place_id = s.id", args.toArray());
+
+        List<Long> ids = new ArrayList<>(itemCount);
+        for (long hi : blocks) {
+            for (long id = hi - BLOCK + 1; id <= hi && ids.size() < itemCount; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    // Whole blocks only: the very first sequence value owns a single id
+    private List<Long> allocateBlocks(int count) {
+        List<Long> blocks = new ArrayList<>(count);
+        while (blocks.size() < count) {
+            for (long hi : sequenceRepository.allocateBlocks("saved_places_seq", count - blocks.size())) {
+                if (hi >= BLOCK) {
+                    blocks.add(hi);
+                }
+            }
+        }
+        return blocks;
+    }
+}
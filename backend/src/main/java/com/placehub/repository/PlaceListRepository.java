@@ -0,0 +1,93 @@
+package com.placehub.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.placehub.entity.PlaceList;
+import com.placehub.repository.projection.PlaceListRow;
+import com.placehub.repository.projection.PlaceListVersionRow;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for PlaceList entity.
+ */
+@Repository
+public interface PlaceListRepository extends JpaRepository<PlaceList, Long> {
+
+    String ROW_SELECT = "SELECT new com.placehub.repository.projection.PlaceListRow(" +
+            "pl.id, pl.name, pl.description, pl.coverImageUrl, pl.isPublic, pl.createdAt, pl.updatedAt, pl.forkedFromId, pl.version, " +
+            "o.id, o.firstName, o.lastName, o.avatarUrl, o.version, COALESCE(o.updatedAt, o.createdAt), " +
+            "s.itemCount, s.visitedCount, s.ratingCount, s.ratingSum, s.latitudeSum, s.longitudeSum, " +
+            "s.minLatitude, s.maxLatitude, s.minLongitude, s.maxLongitude, s.forkCount, s.coverImageUrl) " +
+            "FROM PlaceList pl JOIN pl.owner o LEFT JOIN PlaceListSummary s ON s.placeListId = pl.id ";
+
+    /**
+     * Loads a list and locks its row until the end of the transaction, serialising
+     * writers that order the items of the list.
+     *
+     * @param id the list id
+     * @return the list if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pl FROM PlaceList pl WHERE pl.id = :id")
+    Optional<PlaceList> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Loads a list and share-locks its row until the end of the transaction, so its items
+     * cannot change while they are copied.
+     *
+     * @param id the list id
+     * @return the list if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT pl FROM PlaceList pl WHERE pl.id = :id")
+    Optional<PlaceList> findByIdForShare(@Param("id") Long id);
+
+    /**
+     * Reads a list with its owner and summary in one query.
+     *
+     * @param id the list id
+     * @return the list row if found
+     */
+    @Query(ROW_SELECT + "WHERE pl.id = :id")
+    Optional<PlaceListRow> findRowById(@Param("id") Long id);
+
+    /**
+     * Reads the versions a list response depends on, by primary key.
+     *
+     * @param id the list id
+     * @return the version row if the list exists
+     */
+    @Query("SELECT new com.placehub.repository.projection.PlaceListVersionRow(pl.isPublic, o.id, pl.version, " +
+            "COALESCE(pl.updatedAt, pl.createdAt), o.version, COALESCE(o.updatedAt, o.createdAt), s.forkCount) " +
+            "FROM PlaceList pl JOIN pl.owner o LEFT JOIN PlaceListSummary s ON s.placeListId = pl.id WHERE pl.id = :id")
+    Optional<PlaceListVersionRow> findVersionRowById(@Param("id") Long id);
+
+    /**
+     * Reads one page of the lists of a user with their summaries, newest first.
+     *
+     * @param ownerId        the owner id
+     * @param includePrivate whether private lists are included
+     * @param createdAt      creation time of the last list of the previous page
+     * @param id             id of the last list of the previous page
+     * @param limit          the maximum number of rows
+     * @return the list rows
+     */
+    @Query(ROW_SELECT + "WHERE o.id = :ownerId AND (pl.isPublic = true OR :includePrivate = true) " +
+            "AND (pl.createdAt < :createdAt OR (pl.createdAt = :createdAt AND pl.id < :id)) " +
+            "ORDER BY pl.createdAt DESC, pl.id DESC")
+    List<PlaceListRow> findRowsByOwnerId(@Param("ownerId") Long ownerId,
+                                         @Param("includePrivate") boolean includePrivate,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") long id,
+                                         Limit limit);
+}
@@ -0,0 +1,170 @@
+package com.placehub.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC repository maintaining place_list_summaries with in-place delta updates, so concurrent
+ * writers to one list serialise on its summary row instead of recounting the list.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PlaceListSummaryRepository {
+
+    // Postgres binds at most 32767 parameters per statement
+    private static final int IDS_PER_QUERY = 1000;
+
+    private static final String INSERT_AGGREGATES =
+            "INSERT INTO place_list_summaries (place_list_id, item_count, visited_count, rating_count, rating_sum, " +
+            "latitude_sum, longitude_sum, min_latitude, max_latitude, min_longitude, max_longitude, fork_count) " +
+            "SELECT pl.id, COUNT(sp.id), COALESCE(SUM(CASE WHEN sp.visited THEN 1 ELSE 0 END), 0), " +
+            "COUNT(sp.rating), COALESCE(SUM(sp.rating), 0), COALESCE(SUM(p.latitude), 0), " +
+            "COALESCE(SUM(p.longitude), 0), MIN(p.latitude), MAX(p.latitude), MIN(p.longitude), MAX(p.longitude), " +
+            "(SELECT COUNT(*) FROM place_lists f WHERE f.forked_from_id = pl.id) " +
+            "FROM place_lists pl " +
+            "LEFT JOIN saved_places sp ON sp.place_list_id = pl.id " +
+            "LEFT JOIN places p ON p.id = sp.place_id ";
+
+    private static final String COVER_SUBQUERY =
+            "(SELECT sp.%s FROM saved_places sp WHERE sp.place_list_id = s.place_list_id " +
+            "AND sp.image_url IS NOT NULL ORDER BY sp.created_at DESC, sp.id DESC FETCH FIRST 1 ROWS ONLY)";
+
+    private static final String UPDATE_COVER =
+            "UPDATE place_list_summaries s SET cover_saved_place_id = " + COVER_SUBQUERY.formatted("id") +
+            ", cover_image_url = " + COVER_SUBQUERY.formatted("image_url") + " ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the summary of a new, empty list.
+     */
+    public void createEmpty(Long placeListId) {
+        jdbcTemplate.update("INSERT INTO place_list_summaries (place_list_id, item_count, visited_count, " +
+                "rating_count, rating_sum, latitude_sum, longitude_sum, fork_count) VALUES (?, 0, 0, 0, 0, 0, 0, 0)",
+                placeListId);
+    }
+
+    /**
+     * Adds deltas to the counters and sums of a summary.
+     */
+    public void addDeltas(Long placeListId, int items, int visited, int ratings, int ratingSum,
+                          double latitudeSum, double longitudeSum) {
+        jdbcTemplate.update("UPDATE place_list_summaries SET item_count = item_count + ?, " +
+                        "visited_count = visited_count + ?, rating_count = rating_count + ?, " +
+                        "rating_sum = rating_sum + ?, latitude_sum = latitude_sum + ?, " +
+                        "longitude_sum = longitude_sum + ? WHERE place_list_id = ?",
+                items, visited, ratings, ratingSum, latitudeSum, longitudeSum, placeListId);
+    }
+
+    /**
+     * Creates the summary of a fork from the summary of its source: same items and places,
+     * but none of them rated or visited yet.
+     *
+     * @param sourceId the source list id
+     * @param forkId   the fork list id
+     * @return false if the source has no summary
+     */
+    public boolean createForFork(Long sourceId, Long forkId) {
+        int created = jdbcTemplate.update("INSERT INTO place_list_summaries (place_list_id, item_count, visited_count, " +
+                "rating_count, rating_sum, latitude_sum, longitude_sum, min_latitude, max_latitude, " +
+                "min_longitude, max_longitude, fork_count) " +
+                "SELECT ?, item_count, 0, 0, 0, latitude_sum, longitude_sum, min_latitude, max_latitude, " +
+                "min_longitude, max_longitude, 0 FROM place_list_summaries WHERE place_list_id = ?",
+                forkId, sourceId);
+        refreshCover(forkId);
+        return created > 0;
+    }
+
+    /**
+     * Counts one more fork of a list.
+     */
+    public void incrementForkCount(Long placeListId) {
+        jdbcTemplate.update("UPDATE place_list_summaries SET fork_count = fork_count + 1 WHERE place_list_id = ?",
+                placeListId);
+    }
+
+    /**
+     * Grows the bounding box of a summary to include a point.
+     */
+    public void expandBounds(Long placeListId, double latitude, double longitude) {
+        jdbcTemplate.update("UPDATE place_list_summaries SET " +
+                        "min_latitude = LEAST(COALESCE(min_latitude, ?), ?), " +
+                        "max_latitude = GREATEST(COALESCE(max_latitude, ?), ?), " +
+                        "min_longitude = LEAST(COALESCE(min_longitude, ?), ?), " +
+                        "max_longitude = GREATEST(COALESCE(max_longitude, ?), ?) WHERE place_list_id = ?",
+                latitude, latitude, latitude, latitude, longitude, longitude, longitude, longitude, placeListId);
+    }
+
+    /**
+     * Recomputes the bounding box after a point was removed, but only if the point was on
+     * its edge; otherwise the box is unchanged and nothing is scanned.
+     */
+    public void shrinkBounds(Long placeListId, double latitude, double longitude) {
+        String aggregate = "(SELECT %s(p.%s) FROM saved_places sp JOIN places p ON p.id = sp.place_id " +
+                "WHERE sp.place_list_id = s.place_list_id)";
+        jdbcTemplate.update("UPDATE place_list_summaries s SET " +
+                        "min_latitude = " + aggregate.formatted("MIN", "latitude") + ", " +
+                        "max_latitude = " + aggregate.formatted("MAX", "latitude") + ", " +
+                        "min_longitude = " + aggregate.formatted("MIN", "longitude") + ", " +
+                        "max_longitude = " + aggregate.formatted("MAX", "longitude") + " " +
+                        "WHERE s.place_list_id = ? AND (s.min_latitude = ? OR s.max_latitude = ? " +
+                        "OR s.min_longitude = ? OR s.max_longitude = ?)",
+                placeListId, latitude, latitude, longitude, longitude);
+    }
+
+    /**
+     * Sets the thumbnail of a summary to a newly saved item.
+     */
+    public void setCover(Long placeListId, Long savedPlaceId, String imageUrl) {
+        jdbcTemplate.update("UPDATE place_list_summaries SET cover_saved_place_id = ?, cover_image_url = ? " +
+                "WHERE place_list_id = ?", savedPlaceId, imageUrl, placeListId);
+    }
+
+    /**
+     * Picks the thumbnail of a summary again, e.g. after its item was removed or changed.
+     */
+    public void refreshCover(Long placeListId) {
+        jdbcTemplate.update(UPDATE_COVER + "WHERE s.place_list_id = ?", placeListId);
+    }
+
+    /**
+     * Recomputes the summaries of the given lists from scratch.
+     *
+     * @param placeListIds the lists
+     */
+    public void rebuild(Collection<Long> placeListIds) {
+        List<Long> idList = new ArrayList<>(placeListIds);
+        for (int from = 0; from < idList.size(); from += IDS_PER_QUERY) {
+            List<Long> chunk = idList.subList(from, Math.min(from + IDS_PER_QUERY, idList.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            Object[] ids = chunk.toArray();
+            jdbcTemplate.update("DELETE FROM place_list_summaries WHERE place_list_id IN (" + placeholders + ")", ids);
+            jdbcTemplate.update(INSERT_AGGREGATES + "WHERE pl.id IN (" + placeholders + ") GROUP BY pl.id", ids);
+            jdbcTemplate.update(UPDATE_COVER + "WHERE s.place_list_id IN (" + placeholders + ")", ids);
+        }
+    }
+
+    /**
+     * Creates the summaries of all lists that have none yet, e.g. lists that existed
+     * before summaries were introduced.
+     *
+     * @return the number of summaries created
+     */
+    public int createMissing() {
+        int created = jdbcTemplate.update(INSERT_AGGREGATES +
+                "WHERE NOT EXISTS (SELECT 1 FROM place_list_summaries s WHERE s.place_list_id = pl.id) GROUP BY pl.id");
+        if (created > 0) {
+            // Covers the new summaries, and any other lacking a cover its list has
+            jdbcTemplate.update(UPDATE_COVER + "WHERE s.cover_saved_place_id IS NULL AND EXISTS (SELECT 1 " +
+                    "FROM saved_places sp WHERE sp.place_list_id = s.place_list_id AND sp.image_url IS NOT NULL)");
+        }
+        return created;
+    }
+}
@@ -0,0 +1,124 @@
+package com.placehub.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.placehub.entity.PlaceRatingSummary;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC repository maintaining place_rating_summaries with in-place delta upserts, so
+ * concurrent writers rating one place serialise on its summary row instead of rescanning
+ * its saved entries.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PlaceRatingSummaryRepository {
+
+    private static final String COLUMNS = "place_id, rating_count, rating_sum, rating_1_count, rating_2_count, " +
+            "rating_3_count, rating_4_count, rating_5_count, visited_count";
+    private static final String[] COUNTERS = {"rating_count", "rating_sum", "rating_1_count", "rating_2_count",
+            "rating_3_count", "rating_4_count", "rating_5_count", "visited_count"};
+    private static final String AGGREGATES = "SELECT sp.place_id, COUNT(sp.rating), COALESCE(SUM(sp.rating), 0), " +
+            "SUM(CASE WHEN sp.rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN sp.rating = 2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN sp.rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN sp.rating = 4 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN sp.rating = 5 THEN 1 ELSE 0 END), SUM(CASE WHEN sp.visited THEN 1 ELSE 0 END) " +
+            "FROM saved_places sp ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    /**
+     * Adds deltas to the summary of a place, creating it if needed.
+     *
+     * @param placeId        the place id
+     * @param ratingDeltas   the change of the number of entries rated 1 to 5, at indexes 0 to 4
+     * @param visitedDelta   the change of the number of visited entries
+     */
+    public void addDeltas(Long placeId, int[] ratingDeltas, int visitedDelta) {
+        long ratings = 0;
+        long ratingSum = 0;
+        for (int star = 1; star <= 5; star++) {
+            ratings += ratingDeltas[star - 1];
+            ratingSum += (long) star * ratingDeltas[star - 1];
+        }
+        Object[] args = {placeId, ratings, ratingSum, ratingDeltas[0], ratingDeltas[1], ratingDeltas[2],
+                ratingDeltas[3], ratingDeltas[4], visitedDelta};
+        StringBuilder sql = new StringBuilder();
+        if (dialect.isPostgres()) {
+            sql.append("INSERT INTO place_rating_summaries (").append(COLUMNS).append(") ")
+                    .append("VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (place_id) DO UPDATE SET ");
+            for (int i = 0; i < COUNTERS.length; i++) {
+                sql.append(i > 0 ? ", " : "").append(COUNTERS[i]).append(" = place_rating_summaries.")
+                        .append(COUNTERS[i]).append(" + EXCLUDED.").append(COUNTERS[i]);
+            }
+        } else {
+            sql.append("MERGE INTO place_rating_summaries t USING (SELECT CAST(? AS BIGINT) AS place_id");
+            for (String counter : COUNTERS) {
+                sql.append(", CAST(? AS BIGINT) AS ").append(counter);
+            }
+            sql.append(") s ON t.place_id = s.place_id WHEN MATCHED THEN UPDATE SET ");
+            for (int i = 0; i < COUNTERS.length; i++) {
+                sql.append(i > 0 ? ", " : "").append(COUNTERS[i]).append(" = t.").append(COUNTERS[i])
+                        .append(" + s.").append(COUNTERS[i]);
+            }
+            sql.append(" WHEN NOT MATCHED THEN INSERT (").append(COLUMNS).append(") VALUES (s.place_id");
+            for (String counter : COUNTERS) {
+                sql.append(", s.").append(counter);
+            }
+            sql.append(")");
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    /**
+     * Finds the summary of a place.
+     */
+    public Optional<PlaceRatingSummary> findByPlaceId(Long placeId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM place_rating_summaries WHERE place_id = ?",
+                (rs, rowNum) -> PlaceRatingSummary.builder()
+                        .placeId(rs.getLong(1))
+                        .ratingCount(rs.getLong(2))
+                        .ratingSum(rs.getLong(3))
+                        .rating1Count(rs.getLong(4))
+                        .rating2Count(rs.getLong(5))
+                        .rating3Count(rs.getLong(6))
+                        .rating4Count(rs.getLong(7))
+                        .rating5Count(rs.getLong(8))
+                        .visitedCount(rs.getLong(9))
+                        .build(), placeId).stream().findFirst();
+    }
+
+    /**
+     * Creates the summaries of saved places that have none, e.g. saved before summaries existed.
+     *
+     * @return the number of summaries created
+     */
+    public int createMissing() {
+        return jdbcTemplate.update("INSERT INTO place_rating_summaries (" + COLUMNS + ") " + AGGREGATES +
+                "WHERE NOT EXISTS (SELECT 1 FROM place_rating_summaries s WHERE s.place_id = sp.place_id) " +
+                "GROUP BY sp.place_id");
+    }
+
+    /**
+     * Recomputes the summaries of places from their saved entries. Places saved nowhere
+     * are left without a summary.
+     */
+    public void rebuild(Collection<Long> placeIds) {
+        if (placeIds.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(",", Collections.nCopies(placeIds.size(), "?"));
+        Object[] args = new ArrayList<>(placeIds).toArray();
+        jdbcTemplate.update("DELETE FROM place_rating_summaries WHERE place_id IN (" + placeholders + ")", args);
+        jdbcTemplate.update("INSERT INTO place_rating_summaries (" + COLUMNS + ") " + AGGREGATES +
+                "WHERE sp.place_id IN (" + placeholders + ") GROUP BY sp.place_id", args);
+    }
+}
@@ -0,0 +1,59 @@
+package com.placehub.repository;
+
+import java.util.Optional;
+
+import com.placehub.entity.Place;
+import com.placehub.repository.projection.VersionRow;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for Place entity.
+ */
+@Repository
+public interface PlaceRepository extends JpaRepository<Place, Long> {
+
+    /**
+     * Find a place by its Google Place ID.
+     *
+     * @param googlePlaceId the Google Place ID
+     * @return Optional containing the place if found
+     */
+    Optional<Place> findByGooglePlaceId(String googlePlaceId);
+
+    /**
+     * Reads the version of a place by primary key.
+     *
+     * @param id the place id
+     * @return the version row if the place exists
+     */
+    @Query("SELECT new com.placehub.repository.projection.VersionRow(p.version, COALESCE(p.updatedAt, p.createdAt)) " +
+            "FROM Place p WHERE p.id = :id")
+    Optional<VersionRow> findVersionById(@Param("id") Long id);
+
+    /**
+     * Moves all saved entries of a place to another place.
+     *
+     * @param fromId the place being merged away
+     * @param toId   the surviving place
+     * @return number of saved places updated
+     */
+    @Modifying
+    @Query("UPDATE SavedPlace sp SET sp.place.id = :toId WHERE sp.place.id = :fromId")
+    int reassignSavedPlaces(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Moves users whose home place is the given place to another place.
+     *
+     * @param fromId the place being merged away
+     * @param toId   the surviving place
+     * @return number of users updated
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.homePlace.id = :toId WHERE u.homePlace.id = :fromId")
+    int reassignHomePlaces(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
@@ -0,0 +1,117 @@
+package com.placehub.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC repository for the rank keys that order saved places within their list.
+ * Lookups are range reads on the (place_list_id, rank_key) index.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SavedPlaceRankRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Finds the last rank key of a list.
+     *
+     * @param placeListId the list id
+     * @return the largest key, or null for an empty list
+     */
+    public String findLastRank(Long placeListId) {
+        return jdbcTemplate.queryForObject("SELECT MAX(rank_key) FROM saved_places WHERE place_list_id = ?",
+                String.class, placeListId);
+    }
+
+    /**
+     * Finds the rank keys of saved places of a list.
+     *
+     * @param placeListId   the list id
+     * @param savedPlaceIds the saved place ids
+     * @return map of saved place id to key, for the ids that are in the list
+     */
+    public Map<Long, String> findRanks(Long placeListId, Collection<Long> savedPlaceIds) {
+        Map<Long, String> ranks = new HashMap<>();
+        if (savedPlaceIds.isEmpty()) {
+            return ranks;
+        }
+        List<Object> args = new ArrayList<>(savedPlaceIds.size() + 1);
+        args.add(placeListId);
+        args.addAll(savedPlaceIds);
+        jdbcTemplate.query("SELECT id, rank_key FROM saved_places WHERE place_list_id = ? AND id IN (" +
+                placeholders(savedPlaceIds.size()) + ")", rs -> {
+                    ranks.put(rs.getLong(1), rs.getString(2));
+                }, args.toArray());
+        return ranks;
+    }
+
+    /**
+     * Finds the first rank key after a key, ignoring some saved places.
+     *
+     * @param placeListId the list id
+     * @param rank        the key to search after, or null for the start of the list
+     * @param excludedIds saved places to ignore, e.g. the ones being moved
+     * @return the next key, or null if there is none
+     */
+    public String findNextRank(Long placeListId, String rank, Collection<Long> excludedIds) {
+        List<Object> args = new ArrayList<>(excludedIds.size() + 2);
+        args.add(placeListId);
+        args.add(rank != null ? rank : "");
+        args.addAll(excludedIds);
+        String exclusion = excludedIds.isEmpty() ? "" : " AND id NOT IN (" + placeholders(excludedIds.size()) + ")";
+        return jdbcTemplate.queryForObject("SELECT MIN(rank_key) FROM saved_places WHERE place_list_id = ? " +
+                "AND rank_key > ?" + exclusion, String.class, args.toArray());
+    }
+
+    /**
+     * Sets the rank keys of saved places of a list in one JDBC batch.
+     *
+     * @param placeListId   the list id
+     * @param savedPlaceIds the saved place ids
+     * @param ranks         the new key of each saved place, in order
+     */
+    public void updateRanks(Long placeListId, List<Long> savedPlaceIds, List<String> ranks) {
+        List<Object[]> args = new ArrayList<>(savedPlaceIds.size());
+        for (int i = 0; i < savedPlaceIds.size(); i++) {
+            args.add(new Object[] {ranks.get(i), savedPlaceIds.get(i), placeListId});
+        }
+        jdbcTemplate.batchUpdate("UPDATE saved_places SET rank_key = ? WHERE id = ? AND place_list_id = ?", args);
+    }
+
+    /**
+     * Reads the saved place ids of a list in rank order. Items without a key come last,
+     * in insertion order.
+     *
+     * @param placeListId the list id
+     * @return the ids
+     */
+    public List<Long> findIdsInRankOrder(Long placeListId) {
+        return jdbcTemplate.queryForList("SELECT id FROM saved_places WHERE place_list_id = ? " +
+                "ORDER BY CASE WHEN rank_key IS NULL THEN 1 ELSE 0 END, rank_key, created_at, id",
+                Long.class, placeListId);
+    }
+
+    /**
+     * Finds the lists that have saved places without a rank key.
+     *
+     * @return the list ids
+     */
+    public List<Long> findListsWithUnrankedItems() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT place_list_id FROM saved_places WHERE rank_key IS NULL",
+                Long.class);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,153 @@
+package com.placehub.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.placehub.entity.SavedPlace;
+import com.placehub.repository.projection.SavedPlaceRow;
+import com.placehub.repository.projection.SavedPlaceTagRow;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for SavedPlace entity.
+ */
+@Repository
+public interface SavedPlaceRepository extends JpaRepository<SavedPlace, Long> {
+
+    String ROW_SELECT = "SELECT new com.placehub.repository.projection.SavedPlaceRow(" +
+            "sp.id, sp.rank, sp.note, sp.imageUrl, sp.rating, sp.visited, sp.createdAt, " +
+            "p.id, p.name, p.categoryCode, p.latitude, p.longitude, p.streetAddress, p.city, p.state, " +
+            "p.country, p.postalCode, p.formattedAddress, p.googlePlaceId, p.source, p.createdBy.id, p.createdAt) " +
+            "FROM SavedPlace sp JOIN sp.place p ";
+
+    /**
+     * Loads a saved place with its place and list in one query.
+     *
+     * @param id the saved place id
+     * @return the saved place if found
+     */
+    @Query("SELECT sp FROM SavedPlace sp JOIN FETCH sp.place JOIN FETCH sp.placeList WHERE sp.id = :id")
+    Optional<SavedPlace> findByIdWithPlaceAndList(@Param("id") Long id);
+
+    boolean existsByPlaceListIdAndPlaceId(Long placeListId, Long placeId);
+
+    /**
+     * Finds the lists that contain a place.
+     *
+     * @param placeId the place id
+     * @return the list ids
+     */
+    @Query("SELECT DISTINCT sp.placeList.id FROM SavedPlace sp WHERE sp.place.id = :placeId")
+    List<Long> findPlaceListIdsByPlaceId(@Param("placeId") Long placeId);
+
+    /**
+     * Finds the saved entries of a place in lists that also hold another place.
+     *
+     * @param placeId      the place
+     * @param otherPlaceId the other place
+     * @return the saved entries of the place
+     */
+    @Query("SELECT sp FROM SavedPlace sp WHERE sp.place.id = :placeId AND EXISTS " +
+            "(SELECT 1 FROM SavedPlace other WHERE other.placeList = sp.placeList AND other.place.id = :otherPlaceId)")
+    List<SavedPlace> findByPlaceIdInListsHolding(@Param("placeId") Long placeId,
+                                                 @Param("otherPlaceId") Long otherPlaceId);
+
+    /**
+     * Finds the places of a list, most recently saved first.
+     *
+     * @param placeListId the list id
+     * @param limit       the maximum number of places
+     * @return the place ids
+     */
+    @Query("SELECT sp.place.id FROM SavedPlace sp WHERE sp.placeList.id = :placeListId " +
+            "ORDER BY sp.createdAt DESC, sp.id DESC")
+    List<Long> findRecentPlaceIdsByPlaceListId(@Param("placeListId") Long placeListId, Limit limit);
+
+    /**
+     * Finds the places saved by a user in any list, most recently saved first.
+     *
+     * @param ownerId the user id
+     * @param limit   the maximum number of saved places
+     * @return the place ids, possibly repeated
+     */
+    @Query("SELECT sp.place.id FROM SavedPlace sp WHERE sp.placeList.owner.id = :ownerId " +
+            "ORDER BY sp.createdAt DESC, sp.id DESC")
+    List<Long> findRecentPlaceIdsByOwnerId(@Param("ownerId") Long ownerId, Limit limit);
+
+    /**
+     * Finds which of some places are saved in a list.
+     */
+    @Query("SELECT sp.place.id FROM SavedPlace sp WHERE sp.placeList.id = :placeListId AND sp.place.id IN :placeIds")
+    List<Long> findPlaceIdsInList(@Param("placeListId") Long placeListId, @Param("placeIds") Collection<Long> placeIds);
+
+    /**
+     * Finds which of some places a user saved in any list.
+     */
+    @Query("SELECT DISTINCT sp.place.id FROM SavedPlace sp WHERE sp.placeList.owner.id = :ownerId " +
+            "AND sp.place.id IN :placeIds")
+    List<Long> findPlaceIdsSavedBy(@Param("ownerId") Long ownerId, @Param("placeIds") Collection<Long> placeIds);
+
+    /**
+     * Loads the saved places of a list with their places in one query.
+     * Tags are then batch-fetched for the whole list on first access.
+     *
+     * @param placeListId the list id
+     * @return the saved places in insertion order
+     */
+    @Query("SELECT sp FROM SavedPlace sp JOIN FETCH sp.place WHERE sp.placeList.id = :placeListId ORDER BY sp.id")
+    List<SavedPlace> findByPlaceListIdWithPlace(@Param("placeListId") Long placeListId);
+
+    /**
+     * Reads one page of the saved places of a list with their places as flat rows,
+     * in rank order.
+     *
+     * @param placeListId the list id
+     * @param rank        rank key of the last saved place of the previous page
+     * @param id          id of the last saved place of the previous page
+     * @param limit       the maximum number of rows
+     * @return the rows
+     */
+    @Query(ROW_SELECT + "WHERE sp.placeList.id = :placeListId " +
+            "AND (sp.rank > :rank OR (sp.rank = :rank AND sp.id > :id)) " +
+            "ORDER BY sp.rank, sp.id")
+    List<SavedPlaceRow> findRowsByPlaceListId(@Param("placeListId") Long placeListId,
+                                              @Param("rank") String rank,
+                                              @Param("id") long id,
+                                              Limit limit);
+
+    /**
+     * Reads the given saved places of a list with their places as flat rows, in rank order.
+     *
+     * @param placeListId   the list id
+     * @param savedPlaceIds the saved place ids; ids not in the list are skipped
+     * @return the rows
+     */
+    @Query(ROW_SELECT + "WHERE sp.placeList.id = :placeListId AND sp.id IN :savedPlaceIds ORDER BY sp.rank, sp.id")
+    List<SavedPlaceRow> findRowsByIds(@Param("placeListId") Long placeListId,
+                                      @Param("savedPlaceIds") Collection<Long> savedPlaceIds);
+
+    /**
+     * Reads the tags of the given saved places in one query.
+     *
+     * @param savedPlaceIds the saved place ids
+     * @return the tag rows ordered by saved place and name
+     */
+    @Query("SELECT new com.placehub.repository.projection.SavedPlaceTagRow(sp.id, t.name) " +
+            "FROM SavedPlace sp JOIN sp.tags t WHERE sp.id IN :savedPlaceIds ORDER BY sp.id, t.name")
+    List<SavedPlaceTagRow> findTagRowsBySavedPlaceIds(@Param("savedPlaceIds") Collection<Long> savedPlaceIds);
+
+    /**
+     * Reads the list of a saved place without loading the entity.
+     *
+     * @param id the saved place id
+     * @return the list id if the saved place exists
+     */
+    @Query("SELECT sp.placeList.id FROM SavedPlace sp WHERE sp.id = :id")
+    Optional<Long> findPlaceListIdById(@Param("id") Long id);
+}
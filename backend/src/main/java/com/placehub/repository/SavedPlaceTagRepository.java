@@ -0,0 +1,139 @@
+package com.placehub.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC repository for set-based tag operations: one statement adds or removes any number
+ * of tags on any number of saved places, without loading the entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SavedPlaceTagRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    /**
+     * Inserts tag names that do not exist yet.
+     *
+     * @param names normalised tag names
+     */
+    public void insertTags(Collection<String> names) {
+        String sql = dialect.isPostgres()
+                ? "INSERT INTO tags (name) VALUES (?) ON CONFLICT (name) DO NOTHING"
+                : "INSERT INTO tags (name) SELECT CAST(? AS VARCHAR(64)) FROM (VALUES (1)) v " +
+                  "WHERE NOT EXISTS (SELECT 1 FROM tags WHERE name = ?)";
+        List<Object[]> args = new ArrayList<>(names.size());
+        for (String name : names) {
+            args.add(dialect.isPostgres() ? new Object[] {name} : new Object[] {name, name});
+        }
+        jdbcTemplate.batchUpdate(sql, args);
+    }
+
+    /**
+     * Resolves tag ids by name.
+     *
+     * @param names normalised tag names
+     * @return map of name to id, for the names that exist
+     */
+    public Map<String, Integer> findTagIds(Collection<String> names) {
+        Map<String, Integer> ids = new HashMap<>();
+        if (names.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query("SELECT name, id FROM tags WHERE name IN (" + placeholders(names.size()) + ")",
+                rs -> {
+                    ids.put(rs.getString(1), rs.getInt(2));
+                },
+                names.toArray());
+        return ids;
+    }
+
+    /**
+     * Adds every tag to every saved place that belongs to a list of the owner.
+     * Existing links are left alone.
+     *
+     * @param savedPlaceIds the saved places
+     * @param tagIds        the tags
+     * @param ownerId       the user who must own the lists of the saved places
+     * @return the number of links added
+     */
+    public int addTags(Collection<Long> savedPlaceIds, Collection<Integer> tagIds, Long ownerId) {
+        if (savedPlaceIds.isEmpty() || tagIds.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT INTO saved_place_tag_links (saved_place_id, tag_id) " +
+                "SELECT sp.id, t.id FROM saved_places sp " +
+                "JOIN place_lists pl ON pl.id = sp.place_list_id " +
+                "CROSS JOIN tags t " +
+                "WHERE pl.owner_id = ? AND sp.id IN (" + placeholders(savedPlaceIds.size()) + ") " +
+                "AND t.id IN (" + placeholders(tagIds.size()) + ") " +
+                "AND NOT EXISTS (SELECT 1 FROM saved_place_tag_links l WHERE l.saved_place_id = sp.id AND l.tag_id = t.id)" +
+                (dialect.isPostgres() ? " ON CONFLICT DO NOTHING" : "");
+        return jdbcTemplate.update(sql, arguments(ownerId, savedPlaceIds, tagIds));
+    }
+
+    /**
+     * Removes every tag from every saved place that belongs to a list of the owner.
+     *
+     * @param savedPlaceIds the saved places
+     * @param tagIds        the tags
+     * @param ownerId       the user who must own the lists of the saved places
+     * @return the number of links removed
+     */
+    public int removeTags(Collection<Long> savedPlaceIds, Collection<Integer> tagIds, Long ownerId) {
+        if (savedPlaceIds.isEmpty() || tagIds.isEmpty()) {
+            return 0;
+        }
+        String sql = "DELETE FROM saved_place_tag_links WHERE saved_place_id IN (" +
+                "SELECT sp.id FROM saved_places sp JOIN place_lists pl ON pl.id = sp.place_list_id " +
+                "WHERE pl.owner_id = ? AND sp.id IN (" + placeholders(savedPlaceIds.size()) + ")) " +
+                "AND tag_id IN (" + placeholders(tagIds.size()) + ")";
+        return jdbcTemplate.update(sql, arguments(ownerId, savedPlaceIds, tagIds));
+    }
+
+    /**
+     * Loads the tag names of many saved places in one query.
+     *
+     * @param savedPlaceIds the saved places
+     * @return map of saved place id to its tag names, sorted; saved places without tags are absent
+     */
+    public Map<Long, List<String>> findTagNames(Collection<Long> savedPlaceIds) {
+        Map<Long, List<String>> tags = new LinkedHashMap<>();
+        if (savedPlaceIds.isEmpty()) {
+            return tags;
+        }
+        jdbcTemplate.query("SELECT l.saved_place_id, t.name FROM saved_place_tag_links l " +
+                        "JOIN tags t ON t.id = l.tag_id " +
+                        "WHERE l.saved_place_id IN (" + placeholders(savedPlaceIds.size()) + ") " +
+                        "ORDER BY l.saved_place_id, t.name",
+                rs -> {
+                    tags.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+                },
+                savedPlaceIds.toArray());
+        return tags;
+    }
+
+    private static Object[] arguments(Long ownerId, Collection<Long> savedPlaceIds, Collection<Integer> tagIds) {
+        List<Object> args = new ArrayList<>(1 + savedPlaceIds.size() + tagIds.size());
+        args.add(ownerId);
+        args.addAll(savedPlaceIds);
+        args.addAll(tagIds);
+        return args.toArray();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
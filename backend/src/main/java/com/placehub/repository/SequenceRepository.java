@@ -0,0 +1,56 @@
+package com.placehub.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC repository reserving ids from pooled sequences for writes that bypass Hibernate,
+ * using the same semantics as Hibernate's pooled optimizer: a sequence value v owns the
+ * block (v - allocationSize, v], so ids reserved here never collide with Hibernate's.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SequenceRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    /**
+     * Reserves ids from a pooled sequence in a single round trip.
+     *
+     * @param sequence       the sequence name
+     * @param allocationSize the allocation size of the sequence
+     * @param count          the number of ids needed
+     * @return the ids, ascending
+     */
+    public long[] allocateIds(String sequence, int allocationSize, int count) {
+        // The very first sequence value (1) owns a single id, so ask for one spare block
+        int blocks = (count + allocationSize - 1) / allocationSize + 1;
+        long[] ids = new long[count];
+        int next = 0;
+        for (long hi : allocateBlocks(sequence, blocks)) {
+            for (long id = Math.max(1, hi - allocationSize + 1); id <= hi && next < count; id++) {
+                ids[next++] = id;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Reserves whole blocks from a pooled sequence in a single round trip.
+     *
+     * @param sequence the sequence name
+     * @param blocks   the number of blocks
+     * @return the high value of each block, ascending
+     */
+    public List<Long> allocateBlocks(String sequence, int blocks) {
+        String sql = dialect.isPostgres()
+                ? "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)"
+                : "SELECT NEXT VALUE FOR " + sequence + " FROM SYSTEM_RANGE(1, ?)";
+        return jdbcTemplate.queryForList(sql, Long.class, blocks);
+    }
+}
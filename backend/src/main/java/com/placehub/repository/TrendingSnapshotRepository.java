@@ -0,0 +1,63 @@
+package com.placehub.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC repository for the trending_snapshots table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TrendingSnapshotRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    /**
+     * Streams every snapshot.
+     *
+     * @param consumer receives the region key and the payload of each snapshot
+     */
+    public void forEach(BiConsumer<String, byte[]> consumer) {
+        jdbcTemplate.query("SELECT region_key, payload FROM trending_snapshots",
+                rs -> {
+                    consumer.accept(rs.getString(1), rs.getBytes(2));
+                });
+    }
+
+    /**
+     * Writes snapshots, replacing the previous snapshots of the same regions.
+     */
+    public void upsert(Map<String, byte[]> snapshots) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(snapshots.size());
+        snapshots.forEach((region, payload) -> args.add(new Object[] {region, payload, now}));
+        if (dialect.isPostgres()) {
+            jdbcTemplate.batchUpdate("INSERT INTO trending_snapshots (region_key, payload, updated_at) " +
+                    "VALUES (?, ?, ?) ON CONFLICT (region_key) DO UPDATE SET payload = EXCLUDED.payload, " +
+                    "updated_at = EXCLUDED.updated_at", args);
+        } else {
+            jdbcTemplate.batchUpdate("MERGE INTO trending_snapshots (region_key, payload, updated_at) " +
+                    "KEY (region_key) VALUES (?, ?, ?)", args);
+        }
+    }
+
+    /**
+     * Deletes the snapshots of regions.
+     */
+    public void delete(Collection<String> regionKeys) {
+        List<Object[]> args = new ArrayList<>(regionKeys.size());
+        regionKeys.forEach(region -> args.add(new Object[] {region}));
+        jdbcTemplate.batchUpdate("DELETE FROM trending_snapshots WHERE region_key = ?", args);
+    }
+}
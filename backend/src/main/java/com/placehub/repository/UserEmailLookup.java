@@ -0,0 +1,20 @@
+package com.placehub.repository;
+
+import java.util.Optional;
+
+import com.placehub.entity.User;
+
+/**
+ * Repository fragment loading users by email through the natural id cache.
+ */
+public interface UserEmailLookup {
+
+    /**
+     * Loads a user by email. Served from the second-level cache once the user has been seen,
+     * unlike the derived findByEmail query, which always reaches the database.
+     *
+     * @param email the user's email
+     * @return the user if found
+     */
+    Optional<User> loadByEmail(String email);
+}
@@ -0,0 +1,26 @@
+package com.placehub.repository;
+
+import java.util.Optional;
+
+import com.placehub.entity.User;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Natural id implementation of UserEmailLookup.
+ */
+class UserEmailLookupImpl implements UserEmailLookup {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> loadByEmail(String email) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(email);
+    }
+}
@@ -3,15 +3,18 @@ package com.placehub.repository;
 import java.util.Optional;
 
 import com.placehub.entity.User;
+import com.placehub.repository.projection.VersionRow;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Repository interface for User entity.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserEmailLookup {
 
     /**
      * Find a user by email address.
@@ -28,4 +31,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if user exists, false otherwise
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Reads the version of a user by primary key.
+     *
+     * @param id the user id
+     * @return the version row if the user exists
+     */
+    @Query("SELECT new com.placehub.repository.projection.VersionRow(u.version, COALESCE(u.updatedAt, u.createdAt)) " +
+            "FROM User u WHERE u.id = :id")
+    Optional<VersionRow> findVersionById(@Param("id") Long id);
 }
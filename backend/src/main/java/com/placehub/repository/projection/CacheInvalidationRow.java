@@ -0,0 +1,12 @@
+package com.placehub.repository.projection;
+
+/**
+ * Entry of the cache_invalidations table.
+ *
+ * @param id         the entry id, increasing
+ * @param nodeId     the node that wrote the entry
+ * @param entityName the simple name of the entity class
+ * @param entityIds  comma-separated ids, or * for every entity of the type
+ */
+public record CacheInvalidationRow(long id, String nodeId, String entityName, String entityIds) {
+}
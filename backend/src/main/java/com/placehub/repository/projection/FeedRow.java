@@ -0,0 +1,26 @@
+package com.placehub.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a feed entry: a saved place with its place, list and the user who saved it.
+ */
+public record FeedRow(
+        Long savedPlaceId,
+        LocalDateTime createdAt,
+        Long actorId,
+        String actorFirstName,
+        String actorLastName,
+        String actorAvatarUrl,
+        Long placeListId,
+        String placeListName,
+        String note,
+        Long placeId,
+        String placeName,
+        Short categoryCode,
+        Double latitude,
+        Double longitude,
+        String city,
+        String country,
+        String formattedAddress
+) {}
@@ -0,0 +1,15 @@
+package com.placehub.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a follow relationship with the user on the other side.
+ */
+public record FollowRow(
+        Long followId,
+        LocalDateTime createdAt,
+        Long userId,
+        String firstName,
+        String lastName,
+        String avatarUrl
+) {}
@@ -0,0 +1,9 @@
+package com.placehub.repository.projection;
+
+/**
+ * Id of a place list and of its owner.
+ */
+public record PlaceListOwnerRow(
+        Long id,
+        Long ownerId
+) {}
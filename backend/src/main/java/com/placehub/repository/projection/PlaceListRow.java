@@ -0,0 +1,38 @@
+package com.placehub.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a place list with its owner and summary, filled by a JPQL
+ * constructor expression so no entity is loaded. Summary fields are null for a list
+ * whose summary does not exist yet.
+ */
+public record PlaceListRow(
+        Long id,
+        String name,
+        String description,
+        String coverImageUrl,
+        Boolean isPublic,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long forkedFromId,
+        Long version,
+        Long ownerId,
+        String ownerFirstName,
+        String ownerLastName,
+        String ownerAvatarUrl,
+        Long ownerVersion,
+        LocalDateTime ownerUpdatedAt,
+        Long itemCount,
+        Long visitedCount,
+        Long ratingCount,
+        Long ratingSum,
+        Double latitudeSum,
+        Double longitudeSum,
+        Double minLatitude,
+        Double maxLatitude,
+        Double minLongitude,
+        Double maxLongitude,
+        Long forkCount,
+        String thumbnailUrl
+) {}
@@ -0,0 +1,19 @@
+package com.placehub.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Everything the response for a place list depends on besides its items, read by
+ * primary key: visibility, the list and owner versions and the fork count, which is
+ * kept in the summary without a version bump.
+ */
+public record PlaceListVersionRow(
+        Boolean isPublic,
+        Long ownerId,
+        Long version,
+        LocalDateTime updatedAt,
+        Long ownerVersion,
+        LocalDateTime ownerUpdatedAt,
+        Long forkCount
+) {
+}
@@ -0,0 +1,34 @@
+package com.placehub.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.placehub.entity.PlaceSource;
+
+/**
+ * Flat read model of a saved place with its place, filled by a JPQL constructor expression
+ * so no entity is loaded.
+ */
+public record SavedPlaceRow(
+        Long id,
+        String rank,
+        String note,
+        String imageUrl,
+        Integer rating,
+        Boolean visited,
+        LocalDateTime createdAt,
+        Long placeId,
+        String placeName,
+        Short categoryCode,
+        Double latitude,
+        Double longitude,
+        String streetAddress,
+        String city,
+        String state,
+        String country,
+        String postalCode,
+        String formattedAddress,
+        String googlePlaceId,
+        PlaceSource source,
+        Long createdById,
+        LocalDateTime placeCreatedAt
+) {}
@@ -0,0 +1,9 @@
+package com.placehub.repository.projection;
+
+/**
+ * One tag of a saved place.
+ */
+public record SavedPlaceTagRow(
+        Long savedPlaceId,
+        String name
+) {}
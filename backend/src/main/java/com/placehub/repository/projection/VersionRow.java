@@ -0,0 +1,13 @@
+package com.placehub.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version and modification time of a row, read by primary key to answer conditional
+ * requests without loading the entity.
+ *
+ * @param version      the version column
+ * @param lastModified the last update, or the creation time of a row never updated
+ */
+public record VersionRow(Long version, LocalDateTime lastModified) {
+}
@@ -0,0 +1,47 @@
+package com.placehub.service;
+
+import com.placehub.util.SchemaUtils;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-off migration adding the unique constraint on (follower_id, following_id) to an existing
+ * follows table, which ddl-auto cannot do while duplicate follows exist. The oldest follow of
+ * each pair is kept and the others are deleted first; the follower counts are corrected by the
+ * next counter reconciliation. Runs at startup and does nothing once the constraint exists.
+ */
+@Slf4j
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class FollowMigration implements ApplicationRunner {
+
+    private static final String CONSTRAINT = "uk_follows_follower_following";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (SchemaUtils.hasConstraint(jdbcTemplate, CONSTRAINT)) {
+            return;
+        }
+        log.info("Adding {} to follows", CONSTRAINT);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            int duplicates = jdbcTemplate.update("DELETE FROM follows f WHERE EXISTS (SELECT 1 FROM follows o " +
+                    "WHERE o.follower_id = f.follower_id AND o.following_id = f.following_id AND o.id < f.id)");
+            jdbcTemplate.execute("ALTER TABLE follows ADD CONSTRAINT " + CONSTRAINT +
+                    " UNIQUE (follower_id, following_id)");
+            log.info("Deleted {} duplicate follows", duplicates);
+        });
+    }
+}
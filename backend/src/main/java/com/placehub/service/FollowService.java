@@ -0,0 +1,172 @@
+package com.placehub.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.placehub.DTO.CursorPage;
+import com.placehub.DTO.FollowStatsResponse;
+import com.placehub.DTO.FollowSuggestionResponse;
+import com.placehub.DTO.UserDTO;
+import com.placehub.entity.Follow;
+import com.placehub.entity.User;
+import com.placehub.event.FollowChangedEvent;
+import com.placehub.exception.UserNotFoundException;
+import com.placehub.repository.FollowRepository;
+import com.placehub.repository.UserRepository;
+import com.placehub.repository.projection.FollowRow;
+import com.placehub.service.counter.CounterService;
+import com.placehub.service.graph.FollowGraph;
+import com.placehub.service.graph.FollowGraphService;
+import com.placehub.util.KeysetCursor;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Service for the follow graph. Follower and following lists are keyset-paginated,
+ * most recent follows first, one query per page. Follow checks and suggestions are
+ * answered by the in-memory FollowGraphService, counts by the CounterService counters.
+ */
+@Service
+@RequiredArgsConstructor
+public class FollowService {
+
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final FollowGraphService followGraphService;
+    private final CounterService counterService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Makes the current user follow another user. Following twice has no effect.
+     *
+     * @param userId the user to follow
+     * @param user   the current user
+     * @throws UserNotFoundException    if the user does not exist
+     * @throws IllegalArgumentException if the user is the current user
+     */
+    @Transactional
+    public void follow(Long userId, User user) {
+        if (userId.equals(user.getId())) {
+            throw new IllegalArgumentException("Users cannot follow themselves");
+        }
+        User following = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        if (followRepository.existsByFollower_IdAndFollowing_Id(user.getId(), userId)) {
+            return;
+        }
+        followRepository.save(Follow.builder()
+                .follower(userRepository.getReferenceById(user.getId()))
+                .following(following)
+                .build());
+        eventPublisher.publishEvent(new FollowChangedEvent(user.getId(), userId, true));
+    }
+
+    /**
+     * Makes the current user stop following another user.
+     *
+     * @param userId the user to unfollow
+     * @param user   the current user
+     */
+    @Transactional
+    public void unfollow(Long userId, User user) {
+        if (followRepository.deleteFollow(user.getId(), userId) > 0) {
+            eventPublisher.publishEvent(new FollowChangedEvent(user.getId(), userId, false));
+        }
+    }
+
+    /**
+     * Gets the follow counts of a user and whether the current user follows them.
+     *
+     * @param userId the user
+     * @param user   the current user
+     * @return the counts
+     */
+    public FollowStatsResponse getStats(Long userId, User user) {
+        long[] counts = counterService.getUserCounts(userId);
+        return FollowStatsResponse.builder()
+                .userId(userId)
+                .followerCount(counts[0])
+                .followingCount(counts[1])
+                .followedByMe(followGraphService.follows(user.getId(), userId))
+                .build();
+    }
+
+    /**
+     * Suggests users for the current user to follow, followed by the most users they follow.
+     *
+     * @param user  the current user
+     * @param limit the maximum number of suggestions
+     * @return the suggestions, best first
+     */
+    @Transactional(readOnly = true)
+    public List<FollowSuggestionResponse> getSuggestions(User user, int limit) {
+        List<FollowGraph.Suggestion> suggestions = followGraphService.suggest(user.getId(),
+                CursorPage.clampLimit(limit));
+        Map<Long, User> users = userRepository.findAllById(suggestions.stream().map(FollowGraph.Suggestion::userId)
+                .toList()).stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        return suggestions.stream()
+                .filter(suggestion -> users.containsKey(suggestion.userId()))
+                .map(suggestion -> {
+                    User suggested = users.get(suggestion.userId());
+                    return FollowSuggestionResponse.builder()
+                            .user(UserDTO.builder()
+                                    .id(suggested.getId())
+                                    .firstName(suggested.getFirstName())
+                                    .lastName(suggested.getLastName())
+                                    .avatarUrl(suggested.getAvatarUrl())
+                                    .build())
+                            .mutualFollowCount(suggestion.mutuals())
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * Gets a page of the followers of a user.
+     *
+     * @param userId the followed user
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param limit  the page size
+     * @return a page of followers, most recent first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> getFollowers(Long userId, String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        KeysetCursor after = KeysetCursor.descending(cursor);
+        return toPage(followRepository.findFollowerRows(userId, after.createdAt(), after.id(),
+                Limit.of(pageSize + 1)), pageSize);
+    }
+
+    /**
+     * Gets a page of the users a user follows.
+     *
+     * @param userId the following user
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param limit  the page size
+     * @return a page of followed users, most recent first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> getFollowing(Long userId, String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        KeysetCursor after = KeysetCursor.descending(cursor);
+        return toPage(followRepository.findFollowingRows(userId, after.createdAt(), after.id(),
+                Limit.of(pageSize + 1)), pageSize);
+    }
+
+    private static CursorPage<UserDTO> toPage(List<FollowRow> rows, int pageSize) {
+        return CursorPage.of(rows, pageSize, row -> new KeysetCursor(row.createdAt(), row.followId()))
+                .map(row -> UserDTO.builder()
+                        .id(row.userId())
+                        .firstName(row.firstName())
+                        .lastName(row.lastName())
+                        .avatarUrl(row.avatarUrl())
+                        .build());
+    }
+}
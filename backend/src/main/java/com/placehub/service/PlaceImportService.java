@@ -0,0 +1,236 @@
+package com.placehub.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.placehub.DTO.PlaceImportRecord;
+import com.placehub.DTO.PlaceImportReport;
+import com.placehub.DTO.PlaceImportReport.RejectedRow;
+import com.placehub.entity.Place;
+import com.placehub.entity.PlaceSource;
+import com.placehub.entity.User;
+import com.placehub.repository.PlaceImportRepository;
+import com.placehub.service.cache.CacheInvalidationBus;
+import com.placehub.service.category.CategoryDictionary;
+import com.placehub.service.dedupe.PlaceDeduplicationService;
+import com.placehub.service.dedupe.PlaceDeduplicationService.PendingPlaces;
+import com.placehub.service.facet.FacetSearchService;
+import com.placehub.service.geocoding.ReverseGeocodingService;
+import com.placehub.service.importer.ImportFormat;
+import com.placehub.service.importer.MalformedRecordException;
+import com.placehub.service.importer.PlaceRecordReader;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Service for streaming bulk imports of places.
+ * The input is read row by row and written in fixed-size JDBC batches, each in its own
+ * transaction, so memory use does not depend on the file size and a failing batch
+ * only loses its own rows. Rows without a googlePlaceId go through the same
+ * near-duplicate check as the create path and are skipped when they match an existing place,
+ * or an earlier row of their batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlaceImportService {
+
+    private static final int MAX_REPORTED_REJECTS = 100;
+
+    private final PlaceImportRepository placeImportRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final PlaceDeduplicationService deduplicationService;
+    private final FacetSearchService facetSearchService;
+    private final ReverseGeocodingService reverseGeocodingService;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ObjectMapper objectMapper;
+
+    @Value("${placehub.import.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Imports places from a stream. Records with a googlePlaceId are upserted on it,
+     * records without one are always inserted.
+     *
+     * @param input     the raw file content
+     * @param format    the file format
+     * @param source    the source recorded on new places
+     * @param createdBy the importing user, recorded as creator of new places
+     * @return the import report
+     * @throws IOException if the input cannot be read
+     */
+    public PlaceImportReport importPlaces(InputStream input, ImportFormat format, PlaceSource source, User createdBy)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        Tally tally = new Tally();
+
+        // Keyed rows are deduplicated within the batch, last one wins
+        Map<String, PlaceImportRecord> keyed = new LinkedHashMap<>();
+        List<PlaceImportRecord> batch = new ArrayList<>(batchSize);
+        // Input lines of the pending rows, reported if their batch fails
+        Map<String, Long> keyedLines = new HashMap<>();
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        // Unkeyed rows of the batch, matched against each other until written and indexed
+        PendingPlaces pending = deduplicationService.pendingPlaces();
+
+        try (PlaceRecordReader reader = format.open(input, objectMapper)) {
+            while (true) {
+                PlaceImportRecord record;
+                try {
+                    record = reader.next();
+                } catch (MalformedRecordException e) {
+                    tally.reject(reader.getLineNumber(), e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                tally.rowsRead++;
+
+                String reason = record.validate();
+                if (reason != null) {
+                    tally.reject(reader.getLineNumber(), reason);
+                    continue;
+                }
+                short categoryCode;
+                try {
+                    categoryCode = categoryDictionary.resolve(record.category());
+                } catch (IllegalArgumentException e) {
+                    tally.reject(reader.getLineNumber(), e.getMessage());
+                    continue;
+                }
+                record = reverseGeocodingService.fillMissingAddress(record);
+
+                if (record.hasGooglePlaceId()) {
+                    if (keyed.put(record.googlePlaceId(), record) != null) {
+                        tally.duplicatesCollapsed++;
+                    }
+                    keyedLines.put(record.googlePlaceId(), reader.getLineNumber());
+                } else if (deduplicationService.check(record.name(), categoryCode,
+                        record.latitude(), record.longitude()).autoLinkTo() != null) {
+                    tally.linkedToExisting++;
+                } else if (!pending.add(record.name(), categoryCode, record.latitude(), record.longitude())) {
+                    tally.duplicatesCollapsed++;
+                } else {
+                    batch.add(record);
+                    batchLines.add(reader.getLineNumber());
+                }
+
+                if (keyed.size() + batch.size() >= batchSize) {
+                    flush(keyed, batch, batchLines, keyedLines, source, createdBy, tally);
+                    pending.clear();
+                }
+            }
+        }
+        flush(keyed, batch, batchLines, keyedLines, source, createdBy, tally);
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Imported {} places from {} rows in {} ms ({} rejected)",
+                tally.rowsWritten, tally.rowsRead, elapsedMillis, tally.rowsRejected);
+
+        return PlaceImportReport.builder()
+                .format(format.name())
+                .rowsRead(tally.rowsRead)
+                .rowsWritten(tally.rowsWritten)
+                .duplicatesCollapsed(tally.duplicatesCollapsed)
+                .linkedToExisting(tally.linkedToExisting)
+                .rowsRejected(tally.rowsRejected)
+                .batches(tally.batches)
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(elapsedMillis == 0 ? tally.rowsWritten : tally.rowsWritten * 1000.0 / elapsedMillis)
+                .rejects(tally.rejects)
+                .build();
+    }
+
+    /**
+     * Writes the pending rows in one transaction and clears the buffers. If the transaction
+     * fails, its rows are reported as rejected and the import goes on with the next batch.
+     */
+    private void flush(Map<String, PlaceImportRecord> keyed, List<PlaceImportRecord> batch, List<Long> batchLines,
+                       Map<String, Long> keyedLines, PlaceSource source, User createdBy, Tally tally) {
+        if (keyed.isEmpty() && batch.isEmpty()) {
+            return;
+        }
+        int unkeyed = batch.size();
+        batch.addAll(keyed.values());
+        short[] categoryCodes = new short[batch.size()];
+        for (int i = 0; i < categoryCodes.length; i++) {
+            categoryCodes[i] = categoryDictionary.resolve(batch.get(i).category());
+        }
+        long[] ids = null;
+        try {
+            ids = transactionTemplate.execute(
+                    status -> placeImportRepository.upsertBatch(batch, categoryCodes, source, createdBy.getId()));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Failed to import a batch of {} places, skipping it", batch.size(), e);
+            String reason = "Batch failed: " + e.getMostSpecificCause().getMessage();
+            batchLines.forEach(line -> tally.reject(line, reason));
+            keyed.keySet().forEach(googlePlaceId -> tally.reject(keyedLines.get(googlePlaceId), reason));
+        }
+        if (ids != null) {
+            tally.rowsWritten += batch.size();
+            tally.batches++;
+            updateIndexes(batch, categoryCodes, unkeyed, ids, keyed);
+        }
+        keyed.clear();
+        keyedLines.clear();
+        batch.clear();
+        batchLines.clear();
+    }
+
+    /**
+     * Adds the rows of a committed batch to the duplicate detection and facet indexes. Keyed rows
+     * may have updated an existing place, so their ids are looked up instead, and the cached
+     * places dropped.
+     */
+    private void updateIndexes(List<PlaceImportRecord> batch, short[] categoryCodes, int unkeyed,
+                               long[] ids, Map<String, PlaceImportRecord> keyed) {
+        Map<String, Long> keyedIds = placeImportRepository.findIdsByGooglePlaceIds(keyed.keySet());
+        cacheInvalidationBus.evict(Place.class, keyedIds.values());
+        List<Long> written = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            PlaceImportRecord record = batch.get(i);
+            Long id = i < unkeyed ? Long.valueOf(ids[i]) : keyedIds.get(record.googlePlaceId());
+            if (id != null) {
+                written.add(id);
+                deduplicationService.index(id, record.name(), categoryCodes[i], record.latitude(),
+                        record.longitude());
+            }
+        }
+        facetSearchService.refreshPlaces(written);
+    }
+
+    /**
+     * Mutable counters for a single import run.
+     */
+    private static class Tally {
+        private long rowsRead;
+        private long rowsWritten;
+        private long duplicatesCollapsed;
+        private long linkedToExisting;
+        private long rowsRejected;
+        private long batches;
+        private final List<RejectedRow> rejects = new ArrayList<>();
+
+        private void reject(long line, String reason) {
+            rowsRejected++;
+            if (rejects.size() < MAX_REPORTED_REJECTS) {
+                rejects.add(new RejectedRow(line, reason));
+            }
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.placehub.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.placehub.DTO.CreatePlaceListRequest;
+import com.placehub.DTO.CursorPage;
+import com.placehub.DTO.ForkPlaceListRequest;
+import com.placehub.DTO.PlaceListChangesResponse;
+import com.placehub.DTO.PlaceListDetailResponse;
+import com.placehub.DTO.PlaceListResponse;
+import com.placehub.DTO.PlaceListSummaryResponse;
+import com.placehub.DTO.PlaceResponse;
+import com.placehub.DTO.SavedPlaceResponse;
+import com.placehub.DTO.UserDTO;
+import com.placehub.entity.PlaceList;
+import com.placehub.entity.User;
+import com.placehub.event.PlaceListsChangedEvent;
+import com.placehub.event.SavedPlacesChangedEvent;
+import com.placehub.exception.PlaceListNotFoundException;
+import com.placehub.repository.PlaceListChangeRepository;
+import com.placehub.repository.PlaceListForkRepository;
+import com.placehub.repository.PlaceListRepository;
+import com.placehub.repository.SavedPlaceRepository;
+import com.placehub.repository.projection.PlaceListRow;
+import com.placehub.repository.projection.SavedPlaceRow;
+import com.placehub.repository.projection.SavedPlaceTagRow;
+import com.placehub.service.cache.CachedResponse;
+import com.placehub.service.cache.ResponseCache;
+import com.placehub.service.category.CategoryDictionary;
+import com.placehub.service.counter.CounterService;
+import com.placehub.service.summary.PlaceListSummaryService;
+import com.placehub.service.sync.PlaceListChangeService;
+import com.placehub.util.KeysetCursor;
+import com.placehub.util.RankCursor;
+import com.placehub.util.ResourceVersion;
+import com.placehub.util.Versioned;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Service for place lists. Every read is a fixed number of projection queries
+ * (list rows, item rows, tag rows), whatever the size of the list; no entity is loaded.
+ * Collections are keyset-paginated, so deep pages cost the same as the first one.
+ * Reads by the owner first write the owner's buffered saved place edits.
+ */
+@Service
+@RequiredArgsConstructor
+public class PlaceListService {
+
+    private final PlaceListRepository placeListRepository;
+    private final SavedPlaceRepository savedPlaceRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final PlaceListSummaryService placeListSummaryService;
+    private final PlaceListForkRepository placeListForkRepository;
+    private final PlaceListChangeRepository placeListChangeRepository;
+    private final PlaceListChangeService placeListChangeService;
+    private final CounterService counterService;
+    private final ResponseCache responseCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${placehub.sync.max-delta-items:1000}")
+    private int maxDeltaItems;
+
+    /**
+     * Creates an empty list owned by the current user.
+     *
+     * @param request the list details
+     * @param user    the current user
+     * @return the created list
+     */
+    @Transactional
+    public PlaceListResponse createList(CreatePlaceListRequest request, User user) {
+        PlaceList placeList = placeListRepository.save(PlaceList.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .coverImageUrl(request.getCoverImageUrl())
+                .isPublic(Boolean.TRUE.equals(request.getIsPublic()))
+                .owner(user)
+                .build());
+        placeListSummaryService.listCreated(placeList.getId());
+        return toResponse(findVisibleRow(placeList.getId(), user));
+    }
+
+    /**
+     * Copies a list visible to the user into a new private list of the user, with all
+     * items, tags and order, as set-based SQL: heap use does not depend on the list size.
+     *
+     * @param id      the source list id
+     * @param request the name of the copy, optional
+     * @param user    the current user
+     * @return the new list
+     * @throws PlaceListNotFoundException if the list does not exist or is private to another user
+     */
+    @Transactional
+    public PlaceListResponse forkList(Long id, ForkPlaceListRequest request, User user) {
+        PlaceList source = placeListRepository.findByIdForShare(id)
+                .filter(list -> Boolean.TRUE.equals(list.getIsPublic()) || list.getOwner().getId().equals(user.getId()))
+                .orElseThrow(() -> new PlaceListNotFoundException("Place list not found with id: " + id));
+        String name = request != null && request.getName() != null && !request.getName().isBlank()
+                ? request.getName()
+                : source.getName();
+
+        PlaceList fork = placeListRepository.save(PlaceList.builder()
+                .name(name)
+                .description(source.getDescription())
+                .coverImageUrl(source.getCoverImageUrl())
+                .isPublic(false)
+                .owner(user)
+                .forkedFromId(id)
+                .build());
+        List<Long> copied = placeListForkRepository.copyItems(id, fork.getId(), placeListForkRepository.countItems(id));
+        placeListSummaryService.listForked(id, fork.getId());
+        placeListChangeService.allItemsChanged(fork.getId());
+        if (!copied.isEmpty()) {
+            counterService.listItemsCopied(fork.getId());
+            eventPublisher.publishEvent(new SavedPlacesChangedEvent(copied));
+        }
+        // The fork count of the source changed
+        eventPublisher.publishEvent(new PlaceListsChangedEvent(List.of(id)));
+        return toResponse(findVisibleRow(fork.getId(), user));
+    }
+
+    /**
+     * Gets a list with one page of its saved places, in the order set by the owner. Three queries.
+     *
+     * @param id     the list id
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param limit  the page size
+     * @param user   the current user
+     * @return the list and a page of its items, with the validators of the list
+     * @throws PlaceListNotFoundException if the list does not exist or is private to another user
+     */
+    @Transactional(readOnly = true)
+    public Versioned<PlaceListDetailResponse> getList(Long id, String cursor, int limit, User user) {
+        PlaceListRow list = findVisibleRow(id, user);
+        return new Versioned<>(toDetailResponse(list, cursor, limit), resourceVersion(list));
+    }
+
+    /**
+     * Gets a list page like {@link #getList}, serialized. Pages of public lists are the same for
+     * every viewer and come from the response cache while the list is unchanged: one query.
+     *
+     * @param id     the list id
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param limit  the page size
+     * @param user   the current user
+     * @return the serialized list page with the validators of the list
+     * @throws PlaceListNotFoundException if the list does not exist or is private to another user
+     */
+    @Transactional(readOnly = true)
+    public CachedResponse getSerializedList(Long id, String cursor, int limit, User user) {
+        PlaceListRow list = findVisibleRow(id, user);
+        String key = Boolean.TRUE.equals(list.isPublic())
+                ? ResponseCache.key("list", id, cursor, CursorPage.clampLimit(limit))
+                : null;
+        return responseCache.get(key, resourceVersion(list), () -> toDetailResponse(list, cursor, limit));
+    }
+
+    /**
+     * Gets the HTTP validators of a list in one indexed lookup. They cover the list, its items,
+     * its owner and its fork count, so they hold for every page of the list.
+     *
+     * @param id   the list id
+     * @param user the current user
+     * @return the validators, or empty if the list does not exist or is private to another user
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getListVersion(Long id, User user) {
+        return placeListRepository.findVersionRowById(id)
+                .filter(row -> Boolean.TRUE.equals(row.isPublic()) || row.ownerId().equals(user.getId()))
+                .map(row -> resourceVersion(row.version(), row.ownerVersion(), row.forkCount(), row.updatedAt(),
+                        row.ownerUpdatedAt()));
+    }
+
+    /**
+     * Gets the changes of a list since a version the client has: the items inserted or updated
+     * since then and the ids of the removed ones. Falls back to the whole list when the change
+     * log no longer reaches back to that version or the delta would be large. At most four queries.
+     *
+     * @param id    the list id
+     * @param since the version the client has, 0 for none
+     * @param user  the current user
+     * @return the changes
+     * @throws PlaceListNotFoundException if the list does not exist or is private to another user
+     */
+    @Transactional(readOnly = true)
+    public PlaceListChangesResponse getChanges(Long id, long since, User user) {
+        PlaceListRow list = findVisibleRow(id, user);
+        long version = list.version() != null ? list.version() : 0;
+        PlaceListChangesResponse.PlaceListChangesResponseBuilder response = PlaceListChangesResponse.builder()
+                .list(toResponse(list))
+                .version(version);
+        if (since == version) {
+            return response.full(false).items(List.of()).deletedIds(List.of()).build();
+        }
+
+        // Every write logs its version, so the log is complete after since iff it holds since + 1
+        Long firstLogged = since < version ? placeListChangeRepository.findFirstVersionAfter(id, since) : null;
+        List<Long> changed = firstLogged != null && firstLogged == since + 1
+                ? placeListChangeRepository.findChangedSavedPlaceIds(id, since, version, maxDeltaItems)
+                : null;
+        if (changed == null || changed.size() > maxDeltaItems) {
+            List<SavedPlaceRow> rows = savedPlaceRepository.findRowsByPlaceListId(id, "", 0, Limit.unlimited());
+            return response.full(true).items(toResponses(rows)).deletedIds(List.of()).build();
+        }
+
+        List<SavedPlaceRow> rows = changed.isEmpty() ? List.of() : savedPlaceRepository.findRowsByIds(id, changed);
+        Set<Long> present = rows.stream().map(SavedPlaceRow::id).collect(Collectors.toSet());
+        return response.full(false)
+                .items(toResponses(rows))
+                .deletedIds(changed.stream().filter(savedPlaceId -> !present.contains(savedPlaceId)).sorted().toList())
+                .build();
+    }
+
+    /**
+     * Lists the lists of the current user, private ones included. One query.
+     *
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param limit  the page size
+     * @param user   the current user
+     * @return a page of lists, newest first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PlaceListResponse> getMyLists(String cursor, int limit, User user) {
+        return findLists(user.getId(), true, cursor, limit);
+    }
+
+    /**
+     * Lists the lists of a user: all of them for the user themself, public ones for others. One query.
+     *
+     * @param ownerId the owner id
+     * @param cursor  the cursor from the previous page, or null for the first page
+     * @param limit   the page size
+     * @param user    the current user
+     * @return a page of lists, newest first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PlaceListResponse> getUserLists(Long ownerId, String cursor, int limit, User user) {
+        return findLists(ownerId, ownerId.equals(user.getId()), cursor, limit);
+    }
+
+    private CursorPage<PlaceListResponse> findLists(Long ownerId, boolean includePrivate, String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        KeysetCursor after = KeysetCursor.descending(cursor);
+        List<PlaceListRow> rows = placeListRepository.findRowsByOwnerId(ownerId, includePrivate,
+                after.createdAt(), after.id(), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, row -> new KeysetCursor(row.createdAt(), row.id()))
+                .map(this::toResponse);
+    }
+
+    private PlaceListDetailResponse toDetailResponse(PlaceListRow list, String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        RankCursor after = RankCursor.ascending(cursor);
+        CursorPage<SavedPlaceRow> rows = CursorPage.of(
+                savedPlaceRepository.findRowsByPlaceListId(list.id(), after.rank(), after.id(), Limit.of(pageSize + 1)),
+                pageSize, row -> new RankCursor(row.rank(), row.id()));
+
+        return PlaceListDetailResponse.builder()
+                .list(toResponse(list))
+                .items(toResponses(rows.items()))
+                .nextCursor(rows.nextCursor())
+                .build();
+    }
+
+    private static ResourceVersion resourceVersion(PlaceListRow list) {
+        return resourceVersion(list.version(), list.ownerVersion(), list.forkCount(),
+                ResourceVersion.latest(list.updatedAt(), list.createdAt()), list.ownerUpdatedAt());
+    }
+
+    private static ResourceVersion resourceVersion(Long version, Long ownerVersion, Long forkCount,
+                                                   LocalDateTime updatedAt, LocalDateTime ownerUpdatedAt) {
+        return ResourceVersion.of(ResourceVersion.latest(updatedAt, ownerUpdatedAt), version, ownerVersion, forkCount);
+    }
+
+    private PlaceListRow findVisibleRow(Long id, User user) {
+        return placeListRepository.findRowById(id)
+                .filter(row -> Boolean.TRUE.equals(row.isPublic()) || row.ownerId().equals(user.getId()))
+                .orElseThrow(() -> new PlaceListNotFoundException("Place list not found with id: " + id));
+    }
+
+    private PlaceListResponse toResponse(PlaceListRow row) {
+        return PlaceListResponse.builder()
+                .id(row.id())
+                .name(row.name())
+                .description(row.description())
+                .coverImageUrl(row.coverImageUrl())
+                .isPublic(row.isPublic())
+                .owner(UserDTO.builder()
+                        .id(row.ownerId())
+                        .firstName(row.ownerFirstName())
+                        .lastName(row.ownerLastName())
+                        .avatarUrl(row.ownerAvatarUrl())
+                        .build())
+                .version(row.version())
+                .forkedFromId(row.forkedFromId())
+                .summary(toSummary(row))
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
+    }
+
+    private static PlaceListSummaryResponse toSummary(PlaceListRow row) {
+        long itemCount = row.itemCount() != null ? row.itemCount() : 0;
+        long ratingCount = row.ratingCount() != null ? row.ratingCount() : 0;
+        return PlaceListSummaryResponse.builder()
+                .itemCount(itemCount)
+                .visitedCount(row.visitedCount() != null ? row.visitedCount() : 0)
+                .averageRating(ratingCount > 0 ? (double) row.ratingSum() / ratingCount : null)
+                .minLatitude(row.minLatitude())
+                .maxLatitude(row.maxLatitude())
+                .minLongitude(row.minLongitude())
+                .maxLongitude(row.maxLongitude())
+                .centerLatitude(itemCount > 0 ? row.latitudeSum() / itemCount : null)
+                .centerLongitude(itemCount > 0 ? row.longitudeSum() / itemCount : null)
+                .forkCount(row.forkCount() != null ? row.forkCount() : 0)
+                .thumbnailUrl(row.thumbnailUrl())
+                .build();
+    }
+
+    // Items with their tags, read in one query
+    private List<SavedPlaceResponse> toResponses(List<SavedPlaceRow> rows) {
+        Map<Long, List<String>> tags = new HashMap<>();
+        if (!rows.isEmpty()) {
+            List<Long> ids = rows.stream().map(SavedPlaceRow::id).toList();
+            for (SavedPlaceTagRow tag : savedPlaceRepository.findTagRowsBySavedPlaceIds(ids)) {
+                tags.computeIfAbsent(tag.savedPlaceId(), savedPlaceId -> new ArrayList<>()).add(tag.name());
+            }
+        }
+        return rows.stream().map(row -> toResponse(row, tags.getOrDefault(row.id(), List.of()))).toList();
+    }
+
+    private SavedPlaceResponse toResponse(SavedPlaceRow row, List<String> tags) {
+        PlaceResponse place = PlaceResponse.builder()
+                .id(row.placeId())
+                .name(row.placeName())
+                .category(categoryDictionary.slugOf(row.categoryCode()))
+                .latitude(row.latitude())
+                .longitude(row.longitude())
+                .streetAddress(row.streetAddress())
+                .city(row.city())
+                .state(row.state())
+                .country(row.country())
+                .postalCode(row.postalCode())
+                .formattedAddress(row.formattedAddress())
+                .googlePlaceId(row.googlePlaceId())
+                .source(row.source())
+                .createdById(row.createdById())
+                .createdAt(row.placeCreatedAt())
+                .build();
+        return SavedPlaceResponse.builder()
+                .id(row.id())
+                .place(place)
+                .rank(row.rank())
+                .note(row.note())
+                .imageUrl(row.imageUrl())
+                .tags(tags)
+                .rating(row.rating())
+                .visited(row.visited())
+                .createdAt(row.createdAt())
+                .build();
+    }
+}
@@ -0,0 +1,288 @@
+package com.placehub.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.placehub.DTO.CreatePlaceRequest;
+import com.placehub.DTO.DuplicatePair;
+import com.placehub.DTO.PlaceCreationResponse;
+import com.placehub.DTO.PlaceResponse;
+import com.placehub.DTO.PlaceStatsResponse;
+import com.placehub.entity.Place;
+import com.placehub.entity.PlaceRatingSummary;
+import com.placehub.entity.PlaceSource;
+import com.placehub.entity.SavedPlace;
+import com.placehub.entity.User;
+import com.placehub.event.PlaceCreatedEvent;
+import com.placehub.event.PlacesChangedEvent;
+import com.placehub.exception.PlaceNotFoundException;
+import com.placehub.repository.PlaceRepository;
+import com.placehub.repository.SavedPlaceRepository;
+import com.placehub.service.cache.CacheInvalidationBus;
+import com.placehub.service.category.CategoryDictionary;
+import com.placehub.service.counter.CounterService;
+import com.placehub.service.dedupe.PlaceDeduplicationService;
+import com.placehub.service.dedupe.PlaceDeduplicationService.DuplicateCheck;
+import com.placehub.service.geocoding.ReverseGeocodingService;
+import com.placehub.service.provider.PlaceProviderClient;
+import com.placehub.service.provider.ProviderPlace;
+import com.placehub.service.summary.PlaceListSummaryService;
+import com.placehub.service.summary.PlaceRatingSummaryService;
+import com.placehub.service.sync.PlaceListChangeService;
+import com.placehub.util.ResourceVersion;
+import com.placehub.util.Versioned;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Service for creating, reading and merging places.
+ */
+@Service
+@RequiredArgsConstructor
+public class PlaceService {
+
+    private final PlaceRepository placeRepository;
+    private final SavedPlaceRepository savedPlaceRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final PlaceDeduplicationService deduplicationService;
+    private final ReverseGeocodingService reverseGeocodingService;
+    private final PlaceProviderClient placeProviderClient;
+    private final PlaceListSummaryService placeListSummaryService;
+    private final PlaceListChangeService placeListChangeService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final CounterService counterService;
+    private final PlaceRatingSummaryService placeRatingSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Creates a place, or links to an existing near-duplicate instead.
+     *
+     * @param request the place creation request
+     * @param user    the creating user
+     * @return the created or linked place with other possible duplicates
+     */
+    @Transactional
+    public PlaceCreationResponse createPlace(CreatePlaceRequest request, User user) {
+        short categoryCode = categoryDictionary.resolve(request.getCategory());
+        DuplicateCheck check = request.isSkipDuplicateCheck()
+                ? new DuplicateCheck(List.of(), null)
+                : deduplicationService.check(request.getName(), categoryCode,
+                        request.getLatitude(), request.getLongitude());
+
+        if (check.autoLinkTo() != null) {
+            var existing = placeRepository.findById(check.autoLinkTo());
+            if (existing.isPresent()) {
+                return PlaceCreationResponse.builder()
+                        .place(toResponse(existing.get()))
+                        .linkedToExisting(true)
+                        .possibleDuplicates(check.candidates().subList(1, check.candidates().size()))
+                        .build();
+            }
+        }
+
+        var place = Place.builder()
+                .name(request.getName())
+                .categoryCode(categoryCode)
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .streetAddress(request.getStreetAddress())
+                .city(request.getCity())
+                .state(request.getState())
+                .country(request.getCountry())
+                .postalCode(request.getPostalCode())
+                .formattedAddress(request.getFormattedAddress())
+                .googlePlaceId(request.getGooglePlaceId())
+                .createdBy(user)
+                .build();
+
+        // Coordinates-only places get their city, region and country from the offline gazetteer
+        reverseGeocodingService.fillMissingAddress(place);
+
+        var savedPlace = placeRepository.save(place);
+        eventPublisher.publishEvent(new PlaceCreatedEvent(savedPlace.getId(), savedPlace.getName(),
+                savedPlace.getCategoryCode(), savedPlace.getLatitude(), savedPlace.getLongitude()));
+
+        return PlaceCreationResponse.builder()
+                .place(toResponse(savedPlace))
+                .linkedToExisting(false)
+                .possibleDuplicates(check.candidates())
+                .build();
+    }
+
+    /**
+     * Gets a place by id.
+     *
+     * @param id the place id
+     * @return the place with its validators
+     * @throws PlaceNotFoundException if the place does not exist
+     */
+    @Transactional(readOnly = true)
+    public Versioned<PlaceResponse> getPlace(Long id) {
+        Place place = findPlace(id);
+        return new Versioned<>(toResponse(place), ResourceVersion.of(
+                ResourceVersion.latest(place.getUpdatedAt(), place.getCreatedAt()), place.getVersion()));
+    }
+
+    /**
+     * Gets the save count and rating and visit aggregates of a place. Kept out of the place
+     * itself, whose validators would otherwise change with every save or rating.
+     *
+     * @param id the place id
+     * @return the counts
+     * @throws PlaceNotFoundException if the place does not exist
+     */
+    @Transactional(readOnly = true)
+    public PlaceStatsResponse getPlaceStats(Long id) {
+        if (!placeRepository.existsById(id)) {
+            throw new PlaceNotFoundException("Place not found with id: " + id);
+        }
+        PlaceRatingSummary summary = placeRatingSummaryService.getSummary(id);
+        return PlaceStatsResponse.builder()
+                .placeId(id)
+                .saveCount(counterService.getSaveCount(id))
+                .ratingCount(summary.getRatingCount())
+                .averageRating(summary.getRatingCount() > 0
+                        ? (double) summary.getRatingSum() / summary.getRatingCount() : null)
+                .ratingHistogram(List.of(summary.getRating1Count(), summary.getRating2Count(),
+                        summary.getRating3Count(), summary.getRating4Count(), summary.getRating5Count()))
+                .visitedCount(summary.getVisitedCount())
+                .build();
+    }
+
+    /**
+     * Gets the HTTP validators of a place in one indexed lookup.
+     *
+     * @param id the place id
+     * @return the validators, or empty if the place does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getPlaceVersion(Long id) {
+        return placeRepository.findVersionById(id)
+                .map(row -> ResourceVersion.of(row.lastModified(), row.version()));
+    }
+
+    /**
+     * Returns the place with the given Google Place ID, fetching it from the external
+     * provider and storing it on first use. Concurrent first requests for the same id
+     * share a single provider call; if two of them race on the insert, the loser re-reads
+     * the winner's row.
+     *
+     * @param googlePlaceId the Google Place ID
+     * @param user          the current user, recorded as creator if the place is new
+     * @return the stored place
+     * @throws PlaceNotFoundException if the provider does not know the id
+     */
+    public PlaceResponse getOrFetchExternalPlace(String googlePlaceId, User user) {
+        var existing = placeRepository.findByGooglePlaceId(googlePlaceId);
+        if (existing.isPresent()) {
+            return toResponse(existing.get());
+        }
+
+        ProviderPlace providerPlace = placeProviderClient.lookup(googlePlaceId)
+                .orElseThrow(() -> new PlaceNotFoundException("Place not found with Google Place ID: " + googlePlaceId));
+
+        var place = Place.builder()
+                .name(providerPlace.name())
+                .categoryCode(categoryDictionary.resolve(providerPlace.category()))
+                .latitude(providerPlace.latitude())
+                .longitude(providerPlace.longitude())
+                .formattedAddress(providerPlace.formattedAddress())
+                .city(providerPlace.city())
+                .country(providerPlace.country())
+                .googlePlaceId(googlePlaceId)
+                .source(PlaceSource.GOOGLE_PLACES)
+                .createdBy(user)
+                .build();
+        reverseGeocodingService.fillMissingAddress(place);
+
+        try {
+            var savedPlace = placeRepository.save(place);
+            eventPublisher.publishEvent(new PlaceCreatedEvent(savedPlace.getId(), savedPlace.getName(),
+                    savedPlace.getCategoryCode(), savedPlace.getLatitude(), savedPlace.getLongitude()));
+            return toResponse(savedPlace);
+        } catch (DataIntegrityViolationException e) {
+            return placeRepository.findByGooglePlaceId(googlePlaceId)
+                    .map(this::toResponse)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Lists existing near-duplicate pairs (batch clean-up mode).
+     *
+     * @param limit the maximum number of pairs
+     * @return the pairs, best first
+     */
+    public List<DuplicatePair> findDuplicatePairs(int limit) {
+        return deduplicationService.findDuplicatePairs(limit);
+    }
+
+    /**
+     * Fills missing address fields of existing places from the offline gazetteer.
+     *
+     * @return the number of places updated
+     */
+    public long backfillAddresses() {
+        return reverseGeocodingService.backfillMissingAddresses();
+    }
+
+    /**
+     * Merges a duplicate place into another one: saved entries and home places are moved
+     * to the target and the duplicate is deleted. Entries of the duplicate in lists that already
+     * hold the target are deleted. Only the creator of the duplicate may merge it.
+     *
+     * @param duplicateId the place to merge away
+     * @param targetId    the place to keep
+     * @param user        the current user
+     * @throws PlaceNotFoundException if either place does not exist
+     * @throws AccessDeniedException  if the user did not create the duplicate
+     */
+    @Transactional
+    public void mergePlace(Long duplicateId, Long targetId, User user) {
+        if (duplicateId.equals(targetId)) {
+            throw new IllegalArgumentException("A place cannot be merged into itself");
+        }
+        Place duplicate = findPlace(duplicateId);
+        findPlace(targetId);
+
+        if (!duplicate.getCreatedBy().getId().equals(user.getId())) {
+            throw new AccessDeniedException("Only the creator of a place can merge it");
+        }
+
+        List<Long> affectedLists = savedPlaceRepository.findPlaceListIdsByPlaceId(duplicateId);
+        // Logged before the duplicate's entries change, so deleted ones are reported as removed
+        placeListChangeService.placeChanged(duplicateId);
+        // A list holds a place once: entries of the duplicate in lists holding the target go
+        List<SavedPlace> doubled = savedPlaceRepository.findByPlaceIdInListsHolding(duplicateId, targetId);
+        savedPlaceRepository.deleteAll(doubled);
+        savedPlaceRepository.flush();
+        placeRepository.reassignSavedPlaces(duplicateId, targetId);
+        placeRepository.reassignHomePlaces(duplicateId, targetId);
+        counterService.placeMerged(duplicateId, targetId, doubled.size());
+        // Hibernate clears the local user cache after the bulk update; the other nodes must too
+        cacheInvalidationBus.evictAll(User.class);
+        // Items of the affected lists moved to other coordinates
+        placeListSummaryService.rebuild(affectedLists);
+        placeRatingSummaryService.rebuild(List.of(duplicateId, targetId));
+        duplicate.getSavedPlaces().clear();
+        placeRepository.delete(duplicate);
+
+        // The in-memory indexes drop the duplicate once the merge committed
+        eventPublisher.publishEvent(new PlacesChangedEvent(List.of(duplicateId, targetId)));
+    }
+
+    private PlaceResponse toResponse(Place place) {
+        return PlaceResponse.from(place, categoryDictionary.slugOf(place.getCategoryCode()));
+    }
+
+    private Place findPlace(Long id) {
+        return placeRepository.findById(id)
+                .orElseThrow(() -> new PlaceNotFoundException("Place not found with id: " + id));
+    }
+}
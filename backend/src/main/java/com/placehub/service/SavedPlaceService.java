@@ -0,0 +1,302 @@
+package com.placehub.service;
+
+import java.util.List;
+
+import com.placehub.DTO.PlaceResponse;
+import com.placehub.DTO.SavePlaceRequest;
+import com.placehub.DTO.SavedPlaceResponse;
+import com.placehub.DTO.TagUpdateRequest;
+import com.placehub.DTO.UpdateSavedPlaceRequest;
+import com.placehub.entity.Place;
+import com.placehub.entity.PlaceList;
+import com.placehub.entity.SavedPlace;
+import com.placehub.entity.Tag;
+import com.placehub.entity.User;
+import com.placehub.event.PlaceSavedEvent;
+import com.placehub.event.PlaceUnsavedEvent;
+import com.placehub.event.SavedPlacesChangedEvent;
+import com.placehub.exception.PlaceListNotFoundException;
+import com.placehub.exception.PlaceListVersionConflictException;
+import com.placehub.exception.PlaceNotFoundException;
+import com.placehub.exception.SavedPlaceNotFoundException;
+import com.placehub.repository.PlaceListRepository;
+import com.placehub.repository.PlaceRepository;
+import com.placehub.repository.SavedPlaceRepository;
+import com.placehub.repository.SavedPlaceTagRepository;
+import com.placehub.service.category.CategoryDictionary;
+import com.placehub.service.ordering.SavedPlaceOrderService;
+import com.placehub.service.summary.PlaceListSummaryService;
+import com.placehub.service.summary.PlaceRatingSummaryService;
+import com.placehub.service.sync.PlaceListChangeService;
+import com.placehub.service.summary.PlaceListSummaryService.ItemState;
+import com.placehub.service.tag.TagDictionary;
+import com.placehub.service.writebehind.SavedPlaceWriteBehindService;
+import com.placehub.service.writebehind.SavedPlaceWriteBehindService.BufferedUpdate;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Service for changing saved places. Tag changes are single set-based statements;
+ * saved places in lists the user does not own are skipped. Every change is applied to
+ * the list summary and the place rating summary and recorded in the list change log in
+ * the same transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class SavedPlaceService {
+
+    private final SavedPlaceRepository savedPlaceRepository;
+    private final SavedPlaceTagRepository savedPlaceTagRepository;
+    private final PlaceListRepository placeListRepository;
+    private final PlaceRepository placeRepository;
+    private final TagDictionary tagDictionary;
+    private final CategoryDictionary categoryDictionary;
+    private final PlaceListSummaryService placeListSummaryService;
+    private final PlaceRatingSummaryService placeRatingSummaryService;
+    private final SavedPlaceOrderService savedPlaceOrderService;
+    private final PlaceListChangeService placeListChangeService;
+    private final SavedPlaceWriteBehindService savedPlaceWriteBehindService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Saves a place into a list of the user, at the end of the list.
+     *
+     * @param placeListId the list id
+     * @param request     the place and personal details
+     * @param user        the current user
+     * @return the saved place
+     * @throws PlaceListNotFoundException if the list does not exist or belongs to another user
+     * @throws PlaceNotFoundException     if the place does not exist
+     * @throws IllegalArgumentException   if the place is already in the list
+     * @throws PlaceListVersionConflictException if the list is not at the expected version
+     */
+    @Transactional
+    public SavedPlaceResponse savePlace(Long placeListId, SavePlaceRequest request, User user) {
+        PlaceList placeList = placeListRepository.findByIdForUpdate(placeListId)
+                .filter(list -> list.getOwner().getId().equals(user.getId()))
+                .orElseThrow(() -> new PlaceListNotFoundException("Place list not found with id: " + placeListId));
+        PlaceListChangeService.checkVersion(placeList, request.getExpectedVersion());
+        Place place = placeRepository.findById(request.getPlaceId())
+                .orElseThrow(() -> new PlaceNotFoundException("Place not found with id: " + request.getPlaceId()));
+        if (savedPlaceRepository.existsByPlaceListIdAndPlaceId(placeListId, place.getId())) {
+            throw new IllegalArgumentException("Place is already saved in this list");
+        }
+
+        SavedPlace savedPlace = savedPlaceRepository.saveAndFlush(SavedPlace.builder()
+                .placeList(placeList)
+                .place(place)
+                .rank(savedPlaceOrderService.nextRank(placeListId))
+                .note(request.getNote())
+                .imageUrl(request.getImageUrl())
+                .rating(request.getRating())
+                .visited(Boolean.TRUE.equals(request.getVisited()))
+                .build());
+        List<String> tags = List.of();
+        if (request.getTags() != null && !request.getTags().isEmpty()) {
+            savedPlaceTagRepository.addTags(List.of(savedPlace.getId()), tagDictionary.resolve(request.getTags()),
+                    user.getId());
+            tags = request.getTags().stream().map(TagDictionary::normalize).distinct().sorted().toList();
+        }
+
+        placeListSummaryService.itemAdded(placeListId, stateOf(savedPlace));
+        placeRatingSummaryService.itemAdded(place.getId(), stateOf(savedPlace));
+        long version = placeListChangeService.itemsChanged(placeListId, List.of(savedPlace.getId()));
+        eventPublisher.publishEvent(new SavedPlacesChangedEvent(List.of(savedPlace.getId())));
+        eventPublisher.publishEvent(new PlaceSavedEvent(savedPlace.getId(), place.getId(), placeListId, user.getId(),
+                Boolean.TRUE.equals(placeList.getIsPublic()), savedPlace.getCreatedAt()));
+        return toResponse(savedPlace, tags, version);
+    }
+
+    /**
+     * Updates the note, image, rating or visited flag of a saved place of the user. In
+     * write-behind mode, edits of only the note, rating or visited flag are buffered and the
+     * returned list version is the one before they are written.
+     *
+     * @param id      the saved place id
+     * @param request the fields to change; null fields are left unchanged
+     * @param user    the current user
+     * @return the updated saved place
+     * @throws SavedPlaceNotFoundException       if the saved place does not exist or belongs to another user
+     * @throws PlaceListVersionConflictException if the list is not at the expected version
+     */
+    @Transactional
+    public SavedPlaceResponse updateSavedPlace(Long id, UpdateSavedPlaceRequest request, User user) {
+        if (savedPlaceWriteBehindService.accepts(request)) {
+            return bufferUpdate(id, request, user);
+        }
+        // Before loading the entity, so it includes the edits written by a running flush
+        BufferedUpdate buffered = savedPlaceWriteBehindService.take(id);
+        SavedPlace savedPlace = lockAndFindOwnedSavedPlace(id, request.getExpectedVersion(), user);
+        Long placeListId = savedPlace.getPlaceList().getId();
+        ItemState before = stateOf(savedPlace);
+
+        if (buffered != null) {
+            apply(savedPlace, buffered);
+        }
+        if (request.getNote() != null) {
+            savedPlace.setNote(request.getNote());
+        }
+        if (request.getImageUrl() != null) {
+            savedPlace.setImageUrl(request.getImageUrl());
+        }
+        if (request.getRating() != null) {
+            savedPlace.setRating(request.getRating());
+        }
+        if (request.getVisited() != null) {
+            savedPlace.setVisited(request.getVisited());
+        }
+        savedPlaceRepository.flush();
+
+        ItemState after = stateOf(savedPlace);
+        placeListSummaryService.itemUpdated(placeListId, before, after);
+        placeRatingSummaryService.itemUpdated(savedPlace.getPlace().getId(), before, after);
+        long version = placeListChangeService.itemsChanged(placeListId, List.of(id));
+        eventPublisher.publishEvent(new SavedPlacesChangedEvent(List.of(id)));
+        return toResponse(savedPlace, savedPlace.getTags().stream().map(Tag::getName).sorted().toList(), version);
+    }
+
+    /**
+     * Removes a saved place of the user from its list.
+     *
+     * @param id              the saved place id
+     * @param expectedVersion the list version the client last saw, or null
+     * @param user            the current user
+     * @return the new list version
+     * @throws SavedPlaceNotFoundException       if the saved place does not exist or belongs to another user
+     * @throws PlaceListVersionConflictException if the list is not at the expected version
+     */
+    @Transactional
+    public long removeSavedPlace(Long id, Long expectedVersion, User user) {
+        // Pending edits of the removed item are dropped
+        savedPlaceWriteBehindService.take(id);
+        SavedPlace savedPlace = lockAndFindOwnedSavedPlace(id, expectedVersion, user);
+        Long placeListId = savedPlace.getPlaceList().getId();
+        ItemState state = stateOf(savedPlace);
+        Long placeId = savedPlace.getPlace().getId();
+        boolean publicList = Boolean.TRUE.equals(savedPlace.getPlaceList().getIsPublic());
+
+        savedPlaceRepository.delete(savedPlace);
+        savedPlaceRepository.flush();
+
+        placeListSummaryService.itemRemoved(placeListId, state);
+        placeRatingSummaryService.itemRemoved(placeId, state);
+        long version = placeListChangeService.itemsChanged(placeListId, List.of(id));
+        eventPublisher.publishEvent(new SavedPlacesChangedEvent(List.of(id)));
+        eventPublisher.publishEvent(new PlaceUnsavedEvent(id, placeId, placeListId, user.getId(), publicList));
+        return version;
+    }
+
+    /**
+     * Adds every tag to every given saved place of the user. Unknown tags are created.
+     *
+     * @param request the saved places and tags
+     * @param user    the current user
+     * @return the number of tag links added
+     */
+    @Transactional
+    public int addTags(TagUpdateRequest request, User user) {
+        List<Integer> tagIds = tagDictionary.resolve(request.getTags());
+        int added = savedPlaceTagRepository.addTags(request.getSavedPlaceIds(), tagIds, user.getId());
+        if (added > 0) {
+            placeListChangeService.savedPlacesChanged(request.getSavedPlaceIds(), user.getId());
+            eventPublisher.publishEvent(new SavedPlacesChangedEvent(List.copyOf(request.getSavedPlaceIds())));
+        }
+        return added;
+    }
+
+    /**
+     * Removes every tag from every given saved place of the user.
+     *
+     * @param request the saved places and tags
+     * @param user    the current user
+     * @return the number of tag links removed
+     */
+    @Transactional
+    public int removeTags(TagUpdateRequest request, User user) {
+        List<Integer> tagIds = tagDictionary.find(request.getTags());
+        int removed = savedPlaceTagRepository.removeTags(request.getSavedPlaceIds(), tagIds, user.getId());
+        if (removed > 0) {
+            placeListChangeService.savedPlacesChanged(request.getSavedPlaceIds(), user.getId());
+            eventPublisher.publishEvent(new SavedPlacesChangedEvent(List.copyOf(request.getSavedPlaceIds())));
+        }
+        return removed;
+    }
+
+    // Answers from the entity and the pending edits without writing; the entity stays unchanged
+    private SavedPlaceResponse bufferUpdate(Long id, UpdateSavedPlaceRequest request, User user) {
+        SavedPlace savedPlace = findOwnedSavedPlace(id, user);
+        PlaceList placeList = savedPlace.getPlaceList();
+        BufferedUpdate buffered = savedPlaceWriteBehindService.buffer(id, new BufferedUpdate(placeList.getId(),
+                user.getId(), request.getNote(), request.getRating(), request.getVisited()));
+        SavedPlaceResponse response = toResponse(savedPlace,
+                savedPlace.getTags().stream().map(Tag::getName).sorted().toList(),
+                placeList.getVersion() != null ? placeList.getVersion() : 0);
+        if (buffered.note() != null) {
+            response.setNote(buffered.note());
+        }
+        if (buffered.rating() != null) {
+            response.setRating(buffered.rating());
+        }
+        if (buffered.visited() != null) {
+            response.setVisited(buffered.visited());
+        }
+        return response;
+    }
+
+    private static void apply(SavedPlace savedPlace, BufferedUpdate buffered) {
+        if (buffered.note() != null) {
+            savedPlace.setNote(buffered.note());
+        }
+        if (buffered.rating() != null) {
+            savedPlace.setRating(buffered.rating());
+        }
+        if (buffered.visited() != null) {
+            savedPlace.setVisited(buffered.visited());
+        }
+    }
+
+    // Serialises writers of the list with copies and moves, and checks the client's version.
+    // The entity is loaded once the list is locked, so it holds every edit committed before;
+    // loaded earlier, its stale fields would overwrite a concurrent update and skew summaries
+    private SavedPlace lockAndFindOwnedSavedPlace(Long id, Long expectedVersion, User user) {
+        Long placeListId = savedPlaceRepository.findPlaceListIdById(id)
+                .orElseThrow(() -> new SavedPlaceNotFoundException("Saved place not found with id: " + id));
+        PlaceList placeList = placeListRepository.findByIdForUpdate(placeListId)
+                .orElseThrow(() -> new SavedPlaceNotFoundException("Saved place not found with id: " + id));
+        SavedPlace savedPlace = findOwnedSavedPlace(id, user);
+        PlaceListChangeService.checkVersion(placeList, expectedVersion);
+        return savedPlace;
+    }
+
+    private SavedPlace findOwnedSavedPlace(Long id, User user) {
+        return savedPlaceRepository.findByIdWithPlaceAndList(id)
+                .filter(savedPlace -> savedPlace.getPlaceList().getOwner().getId().equals(user.getId()))
+                .orElseThrow(() -> new SavedPlaceNotFoundException("Saved place not found with id: " + id));
+    }
+
+    private static ItemState stateOf(SavedPlace savedPlace) {
+        Place place = savedPlace.getPlace();
+        return new ItemState(savedPlace.getId(), savedPlace.getRating(), Boolean.TRUE.equals(savedPlace.getVisited()),
+                place.getLatitude(), place.getLongitude(), savedPlace.getImageUrl());
+    }
+
+    private SavedPlaceResponse toResponse(SavedPlace savedPlace, List<String> tags, long listVersion) {
+        Place place = savedPlace.getPlace();
+        return SavedPlaceResponse.builder()
+                .id(savedPlace.getId())
+                .place(PlaceResponse.from(place, categoryDictionary.slugOf(place.getCategoryCode())))
+                .rank(savedPlace.getRank())
+                .note(savedPlace.getNote())
+                .imageUrl(savedPlace.getImageUrl())
+                .tags(tags)
+                .rating(savedPlace.getRating())
+                .visited(savedPlace.getVisited())
+                .createdAt(savedPlace.getCreatedAt())
+                .listVersion(listVersion)
+                .build();
+    }
+}
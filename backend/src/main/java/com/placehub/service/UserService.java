@@ -1,5 +1,70 @@
 package com.placehub.service;
 
+import java.util.Optional;
+
+import com.placehub.DTO.UserProfileResponse;
+import com.placehub.entity.User;
+import com.placehub.exception.UserNotFoundException;
+import com.placehub.repository.UserRepository;
+import com.placehub.service.cache.CachedResponse;
+import com.placehub.service.cache.ResponseCache;
+import com.placehub.util.ResourceVersion;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Service for user profiles.
+ */
+@Service
+@RequiredArgsConstructor
 public class UserService {
-    
+
+    private final UserRepository userRepository;
+    private final ResponseCache responseCache;
+
+    /**
+     * Gets the public profile of a user, serialized. Profiles come from the response cache
+     * while the user is unchanged, after a single version lookup.
+     *
+     * @param id the user id
+     * @return the serialized profile with its validators
+     * @throws UserNotFoundException if the user does not exist
+     */
+    @Transactional(readOnly = true)
+    public CachedResponse getSerializedProfile(Long id) {
+        ResourceVersion version = getProfileVersion(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+        // Read after the version: the body cached under a tag is never older than the tag
+        return responseCache.get(ResponseCache.key("user", id), version, () -> toProfile(userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id))));
+    }
+
+    /**
+     * Gets the HTTP validators of a profile in one indexed lookup.
+     *
+     * @param id the user id
+     * @return the validators, or empty if the user does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getProfileVersion(Long id) {
+        return userRepository.findVersionById(id)
+                .map(row -> ResourceVersion.of(row.lastModified(), row.version()));
+    }
+
+    private static UserProfileResponse toProfile(User user) {
+        return UserProfileResponse.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .bio(user.getBio())
+                .avatarUrl(user.getAvatarUrl())
+                .url(user.getUrl())
+                .city(user.getCity())
+                .country(user.getCountry())
+                .createdAt(user.getCreatedAt())
+                .build();
+    }
 }
@@ -0,0 +1,239 @@
+package com.placehub.service.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import com.placehub.entity.Place;
+import com.placehub.entity.PlaceList;
+import com.placehub.entity.User;
+import com.placehub.event.PlaceListsChangedEvent;
+import com.placehub.repository.CacheInvalidationRepository;
+import com.placehub.repository.DatabaseDialect;
+import com.placehub.repository.projection.CacheInvalidationRow;
+import com.placehub.service.notification.PostgresNotifications;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service keeping the second-level caches of all nodes consistent. Entities changed through
+ * Hibernate are announced by EntityCacheEventListener; writers bypassing Hibernate call
+ * {@link #evict} or {@link #evictAll} in their transaction.
+ *
+ * <p>Announcements are sent once the transaction committed: as Postgres notifications, which
+ * every node receives on a connection kept listening, or on other databases as rows of the
+ * cache_invalidations table, which every node polls. A node that lost its listening
+ * connection may have missed announcements and clears its caches when it reconnects; entries
+ * also expire, see SecondLevelCacheConfig.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheInvalidationBus {
+
+    static final String CHANNEL = "placehub_cache_invalidation";
+    private static final String ALL = "*";
+    private static final Map<String, Class<?>> ENTITIES = Map.of(
+            Place.class.getSimpleName(), Place.class,
+            PlaceList.class.getSimpleName(), PlaceList.class,
+            User.class.getSimpleName(), User.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final PostgresNotifications notifications;
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final DatabaseDialect dialect;
+
+    @Value("${placehub.entity-cache.invalidation-retention:PT10M}")
+    private Duration invalidationRetention;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    // One thread keeps the announcements in order
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "cache-invalidation-publisher"));
+
+    private volatile boolean running;
+    private long lastSeenId;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        if (dialect.isPostgres()) {
+            // Announcements sent while no connection was listening are lost
+            notifications.subscribe(CHANNEL, this::receive,
+                    () -> ENTITIES.values().forEach(this::evictAllLocally));
+        } else {
+            lastSeenId = cacheInvalidationRepository.findMaxId();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        publisher.shutdown();
+    }
+
+    /**
+     * Evicts entities from the caches of every node. Inside a transaction, the local entries
+     * are evicted again on completion, in case a reader cached the old row meanwhile, and
+     * the other nodes are told after commit.
+     *
+     * @param entityClass a cached entity class
+     * @param ids         the ids of the changed entities
+     */
+    public void evict(Class<?> entityClass, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Runnable evictLocally = () -> ids.forEach(id -> cache().evictEntityData(entityClass, id));
+        List<String> messages = new ArrayList<>();
+        List<Long> idList = List.copyOf(ids);
+        int perMessage = PostgresNotifications.IDS_PER_MESSAGE;
+        for (int from = 0; from < idList.size(); from += perMessage) {
+            messages.add(idList.subList(from, Math.min(from + perMessage, idList.size())).stream()
+                    .map(String::valueOf).collect(Collectors.joining(",")));
+        }
+        evictEverywhere(entityClass, messages, evictLocally);
+    }
+
+    /**
+     * Evicts every entity of a type from the caches of every node, like {@link #evict}.
+     *
+     * @param entityClass a cached entity class
+     */
+    public void evictAll(Class<?> entityClass) {
+        evictEverywhere(entityClass, List.of(ALL), () -> evictAllLocally(entityClass));
+    }
+
+    /**
+     * Tells the other nodes that an entity changed in a committed transaction. Hibernate
+     * already updated the local cache.
+     *
+     * @param entityClass a cached entity class
+     * @param id          the id of the changed entity
+     */
+    public void announce(Class<?> entityClass, Object id) {
+        publish(entityClass.getSimpleName(), String.valueOf(id));
+    }
+
+    /**
+     * Evicts lists whose version was incremented without Hibernate.
+     */
+    @EventListener
+    public void onPlaceListsChanged(PlaceListsChangedEvent event) {
+        evict(PlaceList.class, event.placeListIds());
+    }
+
+    /**
+     * Applies the entries other nodes added to the cache_invalidations table. Postgres
+     * notifications are received by the notification listener instead.
+     */
+    @Scheduled(fixedDelayString = "${placehub.entity-cache.poll-interval:PT1S}")
+    public void poll() {
+        if (dialect.isPostgres() || !running) {
+            return;
+        }
+        for (CacheInvalidationRow row : cacheInvalidationRepository.findAfter(lastSeenId)) {
+            receive(row.nodeId(), row.entityName(), row.entityIds());
+            lastSeenId = row.id();
+        }
+    }
+
+    /**
+     * Deletes cache_invalidations entries every node has polled long ago.
+     */
+    @Scheduled(fixedDelayString = "${placehub.entity-cache.invalidation-retention:PT10M}")
+    public void pruneInvalidations() {
+        if (!dialect.isPostgres()) {
+            cacheInvalidationRepository.deleteOlderThan(LocalDateTime.now().minus(invalidationRetention));
+        }
+    }
+
+    private void evictEverywhere(Class<?> entityClass, List<String> messages, Runnable evictLocally) {
+        evictLocally.run();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            messages.forEach(entityIds -> publish(entityClass.getSimpleName(), entityIds));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evictLocally.run();
+                if (status == STATUS_COMMITTED) {
+                    messages.forEach(entityIds -> publish(entityClass.getSimpleName(), entityIds));
+                }
+            }
+        });
+    }
+
+    // Sent on a connection of its own, outside of any transaction
+    private void publish(String entityName, String entityIds) {
+        if (!running) {
+            return;
+        }
+        publisher.execute(() -> {
+            try {
+                if (dialect.isPostgres()) {
+                    notifications.notify(CHANNEL, nodeId + "|" + entityName + "|" + entityIds);
+                } else {
+                    cacheInvalidationRepository.insert(nodeId, entityName, entityIds);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Failed to announce cache invalidation of {} {}", entityName, entityIds, e);
+            }
+        });
+    }
+
+    private void receive(String payload) {
+        if (!running) {
+            return;
+        }
+        String[] parts = payload.split("\\|", 3);
+        receive(parts[0], parts[1], parts[2]);
+    }
+
+    private void receive(String sender, String entityName, String entityIds) {
+        Class<?> entityClass = ENTITIES.get(entityName);
+        if (nodeId.equals(sender) || entityClass == null) {
+            return;
+        }
+        if (ALL.equals(entityIds)) {
+            evictAllLocally(entityClass);
+            return;
+        }
+        for (String id : entityIds.split(",")) {
+            cache().evictEntityData(entityClass, Long.valueOf(id));
+        }
+    }
+
+    private void evictAllLocally(Class<?> entityClass) {
+        cache().evictEntityData(entityClass);
+        if (entityClass == User.class) {
+            cache().evictNaturalIdData(User.class);
+        }
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
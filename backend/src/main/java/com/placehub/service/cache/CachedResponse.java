@@ -0,0 +1,20 @@
+package com.placehub.service.cache;
+
+import com.placehub.util.ResourceVersion;
+
+/**
+ * A response body serialized once, with the validators of the version it was rendered from.
+ *
+ * @param version the validators of the rendered version
+ * @param json    the JSON body
+ * @param gzip    the same body gzip-compressed, or null if it is too small to be worth it
+ */
+public record CachedResponse(ResourceVersion version, byte[] json, byte[] gzip) {
+
+    /**
+     * @return the bytes held by the entry, for the cache size bound
+     */
+    public long size() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.placehub.service.cache;
+
+import java.util.function.ToLongFunction;
+
+import com.placehub.config.SecondLevelCacheConfig;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publishes the Hibernate statistics of each second-level cache region: requests in
+ * {@code placehub.entity-cache.requests}, tagged by region and result, and the hit ratio in
+ * {@code placehub.entity-cache.hit-ratio}. Requires hibernate.generate_statistics.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheMetrics {
+
+    static final String METRIC_NAME = "placehub.entity-cache.requests";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void init() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : SecondLevelCacheConfig.REGIONS) {
+            register(statistics, region, "hit", CacheRegionStatistics::getHitCount);
+            register(statistics, region, "miss", CacheRegionStatistics::getMissCount);
+            Gauge.builder("placehub.entity-cache.hit-ratio", statistics, stats -> hitRatio(stats, region))
+                    .tag("region", region)
+                    .register(meterRegistry);
+        }
+    }
+
+    private void register(Statistics statistics, String region, String result,
+                          ToLongFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder(METRIC_NAME, statistics, stats -> count(stats, region, count))
+                .tag("region", region)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static double count(Statistics statistics, String region, ToLongFunction<CacheRegionStatistics> count) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics != null ? count.applyAsLong(regionStatistics) : 0;
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return 0;
+        }
+        long requests = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return requests > 0 ? (double) regionStatistics.getHitCount() / requests : 0;
+    }
+}
@@ -0,0 +1,201 @@
+package com.placehub.service.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import com.placehub.event.PlaceListsChangedEvent;
+import com.placehub.util.ResourceVersion;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * In-process cache of serialized response bodies, so that a hot public resource is served
+ * as a byte copy instead of being loaded and serialized on every read.
+ *
+ * <p>Entries are keyed by resource and request variant, and hold the version they were
+ * rendered from: an entry is only served while its ETag matches the version the caller
+ * has just read, so a write is never hidden by the cache, even one made by another node.
+ * Writes to lists also evict their entries after commit to free the memory early, through an
+ * index of the cached keys of each resource. The cache is bounded by the total size of its
+ * entries, least recently used out first.
+ * Requests are counted in {@code placehub.response-cache.requests}, tagged by result.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResponseCache {
+
+    static final String METRIC_NAME = "placehub.response-cache.requests";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${placehub.response-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${placehub.response-cache.compress-min-bytes:1024}")
+    private int compressMinBytes;
+
+    // Access order: iteration starts at the least recently used entry. Guarded by this.
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // The cached keys of each resource, so evicting one touches only its variants. Guarded by this.
+    private final Map<String, Set<String>> keysByResource = new HashMap<>();
+    private long bytes;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter evictions;
+
+    @PostConstruct
+    public void init() {
+        hits = Counter.builder(METRIC_NAME).tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder(METRIC_NAME).tag("result", "miss").register(meterRegistry);
+        evictions = Counter.builder("placehub.response-cache.evictions").register(meterRegistry);
+        Gauge.builder("placehub.response-cache.size", this, ResponseCache::size).baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("placehub.response-cache.entries", this, ResponseCache::entryCount).register(meterRegistry);
+    }
+
+    /**
+     * Builds the key of a resource variant, e.g. one page of a list.
+     *
+     * @param resource the resource type
+     * @param id       the resource id
+     * @param variant  the request parameters the body depends on
+     * @return the key
+     */
+    public static String key(String resource, Object id, Object... variant) {
+        return prefix(resource, id) + Arrays.stream(variant).map(value -> Objects.toString(value, ""))
+                .collect(Collectors.joining(":"));
+    }
+
+    /**
+     * Returns the cached body of the given version, or renders the body and caches it.
+     *
+     * @param key     the cache key, or null for a response that must not be shared
+     * @param version the current validators of the resource
+     * @param body    builds the response body on a miss
+     * @return the serialized response
+     */
+    public CachedResponse get(String key, ResourceVersion version, Supplier<?> body) {
+        if (key == null) {
+            return new CachedResponse(version, objectMapper.writeValueAsBytes(body.get()), null);
+        }
+        CachedResponse cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+        if (cached != null && cached.version().eTag().equals(version.eTag())) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        byte[] json = objectMapper.writeValueAsBytes(body.get());
+        CachedResponse rendered = new CachedResponse(version, json, json.length >= compressMinBytes ? gzip(json) : null);
+        put(key, rendered);
+        return rendered;
+    }
+
+    /**
+     * Drops every cached variant of a resource.
+     *
+     * @param resource the resource type
+     * @param id       the resource id
+     */
+    public synchronized void evict(String resource, Object id) {
+        Set<String> keys = keysByResource.remove(prefix(resource, id));
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            CachedResponse removed = entries.remove(key);
+            if (removed != null) {
+                bytes -= removed.size();
+            }
+        }
+    }
+
+    /**
+     * Drops the cached pages of changed lists.
+     *
+     * @param event the list change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlaceListsChanged(PlaceListsChangedEvent event) {
+        event.placeListIds().forEach(id -> evict("list", id));
+    }
+
+    public synchronized long size() {
+        return bytes;
+    }
+
+    public synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private synchronized void put(String key, CachedResponse response) {
+        if (response.size() > maxBytes) {
+            return;
+        }
+        CachedResponse previous = entries.put(key, response);
+        bytes += response.size() - (previous != null ? previous.size() : 0);
+        keysByResource.computeIfAbsent(prefixOf(key), prefix -> new HashSet<>()).add(key);
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = eldest.next();
+            bytes -= entry.getValue().size();
+            eldest.remove();
+            unindex(entry.getKey());
+            evictions.increment();
+        }
+    }
+
+    private void unindex(String key) {
+        String prefix = prefixOf(key);
+        Set<String> keys = keysByResource.get(prefix);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByResource.remove(prefix);
+        }
+    }
+
+    private static String prefix(String resource, Object id) {
+        return resource + ":" + id + ":";
+    }
+
+    // Resource types and ids hold no colon, so the prefix ends at the second one
+    private static String prefixOf(String key) {
+        return key.substring(0, key.indexOf(':', key.indexOf(':') + 1) + 1);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
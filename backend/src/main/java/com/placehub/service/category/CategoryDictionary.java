@@ -0,0 +1,258 @@
+package com.placehub.service.category;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.placehub.DTO.CategoryResponse;
+import com.placehub.entity.PlaceCategory;
+import com.placehub.repository.PlaceCategoryRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory dictionary between category names and their small integer codes.
+ *
+ * <p>The whole taxonomy is held in an immutable snapshot of arrays indexed by code, so
+ * code-to-slug, slug-to-code and hierarchy lookups are lock-free and allocation-free.
+ * Unknown categories are added on first use (e.g. from imports) in their own transaction,
+ * after which the snapshot is replaced. Codes are small integers, so slugs are capped at the
+ * column length and the taxonomy at a configured number of categories; beyond that, unknown
+ * categories are refused instead of growing the code space with junk input.
+ *
+ * <p>A category may be given as a path ("food > cafe") to place a new category under a
+ * parent; slugs are unique across the whole taxonomy.
+ */
+@Slf4j
+@Service
+public class CategoryDictionary {
+
+    public static final String PATH_SEPARATOR = ">";
+    public static final int MAX_SLUG_LENGTH = 64;
+
+    // Two nodes creating categories at once may compute the same next code
+    private static final int MAX_CREATE_ATTEMPTS = 5;
+
+    // Seeded into an empty database: top-level slug followed by its children
+    private static final String[][] DEFAULT_TAXONOMY = {
+            {"food", "restaurant", "cafe", "bar", "bakery", "fast-food"},
+            {"nature", "park", "beach", "garden", "viewpoint"},
+            {"culture", "museum", "gallery", "theater", "monument"},
+            {"shopping", "market", "bookstore"},
+            {"lodging", "hotel", "hostel", "campground"},
+            {"sport", "gym", "stadium"},
+            {"other"}
+    };
+
+    private final PlaceCategoryRepository placeCategoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    @Value("${placehub.categories.max-codes:500}")
+    private int maxCodes;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public CategoryDictionary(PlaceCategoryRepository placeCategoryRepository, JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.placeCategoryRepository = placeCategoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Loads the taxonomy, seeding the default one into an empty table.
+     */
+    @PostConstruct
+    public void load() {
+        reload();
+        if (snapshot.size() == 0) {
+            for (String[] group : DEFAULT_TAXONOMY) {
+                resolve(group[0]);
+                for (int i = 1; i < group.length; i++) {
+                    resolve(group[0] + " " + PATH_SEPARATOR + " " + group[i]);
+                }
+            }
+            log.info("Seeded {} default place categories", snapshot.size());
+        }
+    }
+
+    /**
+     * Returns the code of a category, creating the category if it does not exist yet.
+     *
+     * @param category a category name, slug or "parent > child" path
+     * @return the category code
+     * @throws IllegalArgumentException if the category is blank, too long, or new while the
+     *                                  taxonomy is full
+     */
+    public short resolve(String category) {
+        String[] path = category == null ? new String[0] : category.split(PATH_SEPARATOR);
+        Short parent = null;
+        Short code = null;
+        for (String part : path) {
+            String slug = slug(part);
+            if (slug.isEmpty()) {
+                continue;
+            }
+            code = snapshot.codes.get(slug);
+            if (code == null) {
+                code = create(slug, part.trim(), parent);
+            }
+            parent = code;
+        }
+        if (code == null) {
+            throw new IllegalArgumentException("Category is required");
+        }
+        return code;
+    }
+
+    /**
+     * Returns the code of an existing category without creating it.
+     *
+     * @param category a category name or slug
+     * @return the code, or null if unknown
+     */
+    public Short find(String category) {
+        return category == null ? null : snapshot.codes.get(slug(category));
+    }
+
+    /**
+     * @return the slug of a category code, or null if unknown
+     */
+    public String slugOf(short code) {
+        Snapshot current = snapshot;
+        return code > 0 && code < current.slugs.length ? current.slugs[code] : null;
+    }
+
+    /**
+     * @return the parent code of a category, or 0 for top-level or unknown categories
+     */
+    public short parentOf(short code) {
+        Snapshot current = snapshot;
+        return code > 0 && code < current.parents.length ? current.parents[code] : 0;
+    }
+
+    /**
+     * Returns a category and all its descendants as a set of codes, so a filter on "food"
+     * also matches cafes and restaurants with a single bit test per place.
+     *
+     * @param code the category code
+     * @return the codes of the category and its descendants
+     */
+    public BitSet withDescendants(short code) {
+        Snapshot current = snapshot;
+        BitSet codes = new BitSet(current.slugs.length);
+        codes.set(code);
+        // Parents always have lower codes than their children, one forward pass is enough
+        for (int candidate = code + 1; candidate < current.parents.length; candidate++) {
+            if (codes.get(current.parents[candidate])) {
+                codes.set(candidate);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * @return the whole taxonomy ordered by code
+     */
+    public List<CategoryResponse> getAll() {
+        Snapshot current = snapshot;
+        List<CategoryResponse> categories = new ArrayList<>();
+        for (short code = 1; code < current.slugs.length; code++) {
+            if (current.slugs[code] != null) {
+                short parent = current.parents[code];
+                categories.add(new CategoryResponse(code, current.slugs[code], current.names[code],
+                        parent == 0 ? null : parent));
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Normalises a category name into its slug: lowercase, words joined by dashes.
+     *
+     * @param category the category name
+     * @return the slug, empty if the name is blank
+     */
+    public static String slug(String category) {
+        return category.trim().toLowerCase(Locale.ROOT).replaceAll("[\\s_]+", "-");
+    }
+
+    /**
+     * Reloads the snapshot from the database.
+     */
+    public synchronized void reload() {
+        snapshot = Snapshot.of(placeCategoryRepository.findAll());
+    }
+
+    private synchronized short create(String slug, String name, Short parent) {
+        Short existing = snapshot.codes.get(slug);
+        if (existing != null) {
+            return existing;
+        }
+        if (slug.length() > MAX_SLUG_LENGTH || name.length() > MAX_SLUG_LENGTH) {
+            throw new IllegalArgumentException("Category must be at most " + MAX_SLUG_LENGTH + " characters");
+        }
+        for (int attempt = 1; attempt <= MAX_CREATE_ATTEMPTS; attempt++) {
+            if (snapshot.size() >= maxCodes) {
+                throw new IllegalArgumentException("Unknown category " + name);
+            }
+            try {
+                newTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                        "INSERT INTO place_categories (code, slug, name, parent_code) " +
+                        "SELECT COALESCE(MAX(code), 0) + 1, ?, ?, ? FROM place_categories",
+                        slug, name, parent));
+            } catch (DuplicateKeyException e) {
+                // Another node created the same slug or took the same code; the reload picks up its row
+                log.debug("Concurrent creation of category {}, attempt {}", slug, attempt, e);
+            }
+            reload();
+            Short code = snapshot.codes.get(slug);
+            if (code != null) {
+                return code;
+            }
+        }
+        throw new IllegalStateException("Could not create category " + slug);
+    }
+
+    /**
+     * Immutable view of the taxonomy, arrays indexed by code.
+     */
+    private record Snapshot(String[] slugs, String[] names, short[] parents, Map<String, Short> codes) {
+
+        private static final Snapshot EMPTY = new Snapshot(new String[1], new String[1], new short[1], Map.of());
+
+        private static Snapshot of(List<PlaceCategory> categories) {
+            int length = categories.stream().mapToInt(PlaceCategory::getCode).max().orElse(0) + 1;
+            String[] slugs = new String[length];
+            String[] names = new String[length];
+            short[] parents = new short[length];
+            Map<String, Short> codes = new HashMap<>();
+            for (PlaceCategory category : categories) {
+                short code = category.getCode();
+                slugs[code] = category.getSlug();
+                names[code] = category.getName();
+                parents[code] = category.getParentCode() == null ? 0 : category.getParentCode();
+                codes.put(category.getSlug(), code);
+            }
+            return new Snapshot(slugs, names, parents, Map.copyOf(codes));
+        }
+
+        private int size() {
+            return codes.size();
+        }
+    }
+}
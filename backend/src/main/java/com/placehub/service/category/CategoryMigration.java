@@ -0,0 +1,61 @@
+package com.placehub.service.category;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import com.placehub.util.SchemaUtils;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-off migration of the legacy free-form places.category column to category codes.
+ * Runs at startup and does nothing once the legacy column is gone: every distinct value
+ * is registered in the dictionary, places are updated per value, then the column is dropped.
+ */
+@Slf4j
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class CategoryMigration implements ApplicationRunner {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryDictionary categoryDictionary;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!SchemaUtils.hasColumn(dataSource, "places", "category")) {
+            return;
+        }
+        log.info("Migrating places.category to category codes");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!SchemaUtils.hasColumn(dataSource, "places", "category_code")) {
+                jdbcTemplate.execute("ALTER TABLE places ADD COLUMN category_code SMALLINT");
+            }
+            List<String> categories = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT category FROM places WHERE category_code IS NULL AND category IS NOT NULL",
+                    String.class);
+            for (String category : categories) {
+                String name = category.isBlank() ? "other" : category;
+                jdbcTemplate.update("UPDATE places SET category_code = ? WHERE category = ? AND category_code IS NULL",
+                        categoryDictionary.resolve(name), category);
+            }
+            jdbcTemplate.update("UPDATE places SET category_code = ? WHERE category_code IS NULL",
+                    categoryDictionary.resolve("other"));
+            jdbcTemplate.execute("ALTER TABLE places ALTER COLUMN category_code SET NOT NULL");
+            jdbcTemplate.execute("ALTER TABLE places DROP COLUMN category");
+            log.info("Migrated {} distinct categories", categories.size());
+        });
+    }
+}
@@ -0,0 +1,245 @@
+package com.placehub.service.counter;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.placehub.event.FollowChangedEvent;
+import com.placehub.event.PlaceSavedEvent;
+import com.placehub.event.PlaceUnsavedEvent;
+import com.placehub.repository.CounterRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for the denormalized follower, following and save counters. Committed follows,
+ * unfollows, saves and removals are added up in memory and flushed periodically as one
+ * batched upsert per table, so a popular account or place costs one counter write per flush
+ * instead of one per event. Reads add this node's unflushed deltas to the stored counts.
+ *
+ * <p>Counters can drift: deltas are lost if a node dies before flushing, and bulk writers
+ * such as imports bypass the events. A nightly reconciliation recomputes the counts in id
+ * ranges and corrects the rows that differ.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounterService {
+
+    private final CounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${placehub.counters.reconcile-batch-size:10000}")
+    private int reconcileBatchSize;
+
+    // Guarded by this; follower and following deltas by user id
+    private TreeMap<Long, long[]> userDeltas = new TreeMap<>();
+
+    // Guarded by this; save deltas by place id
+    private TreeMap<Long, Long> placeDeltas = new TreeMap<>();
+
+    // Held while a flush or a reconciliation writes, so they never interleave
+    private final Object writeLock = new Object();
+
+    /**
+     * Counts a committed follow or unfollow.
+     *
+     * @param event the follow change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        long delta = event.followed() ? 1 : -1;
+        synchronized (this) {
+            userDeltas.computeIfAbsent(event.followingId(), id -> new long[2])[0] += delta;
+            userDeltas.computeIfAbsent(event.followerId(), id -> new long[2])[1] += delta;
+        }
+    }
+
+    /**
+     * Counts a committed save.
+     *
+     * @param event the save
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlaceSaved(PlaceSavedEvent event) {
+        addPlaceDelta(event.placeId(), 1);
+    }
+
+    /**
+     * Counts a committed removal of a saved place.
+     *
+     * @param event the removal
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlaceUnsaved(PlaceUnsavedEvent event) {
+        addPlaceDelta(event.placeId(), -1);
+    }
+
+    private synchronized void addPlaceDelta(Long placeId, long delta) {
+        placeDeltas.merge(placeId, delta, Long::sum);
+    }
+
+    /**
+     * Counts the items copied into a list, in the caller's transaction and in one statement.
+     * Used for forks, whose size does not fit in-memory deltas.
+     *
+     * @param placeListId the list
+     */
+    @Transactional
+    public void listItemsCopied(Long placeListId) {
+        counterRepository.addListSaves(placeListId);
+    }
+
+    /**
+     * Moves the save count of a place merged into another one, in the caller's transaction.
+     * The pending deltas of the duplicate move once it committed, so a rollback keeps them.
+     *
+     * @param duplicateId  the place merged away
+     * @param targetId     the place kept
+     * @param removedSaves the saves of the duplicate deleted by the merge, which the moved count
+     *                     still includes
+     */
+    @Transactional
+    public void placeMerged(Long duplicateId, Long targetId, int removedSaves) {
+        counterRepository.mergePlaceCounter(duplicateId, targetId);
+        if (removedSaves > 0) {
+            counterRepository.addPlaceDeltas(new TreeMap<>(Map.of(targetId, (long) -removedSaves)));
+        }
+        Runnable moveDeltas = () -> {
+            synchronized (this) {
+                Long pending = placeDeltas.remove(duplicateId);
+                if (pending != null) {
+                    placeDeltas.merge(targetId, pending, Long::sum);
+                }
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            moveDeltas.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                moveDeltas.run();
+            }
+        });
+    }
+
+    /**
+     * Gets the follower and following counts of a user.
+     *
+     * @return the two counts
+     */
+    @Transactional(readOnly = true)
+    public long[] getUserCounts(Long userId) {
+        long[] counts = counterRepository.findUserCounts(userId);
+        synchronized (this) {
+            long[] pending = userDeltas.get(userId);
+            if (pending != null) {
+                counts[0] += pending[0];
+                counts[1] += pending[1];
+            }
+        }
+        return new long[] {Math.max(0, counts[0]), Math.max(0, counts[1])};
+    }
+
+    /**
+     * Gets the number of lists a place is saved in.
+     */
+    @Transactional(readOnly = true)
+    public long getSaveCount(Long placeId) {
+        long count = counterRepository.findSaveCount(placeId);
+        synchronized (this) {
+            count += placeDeltas.getOrDefault(placeId, 0L);
+        }
+        return Math.max(0, count);
+    }
+
+    /**
+     * Writes the pending deltas. Deltas of a failed flush are kept for the next one.
+     */
+    @Scheduled(fixedDelayString = "${placehub.counters.flush-interval:PT5S}")
+    @PreDestroy
+    public void flush() {
+        synchronized (writeLock) {
+            TreeMap<Long, long[]> users;
+            TreeMap<Long, Long> places;
+            synchronized (this) {
+                users = userDeltas;
+                places = placeDeltas;
+                userDeltas = new TreeMap<>();
+                placeDeltas = new TreeMap<>();
+            }
+            users.values().removeIf(delta -> delta[0] == 0 && delta[1] == 0);
+            places.values().removeIf(delta -> delta == 0);
+            if (users.isEmpty() && places.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!users.isEmpty()) {
+                        counterRepository.addUserDeltas(users);
+                    }
+                    if (!places.isEmpty()) {
+                        counterRepository.addPlaceDeltas(places);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush {} user and {} place counters, retrying later", users.size(),
+                        places.size(), e);
+                synchronized (this) {
+                    for (Map.Entry<Long, long[]> entry : users.entrySet()) {
+                        long[] delta = userDeltas.computeIfAbsent(entry.getKey(), id -> new long[2]);
+                        delta[0] += entry.getValue()[0];
+                        delta[1] += entry.getValue()[1];
+                    }
+                    places.forEach((placeId, delta) -> placeDeltas.merge(placeId, delta, Long::sum));
+                }
+            }
+        }
+    }
+
+    /**
+     * Recomputes every counter from the follows and saved_places tables, one id range per
+     * transaction. Pending deltas are flushed first; a change committed while a range is
+     * recomputed may be counted twice until the next run.
+     */
+    @Scheduled(cron = "${placehub.counters.reconcile-cron:0 15 4 * * *}")
+    public void reconcile() {
+        flush();
+        synchronized (writeLock) {
+            long start = System.currentTimeMillis();
+            int users = reconcileRanges(counterRepository.findMaxUserId(), counterRepository::reconcileUsers);
+            int places = reconcileRanges(counterRepository.findMaxPlaceId(), counterRepository::reconcilePlaces);
+            log.info("Reconciled counters in {} ms: {} user and {} place counters written",
+                    System.currentTimeMillis() - start, users, places);
+        }
+    }
+
+    private int reconcileRanges(long maxId, RangeReconciler reconciler) {
+        int written = 0;
+        for (long from = 0; from < maxId; from += reconcileBatchSize) {
+            long fromId = from;
+            Integer count = transactionTemplate.execute(status -> reconciler.reconcile(fromId,
+                    fromId + reconcileBatchSize));
+            written += count != null ? count : 0;
+        }
+        return written;
+    }
+
+    @FunctionalInterface
+    private interface RangeReconciler {
+        int reconcile(long fromId, long toId);
+    }
+}
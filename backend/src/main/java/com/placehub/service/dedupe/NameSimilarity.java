@@ -0,0 +1,110 @@
+package com.placehub.service.dedupe;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Name normalisation and Jaro-Winkler similarity for place names.
+ */
+public final class NameSimilarity {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Articles that users add or drop freely ("The Coffee House" vs "Coffee House")
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "a", "an", "and", "of", "le", "la", "les", "l", "de", "du", "des", "el", "los", "las", "der", "die", "das");
+
+    private static final double WINKLER_PREFIX_SCALE = 0.1;
+    private static final int WINKLER_MAX_PREFIX = 4;
+
+    private NameSimilarity() {
+    }
+
+    /**
+     * Normalises a name for comparison: strips accents and punctuation, lowercases,
+     * drops articles and sorts the remaining tokens so word order does not matter.
+     *
+     * @param name the raw place name
+     * @return the normalised name, empty if nothing is left
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        String[] tokens = NON_ALPHANUMERIC.split(folded.toLowerCase(Locale.ROOT));
+        String[] kept = Arrays.stream(tokens)
+                .filter(token -> !token.isEmpty() && !STOP_WORDS.contains(token))
+                .sorted()
+                .toArray(String[]::new);
+        return String.join(" ", kept);
+    }
+
+    /**
+     * Computes the Jaro-Winkler similarity of two already normalised strings.
+     *
+     * @param a the first string
+     * @param b the second string
+     * @return the similarity between 0 (nothing in common, or either string empty) and 1 (identical)
+     */
+    public static double jaroWinkler(String a, String b) {
+        int lengthA = a.length();
+        int lengthB = b.length();
+        // Names of only stop words, emoji or punctuation normalise to nothing and say nothing
+        if (lengthA == 0 || lengthB == 0) {
+            return 0.0;
+        }
+        if (a.equals(b)) {
+            return 1.0;
+        }
+
+        int window = Math.max(0, Math.max(lengthA, lengthB) / 2 - 1);
+        boolean[] matchedA = new boolean[lengthA];
+        boolean[] matchedB = new boolean[lengthB];
+
+        int matches = 0;
+        for (int i = 0; i < lengthA; i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(lengthB - 1, i + window);
+            for (int j = from; j <= to; j++) {
+                if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+
+        int transpositions = 0;
+        int k = 0;
+        for (int i = 0; i < lengthA; i++) {
+            if (matchedA[i]) {
+                while (!matchedB[k]) {
+                    k++;
+                }
+                if (a.charAt(i) != b.charAt(k)) {
+                    transpositions++;
+                }
+                k++;
+            }
+        }
+
+        double m = matches;
+        double jaro = (m / lengthA + m / lengthB + (m - transpositions / 2.0) / m) / 3.0;
+
+        int prefix = 0;
+        int maxPrefix = Math.min(WINKLER_MAX_PREFIX, Math.min(lengthA, lengthB));
+        while (prefix < maxPrefix && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * WINKLER_PREFIX_SCALE * (1.0 - jaro);
+    }
+}
@@ -0,0 +1,255 @@
+package com.placehub.service.dedupe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.placehub.DTO.DuplicateCandidate;
+import com.placehub.DTO.DuplicatePair;
+import com.placehub.event.PlaceCreatedEvent;
+import com.placehub.event.PlacesChangedEvent;
+import com.placehub.service.dedupe.PlaceGridIndex.PlaceFingerprint;
+import com.placehub.util.GeoUtils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for detecting near-duplicate places.
+ * Keeps a name/category fingerprint of every place in an in-memory grid, so a check on the
+ * create path only scores the handful of places in the neighbouring cells.
+ * Score = 80% Jaro-Winkler over normalised names + 10% same category + 10% proximity.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlaceDeduplicationService {
+
+    private static final double NAME_WEIGHT = 0.8;
+    private static final double CATEGORY_WEIGHT = 0.1;
+    private static final double PROXIMITY_WEIGHT = 0.1;
+    private static final int MAX_CANDIDATES = 5;
+    private static final int LOAD_FETCH_SIZE = 10_000;
+    private static final int IDS_PER_QUERY = 1000;
+    private static final String FINGERPRINT_ROWS = "SELECT id, name, category_code, latitude, longitude FROM places";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlaceGridIndex index = new PlaceGridIndex();
+
+    @Value("${placehub.dedupe.radius-meters:150}")
+    private double radiusMeters;
+
+    @Value("${placehub.dedupe.suggest-threshold:0.85}")
+    private double suggestThreshold;
+
+    @Value("${placehub.dedupe.auto-link-threshold:0.95}")
+    private double autoLinkThreshold;
+
+    /**
+     * Result of a duplicate check.
+     *
+     * @param candidates existing places above the suggestion threshold, best first
+     * @param autoLinkTo the existing place to use instead of creating a new one, or null
+     */
+    public record DuplicateCheck(List<DuplicateCandidate> candidates, Long autoLinkTo) {}
+
+    /**
+     * Loads fingerprints of all places into the grid, streaming rows from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        index.clear();
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(FINGERPRINT_ROWS);
+            statement.setFetchSize(LOAD_FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            index.put(fingerprint(rs.getLong(1), rs.getString(2), rs.getShort(3), rs.getDouble(4), rs.getDouble(5)));
+        });
+        log.info("Indexed {} places for duplicate detection in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Adds a newly committed place to the index.
+     *
+     * @param event the place creation event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlaceCreated(PlaceCreatedEvent event) {
+        index(event.placeId(), event.name(), event.categoryCode(), event.latitude(), event.longitude());
+    }
+
+    /**
+     * Re-reads updated, merged or deleted places once committed; ids that no longer exist
+     * are removed from the index.
+     *
+     * @param event the place change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlacesChanged(PlacesChangedEvent event) {
+        List<Long> placeIds = event.placeIds();
+        for (int from = 0; from < placeIds.size(); from += IDS_PER_QUERY) {
+            List<Long> chunk = placeIds.subList(from, Math.min(from + IDS_PER_QUERY, placeIds.size()));
+            Set<Long> missing = new HashSet<>(chunk);
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query(FINGERPRINT_ROWS + " WHERE id IN (" + placeholders + ")", rs -> {
+                missing.remove(rs.getLong(1));
+                index(rs.getLong(1), rs.getString(2), rs.getShort(3), rs.getDouble(4), rs.getDouble(5));
+            }, chunk.toArray());
+            missing.forEach(index::remove);
+        }
+    }
+
+    /**
+     * Adds or replaces a place in the index, also if it moved.
+     */
+    public void index(long id, String name, short categoryCode, double latitude, double longitude) {
+        index.put(fingerprint(id, name, categoryCode, latitude, longitude));
+    }
+
+    /**
+     * Finds existing places that look like the given one.
+     *
+     * @param name         the new place name
+     * @param categoryCode the new place category code
+     * @param latitude     the new place latitude
+     * @param longitude    the new place longitude
+     * @return the candidates above the suggestion threshold and the auto-link decision
+     */
+    public DuplicateCheck check(String name, short categoryCode, double latitude, double longitude) {
+        return check(index, NameSimilarity.normalize(name), categoryCode, latitude, longitude);
+    }
+
+    /**
+     * Starts a set of places about to be inserted together, such as an import batch, so they
+     * can be checked against each other before they have ids and reach the index.
+     *
+     * @return the empty set
+     */
+    public PendingPlaces pendingPlaces() {
+        return new PendingPlaces();
+    }
+
+    /**
+     * Places not inserted yet, known by provisional negative ids. Not thread-safe.
+     */
+    public final class PendingPlaces {
+
+        private final PlaceGridIndex places = new PlaceGridIndex();
+        private long nextId = -1;
+
+        /**
+         * Adds a place unless it would be auto-linked to one added before.
+         *
+         * @return whether the place was added
+         */
+        public boolean add(String name, short categoryCode, double latitude, double longitude) {
+            String normalizedName = NameSimilarity.normalize(name);
+            if (check(places, normalizedName, categoryCode, latitude, longitude).autoLinkTo() != null) {
+                return false;
+            }
+            places.put(new PlaceFingerprint(nextId--, latitude, longitude, normalizedName, categoryCode));
+            return true;
+        }
+
+        public void clear() {
+            places.clear();
+            nextId = -1;
+        }
+    }
+
+    private DuplicateCheck check(PlaceGridIndex places, String normalizedName, short categoryCode, double latitude,
+                                 double longitude) {
+        List<DuplicateCandidate> candidates = new ArrayList<>();
+
+        places.forEachNear(latitude, longitude, radiusMeters, entry -> {
+            double distance = GeoUtils.distanceMeters(latitude, longitude, entry.latitude(), entry.longitude());
+            if (distance > radiusMeters) {
+                return;
+            }
+            double score = score(normalizedName, categoryCode, entry, distance);
+            if (score >= suggestThreshold) {
+                candidates.add(new DuplicateCandidate(entry.id(), distance, score));
+            }
+        });
+
+        candidates.sort(Comparator.comparingDouble(DuplicateCandidate::score).reversed());
+        List<DuplicateCandidate> best = candidates.size() > MAX_CANDIDATES
+                ? List.copyOf(candidates.subList(0, MAX_CANDIDATES))
+                : candidates;
+        // Without a name to compare, location and category alone never link
+        Long autoLinkTo = !normalizedName.isEmpty() && !best.isEmpty() && best.get(0).score() >= autoLinkThreshold
+                ? best.get(0).placeId()
+                : null;
+        return new DuplicateCheck(best, autoLinkTo);
+    }
+
+    /**
+     * Batch mode: scans the whole index for pairs of existing near-duplicates.
+     * Cells are scanned in parallel, each pair is reported once.
+     *
+     * @param limit the maximum number of pairs to return
+     * @return the pairs found, best first
+     */
+    public List<DuplicatePair> findDuplicatePairs(int limit) {
+        List<DuplicatePair> pairs = new ArrayList<>();
+        List<PlaceFingerprint[]> cells = new ArrayList<>(index.size() / 4 + 1);
+        index.forEachCell(cells::add);
+
+        cells.parallelStream()
+                .flatMap(cell -> {
+                    List<DuplicatePair> found = new ArrayList<>();
+                    for (PlaceFingerprint place : cell) {
+                        index.forEachNear(place.latitude(), place.longitude(), radiusMeters, other -> {
+                            if (other.id() >= place.id()) {
+                                return;
+                            }
+                            double distance = GeoUtils.distanceMeters(
+                                    place.latitude(), place.longitude(), other.latitude(), other.longitude());
+                            if (distance > radiusMeters) {
+                                return;
+                            }
+                            double score = score(place.normalizedName(), place.categoryCode(), other, distance);
+                            if (score >= suggestThreshold) {
+                                found.add(new DuplicatePair(place.id(), other.id(), score));
+                            }
+                        });
+                    }
+                    return found.stream();
+                })
+                .sorted(Comparator.comparingDouble(DuplicatePair::score).reversed())
+                .limit(limit)
+                .forEachOrdered(pairs::add);
+        return pairs;
+    }
+
+    public int getIndexedPlaceCount() {
+        return index.size();
+    }
+
+    private double score(String normalizedName, short categoryCode, PlaceFingerprint other, double distance) {
+        double nameScore = NameSimilarity.jaroWinkler(normalizedName, other.normalizedName());
+        double categoryScore = categoryCode == other.categoryCode() ? 1.0 : 0.0;
+        double proximityScore = 1.0 - Math.min(1.0, distance / radiusMeters);
+        return NAME_WEIGHT * nameScore + CATEGORY_WEIGHT * categoryScore + PROXIMITY_WEIGHT * proximityScore;
+    }
+
+    private static PlaceFingerprint fingerprint(long id, String name, short categoryCode, double latitude,
+                                                double longitude) {
+        return new PlaceFingerprint(id, latitude, longitude, NameSimilarity.normalize(name), categoryCode);
+    }
+}
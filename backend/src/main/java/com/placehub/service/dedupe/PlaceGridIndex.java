@@ -0,0 +1,152 @@
+package com.placehub.service.dedupe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.placehub.util.GeoUtils;
+
+/**
+ * In-memory uniform grid over place coordinates, used to find nearby places without a
+ * database round trip. Each cell holds an immutable array that is replaced on write,
+ * so lookups never lock. The cell of every place is remembered, so a place that moved is
+ * taken out of its old cell and writers of one place are serialised.
+ */
+public class PlaceGridIndex {
+
+    // ~220 m of latitude per cell
+    private static final double CELL_SIZE_DEGREES = 0.002;
+    private static final int LONGITUDE_CELLS = (int) Math.ceil(360 / CELL_SIZE_DEGREES);
+
+    private static final PlaceFingerprint[] EMPTY = new PlaceFingerprint[0];
+
+    private final Map<Long, PlaceFingerprint[]> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Long> cellOfPlace = new ConcurrentHashMap<>();
+
+    /**
+     * The data kept per indexed place.
+     */
+    public record PlaceFingerprint(long id, double latitude, double longitude, String normalizedName, short categoryCode) {}
+
+    /**
+     * Adds or replaces a place in the index, wherever it was indexed before.
+     *
+     * @param place the place fingerprint
+     */
+    public void put(PlaceFingerprint place) {
+        long cellKey = cellKey(place.latitude(), place.longitude());
+        cellOfPlace.compute(place.id(), (id, previousCellKey) -> {
+            if (previousCellKey != null && previousCellKey != cellKey) {
+                removeFromCell(previousCellKey, id);
+            }
+            cells.compute(cellKey, (key, current) -> {
+                if (current == null) {
+                    return new PlaceFingerprint[] {place};
+                }
+                for (int i = 0; i < current.length; i++) {
+                    if (current[i].id() == place.id()) {
+                        PlaceFingerprint[] copy = current.clone();
+                        copy[i] = place;
+                        return copy;
+                    }
+                }
+                PlaceFingerprint[] grown = Arrays.copyOf(current, current.length + 1);
+                grown[current.length] = place;
+                return grown;
+            });
+            return cellKey;
+        });
+    }
+
+    /**
+     * Removes a place from the index.
+     *
+     * @param id the place id
+     */
+    public void remove(long id) {
+        cellOfPlace.computeIfPresent(id, (key, cellKey) -> {
+            removeFromCell(cellKey, id);
+            return null;
+        });
+    }
+
+    /**
+     * Visits every indexed place in the cells overlapping a circle. Callers still need to
+     * check the exact distance, the cells cover a square around the circle.
+     *
+     * @param latitude     the centre latitude
+     * @param longitude    the centre longitude
+     * @param radiusMeters the search radius
+     * @param visitor      receives each candidate
+     */
+    public void forEachNear(double latitude, double longitude, double radiusMeters, Consumer<PlaceFingerprint> visitor) {
+        int row = row(latitude);
+        int column = column(longitude);
+        int rowSpan = (int) Math.ceil(GeoUtils.metersToLatitudeDegrees(radiusMeters) / CELL_SIZE_DEGREES);
+        int columnSpan = (int) Math.min(LONGITUDE_CELLS / 2,
+                Math.ceil(GeoUtils.metersToLongitudeDegrees(radiusMeters, latitude) / CELL_SIZE_DEGREES));
+
+        for (int r = row - rowSpan; r <= row + rowSpan; r++) {
+            for (int c = column - columnSpan; c <= column + columnSpan; c++) {
+                PlaceFingerprint[] cell = cells.get(key(r, Math.floorMod(c, LONGITUDE_CELLS)));
+                if (cell != null) {
+                    for (PlaceFingerprint entry : cell) {
+                        visitor.accept(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits every cell of the index, for batch scans.
+     *
+     * @param visitor receives the places of one cell at a time
+     */
+    public void forEachCell(Consumer<PlaceFingerprint[]> visitor) {
+        cells.values().forEach(visitor);
+    }
+
+    public int size() {
+        return cellOfPlace.size();
+    }
+
+    public void clear() {
+        cells.clear();
+        cellOfPlace.clear();
+    }
+
+    private void removeFromCell(long cellKey, long id) {
+        cells.computeIfPresent(cellKey, (key, current) -> {
+            List<PlaceFingerprint> kept = new ArrayList<>(current.length);
+            for (PlaceFingerprint entry : current) {
+                if (entry.id() != id) {
+                    kept.add(entry);
+                }
+            }
+            if (kept.size() == current.length) {
+                return current;
+            }
+            return kept.isEmpty() ? null : kept.toArray(EMPTY);
+        });
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return key(row(latitude), column(longitude));
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_SIZE_DEGREES);
+    }
+
+    private static int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_SIZE_DEGREES), LONGITUDE_CELLS);
+    }
+}
@@ -0,0 +1,36 @@
+package com.placehub.service.facet;
+
+import java.util.Locale;
+
+/**
+ * Dimensions of the facet indexes. LIST and OWNER only scope a search and are not counted.
+ */
+public enum Facet {
+    CATEGORY,
+    CITY,
+    COUNTRY,
+    TAG,
+    RATING,
+    VISITED,
+    LIST,
+    OWNER;
+
+    /**
+     * @return the request parameter and response key of this facet
+     */
+    public String paramName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the facet for a request parameter, or null if the parameter is not a facet
+     */
+    public static Facet fromParam(String param) {
+        for (Facet facet : values()) {
+            if (facet.paramName().equals(param)) {
+                return facet;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,261 @@
+package com.placehub.service.facet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from facet values to bitmaps of document ordinals (place or saved place ids).
+ *
+ * <p>Selected values are OR-ed within a facet and AND-ed across facets. The count of a value
+ * ignores the selection on its own facet, so every option shows how many results picking it
+ * would give. Each document remembers its term ids so an update only touches its own bitmaps.
+ *
+ * <p>Counting visits a facet's values most frequent first and stops once no remaining value
+ * can make the top, as a value never counts more results than it has documents; selected
+ * values are counted too, whatever their rank.
+ */
+public class FacetIndex {
+
+    /**
+     * A facet value, e.g. (CITY, "paris").
+     */
+    public record Term(Facet facet, String value) {}
+
+    /**
+     * Result of a search.
+     *
+     * @param total  number of matching documents
+     * @param docs   the first matching documents in ascending order
+     * @param counts per counted facet, the values with their number of results, most frequent first
+     */
+    public record Result(int total, int[] docs, Map<Facet, Map<String, Integer>> counts) {}
+
+    // Documents per page of the term id table
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Term, Integer> termIds = new HashMap<>();
+    private final List<Term> terms = new ArrayList<>();
+    private final List<CompressedBitmap> postings = new ArrayList<>();
+    private final Map<Facet, List<Integer>> termsByFacet = new EnumMap<>(Facet.class);
+    // Term ids per document ordinal, null for none; pages are allocated as ordinals appear
+    private int[][][] docTermPages = new int[0][][];
+    private int docCount;
+    private final CompressedBitmap all = new CompressedBitmap();
+    // Term ids of a facet, most documents first; computed by searches, dropped by writes
+    private final Map<Facet, int[]> termsByFrequency = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a document or replaces all its terms.
+     */
+    public void put(int doc, Collection<Term> docTermList) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc);
+            int[] ids = new int[docTermList.size()];
+            int count = 0;
+            for (Term term : docTermList) {
+                int termId = termId(term);
+                if (postings.get(termId).add(doc)) {
+                    ids[count++] = termId;
+                }
+            }
+            setDocTerms(doc, count == ids.length ? ids : Arrays.copyOf(ids, count));
+            all.add(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds one more term to an indexed document, e.g. a tag streamed after its saved place.
+     */
+    public void addTerm(int doc, Term term) {
+        lock.writeLock().lock();
+        try {
+            int[] ids = docTerms(doc);
+            if (ids == null) {
+                return;
+            }
+            int termId = termId(term);
+            if (postings.get(termId).add(doc)) {
+                int[] extended = Arrays.copyOf(ids, ids.length + 1);
+                extended[ids.length] = termId;
+                setDocTerms(doc, extended);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int doc) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents matching a selection and counts the values of the given facets.
+     *
+     * @param selection         the selected values per facet; facets without values are ignored
+     * @param countedFacets     the facets to count values for
+     * @param limit             the maximum number of documents to return
+     * @param maxValuesPerFacet the maximum number of values to count per facet
+     * @return the matches and facet counts
+     */
+    public Result search(Map<Facet, Set<String>> selection, Set<Facet> countedFacets, int limit,
+                         int maxValuesPerFacet) {
+        lock.readLock().lock();
+        try {
+            Map<Facet, CompressedBitmap> selected = new EnumMap<>(Facet.class);
+            selection.forEach((facet, values) -> {
+                if (!values.isEmpty()) {
+                    CompressedBitmap union = new CompressedBitmap();
+                    for (String value : values) {
+                        Integer termId = termIds.get(new Term(facet, value));
+                        if (termId != null) {
+                            union = union.or(postings.get(termId));
+                        }
+                    }
+                    selected.put(facet, union);
+                }
+            });
+
+            CompressedBitmap matches = intersect(selected, null);
+            Map<Facet, Map<String, Integer>> counts = new EnumMap<>(Facet.class);
+            for (Facet facet : countedFacets) {
+                CompressedBitmap base = selected.containsKey(facet) ? intersect(selected, facet) : matches;
+                counts.put(facet, countValues(base, facet, maxValuesPerFacet,
+                        selection.getOrDefault(facet, Set.of())));
+            }
+            return new Result(matches.cardinality(), matches.toArray(limit), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private CompressedBitmap intersect(Map<Facet, CompressedBitmap> selected, Facet excluded) {
+        CompressedBitmap result = all;
+        for (Map.Entry<Facet, CompressedBitmap> entry : selected.entrySet()) {
+            if (entry.getKey() != excluded) {
+                result = result.and(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Integer> countValues(CompressedBitmap base, Facet facet, int maxValues,
+                                             Set<String> selectedValues) {
+        // The smallest of the best counts so far on top
+        Comparator<Map.Entry<String, Integer>> best = Map.Entry.<String, Integer>comparingByValue(
+                Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<String, Integer>> top = new PriorityQueue<>(best.reversed());
+        for (int termId : maxValues > 0 ? termsByFrequency(facet) : new int[0]) {
+            CompressedBitmap posting = postings.get(termId);
+            if (top.size() == maxValues && posting.cardinality() < top.peek().getValue()) {
+                break;
+            }
+            int count = base.andCardinality(posting);
+            if (count > 0) {
+                top.add(Map.entry(terms.get(termId).value(), count));
+                if (top.size() > maxValues) {
+                    top.poll();
+                }
+            }
+        }
+        List<Map.Entry<String, Integer>> values = new ArrayList<>(top);
+        values.sort(best);
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        values.forEach(value -> counts.put(value.getKey(), value.getValue()));
+        for (String value : selectedValues) {
+            Integer termId = termIds.get(new Term(facet, value));
+            if (termId != null && !counts.containsKey(value)) {
+                int count = base.andCardinality(postings.get(termId));
+                if (count > 0) {
+                    counts.put(value, count);
+                }
+            }
+        }
+        return counts;
+    }
+
+    // Computed under the read lock: no write runs meanwhile, so concurrent searches agree
+    private int[] termsByFrequency(Facet facet) {
+        return termsByFrequency.computeIfAbsent(facet, key -> termsByFacet.getOrDefault(key, List.of()).stream()
+                .sorted(Comparator.comparingInt((Integer termId) -> postings.get(termId).cardinality()).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray());
+    }
+
+    private int termId(Term term) {
+        Integer termId = termIds.get(term);
+        if (termId == null) {
+            termId = terms.size();
+            termIds.put(term, termId);
+            terms.add(term);
+            postings.add(new CompressedBitmap());
+            termsByFacet.computeIfAbsent(term.facet(), facet -> new ArrayList<>()).add(termId);
+        }
+        return termId;
+    }
+
+    private void removeLocked(int doc) {
+        int[] ids = docTerms(doc);
+        if (ids == null) {
+            return;
+        }
+        for (int termId : ids) {
+            postings.get(termId).remove(doc);
+        }
+        setDocTerms(doc, null);
+        all.remove(doc);
+    }
+
+    private int[] docTerms(int doc) {
+        int page = doc >>> PAGE_BITS;
+        return page < docTermPages.length && docTermPages[page] != null
+                ? docTermPages[page][doc & PAGE_MASK]
+                : null;
+    }
+
+    // Also keeps the document count, and drops the frequency order the change invalidates
+    private void setDocTerms(int doc, int[] ids) {
+        int page = doc >>> PAGE_BITS;
+        if (page >= docTermPages.length) {
+            docTermPages = Arrays.copyOf(docTermPages, Math.max(page + 1, docTermPages.length * 2));
+        }
+        if (docTermPages[page] == null) {
+            docTermPages[page] = new int[1 << PAGE_BITS][];
+        }
+        int[] previous = docTermPages[page][doc & PAGE_MASK];
+        docTermPages[page][doc & PAGE_MASK] = ids;
+        docCount += (ids != null ? 1 : 0) - (previous != null ? 1 : 0);
+        termsByFrequency.clear();
+    }
+}
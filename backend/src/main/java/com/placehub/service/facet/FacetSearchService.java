@@ -0,0 +1,383 @@
+package com.placehub.service.facet;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.placehub.DTO.FacetSearchResponse;
+import com.placehub.entity.User;
+import com.placehub.event.PlaceCreatedEvent;
+import com.placehub.event.PlacesChangedEvent;
+import com.placehub.event.SavedPlacesChangedEvent;
+import com.placehub.service.category.CategoryDictionary;
+import com.placehub.service.facet.FacetIndex.Term;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for faceted filtering of places and saved places.
+ * Keeps one bitmap per facet value (category, city, country, tag, rating, visited) over
+ * place ids and saved place ids, so filters and their live counts are bitmap intersections
+ * instead of GROUP BY queries. Writers publish change events; the affected rows are re-read
+ * after commit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FacetSearchService {
+
+    public static final int MAX_LIMIT = 500;
+
+    private static final Set<Facet> PLACE_FACETS = EnumSet.of(Facet.CATEGORY, Facet.CITY, Facet.COUNTRY);
+    private static final Set<Facet> SAVED_PLACE_FACETS = EnumSet.of(Facet.CATEGORY, Facet.CITY, Facet.COUNTRY,
+            Facet.TAG, Facet.RATING, Facet.VISITED);
+    private static final int LOAD_FETCH_SIZE = 10_000;
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    private static final String PLACE_ROWS = "SELECT id, category_code, city, country FROM places";
+    private static final String SAVED_PLACE_ROWS =
+            "SELECT sp.id, sp.place_list_id, pl.owner_id, sp.rating, sp.visited, p.category_code, p.city, p.country " +
+            "FROM saved_places sp " +
+            "JOIN place_lists pl ON pl.id = sp.place_list_id " +
+            "JOIN places p ON p.id = sp.place_id";
+    private static final String TAG_ROWS =
+            "SELECT l.saved_place_id, t.name FROM saved_place_tag_links l JOIN tags t ON t.id = l.tag_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryDictionary categoryDictionary;
+
+    @Value("${placehub.facets.max-values-per-facet:20}")
+    private int maxValuesPerFacet;
+
+    // Updated in place by the change listeners; a rebuild swaps in indexes it loaded and
+    // brought up to date with the changes committed while it streamed
+    private volatile FacetIndex placeIndex = new FacetIndex();
+    private volatile FacetIndex savedPlaceIndex = new FacetIndex();
+
+    // Guarded by this; the ids changed while a rebuild streams, null otherwise
+    private Set<Long> placesChangedDuringRebuild;
+    private Set<Long> savedPlacesChangedDuringRebuild;
+
+    /**
+     * Loads both indexes from the database, streaming rows. The web server already takes
+     * writes meanwhile: the places and saved places they change are re-read into the new
+     * indexes before they replace the current ones.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndexes() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            placesChangedDuringRebuild = new HashSet<>();
+            savedPlacesChangedDuringRebuild = new HashSet<>();
+        }
+        try {
+            FacetIndex places = new FacetIndex();
+            stream(PLACE_ROWS, rs -> places.put(ordinal(rs.getLong(1)),
+                    placeTerms(rs.getShort(2), rs.getString(3), rs.getString(4))));
+
+            FacetIndex savedPlaces = new FacetIndex();
+            stream(SAVED_PLACE_ROWS, rs -> savedPlaces.put(ordinal(rs.getLong(1)), savedPlaceTerms(rs)));
+            stream(TAG_ROWS, rs -> addTag(savedPlaces, rs.getLong(1), rs.getString(2)));
+
+            synchronized (this) {
+                // Re-read rather than replayed, as the stream may already have seen a change
+                refreshPlaces(places, savedPlaces, placesChangedDuringRebuild);
+                refreshSavedPlaces(savedPlaces, savedPlacesChangedDuringRebuild);
+                placeIndex = places;
+                savedPlaceIndex = savedPlaces;
+            }
+            log.info("Indexed {} places and {} saved places for facets in {} ms",
+                    places.size(), savedPlaces.size(), System.currentTimeMillis() - start);
+        } finally {
+            synchronized (this) {
+                placesChangedDuringRebuild = null;
+                savedPlacesChangedDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Adds a newly committed place to the place index.
+     *
+     * @param event the place creation event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlaceCreated(PlaceCreatedEvent event) {
+        refreshPlaces(List.of(event.placeId()));
+    }
+
+    /**
+     * Re-reads updated, merged or deleted places and the saved places pointing to them.
+     *
+     * @param event the place change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlacesChanged(PlacesChangedEvent event) {
+        refreshPlaces(event.placeIds());
+    }
+
+    /**
+     * Re-reads created, updated or deleted saved places.
+     *
+     * @param event the saved place change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSavedPlacesChanged(SavedPlacesChangedEvent event) {
+        refreshSavedPlaces(event.savedPlaceIds());
+    }
+
+    /**
+     * Re-indexes the given places from the database, together with their saved places.
+     *
+     * @param placeIds the place ids; ids that no longer exist are removed
+     */
+    public void refreshPlaces(Collection<Long> placeIds) {
+        FacetIndex places;
+        FacetIndex savedPlaces;
+        synchronized (this) {
+            if (placesChangedDuringRebuild != null) {
+                placesChangedDuringRebuild.addAll(placeIds);
+            }
+            places = placeIndex;
+            savedPlaces = savedPlaceIndex;
+        }
+        refreshPlaces(places, savedPlaces, placeIds);
+    }
+
+    /**
+     * Re-indexes the given saved places from the database.
+     *
+     * @param savedPlaceIds the saved place ids; ids that no longer exist are removed
+     */
+    public void refreshSavedPlaces(Collection<Long> savedPlaceIds) {
+        FacetIndex savedPlaces;
+        synchronized (this) {
+            if (savedPlacesChangedDuringRebuild != null) {
+                savedPlacesChangedDuringRebuild.addAll(savedPlaceIds);
+            }
+            savedPlaces = savedPlaceIndex;
+        }
+        refreshSavedPlaces(savedPlaces, savedPlaceIds);
+    }
+
+    private void refreshPlaces(FacetIndex places, FacetIndex savedPlaces, Collection<Long> placeIds) {
+        List<Long> savedPlaceIds = new ArrayList<>();
+        forEachChunk(placeIds, (chunk, placeholders) -> {
+            Set<Long> missing = new HashSet<>(chunk);
+            jdbcTemplate.query(PLACE_ROWS + " WHERE id IN (" + placeholders + ")", rs -> {
+                missing.remove(rs.getLong(1));
+                places.put(ordinal(rs.getLong(1)), placeTerms(rs.getShort(2), rs.getString(3), rs.getString(4)));
+            }, chunk.toArray());
+            missing.forEach(id -> places.remove(ordinal(id)));
+
+            savedPlaceIds.addAll(jdbcTemplate.queryForList(
+                    "SELECT id FROM saved_places WHERE place_id IN (" + placeholders + ")", Long.class, chunk.toArray()));
+        });
+        refreshSavedPlaces(savedPlaces, savedPlaceIds);
+    }
+
+    private void refreshSavedPlaces(FacetIndex savedPlaces, Collection<Long> savedPlaceIds) {
+        forEachChunk(savedPlaceIds, (chunk, placeholders) -> {
+            Set<Long> missing = new HashSet<>(chunk);
+            jdbcTemplate.query(SAVED_PLACE_ROWS + " WHERE sp.id IN (" + placeholders + ")", rs -> {
+                missing.remove(rs.getLong(1));
+                savedPlaces.put(ordinal(rs.getLong(1)), savedPlaceTerms(rs));
+            }, chunk.toArray());
+            jdbcTemplate.query(TAG_ROWS + " WHERE l.saved_place_id IN (" + placeholders + ")",
+                    rs -> {
+                        addTag(savedPlaces, rs.getLong(1), rs.getString(2));
+                    },
+                    chunk.toArray());
+            missing.forEach(id -> savedPlaces.remove(ordinal(id)));
+        });
+    }
+
+    /**
+     * Filters all places.
+     *
+     * @param params the request parameters; facet parameters select values, others are ignored
+     * @param limit  the maximum number of ids to return
+     * @return the matching place ids and facet counts
+     */
+    public FacetSearchResponse searchPlaces(Map<String, List<String>> params, int limit) {
+        return toResponse(placeIndex.search(selection(params, PLACE_FACETS), PLACE_FACETS,
+                clamp(limit), maxValuesPerFacet));
+    }
+
+    /**
+     * Filters the saved places of one list, or of all lists of the user if no list is given.
+     *
+     * @param listId the list to search, or null for all of the user's lists
+     * @param params the request parameters; facet parameters select values, others are ignored
+     * @param limit  the maximum number of ids to return
+     * @param user   the current user
+     * @return the matching saved place ids and facet counts
+     * @throws AccessDeniedException if the list is private and not owned by the user
+     */
+    public FacetSearchResponse searchSavedPlaces(Long listId, Map<String, List<String>> params, int limit, User user) {
+        Map<Facet, Set<String>> selection = selection(params, SAVED_PLACE_FACETS);
+        if (listId != null) {
+            checkCanRead(listId, user);
+            selection.put(Facet.LIST, Set.of(listId.toString()));
+        } else {
+            selection.put(Facet.OWNER, Set.of(user.getId().toString()));
+        }
+        return toResponse(savedPlaceIndex.search(selection, SAVED_PLACE_FACETS, clamp(limit), maxValuesPerFacet));
+    }
+
+    private void checkCanRead(Long listId, User user) {
+        Map<String, Object> list;
+        try {
+            list = jdbcTemplate.queryForMap("SELECT owner_id, is_public FROM place_lists WHERE id = ?", listId);
+        } catch (EmptyResultDataAccessException e) {
+            throw new AccessDeniedException("List not accessible: " + listId);
+        }
+        boolean isPublic = Boolean.TRUE.equals(list.get("is_public"));
+        boolean isOwner = user.getId().equals(((Number) list.get("owner_id")).longValue());
+        if (!isPublic && !isOwner) {
+            throw new AccessDeniedException("List not accessible: " + listId);
+        }
+    }
+
+    /**
+     * Maps request parameters to normalised facet values. A category also selects its descendants.
+     */
+    private Map<Facet, Set<String>> selection(Map<String, List<String>> params, Set<Facet> allowed) {
+        Map<Facet, Set<String>> selection = new EnumMap<>(Facet.class);
+        params.forEach((param, values) -> {
+            Facet facet = Facet.fromParam(param);
+            if (facet == null || !allowed.contains(facet)) {
+                return;
+            }
+            Set<String> selected = selection.computeIfAbsent(facet, f -> new HashSet<>());
+            for (String value : values) {
+                if (facet == Facet.CATEGORY) {
+                    Short code = categoryDictionary.find(value);
+                    if (code != null) {
+                        BitSet codes = categoryDictionary.withDescendants(code);
+                        codes.stream().forEach(c -> selected.add(categoryDictionary.slugOf((short) c)));
+                    }
+                } else {
+                    String normalized = normalize(value);
+                    if (normalized != null) {
+                        selected.add(normalized);
+                    }
+                }
+            }
+            if (selected.isEmpty()) {
+                // Only unknown values were requested: select nothing rather than everything
+                selected.add("");
+            }
+        });
+        return selection;
+    }
+
+    private List<Term> placeTerms(short categoryCode, String city, String country) {
+        List<Term> terms = new ArrayList<>(3);
+        addTerm(terms, Facet.CATEGORY, categoryDictionary.slugOf(categoryCode));
+        addTerm(terms, Facet.CITY, normalize(city));
+        addTerm(terms, Facet.COUNTRY, normalize(country));
+        return terms;
+    }
+
+    private List<Term> savedPlaceTerms(ResultSet rs) throws SQLException {
+        List<Term> terms = placeTerms(rs.getShort(6), rs.getString(7), rs.getString(8));
+        addTerm(terms, Facet.LIST, Long.toString(rs.getLong(2)));
+        addTerm(terms, Facet.OWNER, Long.toString(rs.getLong(3)));
+        int rating = rs.getInt(4);
+        addTerm(terms, Facet.RATING, rs.wasNull() ? null : Integer.toString(rating));
+        addTerm(terms, Facet.VISITED, Boolean.toString(rs.getBoolean(5)));
+        return terms;
+    }
+
+    private static void addTag(FacetIndex savedPlaces, long savedPlaceId, String tag) {
+        String normalized = normalize(tag);
+        if (normalized != null) {
+            savedPlaces.addTerm(ordinal(savedPlaceId), new Term(Facet.TAG, normalized));
+        }
+    }
+
+    private static void addTerm(List<Term> terms, Facet facet, String value) {
+        if (value != null) {
+            terms.add(new Term(facet, value));
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Bitmaps hold ints; place and saved place ids come from sequences and stay far below 2^31.
+     */
+    private static int ordinal(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Id out of range for facet bitmaps: " + id);
+        }
+        return (int) id;
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(0, Math.min(limit, MAX_LIMIT));
+    }
+
+    private FacetSearchResponse toResponse(FacetIndex.Result result) {
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        result.counts().forEach((facet, counts) -> facets.put(facet.paramName(), counts));
+        return FacetSearchResponse.builder()
+                .total(result.total())
+                .ids(Arrays.stream(result.docs()).mapToObj(Long::valueOf).toList())
+                .facets(facets)
+                .build();
+    }
+
+    private void stream(String sql, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setFetchSize(LOAD_FETCH_SIZE);
+            return statement;
+        }, handler);
+    }
+
+    private static void forEachChunk(Collection<Long> ids, ChunkAction action) {
+        List<Long> list = List.copyOf(new HashSet<>(ids));
+        for (int from = 0; from < list.size(); from += IN_CHUNK_SIZE) {
+            List<Long> chunk = list.subList(from, Math.min(from + IN_CHUNK_SIZE, list.size()));
+            action.accept(chunk, String.join(",", Collections.nCopies(chunk.size(), "?")));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkAction {
+        void accept(List<Long> chunk, String placeholders);
+    }
+}
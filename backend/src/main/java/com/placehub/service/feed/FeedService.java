@@ -0,0 +1,138 @@
+package com.placehub.service.feed;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.placehub.DTO.CursorPage;
+import com.placehub.DTO.FeedItemResponse;
+import com.placehub.DTO.PlaceResponse;
+import com.placehub.DTO.UserDTO;
+import com.placehub.event.FollowChangedEvent;
+import com.placehub.event.PlaceSavedEvent;
+import com.placehub.repository.FeedRepository;
+import com.placehub.repository.projection.FeedRow;
+import com.placehub.service.category.CategoryDictionary;
+import com.placehub.util.KeysetCursor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for the feed of places saved by followed users. Saves into public lists are
+ * fanned out on write: copied into the timeline of every follower with one set-based
+ * statement after commit. Users with more than fan-out-max-followers followers are fanned
+ * out on read instead: their activities are merged into each follower's feed when it is
+ * read. Feeds are keyset-paginated, most recent first.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedService {
+
+    private final FeedRepository feedRepository;
+    private final CategoryDictionary categoryDictionary;
+
+    @Value("${placehub.feed.fan-out-max-followers:10000}")
+    private int fanOutMaxFollowers;
+
+    @Value("${placehub.feed.retention:P30D}")
+    private Duration retention;
+
+    /**
+     * Gets a page of the feed of a user.
+     *
+     * @param userId the reader
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param limit  the page size
+     * @return a page of feed entries, most recent first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<FeedItemResponse> getFeed(Long userId, String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        KeysetCursor after = KeysetCursor.descending(cursor);
+        List<FeedRow> rows = feedRepository.findFeed(userId, after.createdAt(), after.id(), pageSize + 1);
+        return CursorPage.of(rows, pageSize, row -> new KeysetCursor(row.createdAt(), row.savedPlaceId()))
+                .map(this::toResponse);
+    }
+
+    /**
+     * Records a save into a public list and fans it out, unless its user has too many followers.
+     *
+     * @param event the save
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPlaceSaved(PlaceSavedEvent event) {
+        if (!event.publicList()) {
+            return;
+        }
+        boolean fanOut = feedRepository.countFollowers(event.userId(), fanOutMaxFollowers + 1) <= fanOutMaxFollowers;
+        feedRepository.insertActivity(event.savedPlaceId(), event.userId(), fanOut, event.createdAt());
+        if (fanOut) {
+            feedRepository.fanOut(event.savedPlaceId(), event.userId(), event.createdAt());
+            feedRepository.deletePullAccount(event.userId());
+        } else {
+            feedRepository.insertPullAccount(event.userId());
+        }
+    }
+
+    /**
+     * Removes the activities of an unfollowed user from the former follower's timeline.
+     *
+     * @param event the follow change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onFollowChanged(FollowChangedEvent event) {
+        if (!event.followed()) {
+            feedRepository.deleteFromTimeline(event.followerId(), event.followingId());
+        }
+    }
+
+    /**
+     * Deletes feed entries older than the retention period.
+     */
+    @Scheduled(cron = "${placehub.feed.prune-cron:0 45 3 * * *}")
+    @Transactional
+    public void pruneFeeds() {
+        int deleted = feedRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Pruned {} feed items", deleted);
+        }
+    }
+
+    private FeedItemResponse toResponse(FeedRow row) {
+        return FeedItemResponse.builder()
+                .savedPlaceId(row.savedPlaceId())
+                .user(UserDTO.builder()
+                        .id(row.actorId())
+                        .firstName(row.actorFirstName())
+                        .lastName(row.actorLastName())
+                        .avatarUrl(row.actorAvatarUrl())
+                        .build())
+                .placeListId(row.placeListId())
+                .placeListName(row.placeListName())
+                .note(row.note())
+                .place(PlaceResponse.builder()
+                        .id(row.placeId())
+                        .name(row.placeName())
+                        .category(categoryDictionary.slugOf(row.categoryCode()))
+                        .latitude(row.latitude())
+                        .longitude(row.longitude())
+                        .city(row.city())
+                        .country(row.country())
+                        .formattedAddress(row.formattedAddress())
+                        .build())
+                .createdAt(row.createdAt())
+                .build();
+    }
+}
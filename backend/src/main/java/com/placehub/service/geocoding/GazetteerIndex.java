@@ -0,0 +1,314 @@
+package com.placehub.service.geocoding;
+
+import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.placehub.util.GeoUtils;
+
+/**
+ * Read-only spatial index over a gazetteer, stored in a compact binary file that is
+ * memory-mapped rather than loaded on the heap.
+ *
+ * <p>Entries are bucketed into a fixed grid of 0.25 degree cells and stored sorted by
+ * cell, so the entries of a cell are contiguous and found through a cell offset table.
+ * A nearest lookup scans rings of cells around the query point and stops as soon as no
+ * unscanned cell can be closer than the best match.
+ *
+ * <p>File layout (big-endian): magic, version, entry count, string count; cell offsets
+ * (rows * columns + 1 ints); entries (lat float, lon float, name, admin1, country string
+ * indexes); string offsets (count + 1 ints); UTF-8 string bytes.
+ */
+public final class GazetteerIndex {
+
+    private static final int MAGIC = 0x50484758;
+    private static final int VERSION = 1;
+
+    private static final double CELL_SIZE_DEGREES = 0.25;
+    private static final int ROWS = (int) (180 / CELL_SIZE_DEGREES);
+    private static final int COLUMNS = (int) (360 / CELL_SIZE_DEGREES);
+    private static final int HEADER_BYTES = 16;
+    private static final int ENTRY_BYTES = 20;
+
+    // GeoNames dump columns
+    private static final int COL_NAME = 1;
+    private static final int COL_LATITUDE = 4;
+    private static final int COL_LONGITUDE = 5;
+    private static final int COL_FEATURE_CLASS = 6;
+    private static final int COL_COUNTRY = 8;
+    private static final int COL_ADMIN1 = 10;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int cellTableOffset;
+    private final int entriesOffset;
+    private final int stringOffsetsOffset;
+    private final int stringBytesOffset;
+
+    /**
+     * A gazetteer entry nearest to a query point.
+     */
+    public record Match(String city, String admin1, String countryCode, double distanceMeters) {}
+
+    private GazetteerIndex(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a gazetteer index file or unsupported version");
+        }
+        this.count = buffer.getInt(8);
+        int stringCount = buffer.getInt(12);
+        this.cellTableOffset = HEADER_BYTES;
+        this.entriesOffset = cellTableOffset + (ROWS * COLUMNS + 1) * Integer.BYTES;
+        this.stringOffsetsOffset = entriesOffset + count * ENTRY_BYTES;
+        this.stringBytesOffset = stringOffsetsOffset + (stringCount + 1) * Integer.BYTES;
+    }
+
+    /**
+     * Memory-maps an index file previously written by {@link #build}.
+     *
+     * @param indexFile the index file
+     * @return the opened index
+     * @throws IOException if the file cannot be mapped
+     */
+    public static GazetteerIndex open(Path indexFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new GazetteerIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Builds an index file from a GeoNames-style tab-separated dump (e.g. cities1000.txt).
+     * Only populated places (feature class P) are kept.
+     *
+     * @param gazetteer   the tab-separated gazetteer
+     * @param admin1Names optional GeoNames admin1 names keyed by "CC.code", may be empty
+     * @param indexFile   the index file to write, replaced atomically
+     * @return the number of entries written
+     * @throws IOException if reading or writing fails
+     */
+    public static int build(Path gazetteer, Map<String, String> admin1Names, Path indexFile) throws IOException {
+        List<float[]> coordinates = new ArrayList<>();
+        List<int[]> names = new ArrayList<>();
+        StringTable strings = new StringTable();
+
+        try (BufferedReader reader = Files.newBufferedReader(gazetteer, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\t", -1);
+                if (columns.length <= COL_ADMIN1 || !"P".equals(columns[COL_FEATURE_CLASS])) {
+                    continue;
+                }
+                float latitude;
+                float longitude;
+                try {
+                    latitude = Float.parseFloat(columns[COL_LATITUDE]);
+                    longitude = Float.parseFloat(columns[COL_LONGITUDE]);
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                String country = columns[COL_COUNTRY];
+                String admin1 = admin1Names.getOrDefault(country + "." + columns[COL_ADMIN1], "");
+                coordinates.add(new float[] {latitude, longitude});
+                names.add(new int[] {strings.intern(columns[COL_NAME]), strings.intern(admin1), strings.intern(country)});
+            }
+        }
+
+        int entryCount = coordinates.size();
+        Integer[] order = new Integer[entryCount];
+        int[] cells = new int[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            order[i] = i;
+            cells[i] = cell(row(coordinates.get(i)[0]), column(coordinates.get(i)[1]));
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(cells[a], cells[b]));
+
+        int[] cellStart = new int[ROWS * COLUMNS + 1];
+        for (int cell : cells) {
+            cellStart[cell + 1]++;
+        }
+        for (int i = 0; i < ROWS * COLUMNS; i++) {
+            cellStart[i + 1] += cellStart[i];
+        }
+
+        Path tempFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (OutputStream file = Files.newOutputStream(tempFile);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entryCount);
+            out.writeInt(strings.size());
+            for (int offset : cellStart) {
+                out.writeInt(offset);
+            }
+            for (int index : order) {
+                out.writeFloat(coordinates.get(index)[0]);
+                out.writeFloat(coordinates.get(index)[1]);
+                for (int stringIndex : names.get(index)) {
+                    out.writeInt(stringIndex);
+                }
+            }
+            strings.writeTo(out);
+        }
+        Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return entryCount;
+    }
+
+    /**
+     * Loads a GeoNames admin1CodesASCII.txt file into a map of "CC.code" to region name.
+     *
+     * @param admin1File the admin1 codes file
+     * @return the region names
+     * @throws IOException if the file cannot be read
+     */
+    public static Map<String, String> readAdmin1Names(Path admin1File) throws IOException {
+        Map<String, String> names = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(admin1File, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split("\t", -1);
+                if (columns.length >= 2) {
+                    names.put(columns[0], columns[1]);
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Finds the nearest gazetteer entry within a maximum distance.
+     *
+     * @param latitude          the query latitude
+     * @param longitude         the query longitude
+     * @param maxDistanceMeters the maximum distance to accept
+     * @return the nearest entry, or null if none is close enough
+     */
+    public Match nearest(double latitude, double longitude, double maxDistanceMeters) {
+        int centerRow = row(latitude);
+        int centerColumn = column(longitude);
+        double cosLatitude = Math.max(0.01, Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + 1))));
+        double cellMeters = CELL_SIZE_DEGREES * GeoUtils.METERS_PER_DEGREE * cosLatitude;
+        int maxRing = (int) Math.min(COLUMNS / 2, Math.ceil(maxDistanceMeters / cellMeters) + 1);
+
+        int best = -1;
+        double bestDistance = maxDistanceMeters;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every cell of this ring is at least (ring - 1) cells away from the query point
+            if (best >= 0 && (ring - 1) * cellMeters > bestDistance) {
+                break;
+            }
+            for (int r = centerRow - ring; r <= centerRow + ring; r++) {
+                if (r < 0 || r >= ROWS) {
+                    continue;
+                }
+                boolean edgeRow = r == centerRow - ring || r == centerRow + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int c = centerColumn - ring; c <= centerColumn + ring; c += Math.max(1, step)) {
+                    int cell = cell(r, Math.floorMod(c, COLUMNS));
+                    int from = buffer.getInt(cellTableOffset + cell * Integer.BYTES);
+                    int to = buffer.getInt(cellTableOffset + (cell + 1) * Integer.BYTES);
+                    for (int i = from; i < to; i++) {
+                        int entry = entriesOffset + i * ENTRY_BYTES;
+                        double distance = GeoUtils.distanceMeters(
+                                latitude, longitude, buffer.getFloat(entry), buffer.getFloat(entry + 4));
+                        if (distance <= bestDistance) {
+                            bestDistance = distance;
+                            best = i;
+                        }
+                    }
+                }
+            }
+        }
+
+        if (best < 0) {
+            return null;
+        }
+        int entry = entriesOffset + best * ENTRY_BYTES;
+        return new Match(string(buffer.getInt(entry + 8)), string(buffer.getInt(entry + 12)),
+                string(buffer.getInt(entry + 16)), bestDistance);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private String string(int index) {
+        int from = buffer.getInt(stringOffsetsOffset + index * Integer.BYTES);
+        int to = buffer.getInt(stringOffsetsOffset + (index + 1) * Integer.BYTES);
+        byte[] bytes = new byte[to - from];
+        buffer.get(stringBytesOffset + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int row(double latitude) {
+        return Math.min(ROWS - 1, Math.max(0, (int) Math.floor((latitude + 90) / CELL_SIZE_DEGREES)));
+    }
+
+    private static int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_SIZE_DEGREES), COLUMNS);
+    }
+
+    private static int cell(int row, int column) {
+        return row * COLUMNS + column;
+    }
+
+    /**
+     * Deduplicating string table used while building an index file.
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+
+        private int intern(String value) {
+            return indexes.computeIfAbsent(value, key -> {
+                values.add(key.getBytes(StandardCharsets.UTF_8));
+                return values.size() - 1;
+            });
+        }
+
+        private int size() {
+            return values.size();
+        }
+
+        private void writeTo(DataOutputStream out) throws IOException {
+            int offset = 0;
+            out.writeInt(offset);
+            for (byte[] value : values) {
+                offset += value.length;
+                out.writeInt(offset);
+            }
+            for (byte[] value : values) {
+                out.write(value);
+            }
+        }
+    }
+
+    /**
+     * @return the display name of an ISO country code in English, or the code itself
+     */
+    static String countryName(String countryCode) {
+        if (countryCode == null || countryCode.length() != 2) {
+            return countryCode;
+        }
+        String name = new Locale("", countryCode).getDisplayCountry(Locale.ENGLISH);
+        return name.isEmpty() || name.equals(countryCode) ? countryCode : name;
+    }
+}
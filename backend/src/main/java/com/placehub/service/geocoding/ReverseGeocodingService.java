@@ -0,0 +1,233 @@
+package com.placehub.service.geocoding;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import com.placehub.DTO.PlaceImportRecord;
+import com.placehub.entity.Place;
+import com.placehub.event.PlacesChangedEvent;
+import com.placehub.service.cache.CacheInvalidationBus;
+import com.placehub.service.sync.PlaceListChangeService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for offline reverse geocoding of place coordinates.
+ * Resolves the nearest city, region and country from a local gazetteer file
+ * (GeoNames cities dump format), without any external API call. The gazetteer is
+ * compiled once into a binary index next to it and memory-mapped on startup.
+ * When no gazetteer is configured the service is disabled and leaves places untouched.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReverseGeocodingService {
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final PlaceListChangeService placeListChangeService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${placehub.geocoder.gazetteer-file:}")
+    private String gazetteerFile;
+
+    @Value("${placehub.geocoder.admin1-file:}")
+    private String admin1File;
+
+    @Value("${placehub.geocoder.max-distance-meters:30000}")
+    private double maxDistanceMeters;
+
+    private volatile GazetteerIndex index;
+
+    /**
+     * Address fields resolved for a coordinate.
+     */
+    public record ResolvedAddress(String city, String state, String country, double distanceMeters) {}
+
+    /**
+     * Opens the gazetteer index, compiling it first if it is missing or older than the gazetteer.
+     */
+    @PostConstruct
+    public void loadIndex() {
+        if (gazetteerFile == null || gazetteerFile.isBlank()) {
+            log.info("Reverse geocoding disabled, placehub.geocoder.gazetteer-file is not set");
+            return;
+        }
+        try {
+            index = openIndex(Path.of(gazetteerFile));
+            log.info("Reverse geocoding index loaded with {} entries", index.size());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Reverse geocoding disabled, could not load gazetteer {}", gazetteerFile, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return index != null;
+    }
+
+    /**
+     * Resolves the nearest known city to a coordinate.
+     *
+     * @param latitude  the latitude
+     * @param longitude the longitude
+     * @return the resolved address, or null if disabled or nothing is within range
+     */
+    public ResolvedAddress resolve(double latitude, double longitude) {
+        GazetteerIndex current = index;
+        if (current == null) {
+            return null;
+        }
+        GazetteerIndex.Match match = current.nearest(latitude, longitude, maxDistanceMeters);
+        if (match == null) {
+            return null;
+        }
+        return new ResolvedAddress(
+                match.city(),
+                match.admin1().isEmpty() ? null : match.admin1(),
+                GazetteerIndex.countryName(match.countryCode()),
+                match.distanceMeters());
+    }
+
+    /**
+     * Fills the missing city, state, country and formatted address of a place being created.
+     * Fields already set are kept.
+     *
+     * @param place the place to update in place
+     */
+    public void fillMissingAddress(Place place) {
+        if (!isMissingAddress(place.getCity(), place.getCountry())) {
+            return;
+        }
+        ResolvedAddress address = resolve(place.getLatitude(), place.getLongitude());
+        if (address == null) {
+            return;
+        }
+        place.setCity(firstNonBlank(place.getCity(), address.city()));
+        place.setState(firstNonBlank(place.getState(), address.state()));
+        place.setCountry(firstNonBlank(place.getCountry(), address.country()));
+        place.setFormattedAddress(firstNonBlank(place.getFormattedAddress(),
+                format(place.getStreetAddress(), place.getCity(), place.getState(), place.getCountry())));
+    }
+
+    /**
+     * Returns a copy of an import record with its missing address fields filled.
+     *
+     * @param record the import record
+     * @return the record with resolved fields, or the same record if nothing was resolved
+     */
+    public PlaceImportRecord fillMissingAddress(PlaceImportRecord record) {
+        if (!isMissingAddress(record.city(), record.country())) {
+            return record;
+        }
+        ResolvedAddress address = resolve(record.latitude(), record.longitude());
+        if (address == null) {
+            return record;
+        }
+        String city = firstNonBlank(record.city(), address.city());
+        String state = firstNonBlank(record.state(), address.state());
+        String country = firstNonBlank(record.country(), address.country());
+        return new PlaceImportRecord(record.name(), record.category(), record.latitude(), record.longitude(),
+                record.streetAddress(), city, state, country, record.postalCode(),
+                firstNonBlank(record.formattedAddress(), format(record.streetAddress(), city, state, country)),
+                record.googlePlaceId());
+    }
+
+    /**
+     * Fills missing address fields of existing places, walking the table by id in
+     * batches of {@value #BACKFILL_BATCH_SIZE}, each updated in one JDBC batch and transaction
+     * that also logs the change in the lists holding them and publishes a PlacesChangedEvent.
+     *
+     * @return the number of places updated
+     */
+    public long backfillMissingAddresses() {
+        if (!isEnabled()) {
+            return 0;
+        }
+        long updated = 0;
+        long lastId = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "SELECT id, latitude, longitude, street_address, city, state, country FROM places " +
+                    "WHERE id > ? AND (city IS NULL OR country IS NULL) ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new Object[] {rs.getLong(1), rs.getDouble(2), rs.getDouble(3),
+                            rs.getString(4), rs.getString(5), rs.getString(6), rs.getString(7)},
+                    lastId, BACKFILL_BATCH_SIZE);
+            if (rows.isEmpty()) {
+                return updated;
+            }
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+
+            List<Object[]> updates = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                ResolvedAddress address = resolve((Double) row[1], (Double) row[2]);
+                if (address != null) {
+                    String city = firstNonBlank((String) row[4], address.city());
+                    String state = firstNonBlank((String) row[5], address.state());
+                    String country = firstNonBlank((String) row[6], address.country());
+                    updates.add(new Object[] {city, state, country,
+                            format((String) row[3], city, state, country), row[0]});
+                }
+            }
+            if (!updates.isEmpty()) {
+                List<Long> placeIds = updates.stream().map(update -> (Long) update[4]).toList();
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate("UPDATE places SET city = ?, state = ?, country = ?, " +
+                            "formatted_address = COALESCE(formatted_address, ?), version = version + 1, " +
+                            "updated_at = CURRENT_TIMESTAMP WHERE id = ?", updates);
+                    cacheInvalidationBus.evict(Place.class, placeIds);
+                    // The lists holding them report the new addresses, the facets index them after commit
+                    placeListChangeService.placesChanged(placeIds);
+                    eventPublisher.publishEvent(new PlacesChangedEvent(placeIds));
+                });
+                updated += updates.size();
+            }
+        }
+    }
+
+    private GazetteerIndex openIndex(Path gazetteer) throws IOException {
+        Path indexFile = gazetteer.resolveSibling(gazetteer.getFileName() + ".idx");
+        if (!Files.exists(indexFile)
+                || Files.getLastModifiedTime(indexFile).compareTo(Files.getLastModifiedTime(gazetteer)) < 0) {
+            Map<String, String> admin1Names = admin1File == null || admin1File.isBlank()
+                    ? Map.of()
+                    : GazetteerIndex.readAdmin1Names(Path.of(admin1File));
+            int entries = GazetteerIndex.build(gazetteer, admin1Names, indexFile);
+            log.info("Compiled gazetteer {} into {} ({} entries)", gazetteer, indexFile, entries);
+        }
+        return GazetteerIndex.open(indexFile);
+    }
+
+    private static boolean isMissingAddress(String city, String country) {
+        return city == null || city.isBlank() || country == null || country.isBlank();
+    }
+
+    private static String firstNonBlank(String value, String fallback) {
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+
+    private static String format(String streetAddress, String city, String state, String country) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (String part : new String[] {streetAddress, city, state, country}) {
+            if (part != null && !part.isBlank()) {
+                joiner.add(part);
+            }
+        }
+        return joiner.length() == 0 ? null : joiner.toString();
+    }
+}
@@ -0,0 +1,346 @@
+package com.placehub.service.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory follow graph over primitive arrays.
+ *
+ * <p>Users are mapped to dense node numbers. Every node keeps two sorted {@code int[]}
+ * adjacency arrays, the users it follows and its followers, so an edge costs 8 bytes plus
+ * growth slack and counts are array lengths. A follow check binary-searches the shorter of
+ * the follower's following array and the followed user's follower array, which is a handful
+ * of comparisons even for a celebrity. Follows and unfollows shift one slice of each array.
+ *
+ * <p>Suggestions rank the users followed by the users one follows by the number of such
+ * paths. The walk is bounded: at most {@code maxFirstHop} followed users are expanded, and
+ * at most {@code maxSecondHop} of the users each of them follows.
+ */
+public class FollowGraph {
+
+    /**
+     * A suggested user.
+     *
+     * @param userId  the user id
+     * @param mutuals the number of followed users who follow them
+     */
+    public record Suggestion(long userId, int mutuals) {}
+
+    private static final int[] EMPTY = new int[0];
+    private static final int MAX_MUTUALS = (1 << 11) - 1;
+    private static final int MAX_RANKED_FOLLOWERS = (1 << 20) - 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongIntMap nodes = new LongIntMap();
+    private long[] userIds = new long[16];
+    private int[][] following = new int[16][];
+    private int[] followingCount = new int[16];
+    private int[][] followers = new int[16][];
+    private int[] followerCount = new int[16];
+    private int nodeCount;
+    private long edgeCount;
+
+    /**
+     * Builds a graph from edges, e.g. streamed from the database. Duplicates are ignored.
+     *
+     * @param followerIds  the following users
+     * @param followingIds the followed users, at the same positions
+     * @param size         the number of edges
+     * @return the graph
+     */
+    public static FollowGraph of(long[] followerIds, long[] followingIds, int size) {
+        FollowGraph graph = new FollowGraph();
+        int[] from = new int[size];
+        int[] to = new int[size];
+        for (int i = 0; i < size; i++) {
+            from[i] = graph.node(followerIds[i]);
+            to[i] = graph.node(followingIds[i]);
+        }
+        // Exact-size arrays: count the degrees, fill, then sort and drop duplicates
+        int n = graph.nodeCount;
+        for (int i = 0; i < n; i++) {
+            graph.following[i] = EMPTY;
+            graph.followers[i] = EMPTY;
+        }
+        for (int i = 0; i < size; i++) {
+            graph.followingCount[from[i]]++;
+            graph.followerCount[to[i]]++;
+        }
+        for (int i = 0; i < n; i++) {
+            graph.following[i] = new int[graph.followingCount[i]];
+            graph.followers[i] = new int[graph.followerCount[i]];
+            graph.followingCount[i] = 0;
+            graph.followerCount[i] = 0;
+        }
+        for (int i = 0; i < size; i++) {
+            graph.following[from[i]][graph.followingCount[from[i]]++] = to[i];
+            graph.followers[to[i]][graph.followerCount[to[i]]++] = from[i];
+        }
+        long edges = 0;
+        for (int i = 0; i < n; i++) {
+            graph.followingCount[i] = sortDistinct(graph.following[i], graph.followingCount[i]);
+            graph.followerCount[i] = sortDistinct(graph.followers[i], graph.followerCount[i]);
+            edges += graph.followingCount[i];
+        }
+        graph.edgeCount = edges;
+        return graph;
+    }
+
+    /**
+     * Adds a follow.
+     *
+     * @return false if it already existed
+     */
+    public boolean follow(long followerId, long followingId) {
+        lock.writeLock().lock();
+        try {
+            int from = node(followerId);
+            int to = node(followingId);
+            int position = Arrays.binarySearch(following[from], 0, followingCount[from], to);
+            if (position >= 0) {
+                return false;
+            }
+            following[from] = insert(following[from], followingCount[from]++, -position - 1, to);
+            int reverse = -Arrays.binarySearch(followers[to], 0, followerCount[to], from) - 1;
+            followers[to] = insert(followers[to], followerCount[to]++, reverse, from);
+            edgeCount++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a follow.
+     *
+     * @return false if it did not exist
+     */
+    public boolean unfollow(long followerId, long followingId) {
+        lock.writeLock().lock();
+        try {
+            int from = nodes.get(followerId);
+            int to = nodes.get(followingId);
+            if (from < 0 || to < 0) {
+                return false;
+            }
+            int position = Arrays.binarySearch(following[from], 0, followingCount[from], to);
+            if (position < 0) {
+                return false;
+            }
+            remove(following[from], followingCount[from]--, position);
+            int reverse = Arrays.binarySearch(followers[to], 0, followerCount[to], from);
+            remove(followers[to], followerCount[to]--, reverse);
+            edgeCount--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tells whether a user follows another.
+     */
+    public boolean follows(long followerId, long followingId) {
+        lock.readLock().lock();
+        try {
+            int from = nodes.get(followerId);
+            int to = nodes.get(followingId);
+            if (from < 0 || to < 0) {
+                return false;
+            }
+            return followingCount[from] <= followerCount[to]
+                    ? Arrays.binarySearch(following[from], 0, followingCount[from], to) >= 0
+                    : Arrays.binarySearch(followers[to], 0, followerCount[to], from) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the users a user follows.
+     *
+     * @return their user ids, sorted
+     */
+    public long[] following(long userId) {
+        lock.readLock().lock();
+        try {
+            int node = nodes.get(userId);
+            if (node < 0) {
+                return new long[0];
+            }
+            long[] ids = new long[followingCount[node]];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = userIds[following[node][i]];
+            }
+            Arrays.sort(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the followers of a user.
+     *
+     * @return their user ids, sorted
+     */
+    public long[] followers(long userId) {
+        lock.readLock().lock();
+        try {
+            int node = nodes.get(userId);
+            if (node < 0) {
+                return new long[0];
+            }
+            long[] ids = new long[followerCount[node]];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = userIds[followers[node][i]];
+            }
+            Arrays.sort(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int followerCount(long userId) {
+        lock.readLock().lock();
+        try {
+            int node = nodes.get(userId);
+            return node < 0 ? 0 : followerCount[node];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int followingCount(long userId) {
+        lock.readLock().lock();
+        try {
+            int node = nodes.get(userId);
+            return node < 0 ? 0 : followingCount[node];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggests users followed by the users a user follows, most shared first, then most
+     * followed. The user and the users they already follow are left out.
+     *
+     * @param userId       the user
+     * @param limit        the maximum number of suggestions
+     * @param maxFirstHop  the maximum number of followed users expanded
+     * @param maxSecondHop the maximum number of users visited per followed user
+     * @return the suggestions
+     */
+    public Suggestion[] suggest(long userId, int limit, int maxFirstHop, int maxSecondHop) {
+        lock.readLock().lock();
+        try {
+            int user = nodes.get(userId);
+            if (user < 0 || followingCount[user] == 0) {
+                return new Suggestion[0];
+            }
+            int[] direct = following[user];
+            int directCount = followingCount[user];
+            // Spread the expanded users over the whole following list
+            int step = Math.max(1, directCount / Math.max(1, maxFirstHop));
+            IntCounter mutuals = new IntCounter(Math.min(directCount, maxFirstHop) * 4);
+            for (int i = 0, expanded = 0; i < directCount && expanded < maxFirstHop; i += step, expanded++) {
+                int friend = direct[i];
+                int[] second = following[friend];
+                int visits = Math.min(followingCount[friend], maxSecondHop);
+                for (int j = 0; j < visits; j++) {
+                    int candidate = second[j];
+                    if (candidate != user && Arrays.binarySearch(direct, 0, directCount, candidate) < 0) {
+                        mutuals.increment(candidate);
+                    }
+                }
+            }
+
+            // Pack (mutuals, followers, slot) into longs so ranking is a primitive sort
+            int size = mutuals.size();
+            long[] ranked = new long[size];
+            for (int slot = 0; slot < size; slot++) {
+                int candidate = mutuals.keyAt(slot);
+                long score = ((long) Math.min(mutuals.valueAt(slot), MAX_MUTUALS) << 20)
+                        | Math.min(followerCount[candidate], MAX_RANKED_FOLLOWERS);
+                ranked[slot] = (score << 32) | slot;
+            }
+            Arrays.sort(ranked);
+            Suggestion[] suggestions = new Suggestion[Math.min(limit, size)];
+            for (int i = 0; i < suggestions.length; i++) {
+                int slot = (int) ranked[size - 1 - i];
+                suggestions[i] = new Suggestion(userIds[mutuals.keyAt(slot)], mutuals.valueAt(slot));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return nodeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long edgeCount() {
+        lock.readLock().lock();
+        try {
+            return edgeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns the node of a user, adding it if needed. Callers hold the write lock or own the graph.
+    private int node(long userId) {
+        int node = nodes.get(userId);
+        if (node >= 0) {
+            return node;
+        }
+        if (nodeCount == userIds.length) {
+            int capacity = nodeCount + (nodeCount >> 1);
+            userIds = Arrays.copyOf(userIds, capacity);
+            following = Arrays.copyOf(following, capacity);
+            followingCount = Arrays.copyOf(followingCount, capacity);
+            followers = Arrays.copyOf(followers, capacity);
+            followerCount = Arrays.copyOf(followerCount, capacity);
+        }
+        node = nodeCount++;
+        userIds[node] = userId;
+        following[node] = EMPTY;
+        followers[node] = EMPTY;
+        nodes.put(userId, node);
+        return node;
+    }
+
+    private static int[] insert(int[] array, int size, int position, int value) {
+        int[] target = array;
+        if (size == array.length) {
+            target = new int[Math.max(4, size + (size >> 1))];
+            System.arraycopy(array, 0, target, 0, position);
+        }
+        System.arraycopy(array, position, target, position + 1, size - position);
+        target[position] = value;
+        return target;
+    }
+
+    private static void remove(int[] array, int size, int position) {
+        System.arraycopy(array, position + 1, array, position, size - position - 1);
+    }
+
+    private static int sortDistinct(int[] array, int size) {
+        Arrays.sort(array, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || array[distinct - 1] != array[i]) {
+                array[distinct++] = array[i];
+            }
+        }
+        return distinct;
+    }
+}
@@ -0,0 +1,138 @@
+package com.placehub.service.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.placehub.event.FollowChangedEvent;
+import com.placehub.util.ColumnBuffer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service answering follow checks, follow counts and suggestions from the in-memory
+ * FollowGraph instead of the follows table. The graph is loaded on startup and kept up to
+ * date by follow events after commit. It is also rebuilt periodically, which picks up the
+ * follows made on other nodes; changes made while a rebuild runs are replayed on the new graph.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FollowGraphService {
+
+    private static final int LOAD_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${placehub.graph.suggestions.max-first-hop:200}")
+    private int maxFirstHop;
+
+    @Value("${placehub.graph.suggestions.max-second-hop:500}")
+    private int maxSecondHop;
+
+    // A rebuild loads its graph aside and swaps it in only after the follows it missed
+    private volatile FollowGraph graph = new FollowGraph();
+
+    // Guarded by this; the follows and unfollows committed while the follows table streams
+    private List<FollowChangedEvent> changesDuringRebuild;
+
+    /**
+     * Loads the graph from the database, streaming the follows.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${placehub.graph.rebuild-interval:PT15M}",
+            fixedDelayString = "${placehub.graph.rebuild-interval:PT15M}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        ColumnBuffer edges = new ColumnBuffer(2, 0);
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("SELECT follower_id, following_id FROM follows");
+            statement.setFetchSize(LOAD_FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            edges.add(rs.getLong(1), rs.getLong(2));
+        });
+        FollowGraph rebuilt = FollowGraph.of(edges.longs(0), edges.longs(1), edges.size());
+        synchronized (this) {
+            changesDuringRebuild.forEach(change -> apply(rebuilt, change));
+            changesDuringRebuild = null;
+            graph = rebuilt;
+        }
+        log.info("Loaded follow graph of {} users and {} follows in {} ms",
+                rebuilt.nodeCount(), rebuilt.edgeCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Applies a committed follow or unfollow.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onFollowChanged(FollowChangedEvent event) {
+        apply(graph, event);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(event);
+        }
+    }
+
+    public boolean follows(Long followerId, Long followingId) {
+        return graph.follows(followerId, followingId);
+    }
+
+    /**
+     * Gets the users a user follows, sorted by id.
+     */
+    public long[] following(Long userId) {
+        return graph.following(userId);
+    }
+
+    /**
+     * Gets the followers of a user, sorted by id.
+     */
+    public long[] followers(Long userId) {
+        return graph.followers(userId);
+    }
+
+    public int followerCount(Long userId) {
+        return graph.followerCount(userId);
+    }
+
+    public int followingCount(Long userId) {
+        return graph.followingCount(userId);
+    }
+
+    /**
+     * Suggests users to follow: those followed by the most users the user follows.
+     *
+     * @param userId the user
+     * @param limit  the maximum number of suggestions
+     * @return the suggestions, best first
+     */
+    public List<FollowGraph.Suggestion> suggest(Long userId, int limit) {
+        return Arrays.asList(graph.suggest(userId, limit, maxFirstHop, maxSecondHop));
+    }
+
+    private static void apply(FollowGraph target, FollowChangedEvent event) {
+        if (event.followed()) {
+            target.follow(event.followerId(), event.followingId());
+        } else {
+            target.unfollow(event.followerId(), event.followingId());
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.placehub.service.graph;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing counter of non-negative int keys, without boxing. Keys are also kept in
+ * insertion order, so the counts can be read by slot.
+ */
+class IntCounter {
+
+    private static final int FREE = -1;
+
+    private int[] table;
+    private int[] keys;
+    private int[] counts;
+    private int size;
+
+    IntCounter(int expected) {
+        table = new int[Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1];
+        Arrays.fill(table, FREE);
+        keys = new int[Math.max(4, expected)];
+        counts = new int[keys.length];
+    }
+
+    void increment(int key) {
+        int mask = table.length - 1;
+        int position = hash(key) & mask;
+        while (table[position] != FREE) {
+            int slot = table[position];
+            if (keys[slot] == key) {
+                counts[slot]++;
+                return;
+            }
+            position = (position + 1) & mask;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        keys[size] = key;
+        counts[size] = 1;
+        table[position] = size++;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int keyAt(int slot) {
+        return keys[slot];
+    }
+
+    int valueAt(int slot) {
+        return counts[slot];
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        Arrays.fill(table, FREE);
+        int mask = table.length - 1;
+        for (int slot = 0; slot < size; slot++) {
+            int position = hash(keys[slot]) & mask;
+            while (table[position] != FREE) {
+                position = (position + 1) & mask;
+            }
+            table[position] = slot;
+        }
+    }
+
+    private static int hash(int key) {
+        return key * 0x9E3779B9;
+    }
+}
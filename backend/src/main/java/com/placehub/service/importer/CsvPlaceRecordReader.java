@@ -0,0 +1,167 @@
+package com.placehub.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.placehub.DTO.PlaceImportRecord;
+
+/**
+ * Reads RFC 4180 CSV with a header row. Header names are matched case-insensitively
+ * and may be camelCase or snake_case (e.g. googlePlaceId or google_place_id).
+ * Unknown columns are ignored.
+ */
+public class CsvPlaceRecordReader implements PlaceRecordReader {
+
+    private static final String[] COLUMNS = {
+            "name", "category", "latitude", "longitude", "streetaddress", "city",
+            "state", "country", "postalcode", "formattedaddress", "googleplaceid"
+    };
+
+    private final BufferedReader reader;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    // Position of each of COLUMNS in the file, -1 when absent
+    private int[] columnIndexes;
+    private long lineNumber;
+
+    public CsvPlaceRecordReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public PlaceImportRecord next() throws IOException {
+        if (columnIndexes == null && !readHeader()) {
+            return null;
+        }
+
+        List<String> row;
+        do {
+            row = readRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0).isBlank());
+
+        return new PlaceImportRecord(
+                column(row, 0),
+                column(row, 1),
+                parseDouble(row, 2),
+                parseDouble(row, 3),
+                column(row, 4),
+                column(row, 5),
+                column(row, 6),
+                column(row, 7),
+                column(row, 8),
+                column(row, 9),
+                column(row, 10)
+        );
+    }
+
+    @Override
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean readHeader() throws IOException {
+        List<String> header = readRow();
+        if (header == null) {
+            return false;
+        }
+
+        columnIndexes = new int[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            columnIndexes[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                String normalized = header.get(j).replace("_", "").trim().toLowerCase(Locale.ROOT);
+                if (normalized.equals(COLUMNS[i])) {
+                    columnIndexes[i] = j;
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    private String column(List<String> row, int column) {
+        int index = columnIndexes[column];
+        if (index < 0 || index >= row.size()) {
+            return null;
+        }
+        String value = row.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Double parseDouble(List<String> row, int column) {
+        String value = column(row, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new MalformedRecordException("Invalid number for " + COLUMNS[column] + ": " + value);
+        }
+    }
+
+    /**
+     * Reads one logical row, following quoted fields across line breaks.
+     * The returned list is reused between calls.
+     */
+    private List<String> readRow() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        fields.clear();
+        field.setLength(0);
+
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+
+            if (!quoted) {
+                break;
+            }
+            // Quoted field continues on the next physical line
+            line = reader.readLine();
+            if (line == null) {
+                throw new MalformedRecordException("Unterminated quoted field");
+            }
+            lineNumber++;
+            field.append('\n');
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,48 @@
+package com.placehub.service.importer;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Supported bulk import file formats.
+ */
+public enum ImportFormat {
+
+    NDJSON,
+    CSV;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Resolves the format from a request Content-Type.
+     *
+     * @param contentType the Content-Type header, may include parameters
+     * @return CSV for text/csv, NDJSON otherwise
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null && contentType.toLowerCase().startsWith("text/csv")) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+
+    /**
+     * Opens a streaming reader for this format over a UTF-8 input stream.
+     *
+     * @param input        the raw input
+     * @param objectMapper the mapper used for NDJSON rows
+     * @return a reader positioned at the first row
+     */
+    public PlaceRecordReader open(InputStream input, ObjectMapper objectMapper) {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+        return switch (this) {
+            case NDJSON -> new NdjsonPlaceRecordReader(reader, objectMapper);
+            case CSV -> new CsvPlaceRecordReader(reader);
+        };
+    }
+}
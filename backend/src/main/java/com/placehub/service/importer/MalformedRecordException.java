@@ -0,0 +1,16 @@
+package com.placehub.service.importer;
+
+/**
+ * Exception thrown when a single import row cannot be parsed.
+ * The importer records it as a rejection and keeps reading.
+ */
+public class MalformedRecordException extends RuntimeException {
+
+    public MalformedRecordException(String message) {
+        super(message);
+    }
+
+    public MalformedRecordException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
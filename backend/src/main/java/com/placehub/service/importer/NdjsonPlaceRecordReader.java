@@ -0,0 +1,53 @@
+package com.placehub.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.placehub.DTO.PlaceImportRecord;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * Reads newline-delimited JSON, one place object per line. Blank lines are skipped.
+ */
+public class NdjsonPlaceRecordReader implements PlaceRecordReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader recordReader;
+    private long lineNumber;
+
+    public NdjsonPlaceRecordReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.recordReader = objectMapper.readerFor(PlaceImportRecord.class);
+    }
+
+    @Override
+    public PlaceImportRecord next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        try {
+            return recordReader.readValue(line);
+        } catch (JacksonException e) {
+            throw new MalformedRecordException("Invalid JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,26 @@
+package com.placehub.service.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.placehub.DTO.PlaceImportRecord;
+
+/**
+ * Streaming reader over an import file. Implementations hold at most one row in memory.
+ */
+public interface PlaceRecordReader extends Closeable {
+
+    /**
+     * Reads the next record.
+     *
+     * @return the next record, or null at the end of the input
+     * @throws MalformedRecordException if the current row cannot be parsed
+     * @throws IOException              if the underlying stream fails
+     */
+    PlaceImportRecord next() throws IOException;
+
+    /**
+     * @return the 1-based line number of the last row returned or rejected
+     */
+    long getLineNumber();
+}
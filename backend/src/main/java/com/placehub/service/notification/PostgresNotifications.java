@@ -0,0 +1,142 @@
+package com.placehub.service.notification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import com.placehub.repository.DatabaseDialect;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Postgres LISTEN/NOTIFY shared by the services carrying messages between nodes. One
+ * connection, held by a listener thread, listens on every subscribed channel and hands each
+ * notification to its channel's handler; when the connection is lost it reconnects, and
+ * notifications sent meanwhile are lost, which subscribers learn from their connected
+ * callback. Only used on Postgres.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostgresNotifications {
+
+    /**
+     * Ids that fit in one payload, which is limited to 8000 bytes.
+     */
+    public static final int IDS_PER_MESSAGE = 300;
+
+    private static final int LISTEN_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    private record Subscription(Consumer<String> handler, Runnable onConnected) {}
+
+    /**
+     * Listens on a channel, from now on and after every reconnection.
+     *
+     * @param channel     the channel
+     * @param handler     called with the payload of each notification, on the listener thread
+     * @param onConnected called on the listener thread once the channel is listened on, after
+     *                    notifications may have been missed
+     */
+    public synchronized void subscribe(String channel, Consumer<String> handler, Runnable onConnected) {
+        if (!dialect.isPostgres()) {
+            throw new IllegalStateException("Notifications need Postgres");
+        }
+        subscriptions.put(channel, new Subscription(handler, onConnected));
+        if (listener == null) {
+            running = true;
+            listener = new Thread(this::listen, "notification-listener");
+            listener.setDaemon(true);
+            listener.start();
+        }
+    }
+
+    /**
+     * Sends a notification. Outside of a transaction it is delivered at once.
+     *
+     * @param channel the channel
+     * @param payload the payload, at most 8000 bytes
+     */
+    public void notify(String channel, String payload) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                Set<String> listening = new HashSet<>();
+                while (running) {
+                    // Channels subscribed since the last round are listened on by this thread
+                    for (Map.Entry<String, Subscription> entry : subscriptions.entrySet()) {
+                        if (listening.add(entry.getKey())) {
+                            statement.execute("LISTEN " + entry.getKey());
+                            entry.getValue().onConnected().run();
+                        }
+                    }
+                    PGNotification[] notifications = pgConnection.getNotifications(LISTEN_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Notification listener lost its connection, reconnecting", e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(PGNotification notification) {
+        Subscription subscription = subscriptions.get(notification.getName());
+        if (subscription == null) {
+            return;
+        }
+        try {
+            subscription.handler().accept(notification.getParameter());
+        } catch (RuntimeException e) {
+            // One bad message must not take the connection down for every channel
+            log.warn("Failed to handle notification on {}", notification.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.placehub.service.ordering;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fractional rank keys: strings that sort in item order, where a key can always be made
+ * between two others, so moving an item rewrites only that item.
+ *
+ * <p>A key is an integer part followed by an optional fraction, all in base 36 over
+ * {@code 0-9a-z}. The integer part is a head letter giving the number of digits
+ * ({@code a} = 1 ... {@code z} = 26) followed by those digits, so integers of different
+ * lengths still compare correctly as strings. Appending or prepending steps the integer
+ * part and keeps keys short; inserting between two neighbours extends the fraction.
+ * Fractions never end in {@code 0}, otherwise no key would fit between "x" and "x0".
+ * The alphabet sorts the same under byte order and the usual database collations.
+ */
+public final class RankKeys {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final char ZERO = '0';
+
+    // 8-digit integer in the middle of its range: billions of appends or prepends fit
+    // before the integer part changes length
+    public static final String INITIAL = "hi0000000";
+
+    private RankKeys() {
+    }
+
+    /**
+     * Creates a key strictly between two keys.
+     *
+     * @param before the key to sort after, or null for the start of the list
+     * @param after  the key to sort before, or null for the end of the list
+     * @return the new key
+     * @throws IllegalArgumentException if before is not less than after
+     */
+    public static String between(String before, String after) {
+        if (before != null && after != null && before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank " + before + " is not before " + after);
+        }
+        if (before == null && after == null) {
+            return INITIAL;
+        }
+        if (before == null) {
+            String integer = integerPart(after);
+            return integer.length() < after.length() ? integer : decrement(integer);
+        }
+        String integer = integerPart(before);
+        if (after == null) {
+            return increment(integer);
+        }
+        String fraction = before.substring(integer.length());
+        if (integer.equals(integerPart(after))) {
+            return integer + midpoint(fraction, after.substring(integer.length()));
+        }
+        String next = increment(integer);
+        return next.compareTo(after) < 0 ? next : integer + midpoint(fraction, null);
+    }
+
+    /**
+     * Creates n ascending keys strictly between two keys. Splitting the range in halves
+     * keeps every key within about log36(n) characters of its neighbours.
+     *
+     * @param before the key to sort after, or null for the start of the list
+     * @param after  the key to sort before, or null for the end of the list
+     * @param n      the number of keys
+     * @return the keys in ascending order
+     */
+    public static List<String> between(String before, String after, int n) {
+        if (n <= 0) {
+            return List.of();
+        }
+        if (n == 1) {
+            return List.of(between(before, after));
+        }
+        List<String> keys = new ArrayList<>(n);
+        if (after == null) {
+            String key = before;
+            for (int i = 0; i < n; i++) {
+                key = between(key, null);
+                keys.add(key);
+            }
+            return keys;
+        }
+        if (before == null) {
+            String key = after;
+            for (int i = 0; i < n; i++) {
+                key = between(null, key);
+                keys.add(key);
+            }
+            Collections.reverse(keys);
+            return keys;
+        }
+        int middle = n / 2;
+        String pivot = between(before, after);
+        keys.addAll(between(before, pivot, middle));
+        keys.add(pivot);
+        keys.addAll(between(pivot, after, n - middle - 1));
+        return keys;
+    }
+
+    /**
+     * Creates n evenly stepped keys from scratch, for rebalancing a whole list.
+     *
+     * @param n the number of keys
+     * @return the keys in ascending order, all of integer-part length
+     */
+    public static List<String> sequence(int n) {
+        List<String> keys = new ArrayList<>(n);
+        String key = INITIAL;
+        for (int i = 0; i < n; i++) {
+            keys.add(key);
+            key = increment(key);
+        }
+        return keys;
+    }
+
+    private static String integerPart(String key) {
+        int length = integerLength(key.charAt(0));
+        if (length > key.length()) {
+            throw new IllegalArgumentException("Invalid rank key: " + key);
+        }
+        return key.substring(0, length);
+    }
+
+    // Head letter plus its digits
+    private static int integerLength(char head) {
+        if (head < 'a' || head > 'z') {
+            throw new IllegalArgumentException("Invalid rank key head: " + head);
+        }
+        return head - 'a' + 2;
+    }
+
+    private static String increment(String integer) {
+        char head = integer.charAt(0);
+        char[] digits = integer.substring(1).toCharArray();
+        for (int i = digits.length - 1; i >= 0; i--) {
+            int digit = DIGITS.indexOf(digits[i]);
+            if (digit < BASE - 1) {
+                digits[i] = DIGITS.charAt(digit + 1);
+                return head + new String(digits);
+            }
+            digits[i] = ZERO;
+        }
+        if (head == 'z') {
+            throw new IllegalStateException("Rank key space exhausted");
+        }
+        // All digits were the largest: continue with one more digit
+        return (char) (head + 1) + "1" + new String(digits);
+    }
+
+    private static String decrement(String integer) {
+        char head = integer.charAt(0);
+        char[] digits = integer.substring(1).toCharArray();
+        for (int i = digits.length - 1; i >= 0; i--) {
+            int digit = DIGITS.indexOf(digits[i]);
+            if (digit > 0) {
+                digits[i] = DIGITS.charAt(digit - 1);
+                return head + new String(digits);
+            }
+            digits[i] = DIGITS.charAt(BASE - 1);
+        }
+        if (head == 'a') {
+            throw new IllegalStateException("Rank key space exhausted");
+        }
+        // All digits were zero: continue with one less digit, all of them the largest
+        return (char) (head - 1) + new String(digits, 0, digits.length - 1);
+    }
+
+    // Fraction strictly between two fractions; after == null means 1
+    private static String midpoint(String before, String after) {
+        if (after != null) {
+            int common = 0;
+            while ((common < before.length() ? before.charAt(common) : ZERO) == after.charAt(common)) {
+                common++;
+            }
+            if (common > 0) {
+                return after.substring(0, common)
+                        + midpoint(before.substring(Math.min(common, before.length())), after.substring(common));
+            }
+        }
+        int digitBefore = before.isEmpty() ? 0 : DIGITS.indexOf(before.charAt(0));
+        int digitAfter = after != null ? DIGITS.indexOf(after.charAt(0)) : BASE;
+        if (digitAfter - digitBefore > 1) {
+            return String.valueOf(DIGITS.charAt((digitBefore + digitAfter + 1) / 2));
+        }
+        if (after != null && after.length() > 1) {
+            return after.substring(0, 1);
+        }
+        return DIGITS.charAt(digitBefore) + midpoint(before.isEmpty() ? "" : before.substring(1), null);
+    }
+}
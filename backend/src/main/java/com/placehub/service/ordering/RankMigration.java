@@ -0,0 +1,41 @@
+package com.placehub.service.ordering;
+
+import java.util.List;
+
+import com.placehub.repository.SavedPlaceRankRepository;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-off migration giving rank keys to saved places created before lists were ordered,
+ * keeping their insertion order. Runs at startup and does nothing once every item has a key.
+ */
+@Slf4j
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class RankMigration implements ApplicationRunner {
+
+    private final SavedPlaceRankRepository savedPlaceRankRepository;
+    private final SavedPlaceOrderService savedPlaceOrderService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Long> placeListIds = savedPlaceRankRepository.findListsWithUnrankedItems();
+        if (placeListIds.isEmpty()) {
+            return;
+        }
+        log.info("Assigning rank keys to the saved places of {} lists", placeListIds.size());
+        int ranked = 0;
+        for (Long placeListId : placeListIds) {
+            ranked += savedPlaceOrderService.rebalance(placeListId);
+        }
+        log.info("Assigned rank keys to {} saved places", ranked);
+    }
+}
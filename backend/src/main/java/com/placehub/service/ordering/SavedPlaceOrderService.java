@@ -0,0 +1,159 @@
+package com.placehub.service.ordering;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import com.placehub.DTO.MoveSavedPlacesRequest;
+import com.placehub.entity.PlaceList;
+import com.placehub.entity.User;
+import com.placehub.exception.PlaceListNotFoundException;
+import com.placehub.exception.PlaceListVersionConflictException;
+import com.placehub.exception.SavedPlaceNotFoundException;
+import com.placehub.repository.PlaceListRepository;
+import com.placehub.repository.SavedPlaceRankRepository;
+import com.placehub.service.sync.PlaceListChangeService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for the user-defined order of saved places. Items carry fractional rank keys
+ * (see RankKeys), so appending, moving or bulk-reordering writes only the moved rows.
+ * Writers of one list are serialised by locking its place_lists row. Keys get longer when
+ * the same gap is split repeatedly; lists whose keys pass a length threshold are queued
+ * and rewritten with short keys by a background job.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SavedPlaceOrderService {
+
+    private final PlaceListRepository placeListRepository;
+    private final SavedPlaceRankRepository savedPlaceRankRepository;
+    private final PlaceListChangeService placeListChangeService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<Long> pendingRebalance = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Outcome of a move.
+     *
+     * @param moved   the number of moved saved places
+     * @param version the new list version
+     */
+    public record MoveResult(int moved, long version) {}
+
+    @Value("${placehub.ordering.rebalance-key-length:24}")
+    private int rebalanceKeyLength;
+
+    /**
+     * Creates the rank key for an item appended to a list. The caller must hold the list lock.
+     *
+     * @param placeListId the list id
+     * @return the key
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String nextRank(Long placeListId) {
+        String rank = RankKeys.between(savedPlaceRankRepository.findLastRank(placeListId), null);
+        track(placeListId, List.of(rank));
+        return rank;
+    }
+
+    /**
+     * Moves saved places of a list of the user, in the given order, directly after another
+     * saved place. Writes one row per moved item, in one JDBC batch.
+     *
+     * @param placeListId the list id
+     * @param request     the saved places to move and the anchor
+     * @param user        the current user
+     * @return the number of moved saved places and the new list version
+     * @throws PlaceListNotFoundException        if the list does not exist or belongs to another user
+     * @throws SavedPlaceNotFoundException       if a saved place or the anchor is not in the list
+     * @throws IllegalArgumentException          if the anchor is one of the moved saved places
+     * @throws PlaceListVersionConflictException if the list is not at the expected version
+     */
+    @Transactional
+    public MoveResult moveItems(Long placeListId, MoveSavedPlacesRequest request, User user) {
+        PlaceList placeList = placeListRepository.findByIdForUpdate(placeListId)
+                .filter(list -> list.getOwner().getId().equals(user.getId()))
+                .orElseThrow(() -> new PlaceListNotFoundException("Place list not found with id: " + placeListId));
+        PlaceListChangeService.checkVersion(placeList, request.getExpectedVersion());
+
+        List<Long> moved = request.getSavedPlaceIds().stream().distinct().toList();
+        Long afterId = request.getAfterId();
+        if (afterId != null && moved.contains(afterId)) {
+            throw new IllegalArgumentException("A saved place cannot be moved after itself");
+        }
+        List<Long> referenced = afterId == null ? moved : Stream.concat(moved.stream(), Stream.of(afterId)).toList();
+        Map<Long, String> ranks = savedPlaceRankRepository.findRanks(placeListId, referenced);
+        for (Long id : referenced) {
+            if (!ranks.containsKey(id)) {
+                throw new SavedPlaceNotFoundException("Saved place " + id + " not found in list " + placeListId);
+            }
+        }
+
+        String before = afterId == null ? null : ranks.get(afterId);
+        String after = savedPlaceRankRepository.findNextRank(placeListId, before, moved);
+        List<String> keys = RankKeys.between(before, after, moved.size());
+        savedPlaceRankRepository.updateRanks(placeListId, moved, keys);
+        track(placeListId, keys);
+        return new MoveResult(moved.size(), placeListChangeService.itemsChanged(placeListId, moved));
+    }
+
+    /**
+     * Rewrites the rank keys of a list with short, evenly stepped keys, keeping its order.
+     * Every item is logged as changed, since clients sort by the keys.
+     *
+     * @param placeListId the list id
+     * @return the number of rewritten items
+     */
+    public int rebalance(Long placeListId) {
+        Integer rewritten = transactionTemplate.execute(status -> {
+            if (placeListRepository.findByIdForUpdate(placeListId).isEmpty()) {
+                return 0;
+            }
+            List<Long> ids = savedPlaceRankRepository.findIdsInRankOrder(placeListId);
+            savedPlaceRankRepository.updateRanks(placeListId, ids, RankKeys.sequence(ids.size()));
+            placeListChangeService.allItemsChanged(placeListId);
+            return ids.size();
+        });
+        return rewritten != null ? rewritten : 0;
+    }
+
+    /**
+     * Rebalances the lists queued since the last run.
+     */
+    @Scheduled(fixedDelayString = "${placehub.ordering.rebalance-interval:PT1M}")
+    public void rebalancePending() {
+        for (Long placeListId : List.copyOf(pendingRebalance)) {
+            pendingRebalance.remove(placeListId);
+            try {
+                log.debug("Rebalanced {} rank keys of list {}", rebalance(placeListId), placeListId);
+            } catch (RuntimeException e) {
+                log.warn("Rebalancing list {} failed", placeListId, e);
+                pendingRebalance.add(placeListId);
+            }
+        }
+    }
+
+    // Number of lists waiting for rebalancing, for tests and monitoring
+    public int pendingRebalanceCount() {
+        return pendingRebalance.size();
+    }
+
+    private void track(Long placeListId, List<String> keys) {
+        if (keys.stream().anyMatch(key -> key.length() > rebalanceKeyLength)) {
+            pendingRebalance.add(placeListId);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.placehub.service.provider;
+
+import java.util.Optional;
+
+/**
+ * An external source of place data, e.g. Google Places.
+ * Implementations make the raw upstream call, over HTTP with the placeProviderRestClient
+ * bean so the configured connect and read timeouts apply; caching, coalescing and failure
+ * isolation are handled by {@link PlaceProviderClient}.
+ */
+public interface PlaceProvider {
+
+    /**
+     * @return a short provider name used in metrics and logs
+     */
+    String getName();
+
+    /**
+     * Looks up a place by the provider's own id.
+     *
+     * @param externalId the provider place id
+     * @return the place, or empty if the provider does not know it
+     * @throws RuntimeException if the upstream call fails
+     */
+    Optional<ProviderPlace> lookup(String externalId);
+}
@@ -0,0 +1,206 @@
+package com.placehub.service.provider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.placehub.exception.ProviderUnavailableException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resilient client in front of the configured {@link PlaceProvider}.
+ *
+ * <p>A lookup goes through, in order:
+ * <ol>
+ *   <li>a bounded Caffeine cache with a TTL, shorter for "not found" answers;</li>
+ *   <li>single-flight coalescing: concurrent lookups of the same id wait for the one
+ *       call already in flight instead of starting their own;</li>
+ *   <li>a circuit breaker that fails fast while the provider keeps failing;</li>
+ *   <li>a bulkhead limiting the number of concurrent upstream calls.</li>
+ * </ol>
+ * Every lookup is counted in {@code placehub.provider.lookups}, tagged by outcome.
+ */
+@Service
+@RequiredArgsConstructor
+public class PlaceProviderClient {
+
+    static final String METRIC_NAME = "placehub.provider.lookups";
+
+    private final PlaceProvider placeProvider;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${placehub.provider.cache-ttl:PT1H}")
+    private Duration cacheTtl;
+
+    @Value("${placehub.provider.negative-cache-ttl:PT5M}")
+    private Duration negativeCacheTtl;
+
+    @Value("${placehub.provider.cache-max-entries:100000}")
+    private int cacheMaxEntries;
+
+    @Value("${placehub.provider.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+
+    @Value("${placehub.provider.bulkhead-wait:PT0.5S}")
+    private Duration bulkheadWait;
+
+    @Value("${placehub.provider.call-timeout:PT5S}")
+    private Duration callTimeout;
+
+    @Value("${placehub.provider.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${placehub.provider.circuit.open-duration:PT30S}")
+    private Duration openDuration;
+
+    private final Map<String, CompletableFuture<Optional<ProviderPlace>>> inFlight = new ConcurrentHashMap<>();
+    private final Clock clock = Clock.systemUTC();
+    private Cache<String, Optional<ProviderPlace>> cache;
+    private Semaphore bulkhead;
+    private CircuitBreaker circuitBreaker;
+
+    /**
+     * Lookup outcomes reported as metric tags.
+     */
+    public enum Outcome { CACHE_HIT, COALESCED, SUCCESS, NOT_FOUND, FAILURE, BULKHEAD_FULL, CIRCUIT_OPEN }
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfter(Expiry.creating((String externalId, Optional<ProviderPlace> value) ->
+                        value.isPresent() ? cacheTtl : negativeCacheTtl))
+                .build();
+        bulkhead = new Semaphore(maxConcurrentCalls);
+        circuitBreaker = new CircuitBreaker(failureThreshold, openDuration, clock);
+    }
+
+    /**
+     * Looks up a place from the provider.
+     *
+     * @param externalId the provider place id
+     * @return the place, or empty if the provider does not know it
+     * @throws ProviderUnavailableException if the provider failed or is being shed
+     */
+    public Optional<ProviderPlace> lookup(String externalId) {
+        Optional<ProviderPlace> cached = cache.getIfPresent(externalId);
+        if (cached != null) {
+            record(Outcome.CACHE_HIT);
+            return cached;
+        }
+
+        CompletableFuture<Optional<ProviderPlace>> call = new CompletableFuture<>();
+        CompletableFuture<Optional<ProviderPlace>> leader = inFlight.putIfAbsent(externalId, call);
+        if (leader != null) {
+            record(Outcome.COALESCED);
+            return await(leader);
+        }
+
+        try {
+            // The previous leader may have cached its answer and left since the first check
+            Optional<ProviderPlace> result;
+            cached = cache.getIfPresent(externalId);
+            if (cached != null) {
+                record(Outcome.CACHE_HIT);
+                result = cached;
+            } else {
+                result = callUpstream(externalId);
+                cache.put(externalId, result);
+            }
+            call.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(externalId, call);
+        }
+    }
+
+    /**
+     * Drops a cached answer, e.g. after the place changed upstream.
+     *
+     * @param externalId the provider place id
+     */
+    public void evict(String externalId) {
+        cache.invalidate(externalId);
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private Optional<ProviderPlace> callUpstream(String externalId) {
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(bulkheadWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            record(Outcome.BULKHEAD_FULL);
+            throw new ProviderUnavailableException("Too many concurrent place provider calls");
+        }
+
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                record(Outcome.CIRCUIT_OPEN);
+                throw new ProviderUnavailableException("Place provider is temporarily unavailable");
+            }
+            try {
+                Optional<ProviderPlace> result = placeProvider.lookup(externalId);
+                circuitBreaker.onSuccess();
+                record(result.isPresent() ? Outcome.SUCCESS : Outcome.NOT_FOUND);
+                return result;
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                record(Outcome.FAILURE);
+                throw new ProviderUnavailableException("Place provider call failed", e);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private Optional<ProviderPlace> await(CompletableFuture<Optional<ProviderPlace>> leader) {
+        try {
+            return leader.get(callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ProviderUnavailableException unavailable) {
+                throw unavailable;
+            }
+            throw new ProviderUnavailableException("Place provider call failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new ProviderUnavailableException("Timed out waiting for place provider", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderUnavailableException("Interrupted while waiting for place provider", e);
+        }
+    }
+
+    private void record(Outcome outcome) {
+        Counter.builder(METRIC_NAME)
+                .tag("provider", placeProvider.getName())
+                .tag("outcome", outcome.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,15 @@
+package com.placehub.service.provider;
+
+/**
+ * A place as returned by an external place provider.
+ */
+public record ProviderPlace(
+        String externalId,
+        String name,
+        String category,
+        double latitude,
+        double longitude,
+        String formattedAddress,
+        String city,
+        String country
+) {}
@@ -0,0 +1,68 @@
+package com.placehub.service.provider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local place provider backed by an in-memory map, used in tests and development
+ * until a real provider is configured. Can simulate upstream latency, and fails like an
+ * HTTP provider when it exceeds the read timeout.
+ */
+@Component
+@ConditionalOnProperty(name = "placehub.provider.type", havingValue = "stub", matchIfMissing = true)
+public class StubPlaceProvider implements PlaceProvider {
+
+    private final Map<String, ProviderPlace> places = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+
+    @Value("${placehub.provider.stub.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${placehub.provider.read-timeout:PT3S}")
+    private Duration readTimeout;
+
+    @Override
+    public String getName() {
+        return "stub";
+    }
+
+    @Override
+    public Optional<ProviderPlace> lookup(String externalId) {
+        calls.incrementAndGet();
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(Math.min(latencyMs, readTimeout.toMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while simulating provider latency", e);
+            }
+            if (latencyMs > readTimeout.toMillis()) {
+                throw new IllegalStateException("Read timed out after " + readTimeout.toMillis() + " ms");
+            }
+        }
+        return Optional.ofNullable(places.get(externalId));
+    }
+
+    /**
+     * Registers a place the stub will return.
+     *
+     * @param place the place
+     */
+    public void register(ProviderPlace place) {
+        places.put(place.externalId(), place);
+    }
+
+    /**
+     * @return the number of lookups received, i.e. simulated upstream calls
+     */
+    public long getCallCount() {
+        return calls.get();
+    }
+}
@@ -0,0 +1,319 @@
+package com.placehub.service.push;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.placehub.service.graph.FollowGraphService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process hub of the server-sent event streams connected to this node. Streams are async
+ * servlet responses: an idle connection holds an SseEmitter and a socket, not a thread, so a
+ * node keeps tens of thousands of them open with its usual request threads. Events are
+ * serialized once and queued to every recipient's streams.
+ *
+ * <p>Servlet writes block while a client's socket buffer is full, so they run on a writer pool
+ * of their own, never on the caller's thread, one write in flight per stream and the rest
+ * queued behind it. A stream whose queue overflows, or whose write is pending beyond the write
+ * timeout, is dropped, and the client reconnects; the container's socket write timeout then
+ * releases the writer. Heartbeats, on a thread of their own, keep idle connections open
+ * through proxies and detect the clients that went away.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventHub {
+
+    private static final int MAX_BACKLOG = 32;
+
+    /**
+     * Who receives an event.
+     */
+    public enum Audience {
+        /** The user the event is about. */
+        USER,
+        /** The followers of the user the event is about. */
+        FOLLOWERS
+    }
+
+    /**
+     * An event pushed to clients.
+     *
+     * @param name     the SSE event name
+     * @param userId   the user the event is about
+     * @param audience who receives it
+     * @param data     the JSON payload
+     */
+    public record PushEvent(String name, long userId, Audience audience, String data) {}
+
+    private final FollowGraphService followGraphService;
+
+    @Value("${placehub.push.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${placehub.push.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${placehub.push.heartbeat-interval:PT25S}")
+    private Duration heartbeatInterval;
+
+    @Value("${placehub.push.write-timeout:PT10S}")
+    private Duration writeTimeout;
+
+    @Value("${placehub.push.writer-threads:8}")
+    private int writerThreads;
+
+    // Replaced, never mutated, so a delivery iterates a stable snapshot of a user's streams
+    private final Map<Long, List<Stream>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private ExecutorService writers;
+    private ScheduledExecutorService heartbeats;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threads = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "push-writer-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "push-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    /**
+     * Opens an event stream for a user. Beyond the per-user maximum, the user's oldest
+     * stream is closed.
+     *
+     * @param userId the user
+     * @return the stream, completed by the client disconnecting or by the timeout
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Stream stream = new Stream(userId, emitter);
+        emitter.onCompletion(() -> unsubscribe(stream));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(stream));
+        try {
+            // Buffered until the response starts, then flushed, so the client sees the stream open
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+
+        List<Stream> evicted = new ArrayList<>();
+        connections.compute(userId, (id, current) -> {
+            List<Stream> streams = new ArrayList<>(current != null ? current : List.of());
+            streams.add(stream);
+            while (streams.size() > maxConnectionsPerUser) {
+                evicted.add(streams.remove(0));
+            }
+            connectionCount.addAndGet(1 - evicted.size());
+            return List.copyOf(streams);
+        });
+        evicted.forEach(old -> old.emitter.complete());
+        return emitter;
+    }
+
+    /**
+     * Queues an event to the streams of its recipients connected to this node, without
+     * waiting for the writes.
+     *
+     * @param event the event
+     * @return the number of streams the event was queued to
+     */
+    public int deliver(PushEvent event) {
+        Set<DataWithMediaType> message = SseEmitter.event()
+                .name(event.name())
+                .data(event.data(), MediaType.APPLICATION_JSON)
+                .build();
+        if (event.audience() == Audience.USER) {
+            return sendAll(event.userId(), message);
+        }
+        int sent = 0;
+        // Walk whichever is smaller: the followers, or the users connected here
+        if (followGraphService.followerCount(event.userId()) <= connections.size()) {
+            for (long followerId : followGraphService.followers(event.userId())) {
+                sent += sendAll(followerId, message);
+            }
+        } else {
+            for (Long userId : connections.keySet()) {
+                if (followGraphService.follows(userId, event.userId())) {
+                    sent += sendAll(userId, message);
+                }
+            }
+        }
+        return sent;
+    }
+
+    /**
+     * Gets the number of streams open on this node.
+     */
+    public int connectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Queues a comment to every stream, so idle connections stay open and dead ones are
+     * dropped, and drops the streams whose write is pending beyond the write timeout.
+     */
+    public void heartbeat() {
+        Set<DataWithMediaType> message = SseEmitter.event().comment("").build();
+        long stalledSince = System.nanoTime() - writeTimeout.toNanos();
+        for (List<Stream> streams : connections.values()) {
+            for (Stream stream : streams) {
+                long writeStarted = stream.writeStarted.get();
+                if (writeStarted != 0 && writeStarted - stalledSince < 0) {
+                    drop(stream);
+                } else {
+                    send(stream, message);
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes every stream on shutdown, before the web server waits for active requests to
+     * finish; the clients reconnect to another node.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void closeAll() {
+        connections.values().forEach(streams -> streams.forEach(stream -> stream.emitter.complete()));
+    }
+
+    private int sendAll(long userId, Set<DataWithMediaType> message) {
+        List<Stream> streams = connections.get(userId);
+        if (streams == null) {
+            return 0;
+        }
+        int sent = 0;
+        for (Stream stream : streams) {
+            if (send(stream, message)) {
+                sent++;
+            }
+        }
+        return sent;
+    }
+
+    private boolean send(Stream stream, Set<DataWithMediaType> message) {
+        // A client this far behind is not reading
+        if (stream.backlog.incrementAndGet() > MAX_BACKLOG) {
+            drop(stream);
+            return false;
+        }
+        stream.pending.add(message);
+        schedule(stream);
+        return true;
+    }
+
+    // One writer drains a stream at a time, so its events go out in order
+    private void schedule(Stream stream) {
+        if (stream.pending.isEmpty() || !stream.writeStarted.compareAndSet(0, now())) {
+            return;
+        }
+        try {
+            writers.execute(() -> write(stream));
+        } catch (RejectedExecutionException e) {
+            stream.writeStarted.set(0);
+        }
+    }
+
+    private void write(Stream stream) {
+        try {
+            Set<DataWithMediaType> message;
+            while ((message = stream.pending.poll()) != null) {
+                stream.backlog.decrementAndGet();
+                stream.writeStarted.set(now());
+                stream.emitter.send(message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The container completes the response of a broken connection itself
+            log.debug("Dropping event stream of user {}", stream.userId, e);
+            unsubscribe(stream);
+            return;
+        } finally {
+            stream.writeStarted.set(0);
+        }
+        // An event queued after the last poll but before the writer let go
+        schedule(stream);
+    }
+
+    private static long now() {
+        return Math.max(1, System.nanoTime());
+    }
+
+    private void drop(Stream stream) {
+        log.debug("Dropping event stream of user {}, which is not keeping up", stream.userId);
+        unsubscribe(stream);
+        stream.emitter.complete();
+    }
+
+    private void unsubscribe(Stream stream) {
+        connections.computeIfPresent(stream.userId, (id, current) -> {
+            if (!current.contains(stream)) {
+                return current;
+            }
+            connectionCount.decrementAndGet();
+            List<Stream> streams = new ArrayList<>(current);
+            streams.remove(stream);
+            return streams.isEmpty() ? null : List.copyOf(streams);
+        });
+    }
+
+    /**
+     * An open stream, its events waiting to be written, and the start of its write in flight,
+     * in System.nanoTime(), 0 for none.
+     */
+    private static final class Stream {
+
+        private final long userId;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger backlog = new AtomicInteger();
+        private final AtomicLong writeStarted = new AtomicLong();
+
+        private Stream(long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+}
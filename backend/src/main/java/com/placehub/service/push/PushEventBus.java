@@ -0,0 +1,187 @@
+package com.placehub.service.push;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import com.placehub.event.FollowChangedEvent;
+import com.placehub.event.PlaceListsChangedEvent;
+import com.placehub.event.PlaceSavedEvent;
+import com.placehub.repository.DatabaseDialect;
+import com.placehub.repository.projection.PlaceListOwnerRow;
+import com.placehub.service.notification.PostgresNotifications;
+import com.placehub.service.push.EventHub.Audience;
+import com.placehub.service.push.EventHub.PushEvent;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Turns committed follows, list changes and saves into events pushed to clients, and carries
+ * them between nodes. Each event is delivered to the streams open on this node and, on
+ * Postgres, sent as a notification to the other nodes, which deliver it to theirs; recipients
+ * are resolved on the delivering node, from its follow graph. On other databases events only
+ * reach the node they happened on: pushes are hints to refresh, and clients that miss one
+ * still catch up on their next read.
+ *
+ * <p>Events pushed: "follower" to a user someone started following, "lists-changed" to the
+ * owner of changed lists, for their other devices, and "place-saved" to the followers of a
+ * user who saved a place into a public list.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PushEventBus {
+
+    static final String CHANNEL = "placehub_push";
+
+    private static final int IDS_PER_QUERY = 1000;
+
+    private final EventHub eventHub;
+    private final PostgresNotifications notifications;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+    private final ObjectMapper objectMapper;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    // Fans events out off the committing threads, one at a time, in commit order
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "push-dispatcher"));
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        if (dialect.isPostgres()) {
+            // Events sent while no connection was listening are lost; clients catch up on their next read
+            notifications.subscribe(CHANNEL, this::receive, () -> {});
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Tells a user someone started following them.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        if (event.followed()) {
+            publish(new PushEvent("follower", event.followingId(), Audience.USER,
+                    json(Map.of("followerId", event.followerId()))));
+        }
+    }
+
+    /**
+     * Tells the followers of a user the user saved a place into a public list.
+     *
+     * @param event the save
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlaceSaved(PlaceSavedEvent event) {
+        if (event.publicList()) {
+            publish(new PushEvent("place-saved", event.userId(), Audience.FOLLOWERS, json(Map.of(
+                    "userId", event.userId(),
+                    "placeId", event.placeId(),
+                    "placeListId", event.placeListId(),
+                    "savedPlaceId", event.savedPlaceId()))));
+        }
+    }
+
+    /**
+     * Tells the owners of changed lists to sync them.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlaceListsChanged(PlaceListsChangedEvent event) {
+        if (!running || event.placeListIds().isEmpty()) {
+            return;
+        }
+        // The owners are looked up on the dispatcher, off the committing thread and its session
+        dispatcher.execute(() -> {
+            Map<Long, List<Long>> listIdsByOwner;
+            try {
+                listIdsByOwner = findOwnerRows(event.placeListIds()).stream()
+                        .collect(Collectors.groupingBy(PlaceListOwnerRow::ownerId,
+                                Collectors.mapping(PlaceListOwnerRow::id, Collectors.toList())));
+            } catch (DataAccessException e) {
+                log.warn("Failed to look up the owners of changed lists {}", event.placeListIds(), e);
+                return;
+            }
+            // A notification carries a bounded number of ids, so an owner of many lists gets several events
+            int perMessage = PostgresNotifications.IDS_PER_MESSAGE;
+            listIdsByOwner.forEach((ownerId, placeListIds) -> {
+                for (int from = 0; from < placeListIds.size(); from += perMessage) {
+                    List<Long> chunk = placeListIds.subList(from, Math.min(from + perMessage, placeListIds.size()));
+                    dispatch(new PushEvent("lists-changed", ownerId, Audience.USER,
+                            json(Map.of("placeListIds", chunk))));
+                }
+            });
+        });
+    }
+
+    // A merge may change many lists, so the ids are bound in chunks
+    private List<PlaceListOwnerRow> findOwnerRows(List<Long> placeListIds) {
+        List<PlaceListOwnerRow> rows = new ArrayList<>();
+        for (int from = 0; from < placeListIds.size(); from += IDS_PER_QUERY) {
+            List<Long> chunk = placeListIds.subList(from, Math.min(from + IDS_PER_QUERY, placeListIds.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            rows.addAll(jdbcTemplate.query("SELECT id, owner_id FROM place_lists WHERE id IN (" + placeholders + ")",
+                    (rs, rowNum) -> new PlaceListOwnerRow(rs.getLong(1), rs.getLong(2)), chunk.toArray()));
+        }
+        return rows;
+    }
+
+    private void publish(PushEvent event) {
+        if (running) {
+            dispatcher.execute(() -> dispatch(event));
+        }
+    }
+
+    // Delivered here, then announced, on a connection of its own outside of any transaction
+    private void dispatch(PushEvent event) {
+        eventHub.deliver(event);
+        if (!dialect.isPostgres()) {
+            return;
+        }
+        try {
+            notifications.notify(CHANNEL, String.join("|", nodeId, event.name(),
+                    String.valueOf(event.userId()), event.audience().name(), event.data()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to announce {} event of user {}", event.name(), event.userId(), e);
+        }
+    }
+
+    private void receive(String payload) {
+        String[] parts = payload.split("\\|", 5);
+        if (!running || nodeId.equals(parts[0])) {
+            return;
+        }
+        eventHub.deliver(new PushEvent(parts[1], Long.parseLong(parts[2]), Audience.valueOf(parts[3]), parts[4]));
+    }
+
+    private String json(Map<String, ?> data) {
+        return objectMapper.writeValueAsString(data);
+    }
+}
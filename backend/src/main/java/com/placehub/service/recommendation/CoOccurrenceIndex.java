@@ -0,0 +1,362 @@
+package com.placehub.service.recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Sparse place co-occurrence matrix: for every place, the places most often saved in the
+ * same lists, with the number of shared lists. Each place keeps at most maxNeighbors
+ * neighbors, so memory grows with the number of places, not with the number of pairs.
+ * Similarity is the cosine of the list vectors of two places:
+ * {@code shared / sqrt(lists(a) * lists(b))}.
+ *
+ * <p>Lists with more than maxListSize places are left out: they cost a quadratic number of
+ * pairs and carry little signal.
+ *
+ * <p>The full build counts the neighbors of every place in parallel on a fork/join pool,
+ * each task owning a range of places. Incremental updates afterwards keep full neighbor
+ * rows Space-Saving style: a new neighbor replaces the weakest one and inherits its count,
+ * so counts may overshoot until the next full build.
+ */
+public class CoOccurrenceIndex {
+
+    /**
+     * A related place.
+     *
+     * @param placeId the place id
+     * @param score   the cosine similarity, or the sum of similarities for several seeds
+     * @param shared  the number of lists shared, or the sum for several seeds
+     */
+    public record Neighbor(long placeId, double score, int shared) {}
+
+    private static final int LEAF_SIZE = 256;
+
+    private final int maxNeighbors;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Row> rows = new HashMap<>();
+
+    public CoOccurrenceIndex(int maxNeighbors) {
+        this.maxNeighbors = maxNeighbors;
+    }
+
+    /**
+     * Builds the index from list memberships.
+     *
+     * @param listIds      the list of each membership, grouped by list
+     * @param placeIds     the place of each membership, at the same positions
+     * @param size         the number of memberships
+     * @param maxNeighbors the maximum number of neighbors per place
+     * @param maxListSize  the size above which lists are ignored
+     * @param pool         the pool counting neighbors
+     * @return the index
+     */
+    public static CoOccurrenceIndex build(long[] listIds, long[] placeIds, int size, int maxNeighbors,
+                                          int maxListSize, ForkJoinPool pool) {
+        // Dense place numbers, so counting uses arrays instead of maps
+        long[] places = Arrays.copyOf(placeIds, size);
+        Arrays.sort(places);
+        int placeCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (placeCount == 0 || places[placeCount - 1] != places[i]) {
+                places[placeCount++] = places[i];
+            }
+        }
+
+        // Lists as CSR: the items of list l are listItems[listStart[l] .. listStart[l + 1])
+        int[] listStart = new int[size + 1];
+        int[] listItems = new int[size];
+        int lists = 0;
+        int items = 0;
+        for (int start = 0; start < size; ) {
+            int end = start;
+            while (end < size && listIds[end] == listIds[start]) {
+                end++;
+            }
+            if (end - start <= maxListSize) {
+                listStart[lists++] = items;
+                for (int i = start; i < end; i++) {
+                    listItems[items++] = Arrays.binarySearch(places, 0, placeCount, placeIds[i]);
+                }
+            }
+            start = end;
+        }
+        listStart[lists] = items;
+
+        // Inverted CSR: the lists of place p are placeLists[placeStart[p] .. placeStart[p + 1])
+        int[] placeStart = new int[placeCount + 1];
+        for (int i = 0; i < items; i++) {
+            placeStart[listItems[i] + 1]++;
+        }
+        for (int p = 0; p < placeCount; p++) {
+            placeStart[p + 1] += placeStart[p];
+        }
+        int[] placeLists = new int[items];
+        int[] fill = Arrays.copyOf(placeStart, placeCount);
+        for (int l = 0; l < lists; l++) {
+            for (int i = listStart[l]; i < listStart[l + 1]; i++) {
+                placeLists[fill[listItems[i]]++] = l;
+            }
+        }
+
+        Row[] built = new Row[placeCount];
+        pool.invoke(new CountTask(new Csr(places, placeCount, listStart, listItems, placeStart, placeLists),
+                maxNeighbors, built, 0, placeCount));
+
+        CoOccurrenceIndex index = new CoOccurrenceIndex(maxNeighbors);
+        for (int p = 0; p < placeCount; p++) {
+            if (built[p] != null) {
+                index.rows.put(places[p], built[p]);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Counts a place added to a list.
+     *
+     * @param placeId the added place
+     * @param others  the other places of the list
+     */
+    public void added(long placeId, long[] others) {
+        lock.writeLock().lock();
+        try {
+            Row row = row(placeId);
+            row.lists++;
+            for (long other : others) {
+                row.increment(other, maxNeighbors);
+                row(other).increment(placeId, maxNeighbors);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts a place removed from a list.
+     *
+     * @param placeId the removed place
+     * @param others  the other places of the list
+     */
+    public void removed(long placeId, long[] others) {
+        lock.writeLock().lock();
+        try {
+            Row row = rows.get(placeId);
+            if (row == null) {
+                return;
+            }
+            row.lists = Math.max(0, row.lists - 1);
+            for (long other : others) {
+                row.decrement(other);
+                Row otherRow = rows.get(other);
+                if (otherRow != null) {
+                    otherRow.decrement(placeId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the places most similar to a place.
+     *
+     * @param placeId the place
+     * @param limit   the maximum number of places
+     * @return the places, most similar first
+     */
+    public List<Neighbor> neighbors(long placeId, int limit) {
+        return recommend(List.of(placeId), limit, id -> false);
+    }
+
+    /**
+     * Gets the places most similar to a set of places, adding up their similarities.
+     *
+     * @param seeds    the places
+     * @param limit    the maximum number of places
+     * @param excluded places to leave out, besides the seeds
+     * @return the places, highest total similarity first
+     */
+    public List<Neighbor> recommend(Collection<Long> seeds, int limit, LongPredicate excluded) {
+        lock.readLock().lock();
+        try {
+            Map<Long, double[]> totals = new HashMap<>();
+            for (Long seed : seeds) {
+                Row row = rows.get(seed);
+                if (row == null) {
+                    continue;
+                }
+                for (int i = 0; i < row.size; i++) {
+                    long candidate = row.ids[i];
+                    if (seeds.contains(candidate) || excluded.test(candidate)) {
+                        continue;
+                    }
+                    Row candidateRow = rows.get(candidate);
+                    int candidateLists = candidateRow != null ? Math.max(1, candidateRow.lists) : 1;
+                    double similarity = row.counts[i] / Math.sqrt((double) Math.max(1, row.lists) * candidateLists);
+                    double[] total = totals.computeIfAbsent(candidate, id -> new double[2]);
+                    total[0] += similarity;
+                    total[1] += row.counts[i];
+                }
+            }
+            List<Neighbor> neighbors = new ArrayList<>(totals.size());
+            totals.forEach((placeId, total) -> neighbors.add(new Neighbor(placeId, total[0], (int) total[1])));
+            neighbors.sort((a, b) -> a.score() != b.score()
+                    ? Double.compare(b.score(), a.score())
+                    : Long.compare(a.placeId(), b.placeId()));
+            return neighbors.size() > limit ? neighbors.subList(0, limit) : neighbors;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int placeCount() {
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Row row(long placeId) {
+        return rows.computeIfAbsent(placeId, id -> new Row(new long[0], new int[0], 0, 0));
+    }
+
+    /**
+     * Neighbors of one place, unordered, plus the number of lists containing it.
+     */
+    private static final class Row {
+
+        private long[] ids;
+        private int[] counts;
+        private int size;
+        private int lists;
+
+        private Row(long[] ids, int[] counts, int size, int lists) {
+            this.ids = ids;
+            this.counts = counts;
+            this.size = size;
+            this.lists = lists;
+        }
+
+        private void increment(long id, int maxNeighbors) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    counts[i]++;
+                    return;
+                }
+            }
+            if (size < maxNeighbors) {
+                if (size == ids.length) {
+                    int capacity = Math.min(maxNeighbors, Math.max(4, size * 2));
+                    ids = Arrays.copyOf(ids, capacity);
+                    counts = Arrays.copyOf(counts, capacity);
+                }
+                ids[size] = id;
+                counts[size++] = 1;
+                return;
+            }
+            int min = 0;
+            for (int i = 1; i < size; i++) {
+                if (counts[i] < counts[min]) {
+                    min = i;
+                }
+            }
+            ids[min] = id;
+            counts[min]++;
+        }
+
+        private void decrement(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    if (--counts[i] <= 0) {
+                        size--;
+                        ids[i] = ids[size];
+                        counts[i] = counts[size];
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    private record Csr(long[] places, int placeCount, int[] listStart, int[] listItems, int[] placeStart,
+                       int[] placeLists) {}
+
+    /**
+     * Counts the neighbors of a range of places, splitting it until it is small.
+     */
+    private static final class CountTask extends RecursiveAction {
+
+        // Per worker thread: shared-list counts indexed by dense place, and the touched places
+        private static final ThreadLocal<int[][]> SCRATCH = new ThreadLocal<>();
+
+        private final Csr csr;
+        private final int maxNeighbors;
+        private final Row[] built;
+        private final int from;
+        private final int to;
+
+        private CountTask(Csr csr, int maxNeighbors, Row[] built, int from, int to) {
+            this.csr = csr;
+            this.maxNeighbors = maxNeighbors;
+            this.built = built;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new CountTask(csr, maxNeighbors, built, from, middle),
+                        new CountTask(csr, maxNeighbors, built, middle, to));
+                return;
+            }
+            int[][] scratch = SCRATCH.get();
+            if (scratch == null || scratch[0].length < csr.placeCount()) {
+                scratch = new int[][] {new int[csr.placeCount()], new int[csr.placeCount()]};
+                SCRATCH.set(scratch);
+            }
+            int[] shared = scratch[0];
+            int[] touched = scratch[1];
+            for (int p = from; p < to; p++) {
+                int touchedCount = 0;
+                for (int i = csr.placeStart()[p]; i < csr.placeStart()[p + 1]; i++) {
+                    int list = csr.placeLists()[i];
+                    for (int j = csr.listStart()[list]; j < csr.listStart()[list + 1]; j++) {
+                        int q = csr.listItems()[j];
+                        if (q != p && shared[q]++ == 0) {
+                            touched[touchedCount++] = q;
+                        }
+                    }
+                }
+                // Keep the strongest neighbors: pack (count, place) so a primitive sort ranks them
+                long[] ranked = new long[touchedCount];
+                for (int i = 0; i < touchedCount; i++) {
+                    ranked[i] = ((long) shared[touched[i]] << 32) | touched[i];
+                    shared[touched[i]] = 0;
+                }
+                Arrays.sort(ranked);
+                int size = Math.min(maxNeighbors, touchedCount);
+                long[] ids = new long[size];
+                int[] counts = new int[size];
+                for (int i = 0; i < size; i++) {
+                    long packed = ranked[touchedCount - 1 - i];
+                    ids[i] = csr.places()[(int) packed];
+                    counts[i] = (int) (packed >>> 32);
+                }
+                built[p] = new Row(ids, counts, size, csr.placeStart()[p + 1] - csr.placeStart()[p]);
+            }
+        }
+    }
+}
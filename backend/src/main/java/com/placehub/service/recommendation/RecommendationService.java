@@ -0,0 +1,316 @@
+package com.placehub.service.recommendation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.placehub.DTO.PlaceResponse;
+import com.placehub.DTO.RecommendedPlaceResponse;
+import com.placehub.entity.Place;
+import com.placehub.entity.User;
+import com.placehub.event.PlaceSavedEvent;
+import com.placehub.event.PlaceUnsavedEvent;
+import com.placehub.exception.PlaceListNotFoundException;
+import com.placehub.exception.PlaceNotFoundException;
+import com.placehub.repository.PlaceListRepository;
+import com.placehub.repository.PlaceRepository;
+import com.placehub.repository.SavedPlaceRepository;
+import com.placehub.service.category.CategoryDictionary;
+import com.placehub.service.recommendation.CoOccurrenceIndex.Neighbor;
+import com.placehub.util.ColumnBuffer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for item-to-item place recommendations from the in-memory CoOccurrenceIndex:
+ * places saved together in public lists are related. The index is built on startup and
+ * rebuilt periodically on a fork/join pool; committed saves and removals update it in
+ * between. Copies of whole lists and visibility changes are picked up by the next rebuild.
+ * Changes made while a rebuild runs are brought into the new index before it is swapped in.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecommendationService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final int LOAD_FETCH_SIZE = 10_000;
+    private static final int MAX_SEEDS = 200;
+    private static final int IDS_PER_QUERY = 1000;
+    private static final String MEMBERSHIP_ROWS = "SELECT sp.place_list_id, sp.place_id FROM saved_places sp " +
+            "JOIN place_lists pl ON pl.id = sp.place_list_id WHERE pl.is_public = TRUE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SavedPlaceRepository savedPlaceRepository;
+    private final PlaceRepository placeRepository;
+    private final PlaceListRepository placeListRepository;
+    private final CategoryDictionary categoryDictionary;
+
+    @Value("${placehub.recommendations.max-neighbors:50}")
+    private int maxNeighbors;
+
+    @Value("${placehub.recommendations.max-list-size:500}")
+    private int maxListSize;
+
+    @Value("${placehub.recommendations.rebuild-parallelism:0}")
+    private int rebuildParallelism;
+
+    // Null until the first build; later builds count aside, then swap in behind the readers
+    private volatile CoOccurrenceIndex index;
+
+    // Guarded by this; while memberships stream, the public lists saved into or removed from
+    private Set<Long> listsChangedDuringRebuild;
+
+    // Guarded by this; from the re-read of those lists to the swap, the changes to replay
+    private List<Change> changesDuringRebuild;
+
+    /**
+     * Builds the index from the public lists, streaming their items. The stream may or may
+     * not see a change committed meanwhile, so the lists changed while it runs are read again
+     * instead of replaying their changes; only the changes after that are replayed. A change
+     * committed right before that re-read, with its listener still pending, may count twice
+     * until the next rebuild.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${placehub.recommendations.rebuild-interval:PT6H}",
+            fixedDelayString = "${placehub.recommendations.rebuild-interval:PT6H}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            listsChangedDuringRebuild = new HashSet<>();
+        }
+        try {
+            ColumnBuffer memberships = new ColumnBuffer(2, 0);
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(MEMBERSHIP_ROWS + " ORDER BY sp.place_list_id");
+                statement.setFetchSize(LOAD_FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                memberships.add(rs.getLong(1), rs.getLong(2));
+            });
+            synchronized (this) {
+                reread(memberships, listsChangedDuringRebuild);
+                listsChangedDuringRebuild = null;
+                changesDuringRebuild = new ArrayList<>();
+            }
+
+            int parallelism = rebuildParallelism > 0 ? rebuildParallelism
+                    : Runtime.getRuntime().availableProcessors();
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            CoOccurrenceIndex rebuilt;
+            try {
+                rebuilt = CoOccurrenceIndex.build(memberships.longs(0), memberships.longs(1), memberships.size(),
+                        maxNeighbors, maxListSize, pool);
+            } finally {
+                pool.shutdown();
+            }
+            synchronized (this) {
+                changesDuringRebuild.forEach(change -> change.applyTo(rebuilt));
+                index = rebuilt;
+            }
+            log.info("Built co-occurrences of {} places from {} saves in {} ms on {} threads",
+                    rebuilt.placeCount(), memberships.size(), System.currentTimeMillis() - start, parallelism);
+        } finally {
+            synchronized (this) {
+                listsChangedDuringRebuild = null;
+                changesDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Counts a place saved into a public list together with the other places of the list.
+     *
+     * @param event the save
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlaceSaved(PlaceSavedEvent event) {
+        if (event.publicList()) {
+            apply(new Change(event.placeListId(), event.placeId(),
+                    othersInList(event.placeListId(), event.placeId()), true));
+        }
+    }
+
+    /**
+     * Uncounts a place removed from a public list.
+     *
+     * @param event the removal
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlaceUnsaved(PlaceUnsavedEvent event) {
+        if (event.publicList()) {
+            apply(new Change(event.placeListId(), event.placeId(),
+                    othersInList(event.placeListId(), event.placeId()), false));
+        }
+    }
+
+    /**
+     * Gets the places most often saved in the same lists as a place.
+     *
+     * @param placeId the place id
+     * @param limit   the maximum number of places
+     * @return the places, most related first
+     * @throws PlaceNotFoundException if the place does not exist
+     */
+    @Transactional(readOnly = true)
+    public List<RecommendedPlaceResponse> getSimilarPlaces(Long placeId, int limit) {
+        if (!placeRepository.existsById(placeId)) {
+            throw new PlaceNotFoundException("Place not found with id: " + placeId);
+        }
+        CoOccurrenceIndex current = index;
+        if (current == null) {
+            return List.of();
+        }
+        return toResponses(current.neighbors(placeId, clamp(limit)));
+    }
+
+    /**
+     * Suggests places to add to a list of the user, related to its most recent places.
+     *
+     * @param placeListId the list id
+     * @param user        the current user
+     * @param limit       the maximum number of places
+     * @return the places not in the list yet, most related first
+     * @throws PlaceListNotFoundException if the list does not exist or belongs to another user
+     */
+    @Transactional(readOnly = true)
+    public List<RecommendedPlaceResponse> getListSuggestions(Long placeListId, User user, int limit) {
+        placeListRepository.findById(placeListId)
+                .filter(list -> list.getOwner().getId().equals(user.getId()))
+                .orElseThrow(() -> new PlaceListNotFoundException("Place list not found with id: " + placeListId));
+        Set<Long> seeds = new LinkedHashSet<>(savedPlaceRepository.findRecentPlaceIdsByPlaceListId(placeListId,
+                Limit.of(MAX_SEEDS)));
+        return suggest(seeds, clamp(limit), candidates -> savedPlaceRepository.findPlaceIdsInList(placeListId,
+                candidates));
+    }
+
+    /**
+     * Suggests places for the user, related to the places they saved most recently.
+     *
+     * @param user  the current user
+     * @param limit the maximum number of places
+     * @return the places the user has not saved yet, most related first
+     */
+    @Transactional(readOnly = true)
+    public List<RecommendedPlaceResponse> getUserSuggestions(User user, int limit) {
+        Set<Long> seeds = new LinkedHashSet<>(savedPlaceRepository.findRecentPlaceIdsByOwnerId(user.getId(),
+                Limit.of(MAX_SEEDS)));
+        return suggest(seeds, clamp(limit), candidates -> savedPlaceRepository.findPlaceIdsSavedBy(user.getId(),
+                candidates));
+    }
+
+    // The seeds may be a sample of the saved places, so candidates already saved are removed with one query
+    private List<RecommendedPlaceResponse> suggest(Set<Long> seeds, int limit,
+                                                   Function<List<Long>, List<Long>> alreadySaved) {
+        CoOccurrenceIndex current = index;
+        if (current == null || seeds.isEmpty()) {
+            return List.of();
+        }
+        List<Neighbor> candidates = current.recommend(seeds, limit * 2, id -> false);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> saved = new HashSet<>(alreadySaved.apply(candidates.stream().map(Neighbor::placeId).toList()));
+        return toResponses(candidates.stream()
+                .filter(candidate -> !saved.contains(candidate.placeId()))
+                .limit(limit)
+                .toList());
+    }
+
+    private List<RecommendedPlaceResponse> toResponses(List<Neighbor> neighbors) {
+        Map<Long, Place> places = placeRepository.findAllById(neighbors.stream().map(Neighbor::placeId).toList())
+                .stream().collect(Collectors.toMap(Place::getId, Function.identity()));
+        return neighbors.stream()
+                .filter(neighbor -> places.containsKey(neighbor.placeId()))
+                .map(neighbor -> {
+                    Place place = places.get(neighbor.placeId());
+                    return RecommendedPlaceResponse.builder()
+                            .place(PlaceResponse.from(place, categoryDictionary.slugOf(place.getCategoryCode())))
+                            .score(neighbor.score())
+                            .sharedListCount(neighbor.shared())
+                            .build();
+                })
+                .toList();
+    }
+
+    // Null when the list is too large to be counted, like in the full build
+    private long[] othersInList(Long placeListId, Long placeId) {
+        List<Long> placeIds = savedPlaceRepository.findRecentPlaceIdsByPlaceListId(placeListId,
+                Limit.of(maxListSize + 1));
+        if (placeIds.size() > maxListSize) {
+            return null;
+        }
+        return placeIds.stream().filter(id -> !id.equals(placeId)).mapToLong(Long::longValue).toArray();
+    }
+
+    // Replaces the streamed items of the given lists with their current items
+    private void reread(ColumnBuffer memberships, Set<Long> placeListIds) {
+        if (placeListIds.isEmpty()) {
+            return;
+        }
+        long[] listIds = memberships.longs(0);
+        memberships.retain(row -> !placeListIds.contains(listIds[row]));
+        List<Long> ids = List.copyOf(placeListIds);
+        for (int from = 0; from < ids.size(); from += IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IDS_PER_QUERY, ids.size()));
+            jdbcTemplate.query(MEMBERSHIP_ROWS + " AND sp.place_list_id IN (" +
+                    String.join(",", Collections.nCopies(chunk.size(), "?")) + ") ORDER BY sp.place_list_id",
+                    rs -> {
+                        memberships.add(rs.getLong(1), rs.getLong(2));
+                    }, chunk.toArray());
+        }
+    }
+
+    private synchronized void apply(Change change) {
+        if (listsChangedDuringRebuild != null) {
+            listsChangedDuringRebuild.add(change.placeListId());
+        }
+        if (change.others() == null) {
+            return;
+        }
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+        CoOccurrenceIndex current = index;
+        if (current != null) {
+            change.applyTo(current);
+        }
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private record Change(long placeListId, long placeId, long[] others, boolean added) {
+
+        void applyTo(CoOccurrenceIndex target) {
+            if (added) {
+                target.added(placeId, others);
+            } else {
+                target.removed(placeId, others);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.placehub.service.socialgeo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.placehub.DTO.FollowingSavedPlaceResponse;
+import com.placehub.DTO.PlaceResponse;
+import com.placehub.DTO.UserDTO;
+import com.placehub.entity.Place;
+import com.placehub.entity.User;
+import com.placehub.event.PlaceSavedEvent;
+import com.placehub.event.PlaceUnsavedEvent;
+import com.placehub.repository.PlaceRepository;
+import com.placehub.repository.UserRepository;
+import com.placehub.service.category.CategoryDictionary;
+import com.placehub.service.graph.FollowGraphService;
+import com.placehub.service.socialgeo.SaveGridIndex.Hit;
+import com.placehub.util.ColumnBuffer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for the places saved near a location by the users one follows. The followed users
+ * come from the in-memory follow graph and the saves of public lists from the in-memory
+ * SaveGridIndex, so a search touches neither follows nor saved_places; only the few places
+ * and users returned are loaded. The index is built on startup and rebuilt periodically;
+ * committed saves and removals update it in between. Place merges and moves are picked up
+ * by the next rebuild. Changes made while a rebuild runs are brought into the new index
+ * before it is swapped in.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FollowingNearbyService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final int LOAD_FETCH_SIZE = 10_000;
+    private static final int SAVERS_PER_PLACE = 3;
+    private static final int PAIRS_PER_QUERY = 500;
+    private static final String SAVE_ROWS = "SELECT pl.owner_id, sp.place_id, p.latitude, p.longitude " +
+            "FROM saved_places sp JOIN place_lists pl ON pl.id = sp.place_list_id " +
+            "JOIN places p ON p.id = sp.place_id WHERE pl.is_public = TRUE " +
+            "AND p.latitude IS NOT NULL AND p.longitude IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FollowGraphService followGraphService;
+    private final PlaceRepository placeRepository;
+    private final UserRepository userRepository;
+    private final CategoryDictionary categoryDictionary;
+
+    @Value("${placehub.following-nearby.cell-degrees:0.01}")
+    private double cellDegrees;
+
+    @Value("${placehub.following-nearby.max-radius-meters:50000}")
+    private double maxRadiusMeters;
+
+    // The grid searches read, null before the first build; a rebuild fills a new grid and swaps it in
+    private volatile SaveGridIndex index;
+
+    // Guarded by this; while the saves stream, the (saver, place) pairs saved or removed publicly
+    private Set<SaverPlace> savesChangedDuringRebuild;
+
+    // Guarded by this; from the re-read of those pairs to the swap, the changes to replay
+    private List<Change> changesDuringRebuild;
+
+    /**
+     * Builds the index from the saves of public lists, streaming them. A save or removal
+     * committed meanwhile may or may not be in the stream, so the pairs it touched are read
+     * again rather than replayed, and only the changes after that re-read are replayed. One
+     * committed right before the re-read, its listener still pending, may count twice until
+     * the next rebuild.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${placehub.following-nearby.rebuild-interval:PT6H}",
+            fixedDelayString = "${placehub.following-nearby.rebuild-interval:PT6H}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            savesChangedDuringRebuild = new HashSet<>();
+        }
+        try {
+            ColumnBuffer saves = new ColumnBuffer(2, 2);
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(SAVE_ROWS);
+                statement.setFetchSize(LOAD_FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                saves.add(rs.getLong(1), rs.getLong(2), rs.getDouble(3), rs.getDouble(4));
+            });
+            synchronized (this) {
+                reread(saves, savesChangedDuringRebuild);
+                savesChangedDuringRebuild = null;
+                changesDuringRebuild = new ArrayList<>();
+            }
+            SaveGridIndex rebuilt = SaveGridIndex.build(saves.longs(0), saves.longs(1), saves.doubles(0),
+                    saves.doubles(1), saves.size(), cellDegrees);
+            synchronized (this) {
+                changesDuringRebuild.forEach(change -> change.applyTo(rebuilt));
+                index = rebuilt;
+            }
+            log.info("Indexed {} saves near their places in {} ms", rebuilt.size(),
+                    System.currentTimeMillis() - start);
+        } finally {
+            synchronized (this) {
+                savesChangedDuringRebuild = null;
+                changesDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Indexes a place saved into a public list.
+     *
+     * @param event the save
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlaceSaved(PlaceSavedEvent event) {
+        if (event.publicList()) {
+            change(event.userId(), event.placeId(), true);
+        }
+    }
+
+    /**
+     * Unindexes a place removed from a public list.
+     *
+     * @param event the removal
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlaceUnsaved(PlaceUnsavedEvent event) {
+        if (event.publicList()) {
+            change(event.userId(), event.placeId(), false);
+        }
+    }
+
+    /**
+     * Gets the places the users followed by the user saved in public lists within a radius.
+     *
+     * @param user         the current user
+     * @param latitude     the centre latitude
+     * @param longitude    the centre longitude
+     * @param radiusMeters the radius, at most the configured maximum
+     * @param limit        the maximum number of places
+     * @return the places saved by the most followed users first, then the closest
+     * @throws IllegalArgumentException if the coordinates or the radius are invalid
+     */
+    @Transactional(readOnly = true)
+    public List<FollowingSavedPlaceResponse> getFollowingSavesNearby(User user, double latitude, double longitude,
+                                                                    double radiusMeters, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinates");
+        }
+        if (!(radiusMeters > 0 && radiusMeters <= maxRadiusMeters)) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + (long) maxRadiusMeters + " meters");
+        }
+        SaveGridIndex current = index;
+        long[] following = followGraphService.following(user.getId());
+        if (current == null || following.length == 0) {
+            return List.of();
+        }
+        List<Hit> hits = current.search(following, latitude, longitude, radiusMeters,
+                Math.max(1, Math.min(limit, MAX_LIMIT)), SAVERS_PER_PLACE);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Place> places = placeRepository.findAllById(hits.stream().map(Hit::placeId).toList()).stream()
+                .collect(Collectors.toMap(Place::getId, Function.identity()));
+        Map<Long, User> savers = userRepository.findAllById(hits.stream()
+                        .flatMap(hit -> Arrays.stream(hit.saverIds()).boxed()).distinct().toList()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return hits.stream()
+                .filter(hit -> places.containsKey(hit.placeId()))
+                .map(hit -> {
+                    Place place = places.get(hit.placeId());
+                    return FollowingSavedPlaceResponse.builder()
+                            .place(PlaceResponse.from(place, categoryDictionary.slugOf(place.getCategoryCode())))
+                            .distanceMeters(hit.distanceMeters())
+                            .savedByCount(hit.saverCount())
+                            .savedBy(Arrays.stream(hit.saverIds())
+                                    .mapToObj(savers::get)
+                                    .filter(Objects::nonNull)
+                                    .map(saver -> UserDTO.builder()
+                                            .id(saver.getId())
+                                            .firstName(saver.getFirstName())
+                                            .lastName(saver.getLastName())
+                                            .avatarUrl(saver.getAvatarUrl())
+                                            .build())
+                                    .toList())
+                            .build();
+                })
+                .toList();
+    }
+
+    private void change(Long userId, Long placeId, boolean added) {
+        // The save or removal just loaded this place, so the second-level cache usually has it
+        placeRepository.findById(placeId)
+                .filter(place -> place.getLatitude() != null && place.getLongitude() != null)
+                .ifPresent(place -> apply(new Change(userId, placeId, place.getLatitude(), place.getLongitude(),
+                        added)));
+    }
+
+    // Replaces the streamed saves of the given pairs with their current saves
+    private void reread(ColumnBuffer saves, Set<SaverPlace> pairs) {
+        if (pairs.isEmpty()) {
+            return;
+        }
+        long[] saverIds = saves.longs(0);
+        long[] placeIds = saves.longs(1);
+        saves.retain(row -> !pairs.contains(new SaverPlace(saverIds[row], placeIds[row])));
+        List<SaverPlace> keys = List.copyOf(pairs);
+        for (int from = 0; from < keys.size(); from += PAIRS_PER_QUERY) {
+            List<SaverPlace> chunk = keys.subList(from, Math.min(from + PAIRS_PER_QUERY, keys.size()));
+            Object[] args = chunk.stream()
+                    .flatMap(pair -> Stream.of(pair.saverId(), pair.placeId()))
+                    .toArray();
+            jdbcTemplate.query(SAVE_ROWS + " AND (pl.owner_id, sp.place_id) IN (" +
+                    String.join(",", Collections.nCopies(chunk.size(), "(?, ?)")) + ")", rs -> {
+                saves.add(rs.getLong(1), rs.getLong(2), rs.getDouble(3), rs.getDouble(4));
+            }, args);
+        }
+    }
+
+    private synchronized void apply(Change change) {
+        if (savesChangedDuringRebuild != null) {
+            savesChangedDuringRebuild.add(new SaverPlace(change.userId(), change.placeId()));
+        }
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+        SaveGridIndex current = index;
+        if (current != null) {
+            change.applyTo(current);
+        }
+    }
+
+    private record SaverPlace(long saverId, long placeId) {}
+
+    private record Change(long userId, long placeId, double latitude, double longitude, boolean added) {
+
+        void applyTo(SaveGridIndex target) {
+            if (added) {
+                target.add(userId, placeId, latitude, longitude);
+            } else {
+                target.remove(userId, placeId, latitude, longitude);
+            }
+        }
+    }
+
+}
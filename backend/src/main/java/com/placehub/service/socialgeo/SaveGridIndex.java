@@ -0,0 +1,381 @@
+package com.placehub.service.socialgeo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+import com.placehub.util.GeoUtils;
+
+/**
+ * In-memory uniform grid over saves, answering "which places did these users save near
+ * here" without joining follows, saved places and places. Each cell keeps a posting list of
+ * its saves sorted by saver id, in parallel primitive arrays (about 28 bytes per posting), so
+ * a query intersects the caller's sorted followee ids with the postings of the few cells the
+ * radius covers.
+ *
+ * <p>The intersection adapts to the sizes: when one side is much smaller, its ids are
+ * binary-searched in the other; otherwise both sorted arrays are merged in one pass. A user
+ * who saved a place in several lists is one posting with a count. Coordinates are stored as
+ * floats, a few metres of precision.
+ */
+public class SaveGridIndex {
+
+    /**
+     * A place saved by some of the searched users.
+     *
+     * @param placeId        the place id
+     * @param distanceMeters the distance from the searched location
+     * @param saverCount     the number of searched users who saved it
+     * @param saverIds       some of them, at most the requested sample size
+     */
+    public record Hit(long placeId, double distanceMeters, int saverCount, long[] saverIds) {}
+
+    private final double cellDegrees;
+    private final int longitudeCells;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private long size;
+
+    public SaveGridIndex(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.longitudeCells = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    /**
+     * Builds the index from saves, e.g. streamed from the database.
+     *
+     * @param saverIds    the user of each save
+     * @param placeIds    the place of each save, at the same positions
+     * @param latitudes   the latitude of each place
+     * @param longitudes  the longitude of each place
+     * @param size        the number of saves
+     * @param cellDegrees the cell size
+     * @return the index
+     */
+    public static SaveGridIndex build(long[] saverIds, long[] placeIds, double[] latitudes, double[] longitudes,
+                                      int size, double cellDegrees) {
+        SaveGridIndex index = new SaveGridIndex(cellDegrees);
+        // Dense ranks preserve the id order, so a (saver, place) pair packs into one sortable long
+        long[] savers = distinct(saverIds, size);
+        long[] places = distinct(placeIds, size);
+        float[] placeLatitudes = new float[places.length];
+        float[] placeLongitudes = new float[places.length];
+        Map<Long, long[]> grouped = new HashMap<>();
+        Map<Long, Integer> groupSizes = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            int place = Arrays.binarySearch(places, placeIds[i]);
+            placeLatitudes[place] = (float) latitudes[i];
+            placeLongitudes[place] = (float) longitudes[i];
+            long key = index.cellKey(latitudes[i], longitudes[i]);
+            int count = groupSizes.merge(key, 1, Integer::sum);
+            long[] packed = grouped.get(key);
+            if (packed == null || packed.length < count) {
+                packed = packed == null ? new long[4] : Arrays.copyOf(packed, packed.length * 2);
+                grouped.put(key, packed);
+            }
+            packed[count - 1] = ((long) Arrays.binarySearch(savers, saverIds[i]) << 32) | place;
+        }
+
+        grouped.forEach((key, packed) -> {
+            int count = groupSizes.get(key);
+            Arrays.sort(packed, 0, count);
+            Cell cell = new Cell(count);
+            for (int i = 0; i < count; i++) {
+                if (cell.size > 0 && packed[i] == packed[i - 1]) {
+                    cell.counts[cell.size - 1]++;
+                    continue;
+                }
+                int place = (int) packed[i];
+                cell.savers[cell.size] = savers[(int) (packed[i] >>> 32)];
+                cell.places[cell.size] = places[place];
+                cell.latitudes[cell.size] = placeLatitudes[place];
+                cell.longitudes[cell.size] = placeLongitudes[place];
+                cell.counts[cell.size++] = 1;
+            }
+            index.cells.put(key, cell);
+            index.size += cell.size;
+        });
+        return index;
+    }
+
+    /**
+     * Adds a save of a place by a user.
+     */
+    public void add(long saverId, long placeId, double latitude, double longitude) {
+        lock.writeLock().lock();
+        try {
+            Cell cell = cells.computeIfAbsent(cellKey(latitude, longitude), key -> new Cell(4));
+            if (cell.add(saverId, placeId, (float) latitude, (float) longitude)) {
+                size++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a save of a place by a user.
+     */
+    public void remove(long saverId, long placeId, double latitude, double longitude) {
+        lock.writeLock().lock();
+        try {
+            long key = cellKey(latitude, longitude);
+            Cell cell = cells.get(key);
+            if (cell != null && cell.remove(saverId, placeId)) {
+                size--;
+                if (cell.size == 0) {
+                    cells.remove(key);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the places some users saved within a radius.
+     *
+     * @param saverIds     the users, sorted
+     * @param latitude     the centre latitude
+     * @param longitude    the centre longitude
+     * @param radiusMeters the radius
+     * @param limit        the maximum number of places
+     * @param sampleSize   the maximum number of savers returned per place
+     * @return the places saved by the most users first, then the closest
+     */
+    public List<Hit> search(long[] saverIds, double latitude, double longitude, double radiusMeters, int limit,
+                            int sampleSize) {
+        int row = row(latitude);
+        int column = column(longitude);
+        int rowSpan = (int) Math.ceil(GeoUtils.metersToLatitudeDegrees(radiusMeters) / cellDegrees);
+        int columnSpan = (int) Math.min(longitudeCells / 2,
+                Math.ceil(GeoUtils.metersToLongitudeDegrees(radiusMeters, latitude) / cellDegrees));
+
+        Map<Long, Accumulator> found = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (int r = row - rowSpan; r <= row + rowSpan; r++) {
+                for (int c = column - columnSpan; c <= column + columnSpan; c++) {
+                    Cell cell = cells.get(key(r, Math.floorMod(c, longitudeCells)));
+                    if (cell == null) {
+                        continue;
+                    }
+                    intersect(saverIds, cell, i -> {
+                        double distance = GeoUtils.distanceMeters(latitude, longitude, cell.latitudes[i],
+                                cell.longitudes[i]);
+                        if (distance <= radiusMeters) {
+                            found.computeIfAbsent(cell.places[i], id -> new Accumulator(distance, sampleSize))
+                                    .add(cell.savers[i]);
+                        }
+                    });
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(found.size());
+        found.forEach((placeId, accumulator) -> hits.add(new Hit(placeId, accumulator.distance, accumulator.count,
+                Arrays.copyOf(accumulator.sample, Math.min(accumulator.count, accumulator.sample.length)))));
+        hits.sort((a, b) -> a.saverCount() != b.saverCount()
+                ? Integer.compare(b.saverCount(), a.saverCount())
+                : a.distanceMeters() != b.distanceMeters()
+                        ? Double.compare(a.distanceMeters(), b.distanceMeters())
+                        : Long.compare(a.placeId(), b.placeId()));
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Visits the postings of the cell whose saver is in the sorted ids
+    private static void intersect(long[] ids, Cell cell, IntConsumer match) {
+        int n = cell.size;
+        int m = ids.length;
+        if (n == 0 || m == 0) {
+            return;
+        }
+        if ((long) m * log2(n) < n) {
+            int from = 0;
+            for (int j = 0; j < m && from < n; j++) {
+                int i = lowerBound(cell.savers, from, n, ids[j]);
+                while (i < n && cell.savers[i] == ids[j]) {
+                    match.accept(i++);
+                }
+                from = i;
+            }
+        } else if ((long) n * log2(m) < m) {
+            for (int i = 0; i < n; i++) {
+                if (Arrays.binarySearch(ids, cell.savers[i]) >= 0) {
+                    match.accept(i);
+                }
+            }
+        } else {
+            for (int i = 0, j = 0; i < n && j < m; ) {
+                if (cell.savers[i] < ids[j]) {
+                    i++;
+                } else if (cell.savers[i] > ids[j]) {
+                    j++;
+                } else {
+                    match.accept(i++);
+                }
+            }
+        }
+    }
+
+    private static int log2(int n) {
+        return 32 - Integer.numberOfLeadingZeros(n);
+    }
+
+    private static int lowerBound(long[] values, int from, int to, long value) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (values[middle] < value) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+
+    private static long[] distinct(long[] values, int size) {
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (count == 0 || sorted[count - 1] != sorted[i]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return key(row(latitude), column(longitude));
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), longitudeCells);
+    }
+
+    /**
+     * Savers found for one place.
+     */
+    private static final class Accumulator {
+
+        private final double distance;
+        private final long[] sample;
+        private int count;
+
+        private Accumulator(double distance, int sampleSize) {
+            this.distance = distance;
+            this.sample = new long[sampleSize];
+        }
+
+        private void add(long saverId) {
+            if (count < sample.length) {
+                sample[count] = saverId;
+            }
+            count++;
+        }
+    }
+
+    /**
+     * Postings of one cell, sorted by saver then place, with growth slack.
+     */
+    private static final class Cell {
+
+        private long[] savers;
+        private long[] places;
+        private float[] latitudes;
+        private float[] longitudes;
+        private int[] counts;
+        private int size;
+
+        private Cell(int capacity) {
+            savers = new long[capacity];
+            places = new long[capacity];
+            latitudes = new float[capacity];
+            longitudes = new float[capacity];
+            counts = new int[capacity];
+        }
+
+        // True if the posting is new
+        private boolean add(long saverId, long placeId, float latitude, float longitude) {
+            int i = position(saverId, placeId);
+            if (i < size && savers[i] == saverId && places[i] == placeId) {
+                counts[i]++;
+                return false;
+            }
+            if (size == savers.length) {
+                int capacity = Math.max(4, size * 2);
+                savers = Arrays.copyOf(savers, capacity);
+                places = Arrays.copyOf(places, capacity);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            int moved = size - i;
+            System.arraycopy(savers, i, savers, i + 1, moved);
+            System.arraycopy(places, i, places, i + 1, moved);
+            System.arraycopy(latitudes, i, latitudes, i + 1, moved);
+            System.arraycopy(longitudes, i, longitudes, i + 1, moved);
+            System.arraycopy(counts, i, counts, i + 1, moved);
+            savers[i] = saverId;
+            places[i] = placeId;
+            latitudes[i] = latitude;
+            longitudes[i] = longitude;
+            counts[i] = 1;
+            size++;
+            return true;
+        }
+
+        // True if the posting is gone
+        private boolean remove(long saverId, long placeId) {
+            int i = position(saverId, placeId);
+            if (i == size || savers[i] != saverId || places[i] != placeId) {
+                return false;
+            }
+            if (--counts[i] > 0) {
+                return false;
+            }
+            int moved = size - i - 1;
+            System.arraycopy(savers, i + 1, savers, i, moved);
+            System.arraycopy(places, i + 1, places, i, moved);
+            System.arraycopy(latitudes, i + 1, latitudes, i, moved);
+            System.arraycopy(longitudes, i + 1, longitudes, i, moved);
+            System.arraycopy(counts, i + 1, counts, i, moved);
+            size--;
+            return true;
+        }
+
+        // First posting not before (saver, place)
+        private int position(long saverId, long placeId) {
+            int i = lowerBound(savers, 0, size, saverId);
+            while (i < size && savers[i] == saverId && places[i] < placeId) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.placehub.service.summary;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import com.placehub.repository.PlaceListSummaryRepository;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for maintaining PlaceList summaries. Writers report each item change in their own
+ * transaction, and the summary row is adjusted by the difference between the old and new
+ * state of the item: counters and sums are updated in place, the bounding box only grows
+ * on insert and is only rescanned when a removed point was on its edge.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlaceListSummaryService {
+
+    private final PlaceListSummaryRepository placeListSummaryRepository;
+
+    /**
+     * The fields of a saved place that contribute to its list summary.
+     *
+     * @param savedPlaceId the saved place id
+     * @param rating       the rating, or null if unrated
+     * @param visited      whether the place was visited
+     * @param latitude     the place latitude
+     * @param longitude    the place longitude
+     * @param imageUrl     the custom image, or null
+     */
+    public record ItemState(Long savedPlaceId, Integer rating, boolean visited, double latitude,
+                            double longitude, String imageUrl) {}
+
+    /**
+     * Creates the summaries of lists that have none, at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void createMissingSummaries() {
+        int created = placeListSummaryRepository.createMissing();
+        if (created > 0) {
+            log.info("Created {} missing place list summaries", created);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void listCreated(Long placeListId) {
+        placeListSummaryRepository.createEmpty(placeListId);
+    }
+
+    /**
+     * Creates the summary of a fork whose items were just copied, and counts the fork
+     * on the source.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void listForked(Long sourceId, Long forkId) {
+        if (!placeListSummaryRepository.createForFork(sourceId, forkId)) {
+            placeListSummaryRepository.rebuild(List.of(forkId));
+        }
+        placeListSummaryRepository.incrementForkCount(sourceId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemAdded(Long placeListId, ItemState item) {
+        placeListSummaryRepository.addDeltas(placeListId, 1, item.visited() ? 1 : 0,
+                item.rating() != null ? 1 : 0, ratingOf(item), item.latitude(), item.longitude());
+        placeListSummaryRepository.expandBounds(placeListId, item.latitude(), item.longitude());
+        if (item.imageUrl() != null) {
+            placeListSummaryRepository.setCover(placeListId, item.savedPlaceId(), item.imageUrl());
+        }
+    }
+
+    /**
+     * Must be called after the saved place row was deleted and flushed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemRemoved(Long placeListId, ItemState item) {
+        placeListSummaryRepository.addDeltas(placeListId, -1, item.visited() ? -1 : 0,
+                item.rating() != null ? -1 : 0, -ratingOf(item), -item.latitude(), -item.longitude());
+        placeListSummaryRepository.shrinkBounds(placeListId, item.latitude(), item.longitude());
+        if (item.imageUrl() != null) {
+            placeListSummaryRepository.refreshCover(placeListId);
+        }
+    }
+
+    /**
+     * Must be called after the saved place row was updated and flushed. The place of an item
+     * never changes, so only rating, visited and image can differ.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemUpdated(Long placeListId, ItemState before, ItemState after) {
+        int visited = (after.visited() ? 1 : 0) - (before.visited() ? 1 : 0);
+        int ratings = (after.rating() != null ? 1 : 0) - (before.rating() != null ? 1 : 0);
+        int ratingSum = ratingOf(after) - ratingOf(before);
+        if (visited != 0 || ratings != 0 || ratingSum != 0) {
+            placeListSummaryRepository.addDeltas(placeListId, 0, visited, ratings, ratingSum, 0, 0);
+        }
+        if (!Objects.equals(before.imageUrl(), after.imageUrl())) {
+            placeListSummaryRepository.refreshCover(placeListId);
+        }
+    }
+
+    /**
+     * Recomputes summaries from scratch, for bulk changes such as place merges.
+     *
+     * @param placeListIds the lists
+     */
+    @Transactional
+    public void rebuild(Collection<Long> placeListIds) {
+        placeListSummaryRepository.rebuild(placeListIds);
+    }
+
+    private static int ratingOf(ItemState item) {
+        return item.rating() != null ? item.rating() : 0;
+    }
+}
@@ -0,0 +1,97 @@
+package com.placehub.service.summary;
+
+import java.util.Collection;
+
+import com.placehub.entity.PlaceRatingSummary;
+import com.placehub.repository.PlaceRatingSummaryRepository;
+import com.placehub.service.summary.PlaceListSummaryService.ItemState;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for maintaining per-place rating and visit summaries. Writers report each saved
+ * place change in their own transaction, and the summary row of the place is adjusted by the
+ * difference between the old and new state of the entry. Deltas are added in the database,
+ * so concurrent writers never overwrite each other's counts; the old state must be read
+ * under the list lock so that it is the committed one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlaceRatingSummaryService {
+
+    private final PlaceRatingSummaryRepository placeRatingSummaryRepository;
+
+    /**
+     * Creates the summaries of saved places that have none, at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void createMissingSummaries() {
+        int created = placeRatingSummaryRepository.createMissing();
+        if (created > 0) {
+            log.info("Created {} missing place rating summaries", created);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemAdded(Long placeId, ItemState item) {
+        addDifference(placeId, null, item);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemRemoved(Long placeId, ItemState item) {
+        addDifference(placeId, item, null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemUpdated(Long placeId, ItemState before, ItemState after) {
+        addDifference(placeId, before, after);
+    }
+
+    /**
+     * Recomputes summaries from the saved entries, for bulk changes such as place merges.
+     *
+     * @param placeIds the places
+     */
+    @Transactional
+    public void rebuild(Collection<Long> placeIds) {
+        placeRatingSummaryRepository.rebuild(placeIds);
+    }
+
+    /**
+     * Gets the summary of a place.
+     *
+     * @return the summary, empty for a place saved nowhere
+     */
+    @Transactional(readOnly = true)
+    public PlaceRatingSummary getSummary(Long placeId) {
+        return placeRatingSummaryRepository.findByPlaceId(placeId)
+                .orElseGet(() -> PlaceRatingSummary.builder().placeId(placeId).build());
+    }
+
+    private void addDifference(Long placeId, ItemState before, ItemState after) {
+        int[] ratings = new int[5];
+        if (before != null && before.rating() != null) {
+            ratings[before.rating() - 1]--;
+        }
+        if (after != null && after.rating() != null) {
+            ratings[after.rating() - 1]++;
+        }
+        int visited = (after != null && after.visited() ? 1 : 0) - (before != null && before.visited() ? 1 : 0);
+        boolean changed = visited != 0;
+        for (int delta : ratings) {
+            changed |= delta != 0;
+        }
+        if (changed) {
+            placeRatingSummaryRepository.addDeltas(placeId, ratings, visited);
+        }
+    }
+}
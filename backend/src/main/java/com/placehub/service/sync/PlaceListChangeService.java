@@ -0,0 +1,124 @@
+package com.placehub.service.sync;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import com.placehub.entity.PlaceList;
+import com.placehub.event.PlaceListsChangedEvent;
+import com.placehub.exception.PlaceListVersionConflictException;
+import com.placehub.repository.PlaceListChangeRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service recording list versions and the change log used for delta sync. Writers report
+ * changed saved places in their own transaction; the list version is incremented once per
+ * write and every changed saved place is logged under the new version, so a client at
+ * version v needs exactly the saved places logged after v. Old entries are pruned; a
+ * client whose version predates the log gets a full snapshot instead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlaceListChangeService {
+
+    private final PlaceListChangeRepository placeListChangeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${placehub.sync.change-retention:P30D}")
+    private Duration changeRetention;
+
+    /**
+     * Rejects a write made against another version of the list than the current one.
+     * The list must be locked by the caller.
+     *
+     * @param placeList       the locked list
+     * @param expectedVersion the version the client last saw, or null to skip the check
+     * @throws PlaceListVersionConflictException if the versions differ
+     */
+    public static void checkVersion(PlaceList placeList, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(placeList.getVersion())) {
+            throw new PlaceListVersionConflictException("Place list " + placeList.getId() + " is at version " +
+                    placeList.getVersion() + ", not " + expectedVersion);
+        }
+    }
+
+    /**
+     * Records a write to saved places of one list; they may have been deleted.
+     *
+     * @return the new list version
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long itemsChanged(Long placeListId, Collection<Long> savedPlaceIds) {
+        long version = placeListChangeRepository.incrementVersion(placeListId);
+        placeListChangeRepository.insertChanges(placeListId, version, savedPlaceIds);
+        eventPublisher.publishEvent(new PlaceListsChangedEvent(List.of(placeListId)));
+        return version;
+    }
+
+    /**
+     * Records a write to every saved place of a list, such as a copy or a rewrite of its order.
+     *
+     * @return the new list version
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long allItemsChanged(Long placeListId) {
+        long version = placeListChangeRepository.incrementVersion(placeListId);
+        placeListChangeRepository.insertAllItems(placeListId, version);
+        eventPublisher.publishEvent(new PlaceListsChangedEvent(List.of(placeListId)));
+        return version;
+    }
+
+    /**
+     * Records a bulk write to existing saved places of a user, possibly in several lists.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void savedPlacesChanged(Collection<Long> savedPlaceIds, Long ownerId) {
+        if (!savedPlaceIds.isEmpty()) {
+            List<Long> placeListIds = placeListChangeRepository.recordChanges(savedPlaceIds, ownerId);
+            eventPublisher.publishEvent(new PlaceListsChangedEvent(placeListIds));
+        }
+    }
+
+    /**
+     * Records a change of a place, which changes every saved place referencing it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void placeChanged(Long placeId) {
+        placesChanged(List.of(placeId));
+    }
+
+    /**
+     * Records a change of places, e.g. a batch of backfilled addresses, in one pass over their
+     * lists.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void placesChanged(Collection<Long> placeIds) {
+        if (!placeIds.isEmpty()) {
+            List<Long> placeListIds = placeListChangeRepository.recordPlaceChanges(placeIds);
+            eventPublisher.publishEvent(new PlaceListsChangedEvent(placeListIds));
+        }
+    }
+
+    /**
+     * Deletes change log entries older than the retention period.
+     */
+    @Scheduled(cron = "${placehub.sync.prune-cron:0 30 3 * * *}")
+    @Transactional
+    public void pruneChanges() {
+        int deleted = placeListChangeRepository.deleteOlderThan(LocalDateTime.now().minus(changeRetention));
+        if (deleted > 0) {
+            log.info("Pruned {} place list changes", deleted);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.placehub.service.tag;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.placehub.repository.SavedPlaceTagRepository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache between tag names and their ids. Tags are never renamed or deleted, so cached
+ * entries cannot go stale. Unknown names are inserted in their own transaction, so an id
+ * is only cached once its row is committed.
+ */
+@Slf4j
+@Service
+public class TagDictionary {
+
+    public static final int MAX_TAG_LENGTH = 64;
+
+    private final SavedPlaceTagRepository savedPlaceTagRepository;
+    private final TransactionTemplate newTransaction;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    public TagDictionary(SavedPlaceTagRepository savedPlaceTagRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.savedPlaceTagRepository = savedPlaceTagRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns the ids of the given tags, creating the tags that do not exist yet.
+     *
+     * @param names tag names, normalised here
+     * @return the distinct tag ids
+     * @throws IllegalArgumentException if a name is blank or too long
+     */
+    public List<Integer> resolve(Collection<String> names) {
+        Set<String> normalized = normalize(names);
+        List<String> missing = normalized.stream().filter(name -> !ids.containsKey(name)).toList();
+        if (!missing.isEmpty()) {
+            try {
+                newTransaction.executeWithoutResult(status -> savedPlaceTagRepository.insertTags(missing));
+            } catch (DuplicateKeyException e) {
+                // A concurrent insert won; its rows are read back below
+                log.debug("Concurrent creation of tags {}", missing, e);
+            }
+            ids.putAll(savedPlaceTagRepository.findTagIds(missing));
+        }
+        return lookup(normalized);
+    }
+
+    /**
+     * Returns the ids of the given tags without creating unknown ones.
+     *
+     * @param names tag names, normalised here
+     * @return the distinct ids of the tags that exist
+     */
+    public List<Integer> find(Collection<String> names) {
+        Set<String> normalized = normalize(names);
+        List<String> missing = normalized.stream().filter(name -> !ids.containsKey(name)).toList();
+        if (!missing.isEmpty()) {
+            ids.putAll(savedPlaceTagRepository.findTagIds(missing));
+        }
+        return lookup(normalized);
+    }
+
+    /**
+     * Normalises a tag name: trimmed and lowercase.
+     *
+     * @param name the tag name
+     * @return the normalised name
+     * @throws IllegalArgumentException if the name is blank or too long
+     */
+    public static String normalize(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Tag must not be blank");
+        }
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        if (normalized.length() > MAX_TAG_LENGTH) {
+            throw new IllegalArgumentException("Tag must be at most " + MAX_TAG_LENGTH + " characters: " + name);
+        }
+        return normalized;
+    }
+
+    private static Set<String> normalize(Collection<String> names) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String name : names) {
+            normalized.add(normalize(name));
+        }
+        return normalized;
+    }
+
+    private List<Integer> lookup(Set<String> names) {
+        List<Integer> tagIds = new ArrayList<>(names.size());
+        for (String name : names) {
+            Integer id = ids.get(name);
+            if (id != null) {
+                tagIds.add(id);
+            }
+        }
+        return tagIds;
+    }
+}
@@ -0,0 +1,56 @@
+package com.placehub.service.tag;
+
+import javax.sql.DataSource;
+
+import com.placehub.util.SchemaUtils;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-off migration of the legacy saved_place_tags element collection (one tag string per row)
+ * to the tags dictionary and saved_place_tag_links. Runs at startup and does nothing once the
+ * legacy table is gone.
+ */
+@Slf4j
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class TagMigration implements ApplicationRunner {
+
+    // Same normalisation as TagDictionary.normalize
+    private static final String NORMALIZED_TAG = "SUBSTRING(LOWER(TRIM(o.tag)) FROM 1 FOR " + TagDictionary.MAX_TAG_LENGTH + ")";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!SchemaUtils.hasColumn(dataSource, "saved_place_tags", "tag")) {
+            return;
+        }
+        log.info("Migrating saved_place_tags to the tag dictionary");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            int tags = jdbcTemplate.update("INSERT INTO tags (name) " +
+                    "SELECT DISTINCT " + NORMALIZED_TAG + " FROM saved_place_tags o " +
+                    "WHERE o.tag IS NOT NULL AND TRIM(o.tag) <> '' " +
+                    "AND NOT EXISTS (SELECT 1 FROM tags t WHERE t.name = " + NORMALIZED_TAG + ")");
+            int links = jdbcTemplate.update("INSERT INTO saved_place_tag_links (saved_place_id, tag_id) " +
+                    "SELECT DISTINCT o.saved_place_id, t.id FROM saved_place_tags o " +
+                    "JOIN tags t ON t.name = " + NORMALIZED_TAG + " " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM saved_place_tag_links l " +
+                    "WHERE l.saved_place_id = o.saved_place_id AND l.tag_id = t.id)");
+            jdbcTemplate.execute("DROP TABLE saved_place_tags");
+            log.info("Migrated {} distinct tags and {} tag links", tags, links);
+        });
+    }
+}
@@ -0,0 +1,179 @@
+package com.placehub.service.trending;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Space-Saving top-k sketch over exponentially decayed counts.
+ *
+ * <p>At most {@code capacity} items are monitored. A new item replaces the item with the
+ * smallest count and inherits that count as its error, so any item whose true count exceeds
+ * total / capacity is guaranteed to be monitored, and every estimate overshoots by at most
+ * its error.
+ *
+ * <p>Counts decay with a half-life using forward decay: an event at time t adds
+ * {@code 2^((t - landmark) / halfLife)} and a count is read back by multiplying with
+ * {@code 2^(-(now - landmark) / halfLife)}. Stored counts then never need to be touched as
+ * time passes, and the sketch keeps the same ordering Space-Saving relies on. The landmark
+ * is an absolute time and moves forward before the weights overflow, so a serialized sketch
+ * restored later decays correctly on its own.
+ *
+ * <p>Capacities are small (tens to a few hundred), so items live in flat arrays and lookups
+ * and minimum searches are linear scans. Not thread-safe; TrendingIndex guards it.
+ */
+class DecayedSpaceSaving {
+
+    // Move the landmark before weights reach 2^64
+    private static final double MAX_EXPONENT = 64;
+
+    private final long halfLifeMillis;
+    private final long[] ids;
+    private final double[] counts;
+    private final double[] errors;
+    private int size;
+    private long landmark;
+
+    DecayedSpaceSaving(int capacity, long halfLifeMillis, long landmark) {
+        this.halfLifeMillis = halfLifeMillis;
+        this.ids = new long[capacity];
+        this.counts = new double[capacity];
+        this.errors = new double[capacity];
+        this.landmark = landmark;
+    }
+
+    /**
+     * Counts one occurrence of an item.
+     *
+     * @param id  the item
+     * @param now the time of the occurrence, in epoch milliseconds
+     */
+    void add(long id, long now) {
+        double exponent = (double) (now - landmark) / halfLifeMillis;
+        if (exponent > MAX_EXPONENT) {
+            rescale(now);
+            exponent = 0;
+        }
+        double weight = Math.pow(2, exponent);
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                counts[i] += weight;
+                return;
+            }
+        }
+        if (size < ids.length) {
+            ids[size] = id;
+            counts[size] = weight;
+            errors[size] = 0;
+            size++;
+            return;
+        }
+        int min = 0;
+        for (int i = 1; i < size; i++) {
+            if (counts[i] < counts[min]) {
+                min = i;
+            }
+        }
+        ids[min] = id;
+        errors[min] = counts[min];
+        counts[min] += weight;
+    }
+
+    /**
+     * Gets the items with the highest decayed counts.
+     *
+     * @param limit the maximum number of items
+     * @param now   the current time, in epoch milliseconds
+     * @return the items, highest count first
+     */
+    Entry[] top(int limit, long now) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(counts[b], counts[a]));
+        double decay = decay(now);
+        Entry[] top = new Entry[Math.min(limit, size)];
+        for (int i = 0; i < top.length; i++) {
+            int slot = order[i];
+            top[i] = new Entry(ids[slot], counts[slot] * decay, errors[slot] * decay);
+        }
+        return top;
+    }
+
+    /**
+     * Gets the sum of the decayed counts, e.g. to rank or evict regions.
+     */
+    double total(long now) {
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += counts[i];
+        }
+        return total * decay(now);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Serializes the sketch: landmark, size, then id, count and error of each item.
+     */
+    byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES + size * (Long.BYTES + 2 * Double.BYTES));
+        buffer.putLong(landmark).putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(ids[i]).putDouble(counts[i]).putDouble(errors[i]);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Restores a serialized sketch. Items beyond the capacity, lowest counts first, are dropped.
+     */
+    static DecayedSpaceSaving fromBytes(byte[] bytes, int capacity, long halfLifeMillis) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        DecayedSpaceSaving sketch = new DecayedSpaceSaving(capacity, halfLifeMillis, buffer.getLong());
+        int size = buffer.getInt();
+        DecayedSpaceSaving all = new DecayedSpaceSaving(size, halfLifeMillis, sketch.landmark);
+        for (int i = 0; i < size; i++) {
+            all.ids[i] = buffer.getLong();
+            all.counts[i] = buffer.getDouble();
+            all.errors[i] = buffer.getDouble();
+        }
+        all.size = size;
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(all.counts[b], all.counts[a]));
+        sketch.size = Math.min(size, capacity);
+        for (int i = 0; i < sketch.size; i++) {
+            sketch.ids[i] = all.ids[order[i]];
+            sketch.counts[i] = all.counts[order[i]];
+            sketch.errors[i] = all.errors[order[i]];
+        }
+        return sketch;
+    }
+
+    private double decay(long now) {
+        return Math.pow(2, -(double) (now - landmark) / halfLifeMillis);
+    }
+
+    private void rescale(long now) {
+        double decay = decay(now);
+        for (int i = 0; i < size; i++) {
+            counts[i] *= decay;
+            errors[i] *= decay;
+        }
+        landmark = now;
+    }
+
+    /**
+     * A monitored item.
+     *
+     * @param id    the item
+     * @param count the decayed count estimate
+     * @param error the maximum overestimation of the count
+     */
+    record Entry(long id, double count, double error) {}
+}
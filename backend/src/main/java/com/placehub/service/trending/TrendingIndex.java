@@ -0,0 +1,135 @@
+package com.placehub.service.trending;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory trending places: one DecayedSpaceSaving sketch per region key. Memory is bounded
+ * by the sketch capacity times the maximum number of regions; the least recently used region
+ * is dropped beyond that. Regions changed since the last snapshot are tracked so snapshots
+ * only write those.
+ */
+public class TrendingIndex {
+
+    /**
+     * A trending place.
+     *
+     * @param placeId the place id
+     * @param score   the decayed number of recent saves
+     */
+    public record Trend(long placeId, double score) {}
+
+    private final int capacity;
+    private final int maxRegions;
+    private final long halfLifeMillis;
+
+    // Guarded by this
+    private final Set<String> dirty = new HashSet<>();
+    private final Set<String> evicted = new HashSet<>();
+    private final LinkedHashMap<String, DecayedSpaceSaving> regions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DecayedSpaceSaving> eldest) {
+            if (size() <= maxRegions) {
+                return false;
+            }
+            dirty.remove(eldest.getKey());
+            evicted.add(eldest.getKey());
+            return true;
+        }
+    };
+
+    public TrendingIndex(int capacity, int maxRegions, long halfLifeMillis) {
+        this.capacity = capacity;
+        this.maxRegions = maxRegions;
+        this.halfLifeMillis = halfLifeMillis;
+    }
+
+    /**
+     * Counts a save of a place in a region.
+     *
+     * @param region  the region key
+     * @param placeId the place id
+     * @param now     the time of the save, in epoch milliseconds
+     */
+    public synchronized void add(String region, long placeId, long now) {
+        regions.computeIfAbsent(region, key -> new DecayedSpaceSaving(capacity, halfLifeMillis, now))
+                .add(placeId, now);
+        evicted.remove(region);
+        dirty.add(region);
+    }
+
+    /**
+     * Gets the most saved places of some regions.
+     *
+     * @param regionKeys the regions
+     * @param limit      the maximum number of places, at most the sketch capacity
+     * @param now        the current time, in epoch milliseconds
+     * @return the places, highest score first
+     */
+    public synchronized List<Trend> top(Collection<String> regionKeys, int limit, long now) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (String region : regionKeys) {
+            DecayedSpaceSaving sketch = regions.get(region);
+            if (sketch != null) {
+                for (DecayedSpaceSaving.Entry entry : sketch.top(limit, now)) {
+                    scores.merge(entry.id(), entry.count(), Double::sum);
+                }
+            }
+        }
+        List<Trend> trends = new ArrayList<>(scores.size());
+        scores.forEach((placeId, score) -> trends.add(new Trend(placeId, score)));
+        trends.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return trends.size() > limit ? trends.subList(0, limit) : trends;
+    }
+
+    /**
+     * Restores a region from a snapshot.
+     */
+    public synchronized void restore(String region, byte[] payload) {
+        regions.put(region, DecayedSpaceSaving.fromBytes(payload, capacity, halfLifeMillis));
+    }
+
+    /**
+     * Serializes the regions changed since the last call and forgets that they changed.
+     *
+     * @return the serialized sketches by region key
+     */
+    public synchronized Map<String, byte[]> drainDirty() {
+        Map<String, byte[]> changed = new HashMap<>(dirty.size());
+        for (String region : dirty) {
+            changed.put(region, regions.get(region).toBytes());
+        }
+        dirty.clear();
+        return changed;
+    }
+
+    /**
+     * Gets the regions dropped since the last call and forgets them.
+     */
+    public synchronized Set<String> drainEvicted() {
+        Set<String> dropped = new HashSet<>(evicted);
+        evicted.clear();
+        return dropped;
+    }
+
+    /**
+     * Marks regions as changed again, e.g. after a failed snapshot.
+     */
+    public synchronized void markDirty(Collection<String> regionKeys) {
+        for (String region : regionKeys) {
+            if (regions.containsKey(region)) {
+                dirty.add(region);
+            }
+        }
+    }
+
+    public synchronized int regionCount() {
+        return regions.size();
+    }
+}
@@ -0,0 +1,229 @@
+package com.placehub.service.trending;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.placehub.DTO.PlaceResponse;
+import com.placehub.DTO.TrendingPlaceResponse;
+import com.placehub.entity.Place;
+import com.placehub.event.PlaceSavedEvent;
+import com.placehub.repository.PlaceRepository;
+import com.placehub.repository.TrendingSnapshotRepository;
+import com.placehub.service.category.CategoryDictionary;
+import com.placehub.service.trending.TrendingIndex.Trend;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for trending places: the places saved most often recently in a city or around a
+ * location. Every committed save is counted in memory in the sketch of the place's city and
+ * in the sketch of its grid cell, so rankings are read without touching saved_places. Old
+ * saves fade out with the configured half-life.
+ *
+ * <p>Changed sketches are snapshotted periodically and restored on startup. Without any
+ * snapshot, the sketches are warmed up once from the recent saves. Each node counts the
+ * saves it commits, so with several nodes each ranks from a sample of the saves.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+
+    private static final int LOAD_FETCH_SIZE = 10_000;
+
+    private final PlaceRepository placeRepository;
+    private final TrendingSnapshotRepository trendingSnapshotRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${placehub.trending.half-life:PT24H}")
+    private Duration halfLife;
+
+    @Value("${placehub.trending.capacity:100}")
+    private int capacity;
+
+    @Value("${placehub.trending.max-regions:20000}")
+    private int maxRegions;
+
+    @Value("${placehub.trending.cell-degrees:0.1}")
+    private double cellDegrees;
+
+    @Value("${placehub.trending.warm-up:P3D}")
+    private Duration warmUp;
+
+    private volatile TrendingIndex index;
+
+    /**
+     * Restores the sketches from their snapshots, or warms them up from recent saves.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.currentTimeMillis();
+        TrendingIndex loaded = new TrendingIndex(capacity, maxRegions, halfLife.toMillis());
+        trendingSnapshotRepository.forEach(loaded::restore);
+        if (loaded.regionCount() == 0) {
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement("SELECT sp.place_id, sp.created_at, p.city, p.country, " +
+                        "p.latitude, p.longitude FROM saved_places sp JOIN places p ON p.id = sp.place_id " +
+                        "WHERE sp.created_at > ? ORDER BY sp.created_at");
+                statement.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now().minus(warmUp)));
+                statement.setFetchSize(LOAD_FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                long time = rs.getTimestamp(2).getTime();
+                for (String region : regionsOf(rs.getString(3), rs.getString(4), rs.getDouble(5), rs.getDouble(6))) {
+                    loaded.add(region, rs.getLong(1), time);
+                }
+            });
+        }
+        index = loaded;
+        log.info("Loaded trending places of {} regions in {} ms", loaded.regionCount(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Counts a committed save.
+     *
+     * @param event the save
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlaceSaved(PlaceSavedEvent event) {
+        TrendingIndex current = index;
+        if (current == null) {
+            return;
+        }
+        // Served from the second-level cache in the common case
+        placeRepository.findById(event.placeId()).ifPresent(place -> {
+            long now = System.currentTimeMillis();
+            for (String region : regionsOf(place.getCity(), place.getCountry(), place.getLatitude(),
+                    place.getLongitude())) {
+                current.add(region, place.getId(), now);
+            }
+        });
+    }
+
+    /**
+     * Gets the trending places of a city.
+     *
+     * @param city    the city
+     * @param country the country, as stored on places
+     * @param limit   the maximum number of places
+     * @return the places, most saved first
+     */
+    @Transactional(readOnly = true)
+    public List<TrendingPlaceResponse> getTrendingInCity(String city, String country, int limit) {
+        if (city == null || city.isBlank() || country == null || country.isBlank()) {
+            throw new IllegalArgumentException("City and country are required");
+        }
+        return top(List.of(cityKey(city, country)), limit);
+    }
+
+    /**
+     * Gets the trending places around a location: those of its grid cell and the eight
+     * cells around it.
+     *
+     * @param latitude  the latitude
+     * @param longitude the longitude
+     * @param limit     the maximum number of places
+     * @return the places, most saved first
+     */
+    @Transactional(readOnly = true)
+    public List<TrendingPlaceResponse> getTrendingNearby(double latitude, double longitude, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinates");
+        }
+        long row = (long) Math.floor(latitude / cellDegrees);
+        long column = (long) Math.floor(longitude / cellDegrees);
+        List<String> cells = new ArrayList<>(9);
+        for (long r = row - 1; r <= row + 1; r++) {
+            for (long c = column - 1; c <= column + 1; c++) {
+                cells.add("cell:" + r + ":" + c);
+            }
+        }
+        return top(cells, limit);
+    }
+
+    private List<TrendingPlaceResponse> top(List<String> regions, int limit) {
+        TrendingIndex current = index;
+        if (current == null) {
+            return List.of();
+        }
+        List<Trend> trends = current.top(regions, Math.max(1, Math.min(limit, capacity)), System.currentTimeMillis());
+        Map<Long, Place> places = placeRepository.findAllById(trends.stream().map(Trend::placeId).toList()).stream()
+                .collect(Collectors.toMap(Place::getId, Function.identity()));
+        return trends.stream()
+                .filter(trend -> places.containsKey(trend.placeId()))
+                .map(trend -> {
+                    Place place = places.get(trend.placeId());
+                    return TrendingPlaceResponse.builder()
+                            .place(PlaceResponse.from(place, categoryDictionary.slugOf(place.getCategoryCode())))
+                            .score(trend.score())
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * Writes the sketches changed since the last snapshot, and drops the snapshots of
+     * regions evicted from memory.
+     */
+    @Scheduled(initialDelayString = "${placehub.trending.snapshot-interval:PT5M}",
+            fixedDelayString = "${placehub.trending.snapshot-interval:PT5M}")
+    @PreDestroy
+    public void snapshot() {
+        TrendingIndex current = index;
+        if (current == null) {
+            return;
+        }
+        Map<String, byte[]> changed = current.drainDirty();
+        Set<String> evicted = current.drainEvicted();
+        try {
+            if (!changed.isEmpty()) {
+                trendingSnapshotRepository.upsert(changed);
+            }
+            if (!evicted.isEmpty()) {
+                trendingSnapshotRepository.delete(evicted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to snapshot {} trending regions, retrying later", changed.size(), e);
+            current.markDirty(changed.keySet());
+        }
+    }
+
+    private List<String> regionsOf(String city, String country, Double latitude, Double longitude) {
+        List<String> regions = new ArrayList<>(2);
+        if (city != null && !city.isBlank() && country != null && !country.isBlank()) {
+            regions.add(cityKey(city, country));
+        }
+        if (latitude != null && longitude != null) {
+            regions.add("cell:" + (long) Math.floor(latitude / cellDegrees) + ":"
+                    + (long) Math.floor(longitude / cellDegrees));
+        }
+        return regions;
+    }
+
+    private static String cityKey(String city, String country) {
+        return "city:" + country.trim().toLowerCase(Locale.ROOT) + ":" + city.trim().toLowerCase(Locale.ROOT);
+    }
+}
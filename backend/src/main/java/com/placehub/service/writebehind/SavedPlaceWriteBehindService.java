@@ -0,0 +1,272 @@
+package com.placehub.service.writebehind;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import com.placehub.DTO.UpdateSavedPlaceRequest;
+import com.placehub.event.SavedPlacesChangedEvent;
+import com.placehub.repository.PlaceListRepository;
+import com.placehub.repository.SavedPlaceRepository;
+import com.placehub.repository.projection.SavedPlaceRow;
+import com.placehub.service.summary.PlaceListSummaryService;
+import com.placehub.service.summary.PlaceListSummaryService.ItemState;
+import com.placehub.service.summary.PlaceRatingSummaryService;
+import com.placehub.service.sync.PlaceListChangeService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional write-behind for the note, rating and visited flag of saved places. Mobile clients
+ * toggle these in quick succession; in write-behind mode each edit only updates a pending
+ * entry in memory, coalesced per saved place, and the entries are flushed periodically as one
+ * JDBC batch. The flush takes the list locks, applies the summaries and records the list
+ * changes like a synchronous update, so a burst of edits costs one write per saved place.
+ *
+ * <p>Durability: pending edits are flushed on shutdown. A node that dies loses the edits of
+ * at most one flush interval; beyond max-pending entries, edits are written synchronously.
+ *
+ * <p>Consistency: reads of a list by its owner flush the owner's pending edits of the list
+ * first, before the read transaction starts, so owners always read their own writes, with
+ * matching validators and versions. Flushes run in a transaction of their own and must not be
+ * called from inside another one, which would hold a second pool connection meanwhile.
+ * Other users see the edits after the next flush. A synchronous write to a saved place takes
+ * its pending edit and applies it first, waiting for a flush that is writing it; the edit is
+ * buffered again if the write rolls back.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SavedPlaceWriteBehindService {
+
+    /**
+     * Pending edits of one saved place; null fields are left unchanged.
+     */
+    public record BufferedUpdate(Long placeListId, Long ownerId, String note, Integer rating, Boolean visited) {
+
+        /**
+         * Coalesces a later edit into this one: the later non-null fields win.
+         */
+        public BufferedUpdate then(BufferedUpdate later) {
+            return new BufferedUpdate(placeListId, ownerId,
+                    later.note != null ? later.note : note,
+                    later.rating != null ? later.rating : rating,
+                    later.visited != null ? later.visited : visited);
+        }
+    }
+
+    private final SavedPlaceRepository savedPlaceRepository;
+    private final PlaceListRepository placeListRepository;
+    private final PlaceListSummaryService placeListSummaryService;
+    private final PlaceRatingSummaryService placeRatingSummaryService;
+    private final PlaceListChangeService placeListChangeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${placehub.saved-places.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${placehub.saved-places.write-behind.max-pending:10000}")
+    private int maxPending;
+
+    // Guarded by this; pending edits by saved place id, and the ids a flush is writing
+    private final Map<Long, BufferedUpdate> pending = new LinkedHashMap<>();
+    private final Set<Long> flushing = new HashSet<>();
+
+    // Held while a flush writes, so flushes apply edits in the order they were made
+    private final Object flushLock = new Object();
+
+    /**
+     * Tells whether an update may be buffered: write-behind is on, the buffer has room, and
+     * the update only changes the note, rating or visited flag without a version check.
+     */
+    public boolean accepts(UpdateSavedPlaceRequest request) {
+        if (!enabled || request.getExpectedVersion() != null || request.getImageUrl() != null
+                || (request.getNote() == null && request.getRating() == null && request.getVisited() == null)) {
+            return false;
+        }
+        synchronized (this) {
+            return pending.size() < maxPending;
+        }
+    }
+
+    /**
+     * Buffers an update of a saved place, coalescing it with its pending edits.
+     *
+     * @param savedPlaceId the saved place id
+     * @param update       the edit
+     * @return all pending edits of the saved place, this one included
+     */
+    public synchronized BufferedUpdate buffer(Long savedPlaceId, BufferedUpdate update) {
+        return pending.merge(savedPlaceId, update, BufferedUpdate::then);
+    }
+
+    /**
+     * Removes the pending edits of a saved place, for a synchronous write that applies them.
+     * Waits while a flush is writing edits of the saved place, so the write comes after them.
+     * Taken inside a transaction, the edits are buffered again if it rolls back, so a write
+     * rejected for its owner or version does not lose them.
+     *
+     * @param savedPlaceId the saved place id
+     * @return the pending edits, or null if there are none
+     */
+    public synchronized BufferedUpdate take(Long savedPlaceId) {
+        boolean interrupted = false;
+        while (flushing.contains(savedPlaceId)) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        BufferedUpdate taken = pending.remove(savedPlaceId);
+        if (taken != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(savedPlaceId, taken);
+                    }
+                }
+            });
+        }
+        return taken;
+    }
+
+    /**
+     * Writes the pending edits of a user in one list, before the user reads the list.
+     *
+     * @param placeListId the list id
+     * @param userId      the reading user
+     */
+    public void flushList(Long placeListId, Long userId) {
+        flush(update -> update.placeListId().equals(placeListId) && update.ownerId().equals(userId));
+    }
+
+    /**
+     * Writes the pending edits of a user, before the user reads the summaries of their lists.
+     *
+     * @param userId the reading user
+     */
+    public void flushUser(Long userId) {
+        flush(update -> update.ownerId().equals(userId));
+    }
+
+    /**
+     * Writes all pending edits. Edits of a failed flush are kept for the next one.
+     */
+    @Scheduled(fixedDelayString = "${placehub.saved-places.write-behind.flush-interval:PT1S}")
+    @PreDestroy
+    public void flush() {
+        flush(update -> true);
+    }
+
+    private void flush(Predicate<BufferedUpdate> selected) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Buffered saved place edits must be flushed outside of a transaction");
+        }
+        synchronized (flushLock) {
+            Map<Long, BufferedUpdate> batch = drain(selected);
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush {} buffered saved place updates, retrying later", batch.size(), e);
+                requeue(batch);
+            } finally {
+                synchronized (this) {
+                    flushing.removeAll(batch.keySet());
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private synchronized Map<Long, BufferedUpdate> drain(Predicate<BufferedUpdate> selected) {
+        Map<Long, BufferedUpdate> batch = new LinkedHashMap<>();
+        var iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            if (selected.test(entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+        }
+        flushing.addAll(batch.keySet());
+        return batch;
+    }
+
+    // Edits buffered since the drain are later, so they win over the failed ones
+    private synchronized void requeue(Map<Long, BufferedUpdate> batch) {
+        batch.forEach((savedPlaceId, update) -> pending.merge(savedPlaceId, update, (later, failed) -> failed.then(later)));
+    }
+
+    // Edits buffered since the take are later, so they win over the restored ones
+    private synchronized void restore(Long savedPlaceId, BufferedUpdate taken) {
+        pending.merge(savedPlaceId, taken, (later, restored) -> restored.then(later));
+    }
+
+    private void write(Map<Long, BufferedUpdate> batch) {
+        // Lists are locked in id order, so concurrent flushes and list writers cannot deadlock
+        TreeMap<Long, List<Long>> byList = new TreeMap<>();
+        batch.forEach((savedPlaceId, update) ->
+                byList.computeIfAbsent(update.placeListId(), id -> new ArrayList<>()).add(savedPlaceId));
+
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (Map.Entry<Long, List<Long>> list : byList.entrySet()) {
+            Long placeListId = list.getKey();
+            if (placeListRepository.findByIdForUpdate(placeListId).isEmpty()) {
+                continue;
+            }
+            // Read under the lock: the committed state the edits replace. Removed items are skipped.
+            List<SavedPlaceRow> rows = savedPlaceRepository.findRowsByIds(placeListId, list.getValue());
+            if (rows.isEmpty()) {
+                continue;
+            }
+            List<Long> written = new ArrayList<>(rows.size());
+            for (SavedPlaceRow row : rows) {
+                BufferedUpdate update = batch.get(row.id());
+                ItemState before = new ItemState(row.id(), row.rating(), Boolean.TRUE.equals(row.visited()),
+                        row.latitude(), row.longitude(), row.imageUrl());
+                ItemState after = new ItemState(row.id(),
+                        update.rating() != null ? update.rating() : row.rating(),
+                        update.visited() != null ? update.visited() : before.visited(),
+                        row.latitude(), row.longitude(), row.imageUrl());
+                placeListSummaryService.itemUpdated(placeListId, before, after);
+                placeRatingSummaryService.itemUpdated(row.placeId(), before, after);
+                args.add(new Object[] {update.note(), update.rating(), update.visited(), row.id()});
+                written.add(row.id());
+            }
+            // Both take effect after commit, so they may come before the batch
+            placeListChangeService.itemsChanged(placeListId, written);
+            eventPublisher.publishEvent(new SavedPlacesChangedEvent(written));
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE saved_places SET note = COALESCE(CAST(? AS VARCHAR(1000)), note), " +
+                    "rating = COALESCE(CAST(? AS INTEGER), rating), visited = COALESCE(CAST(? AS BOOLEAN), visited) " +
+                    "WHERE id = ?", args);
+        }
+    }
+}
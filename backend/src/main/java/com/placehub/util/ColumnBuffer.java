@@ -0,0 +1,95 @@
+package com.placehub.util;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Growable table of primitive columns, for rows streamed from the database into an
+ * in-memory index without boxing them. Capacity doubles when full. The column arrays are
+ * exposed as they are, so only their first {@link #size()} entries are rows.
+ */
+public final class ColumnBuffer {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final long[][] longs;
+    private final double[][] doubles;
+    private int size;
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param longColumns   the number of long columns, first in a row
+     * @param doubleColumns the number of double columns, after them
+     */
+    public ColumnBuffer(int longColumns, int doubleColumns) {
+        longs = new long[longColumns][INITIAL_CAPACITY];
+        doubles = new double[doubleColumns][INITIAL_CAPACITY];
+    }
+
+    /**
+     * Appends a row of a buffer with two long columns.
+     */
+    public void add(long first, long second) {
+        int row = grow();
+        longs[0][row] = first;
+        longs[1][row] = second;
+    }
+
+    /**
+     * Appends a row of a buffer with two long and two double columns.
+     */
+    public void add(long first, long second, double third, double fourth) {
+        int row = grow();
+        longs[0][row] = first;
+        longs[1][row] = second;
+        doubles[0][row] = third;
+        doubles[1][row] = fourth;
+    }
+
+    /**
+     * Removes the rows not matching a predicate, keeping the order of the others.
+     *
+     * @param row tests a row by its position; rows before it may already have moved
+     */
+    public void retain(IntPredicate row) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!row.test(i)) {
+                continue;
+            }
+            for (long[] column : longs) {
+                column[kept] = column[i];
+            }
+            for (double[] column : doubles) {
+                column[kept] = column[i];
+            }
+            kept++;
+        }
+        size = kept;
+    }
+
+    public long[] longs(int column) {
+        return longs[column];
+    }
+
+    public double[] doubles(int column) {
+        return doubles[column];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int grow() {
+        if (size == longs[0].length) {
+            for (int i = 0; i < longs.length; i++) {
+                longs[i] = Arrays.copyOf(longs[i], size * 2);
+            }
+            for (int i = 0; i < doubles.length; i++) {
+                doubles[i] = Arrays.copyOf(doubles[i], size * 2);
+            }
+        }
+        return size++;
+    }
+}
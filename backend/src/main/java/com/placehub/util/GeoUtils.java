@@ -0,0 +1,59 @@
+package com.placehub.util;
+
+/**
+ * Utility methods for geographic distance calculations on WGS84 coordinates.
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    // Length of one degree of latitude, and of longitude at the equator
+    public static final double METERS_PER_DEGREE = 111_320.0;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Computes the great-circle distance between two points using the haversine formula.
+     *
+     * @param lat1 latitude of the first point in degrees
+     * @param lon1 longitude of the first point in degrees
+     * @param lat2 latitude of the second point in degrees
+     * @param lon2 longitude of the second point in degrees
+     * @return the distance in meters
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Converts a distance in meters to degrees of longitude at the given latitude.
+     * Near the poles the result is capped at 360 degrees.
+     *
+     * @param meters   the distance in meters
+     * @param latitude the latitude in degrees
+     * @return the distance in degrees of longitude
+     */
+    public static double metersToLongitudeDegrees(double meters, double latitude) {
+        double cos = Math.cos(Math.toRadians(latitude));
+        if (cos < 1e-6) {
+            return 360.0;
+        }
+        return Math.min(360.0, meters / (METERS_PER_DEGREE * cos));
+    }
+
+    /**
+     * Converts a distance in meters to degrees of latitude.
+     *
+     * @param meters the distance in meters
+     * @return the distance in degrees of latitude
+     */
+    public static double metersToLatitudeDegrees(double meters) {
+        return meters / METERS_PER_DEGREE;
+    }
+}
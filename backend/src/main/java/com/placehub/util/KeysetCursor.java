@@ -0,0 +1,64 @@
+package com.placehub.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a collection ordered by (createdAt, id), exchanged with clients as an
+ * opaque string. Queries continue strictly after the position with a row-value comparison
+ * that a composite (..., created_at, id) index answers with a single range scan, so every
+ * page costs the same however deep the client scrolls.
+ *
+ * @param createdAt the creation time of the last row of the previous page
+ * @param id        the id of that row, breaking ties between equal timestamps
+ */
+public record KeysetCursor(LocalDateTime createdAt, long id) implements PageCursor {
+
+    // Sentinels before/after every real row, used for the first page
+    private static final KeysetCursor BEFORE_FIRST = new KeysetCursor(LocalDateTime.of(1, 1, 1, 0, 0), 0);
+    private static final KeysetCursor AFTER_LAST =
+            new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Decodes a cursor for a collection in ascending order.
+     *
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @return the position to continue after
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static KeysetCursor ascending(String cursor) {
+        return cursor == null || cursor.isEmpty() ? BEFORE_FIRST : decode(cursor);
+    }
+
+    /**
+     * Decodes a cursor for a collection in descending order.
+     *
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @return the position to continue after
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static KeysetCursor descending(String cursor) {
+        return cursor == null || cursor.isEmpty() ? AFTER_LAST : decode(cursor);
+    }
+
+    @Override
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.placehub.util;
+
+/**
+ * Position in a keyset-paginated collection that can be handed to clients as an opaque string.
+ */
+public interface PageCursor {
+
+    String encode();
+}
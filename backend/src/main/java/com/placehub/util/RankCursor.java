@@ -0,0 +1,47 @@
+package com.placehub.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a collection ordered by (rank, id), exchanged with clients as an opaque
+ * string. The counterpart of KeysetCursor for user-ordered collections, answered by a
+ * composite (..., rank_key) index.
+ *
+ * @param rank the rank key of the last row of the previous page
+ * @param id   the id of that row, breaking ties between equal keys
+ */
+public record RankCursor(String rank, long id) implements PageCursor {
+
+    // Sorts before every rank key
+    private static final RankCursor BEFORE_FIRST = new RankCursor("", 0);
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Decodes a cursor.
+     *
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @return the position to continue after
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static RankCursor ascending(String cursor) {
+        return cursor == null || cursor.isEmpty() ? BEFORE_FIRST : decode(cursor);
+    }
+
+    @Override
+    public String encode() {
+        String raw = rank + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static RankCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new RankCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.placehub.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * HTTP validators of a resource, derived from version columns. The ETag is weak: it changes
+ * whenever the versioned rows change, but data the response embeds from other rows, such as
+ * the places of list items, may be newer than the tag until the next version bump.
+ *
+ * @param eTag         the weak entity tag, quoted
+ * @param lastModified the last modification, in epoch milliseconds, or -1 if unknown
+ */
+public record ResourceVersion(String eTag, long lastModified) {
+
+    /**
+     * Builds the validators of a resource.
+     *
+     * @param lastModified the newest update time of the rows the resource is made of, or null
+     * @param versions     the versions of those rows, in a fixed order
+     * @return the validators
+     */
+    public static ResourceVersion of(LocalDateTime lastModified, Object... versions) {
+        String tag = Arrays.stream(versions).map(version -> Objects.toString(version, "0"))
+                .collect(Collectors.joining("-"));
+        long millis = lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new ResourceVersion("W/\"" + tag + "\"", millis);
+    }
+
+    /**
+     * Returns the later of two times, ignoring nulls.
+     */
+    public static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null || b == null) {
+            return a == null ? b : a;
+        }
+        return a.isAfter(b) ? a : b;
+    }
+}
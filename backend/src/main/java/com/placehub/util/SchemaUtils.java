@@ -0,0 +1,62 @@
+package com.placehub.util;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.Locale;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+/**
+ * Utility methods for the startup data migrations, which run against whatever schema
+ * ddl-auto left behind.
+ */
+public final class SchemaUtils {
+
+    private SchemaUtils() {
+    }
+
+    /**
+     * Checks whether a column exists. Identifiers are matched in lower and upper case,
+     * as PostgreSQL folds unquoted names to lower case and H2 to upper case.
+     *
+     * @param dataSource the data source
+     * @param table      the table name
+     * @param column     the column name
+     * @return true if the table has the column
+     */
+    public static boolean hasColumn(DataSource dataSource, String table, String column) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, (DatabaseMetaData metaData) -> {
+                for (String tableName : new String[] {table, table.toUpperCase(Locale.ROOT)}) {
+                    for (String columnName : new String[] {column, column.toUpperCase(Locale.ROOT)}) {
+                        try (ResultSet columns = metaData.getColumns(null, null, tableName, columnName)) {
+                            if (columns.next()) {
+                                return true;
+                            }
+                        }
+                    }
+                }
+                return false;
+            });
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Could not inspect table " + table, e);
+        }
+    }
+
+    /**
+     * Checks whether a table constraint exists, in either case as for columns.
+     *
+     * @param jdbcTemplate the JDBC template
+     * @param constraint   the constraint name
+     * @return true if the constraint exists
+     */
+    public static boolean hasConstraint(JdbcTemplate jdbcTemplate, String constraint) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.table_constraints " +
+                "WHERE constraint_name IN (?, ?)", Integer.class, constraint, constraint.toUpperCase(Locale.ROOT));
+        return count != null && count > 0;
+    }
+}
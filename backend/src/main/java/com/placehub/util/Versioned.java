@@ -0,0 +1,10 @@
+package com.placehub.util;
+
+/**
+ * A response body with the validators of the rows it was read from.
+ *
+ * @param body    the response body
+ * @param version the validators, consistent with the body
+ */
+public record Versioned<T>(T body, ResourceVersion version) {
+}
@@ -0,0 +1,183 @@
+package com.placehub;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.placehub.entity.Place;
+import com.placehub.entity.SavedPlace;
+import com.placehub.entity.User;
+import com.placehub.repository.SequenceRepository;
+import com.placehub.repository.UserRepository;
+import com.placehub.service.ordering.RankKeys;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Test data shared by the integration tests: users found or created by email, places and
+ * saved places inserted in bulk with ids reserved from their sequences, so they never collide
+ * with rows Hibernate inserts, and a cleanup deleting everything a test's users and places
+ * left behind. A component of the test classpath, picked up by the one shared context.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestFixtures {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final SequenceRepository sequenceRepository;
+
+    /**
+     * Finds the user with an email, or creates it.
+     *
+     * @param email the email
+     * @return the saved user
+     */
+    public User user(String email) {
+        return userRepository.findByEmail(email)
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .firstName("Test")
+                        .lastName(email.substring(0, email.indexOf('@')))
+                        .email(email)
+                        .password("encoded-password")
+                        .build()));
+    }
+
+    /**
+     * Inserts places created by a user, one per point.
+     *
+     * @param creator the creator
+     * @param points  the {latitude, longitude} of each place
+     * @return the place ids, in the order of the points
+     */
+    public List<Long> places(User creator, double[]... points) {
+        long[] ids = sequenceRepository.allocateIds("places_seq", Place.ID_ALLOCATION_SIZE, points.length);
+        List<Object[]> rows = new ArrayList<>(points.length);
+        for (int i = 0; i < points.length; i++) {
+            rows.add(new Object[] {ids[i], "Place " + ids[i], points[i][0], points[i][1], creator.getId()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO places (id, name, category_code, latitude, longitude, source, " +
+                "created_by_id) VALUES (?, ?, 1, ?, ?, 'USER', ?)", rows);
+        return toList(ids);
+    }
+
+    /**
+     * Inserts places created by a user, all at one point.
+     *
+     * @param creator   the creator
+     * @param count     the number of places
+     * @param latitude  their latitude
+     * @param longitude their longitude
+     * @return the place ids
+     */
+    public List<Long> places(User creator, int count, double latitude, double longitude) {
+        double[][] points = new double[count][];
+        Arrays.fill(points, new double[] {latitude, longitude});
+        return places(creator, points);
+    }
+
+    /**
+     * Inserts unvisited saved places into a list, one per place, ranked in order. Summaries,
+     * counters and change logs are not maintained; rebuild them if the test reads them.
+     *
+     * @param placeListId the list
+     * @param placeIds    the places
+     * @param ratings     the rating of each saved place, null entries for none
+     * @return the saved place ids, in the order of the places
+     */
+    public List<Long> savedPlaces(Long placeListId, List<Long> placeIds, List<Integer> ratings) {
+        long[] ids = sequenceRepository.allocateIds("saved_places_seq", SavedPlace.ID_ALLOCATION_SIZE,
+                placeIds.size());
+        List<String> ranks = RankKeys.sequence(placeIds.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(placeIds.size());
+        for (int i = 0; i < placeIds.size(); i++) {
+            rows.add(new Object[] {ids[i], placeListId, placeIds.get(i), ranks.get(i), ratings.get(i), now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO saved_places (id, place_list_id, place_id, rank_key, rating, visited, " +
+                "created_at) VALUES (?, ?, ?, ?, ?, FALSE, ?)", rows);
+        return toList(ids);
+    }
+
+    /**
+     * Inserts unrated, unvisited saved places into a list, like {@link #savedPlaces(Long, List, List)}.
+     */
+    public List<Long> savedPlaces(Long placeListId, List<Long> placeIds) {
+        return savedPlaces(placeListId, placeIds, Collections.nCopies(placeIds.size(), null));
+    }
+
+    /**
+     * Deletes the lists of users, with the lists forked from them, and their follows, feeds and
+     * counters; then places, with their summaries and counters. The users themselves are kept.
+     *
+     * @param users    the users
+     * @param placeIds the places
+     */
+    public void deleteAll(Collection<User> users, Collection<Long> placeIds) {
+        List<Long> userIds = users.stream().map(User::getId).toList();
+        if (!userIds.isEmpty()) {
+            String inUsers = " IN (" + placeholders(userIds) + ")";
+            Object[] userArgs = userIds.toArray();
+            deleteLists(jdbcTemplate.queryForList("SELECT id FROM place_lists WHERE owner_id" + inUsers, Long.class,
+                    userArgs));
+            jdbcTemplate.update("DELETE FROM feed_items WHERE user_id" + inUsers, userArgs);
+            jdbcTemplate.update("DELETE FROM feed_activities WHERE actor_id" + inUsers, userArgs);
+            jdbcTemplate.update("DELETE FROM feed_pull_accounts WHERE user_id" + inUsers, userArgs);
+            jdbcTemplate.update("DELETE FROM follows WHERE follower_id" + inUsers + " OR following_id" + inUsers,
+                    concat(userArgs, userArgs));
+            jdbcTemplate.update("DELETE FROM user_counters WHERE user_id" + inUsers, userArgs);
+        }
+        if (!placeIds.isEmpty()) {
+            String inPlaces = " IN (" + placeholders(placeIds) + ")";
+            Object[] placeArgs = placeIds.toArray();
+            jdbcTemplate.update("DELETE FROM place_rating_summaries WHERE place_id" + inPlaces, placeArgs);
+            jdbcTemplate.update("DELETE FROM place_counters WHERE place_id" + inPlaces, placeArgs);
+            jdbcTemplate.update("DELETE FROM places WHERE id" + inPlaces, placeArgs);
+        }
+    }
+
+    private void deleteLists(List<Long> placeListIds) {
+        Set<Long> lists = new HashSet<>(placeListIds);
+        List<Long> added = placeListIds;
+        while (!added.isEmpty()) {
+            added = jdbcTemplate.queryForList("SELECT id FROM place_lists WHERE forked_from_id IN (" +
+                    placeholders(added) + ")", Long.class, added.toArray());
+            added = added.stream().filter(lists::add).toList();
+        }
+        if (lists.isEmpty()) {
+            return;
+        }
+        String inLists = " IN (" + placeholders(lists) + ")";
+        Object[] args = lists.toArray();
+        jdbcTemplate.update("DELETE FROM place_list_changes WHERE place_list_id" + inLists, args);
+        jdbcTemplate.update("DELETE FROM saved_place_tag_links WHERE saved_place_id IN " +
+                "(SELECT id FROM saved_places WHERE place_list_id" + inLists + ")", args);
+        jdbcTemplate.update("DELETE FROM saved_places WHERE place_list_id" + inLists, args);
+        jdbcTemplate.update("DELETE FROM place_list_summaries WHERE place_list_id" + inLists, args);
+        jdbcTemplate.update("UPDATE place_lists SET forked_from_id = NULL WHERE id" + inLists, args);
+        jdbcTemplate.update("DELETE FROM place_lists WHERE id" + inLists, args);
+    }
+
+    private static String placeholders(Collection<?> values) {
+        return String.join(",", Collections.nCopies(values.size(), "?"));
+    }
+
+    private static Object[] concat(Object[] first, Object[] second) {
+        Object[] both = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, both, first.length, second.length);
+        return both;
+    }
+
+    private static List<Long> toList(long[] ids) {
+        return Arrays.stream(ids).boxed().toList();
+    }
+}
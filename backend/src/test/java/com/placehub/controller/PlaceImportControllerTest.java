@@ -0,0 +1,71 @@
+package com.placehub.controller;
+
+import com.placehub.entity.Role;
+import com.placehub.entity.User;
+import com.placehub.repository.UserRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the access rules of PlaceImportController.
+ */
+@SpringBootTest
+class PlaceImportControllerTest {
+
+    private static final String ROW = "{\"name\":\"Import Access\",\"category\":\"cafe\",\"latitude\":10.5,\"longitude\":20.5}";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Test
+    @DisplayName("Should refuse imports from users without the importer or admin role")
+    void shouldRefuseRegularUsers() throws Exception {
+        mockMvc.perform(post("/api/places/import").with(user(findOrCreateUser(Role.USER)))
+                        .contentType("application/x-ndjson").content(ROW))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should accept imports from importers")
+    void shouldAcceptImporters() throws Exception {
+        mockMvc.perform(post("/api/places/import").with(user(findOrCreateUser(Role.IMPORTER)))
+                        .contentType("application/x-ndjson").content(ROW))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(1));
+    }
+
+    private User findOrCreateUser(Role role) {
+        String email = role.name().toLowerCase() + "-import@example.com";
+        return userRepository.findByEmail(email)
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .firstName("Import")
+                        .lastName(role.name())
+                        .email(email)
+                        .password("encoded-password")
+                        .role(role)
+                        .build()));
+    }
+}
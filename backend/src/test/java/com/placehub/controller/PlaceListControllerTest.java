@@ -0,0 +1,259 @@
+package com.placehub.controller;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import com.placehub.DTO.CursorPage;
+import com.placehub.DTO.TagUpdateRequest;
+import com.placehub.DTO.UpdateSavedPlaceRequest;
+import com.placehub.TestFixtures;
+import com.placehub.entity.PlaceList;
+import com.placehub.entity.User;
+import com.placehub.repository.PlaceListRepository;
+import com.placehub.service.SavedPlaceService;
+import com.placehub.service.summary.PlaceListSummaryService;
+
+import com.jayway.jsonpath.JsonPath;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for PlaceListController, asserting the SQL statement count of each endpoint,
+ * and for conditional GET and response caching of lists, places and profiles.
+ */
+@SpringBootTest
+class PlaceListControllerTest {
+
+    private static final int LIST_SIZE = 200;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private PlaceListRepository placeListRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private SavedPlaceService savedPlaceService;
+
+    @Autowired
+    private PlaceListSummaryService placeListSummaryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+    private User owner;
+    private User stranger;
+    private Long publicListId;
+    private Long privateListId;
+    private List<Long> placeIds;
+    private List<Long> savedPlaceIds;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = fixtures.user("list-owner@example.com");
+        stranger = fixtures.user("list-stranger@example.com");
+        publicListId = placeListRepository.save(PlaceList.builder().name("Paris").isPublic(true).owner(owner).build())
+                .getId();
+        privateListId = placeListRepository.save(PlaceList.builder().name("Secret").owner(owner).build()).getId();
+
+        placeIds = fixtures.places(owner, LIST_SIZE, 48.85, 2.35);
+        savedPlaceIds = fixtures.savedPlaces(publicListId, placeIds,
+                IntStream.range(0, LIST_SIZE).map(i -> i % 5 + 1).boxed().toList());
+        savedPlaceService.addTags(new TagUpdateRequest(savedPlaceIds, List.of("vegan", "cheap")), owner);
+        placeListSummaryService.rebuild(List.of(publicListId, privateListId));
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll(List.of(owner, stranger), placeIds);
+    }
+
+    @Test
+    @DisplayName("GET /api/lists/{id} should return the list with a page of items and tags in at most 3 statements")
+    void shouldGetListWithFixedStatementCount() throws Exception {
+        perform("/api/lists/" + publicListId, stranger, 3)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.summary.itemCount").value(LIST_SIZE))
+                .andExpect(jsonPath("$.list.summary.averageRating").value(3.0))
+                .andExpect(jsonPath("$.list.summary.centerLatitude").value(48.85))
+                .andExpect(jsonPath("$.list.owner.firstName").value(owner.getFirstName()))
+                .andExpect(jsonPath("$.items", hasSize(CursorPage.DEFAULT_LIMIT)))
+                .andExpect(jsonPath("$.items[0].place.name").value("Place " + placeIds.get(0)))
+                .andExpect(jsonPath("$.items[0].tags", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /api/lists/{id} should walk all items with cursors, each page in at most 3 statements")
+    void shouldPageThroughItemsWithCursors() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            String path = "/api/lists/" + publicListId + "?limit=64" + (cursor == null ? "" : "&cursor=" + cursor);
+            String body = perform(path, owner, 3)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            seen.addAll(JsonPath.<List<Number>>read(body, "$.items[*].id").stream().map(Number::longValue).toList());
+            cursor = JsonPath.read(body, "$.nextCursor");
+        } while (cursor != null);
+
+        assertEquals(savedPlaceIds, seen);
+    }
+
+    @Test
+    @DisplayName("GET /api/lists should return own lists in 1 statement")
+    void shouldGetMyListsWithOneStatement() throws Exception {
+        perform("/api/lists", owner, 1)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].name").value("Secret"));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{id}/lists should hide private lists from others in 1 statement")
+    void shouldGetUserListsWithOneStatement() throws Exception {
+        perform("/api/users/" + owner.getId() + "/lists", stranger, 1)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].summary.itemCount").value(LIST_SIZE));
+
+        perform("/api/lists/" + privateListId, stranger, 1)
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /api/lists/{id}/fork should copy items, tags and order and count the fork")
+    void shouldForkPublicList() throws Exception {
+        String body = mockMvc.perform(post("/api/lists/" + publicListId + "/fork").with(user(stranger))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"My Paris\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("My Paris"))
+                .andExpect(jsonPath("$.isPublic").value(false))
+                .andExpect(jsonPath("$.forkedFromId").value(publicListId))
+                .andExpect(jsonPath("$.summary.itemCount").value(LIST_SIZE))
+                .andExpect(jsonPath("$.summary.visitedCount").value(0))
+                .andReturn().getResponse().getContentAsString();
+        long forkId = JsonPath.<Number>read(body, "$.id").longValue();
+
+        assertEquals(2 * LIST_SIZE, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM saved_place_tag_links l " +
+                "JOIN saved_places sp ON sp.id = l.saved_place_id WHERE sp.place_list_id = ?", Integer.class, forkId));
+        assertEquals(
+                jdbcTemplate.queryForList("SELECT place_id FROM saved_places WHERE place_list_id = ? " +
+                        "ORDER BY rank_key", Long.class, publicListId),
+                jdbcTemplate.queryForList("SELECT place_id FROM saved_places WHERE place_list_id = ? " +
+                        "ORDER BY rank_key", Long.class, forkId));
+        perform("/api/lists/" + publicListId, stranger, 3)
+                .andExpect(jsonPath("$.list.summary.forkCount").value(1));
+
+        mockMvc.perform(post("/api/lists/" + privateListId + "/fork").with(user(stranger)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET of lists, places and profiles should answer 304 for a current ETag in 1 statement")
+    void shouldAnswerNotModifiedForCurrentETag() throws Exception {
+        for (String path : List.of("/api/lists/" + publicListId, "/api/places/" + placeIds.get(0),
+                "/api/users/" + owner.getId())) {
+            String eTag = perform(path, stranger, 3)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            assertTrue(eTag != null && eTag.startsWith("W/"), path + " has a weak ETag");
+
+            statistics.clear();
+            mockMvc.perform(get(path).with(user(stranger)).header("If-None-Match", eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+            assertEquals(1, statistics.getPrepareStatementCount(), path + " validates in one lookup");
+        }
+
+        String eTag = perform("/api/lists/" + publicListId, owner, 3)
+                .andReturn().getResponse().getHeader("ETag");
+        savedPlaceService.updateSavedPlace(savedPlaceIds.get(0), UpdateSavedPlaceRequest.builder().visited(true).build(),
+                owner);
+        mockMvc.perform(get("/api/lists/" + publicListId).with(user(owner)).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)));
+
+        mockMvc.perform(get("/api/lists/" + privateListId).with(user(stranger)).header("If-None-Match", "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET of a public list should be served from the response cache in 1 statement until it changes")
+    void shouldServePublicListFromResponseCache() throws Exception {
+        String path = "/api/lists/" + publicListId;
+        double hits = meterRegistry.counter("placehub.response-cache.requests", "result", "hit").count();
+        String first = perform(path, owner, 3).andReturn().getResponse().getContentAsString();
+
+        assertEquals(first, perform(path, stranger, 1).andReturn().getResponse().getContentAsString());
+        byte[] gzipped = mockMvc.perform(get(path).with(user(stranger)).header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertEquals(first, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(hits + 2, meterRegistry.counter("placehub.response-cache.requests", "result", "hit").count());
+
+        savedPlaceService.updateSavedPlace(savedPlaceIds.get(0), UpdateSavedPlaceRequest.builder().visited(true).build(),
+                owner);
+        perform(path, stranger, 3)
+                .andExpect(jsonPath("$.list.summary.visitedCount").value(1))
+                .andExpect(jsonPath("$.items[0].visited").value(true));
+    }
+
+    private ResultActions perform(String path, User principal, int maxStatements) throws Exception {
+        statistics.clear();
+        ResultActions result = mockMvc.perform(get(path).with(user(principal)));
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= maxStatements,
+                path + " expected at most " + maxStatements + " statements, got " + statements);
+        return result;
+    }
+}
@@ -0,0 +1,188 @@
+package com.placehub.service;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.placehub.DTO.PlaceImportReport;
+import com.placehub.DTO.PlaceImportReport.RejectedRow;
+import com.placehub.entity.PlaceSource;
+import com.placehub.entity.User;
+import com.placehub.repository.UserRepository;
+import com.placehub.service.category.CategoryDictionary;
+import com.placehub.service.dedupe.PlaceDeduplicationService;
+import com.placehub.service.importer.ImportFormat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for PlaceImportService against the H2 test database.
+ */
+@SpringBootTest
+class PlaceImportServiceTest {
+
+    @Autowired
+    private PlaceImportService placeImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlaceDeduplicationService deduplicationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User importer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM places");
+        deduplicationService.rebuildIndex();
+        importer = userRepository.findByEmail("importer@example.com")
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .firstName("Import")
+                        .lastName("Bot")
+                        .email("importer@example.com")
+                        .password("encoded-password")
+                        .build()));
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON, upsert on googlePlaceId and report rejects")
+    void shouldImportNdjsonAndUpsert() throws Exception {
+        String ndjson = """
+                {"name":"Cafe A","category":"cafe","latitude":48.85,"longitude":2.35,"googlePlaceId":"g1"}
+                {"name":"Park B","category":"park","latitude":48.86,"longitude":2.36}
+
+                {"name":"Cafe A v2","category":"cafe","latitude":48.85,"longitude":2.35,"googlePlaceId":"g1"}
+                {"name":"Broken","category":"cafe","latitude":120,"longitude":2.35}
+                not json
+                {"name":"Bar C","category":"bar","latitude":48.87,"longitude":2.37,"googlePlaceId":"g2"}
+                """;
+
+        PlaceImportReport report = importString(ndjson, ImportFormat.NDJSON);
+
+        assertEquals(5, report.getRowsRead());
+        assertEquals(2, report.getRowsRejected());
+        assertEquals(5, report.getRejects().get(0).line());
+        assertEquals(6, report.getRejects().get(1).line());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM places", Integer.class));
+        assertEquals("Cafe A v2", jdbcTemplate.queryForObject(
+                "SELECT name FROM places WHERE google_place_id = 'g1'", String.class));
+
+        // Re-importing the same keyed row updates instead of inserting
+        importString("{\"name\":\"Cafe A v3\",\"category\":\"cafe\",\"latitude\":1,\"longitude\":1,\"googlePlaceId\":\"g1\"}",
+                ImportFormat.NDJSON);
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM places", Integer.class));
+        assertEquals("Cafe A v3", jdbcTemplate.queryForObject(
+                "SELECT name FROM places WHERE google_place_id = 'g1'", String.class));
+    }
+
+    @Test
+    @DisplayName("Should import CSV with quoted fields and snake_case headers")
+    void shouldImportCsv() throws Exception {
+        String csv = """
+                name,category,latitude,longitude,google_place_id,formatted_address
+                "Chez \"\"Paul\"\"\",restaurant,48.85,2.35,g10,"1 Rue X,
+                Paris"
+                Museum,museum,48.86,abc,g11,
+                """;
+
+        PlaceImportReport report = importString(csv, ImportFormat.CSV);
+
+        assertEquals(1, report.getRowsWritten());
+        assertEquals(1, report.getRowsRejected());
+        assertEquals("Chez \"Paul\"", jdbcTemplate.queryForObject(
+                "SELECT name FROM places WHERE google_place_id = 'g10'", String.class));
+        assertEquals("1 Rue X,\nParis", jdbcTemplate.queryForObject(
+                "SELECT formatted_address FROM places WHERE google_place_id = 'g10'", String.class));
+    }
+
+    @Test
+    @DisplayName("Should skip unkeyed rows that match an existing place")
+    void shouldSkipNearDuplicates() throws Exception {
+        importString("{\"name\":\"Blue Bottle Coffee\",\"category\":\"cafe\",\"latitude\":48.85,\"longitude\":2.35}",
+                ImportFormat.NDJSON);
+
+        PlaceImportReport report = importString(
+                "{\"name\":\"blue bottle coffee!\",\"category\":\"cafe\",\"latitude\":48.8501,\"longitude\":2.3501}",
+                ImportFormat.NDJSON);
+
+        assertEquals(1, report.getLinkedToExisting());
+        assertEquals(0, report.getRowsWritten());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM places", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should skip unkeyed rows that match an earlier row of the same batch")
+    void shouldSkipNearDuplicatesWithinBatch() throws Exception {
+        String ndjson = """
+                {"name":"Tartine Bakery","category":"bakery","latitude":37.761,"longitude":-122.424}
+                {"name":"tartine bakery","category":"bakery","latitude":37.7611,"longitude":-122.4241}
+                {"name":"Bi-Rite Creamery","category":"bakery","latitude":37.7616,"longitude":-122.4257}
+                """;
+
+        PlaceImportReport report = importString(ndjson, ImportFormat.NDJSON);
+
+        assertEquals(2, report.getRowsWritten());
+        assertEquals(1, report.getDuplicatesCollapsed());
+        assertEquals(0, report.getLinkedToExisting());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM places", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should reject rows whose category cannot be added to the taxonomy")
+    void shouldRejectOverlongCategories() throws Exception {
+        String ndjson = """
+                {"name":"Cafe D","category":"cafe","latitude":48.85,"longitude":2.35}
+                {"name":"Shop E","category":"%s","latitude":48.86,"longitude":2.36}
+                """.formatted("x".repeat(CategoryDictionary.MAX_SLUG_LENGTH + 1));
+
+        PlaceImportReport report = importString(ndjson, ImportFormat.NDJSON);
+
+        assertEquals(1, report.getRowsWritten());
+        assertEquals(1, report.getRowsRejected());
+        assertEquals(2, report.getRejects().get(0).line());
+    }
+
+    @Test
+    @DisplayName("Should report the rows of a failing batch as rejected and import the other batches")
+    void shouldSkipFailingBatch() throws Exception {
+        String ndjson = """
+                {"name":"Cafe F","category":"cafe","latitude":48.80,"longitude":2.30}
+                {"name":"Cafe G","category":"cafe","latitude":48.81,"longitude":2.31}
+                {"name":"Cafe H","category":"cafe","latitude":48.82,"longitude":2.32}
+                {"name":"Cafe I","category":"cafe","latitude":48.83,"longitude":2.33}
+                {"name":"Cafe J","category":"cafe","latitude":48.84,"longitude":2.34}
+                """;
+        // Fails the second batch of two rows
+        jdbcTemplate.execute("ALTER TABLE places ADD CONSTRAINT import_test_name CHECK (name <> 'Cafe H')");
+        ReflectionTestUtils.setField(placeImportService, "batchSize", 2);
+        PlaceImportReport report;
+        try {
+            report = importString(ndjson, ImportFormat.NDJSON);
+        } finally {
+            ReflectionTestUtils.setField(placeImportService, "batchSize", 1000);
+            jdbcTemplate.execute("ALTER TABLE places DROP CONSTRAINT import_test_name");
+        }
+
+        assertEquals(3, report.getRowsWritten());
+        assertEquals(2, report.getRowsRejected());
+        assertEquals(List.of(3L, 4L), report.getRejects().stream().map(RejectedRow::line).toList());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM places", Integer.class));
+    }
+
+    private PlaceImportReport importString(String content, ImportFormat format) throws Exception {
+        return placeImportService.importPlaces(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, PlaceSource.IMPORTED, importer);
+    }
+}
@@ -0,0 +1,116 @@
+package com.placehub.service;
+
+import java.util.List;
+
+import com.placehub.DTO.TagUpdateRequest;
+import com.placehub.TestFixtures;
+import com.placehub.entity.PlaceList;
+import com.placehub.entity.SavedPlace;
+import com.placehub.entity.Tag;
+import com.placehub.entity.User;
+import com.placehub.repository.PlaceListRepository;
+import com.placehub.repository.SavedPlaceRepository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for SavedPlaceService and tag loading against the H2 test database.
+ */
+@SpringBootTest
+class SavedPlaceServiceTest {
+
+    private static final int LIST_SIZE = 500;
+
+    @Autowired
+    private SavedPlaceService savedPlaceService;
+
+    @Autowired
+    private SavedPlaceRepository savedPlaceRepository;
+
+    @Autowired
+    private PlaceListRepository placeListRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User stranger;
+    private Long listId;
+    private List<Long> placeIds;
+    private List<Long> savedPlaceIds;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.user("tag-owner@example.com");
+        stranger = fixtures.user("tag-stranger@example.com");
+        listId = placeListRepository.save(PlaceList.builder().name("Favourites").owner(owner).build()).getId();
+
+        placeIds = fixtures.places(owner, LIST_SIZE, 48.85, 2.35);
+        savedPlaceIds = fixtures.savedPlaces(listId, placeIds);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll(List.of(owner, stranger), placeIds);
+    }
+
+    @Test
+    @DisplayName("Should load a 500-item list with places and tags in two statements")
+    void shouldLoadListWithoutNPlusOne() {
+        savedPlaceService.addTags(new TagUpdateRequest(savedPlaceIds, List.of("Vegan", "cheap")), owner);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        int tagCount = transactionTemplate.execute(status -> {
+            List<SavedPlace> items = savedPlaceRepository.findByPlaceListIdWithPlace(listId);
+            int count = 0;
+            for (SavedPlace item : items) {
+                assertNotNull(item.getPlace().getName());
+                count += item.getTags().stream().map(Tag::getName).toList().size();
+            }
+            assertEquals(LIST_SIZE, items.size());
+            return count;
+        });
+
+        assertEquals(2 * LIST_SIZE, tagCount);
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Expected at most 2 statements, got " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should add and remove tags as sets, idempotently and only on owned saved places")
+    void shouldAddAndRemoveTagsAsSets() {
+        List<Long> firstTwo = savedPlaceIds.subList(0, 2);
+
+        assertEquals(4, savedPlaceService.addTags(new TagUpdateRequest(firstTwo, List.of("vegan", "Cheap ")), owner));
+        assertEquals(0, savedPlaceService.addTags(new TagUpdateRequest(firstTwo, List.of("VEGAN")), owner));
+        assertEquals(0, savedPlaceService.addTags(new TagUpdateRequest(firstTwo, List.of("romantic")), stranger));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tags WHERE name = 'cheap'", Integer.class));
+
+        assertEquals(2, savedPlaceService.removeTags(new TagUpdateRequest(firstTwo, List.of("cheap", "unknown")), owner));
+        assertEquals(List.of("vegan"), jdbcTemplate.queryForList("SELECT t.name FROM saved_place_tag_links l " +
+                "JOIN tags t ON t.id = l.tag_id WHERE l.saved_place_id = ?", String.class, firstTwo.get(0)));
+    }
+}
@@ -0,0 +1,133 @@
+package com.placehub.service.cache;
+
+import java.util.function.BooleanSupplier;
+
+import com.placehub.BackendApplication;
+import com.placehub.DTO.CreatePlaceListRequest;
+import com.placehub.entity.Place;
+import com.placehub.entity.PlaceList;
+import com.placehub.entity.User;
+import com.placehub.repository.PlaceListRepository;
+import com.placehub.repository.PlaceRepository;
+import com.placehub.repository.UserRepository;
+import com.placehub.service.PlaceListService;
+import com.placehub.service.sync.PlaceListChangeService;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests second-level cache invalidation between two nodes sharing one H2 database,
+ * where the nodes exchange invalidations through the polled table.
+ */
+class CacheInvalidationBusTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+    private static User owner;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("create-drop");
+        nodeB = startNode("none");
+        owner = nodeA.getBean(UserRepository.class).save(User.builder()
+                .firstName("Cache")
+                .lastName("Owner")
+                .email("cache-owner@example.com")
+                .password("encoded-password")
+                .build());
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    private static ConfigurableApplicationContext startNode(String ddlAuto) {
+        // Arguments, since default properties would not override application.properties
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .run("--spring.datasource.url=jdbc:h2:mem:multinode;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--server.port=0",
+                        "--placehub.entity-cache.poll-interval=PT0.05S");
+    }
+
+    @Test
+    @DisplayName("Should evict a place on the other node once it is updated")
+    void shouldEvictUpdatedPlaceOnOtherNode() throws InterruptedException {
+        Place place = nodeA.getBean(PlaceRepository.class).save(Place.builder()
+                .name("Old name")
+                .categoryCode((short) 1)
+                .latitude(52.52)
+                .longitude(13.40)
+                .createdBy(owner)
+                .build());
+        PlaceRepository placesOnB = nodeB.getBean(PlaceRepository.class);
+        assertEquals("Old name", placesOnB.findById(place.getId()).orElseThrow().getName());
+        assertTrue(cache(nodeB).contains(Place.class, place.getId()));
+
+        MeterRegistry meterRegistry = nodeB.getBean(MeterRegistry.class);
+        double hits = hitCount(meterRegistry, Place.CACHE_REGION);
+        placesOnB.findById(place.getId());
+        assertEquals(hits + 1, hitCount(meterRegistry, Place.CACHE_REGION));
+
+        nodeA.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+            PlaceRepository placesOnA = nodeA.getBean(PlaceRepository.class);
+            placesOnA.findById(place.getId()).orElseThrow().setName("New name");
+        });
+
+        await(() -> !cache(nodeB).contains(Place.class, place.getId()));
+        assertEquals("New name", placesOnB.findById(place.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Should evict a list on the other node when its version is incremented without Hibernate")
+    void shouldEvictListOnOtherNodeAfterJdbcVersionBump() throws InterruptedException {
+        Long listId = nodeA.getBean(PlaceListService.class)
+                .createList(CreatePlaceListRequest.builder().name("Cached").build(), owner).getId();
+        PlaceListRepository listsOnB = nodeB.getBean(PlaceListRepository.class);
+        long version = listsOnB.findById(listId).orElseThrow().getVersion();
+        assertTrue(cache(nodeB).contains(PlaceList.class, listId));
+
+        long bumped = nodeA.getBean(TransactionTemplate.class).execute(
+                status -> nodeA.getBean(PlaceListChangeService.class).allItemsChanged(listId));
+        assertEquals(version + 1, bumped);
+        assertFalse(cache(nodeA).contains(PlaceList.class, listId), "the writer evicts its own entry at once");
+
+        await(() -> !cache(nodeB).contains(PlaceList.class, listId));
+        assertEquals(bumped, listsOnB.findById(listId).orElseThrow().getVersion());
+    }
+
+    private static Cache cache(ConfigurableApplicationContext node) {
+        return node.getBean(EntityManagerFactory.class).getCache();
+    }
+
+    private static double hitCount(MeterRegistry meterRegistry, String region) {
+        return meterRegistry.get(EntityCacheMetrics.METRIC_NAME)
+                .tags("region", region, "result", "hit")
+                .functionCounter()
+                .count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within " + TIMEOUT_MILLIS + " ms");
+            Thread.sleep(50);
+        }
+    }
+}
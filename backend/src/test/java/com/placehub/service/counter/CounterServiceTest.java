@@ -0,0 +1,155 @@
+package com.placehub.service.counter;
+
+import java.util.List;
+
+import com.placehub.DTO.CreatePlaceListRequest;
+import com.placehub.DTO.SavePlaceRequest;
+import com.placehub.TestFixtures;
+import com.placehub.entity.Follow;
+import com.placehub.entity.User;
+import com.placehub.repository.FollowRepository;
+import com.placehub.service.FollowService;
+import com.placehub.service.PlaceListService;
+import com.placehub.service.SavedPlaceService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the batched follower, following and save counters.
+ */
+@SpringBootTest
+class CounterServiceTest {
+
+    @Autowired
+    private CounterService counterService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private PlaceListService placeListService;
+
+    @Autowired
+    private SavedPlaceService savedPlaceService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User alice;
+    private User bob;
+    private User carol;
+    private List<Long> placeIds;
+    private Long place;
+    private Long otherPlace;
+
+    @BeforeEach
+    void setUp() {
+        alice = fixtures.user("counter-alice@example.com");
+        bob = fixtures.user("counter-bob@example.com");
+        carol = fixtures.user("counter-carol@example.com");
+        placeIds = fixtures.places(alice, 2, 48.85, 2.35);
+        place = placeIds.get(0);
+        otherPlace = placeIds.get(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        counterService.flush();
+        fixtures.deleteAll(List.of(alice, bob, carol), placeIds);
+    }
+
+    @Test
+    @DisplayName("Should count follows before and after a flush, and reject duplicate follows")
+    void shouldCountFollows() {
+        followService.follow(carol.getId(), alice);
+        followService.follow(carol.getId(), bob);
+        followService.follow(carol.getId(), bob);
+        followService.follow(bob.getId(), alice);
+        followService.unfollow(bob.getId(), alice);
+
+        assertArrayEquals(new long[] {2, 0}, counterService.getUserCounts(carol.getId()), "read before the flush");
+        assertEquals(2, followService.getStats(carol.getId(), alice).getFollowerCount());
+        assertTrue(followService.getStats(carol.getId(), alice).isFollowedByMe());
+
+        counterService.flush();
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT follower_count FROM user_counters WHERE user_id = ?",
+                Long.class, carol.getId()));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT follower_count FROM user_counters WHERE user_id = ?",
+                Long.class, bob.getId()), "the unfollow cancelled the follow");
+        assertArrayEquals(new long[] {0, 1}, counterService.getUserCounts(alice.getId()));
+        assertArrayEquals(new long[] {2, 0}, counterService.getUserCounts(carol.getId()));
+        assertArrayEquals(new long[] {0, 1}, counterService.getUserCounts(bob.getId()));
+
+        assertThrows(DataIntegrityViolationException.class, () -> followRepository.save(
+                Follow.builder().follower(bob).following(carol).build()));
+    }
+
+    @Test
+    @DisplayName("Should count saves, removals and forks, and reconcile drifted counters")
+    void shouldCountSavesAndReconcile() {
+        Long listId = placeListService.createList(CreatePlaceListRequest.builder().name("Paris").isPublic(true)
+                .build(), alice).getId();
+        Long first = save(alice, listId, 0);
+        save(alice, listId, 1);
+        savedPlaceService.removeSavedPlace(first, null, alice);
+        assertEquals(0, counterService.getSaveCount(place));
+        assertEquals(1, counterService.getSaveCount(otherPlace));
+
+        placeListService.forkList(listId, null, bob);
+        assertEquals(2, counterService.getSaveCount(otherPlace), "forks are counted in their transaction");
+
+        counterService.flush();
+        jdbcTemplate.update("UPDATE place_counters SET save_count = 42 WHERE place_id = ?", otherPlace);
+        jdbcTemplate.update("INSERT INTO follows (follower_id, following_id, created_at) " +
+                "VALUES (?, ?, CURRENT_TIMESTAMP)", alice.getId(), bob.getId());
+        counterService.reconcile();
+
+        assertEquals(2, counterService.getSaveCount(otherPlace));
+        assertEquals(0, counterService.getSaveCount(place));
+        assertArrayEquals(new long[] {1, 0}, counterService.getUserCounts(bob.getId()),
+                "follows written without events are picked up");
+    }
+
+    @Test
+    @DisplayName("Should move the pending saves of a merged place only once the merge committed")
+    void shouldMovePendingSavesOnCommit() {
+        Long listId = placeListService.createList(CreatePlaceListRequest.builder().name("Paris").build(), alice)
+                .getId();
+        save(alice, listId, 0);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            counterService.placeMerged(place, otherPlace, 0);
+            status.setRollbackOnly();
+        });
+        assertEquals(1, counterService.getSaveCount(place), "a rolled back merge keeps the deltas");
+        assertEquals(0, counterService.getSaveCount(otherPlace));
+
+        transactionTemplate.executeWithoutResult(status -> counterService.placeMerged(place, otherPlace, 0));
+        assertEquals(0, counterService.getSaveCount(place));
+        assertEquals(1, counterService.getSaveCount(otherPlace));
+    }
+
+    private Long save(User user, Long listId, int place) {
+        return savedPlaceService.savePlace(listId, SavePlaceRequest.builder().placeId(placeIds.get(place)).build(),
+                user).getId();
+    }
+}
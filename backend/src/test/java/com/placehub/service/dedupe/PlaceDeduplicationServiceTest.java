@@ -0,0 +1,110 @@
+package com.placehub.service.dedupe;
+
+import java.util.List;
+
+import com.placehub.DTO.DuplicatePair;
+import com.placehub.service.dedupe.PlaceDeduplicationService.DuplicateCheck;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for PlaceDeduplicationService.
+ */
+class PlaceDeduplicationServiceTest {
+
+    private static final short CAFE = 1;
+    private static final short RESTAURANT = 2;
+    private static final short BAR = 3;
+
+    private PlaceDeduplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PlaceDeduplicationService(mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(service, "radiusMeters", 150.0);
+        ReflectionTestUtils.setField(service, "suggestThreshold", 0.85);
+        ReflectionTestUtils.setField(service, "autoLinkThreshold", 0.95);
+
+        service.index(1, "The Coffee House", CAFE, 48.8566, 2.3522);
+        service.index(2, "Le Petit Bistro", RESTAURANT, 48.8570, 2.3530);
+        service.index(3, "Coffee House", CAFE, 48.9000, 2.3522);
+    }
+
+    @Test
+    @DisplayName("Should normalise accents, articles, punctuation and word order")
+    void shouldNormalizeNames() {
+        assertEquals("bistro petit", NameSimilarity.normalize("Le Petit-Bistro"));
+        assertEquals("cafe paul", NameSimilarity.normalize("Paul, Café"));
+        assertEquals(1.0, NameSimilarity.jaroWinkler("martha", "martha"));
+        assertEquals(0.961, NameSimilarity.jaroWinkler("martha", "marhta"), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should auto-link an almost identical nearby place")
+    void shouldAutoLinkNearbyDuplicate() {
+        DuplicateCheck check = service.check("Coffee House, The", CAFE, 48.8567, 2.3523);
+
+        assertEquals(1L, check.autoLinkTo());
+        assertEquals(1, check.candidates().size());
+    }
+
+    @Test
+    @DisplayName("Should never match names that normalise to nothing")
+    void shouldNotMatchEmptyNames() {
+        service.index(4, "The", CAFE, 48.8600, 2.3600);
+        DuplicateCheck check = service.check("☕", CAFE, 48.8600, 2.3600);
+
+        assertEquals("", NameSimilarity.normalize("☕"));
+        assertEquals(0.0, NameSimilarity.jaroWinkler("", ""));
+        assertNull(check.autoLinkTo());
+        assertTrue(check.candidates().isEmpty());
+        assertTrue(service.findDuplicatePairs(10).stream()
+                .noneMatch(pair -> pair.placeId() == 4 || pair.duplicateOf() == 4));
+    }
+
+    @Test
+    @DisplayName("Should only suggest when category differs")
+    void shouldSuggestWithoutLinkingOnCategoryMismatch() {
+        DuplicateCheck check = service.check("Petit Bistro", BAR, 48.8570, 2.3530);
+
+        assertNull(check.autoLinkTo());
+        assertEquals(2L, check.candidates().get(0).placeId());
+    }
+
+    @Test
+    @DisplayName("Should ignore similar places outside the radius")
+    void shouldIgnoreFarPlaces() {
+        DuplicateCheck check = service.check("Coffee House", CAFE, 48.8800, 2.3522);
+
+        assertTrue(check.candidates().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find existing duplicate pairs in batch mode")
+    void shouldFindDuplicatePairs() {
+        service.index(4, "Petit Bistro", RESTAURANT, 48.8571, 2.3531);
+
+        List<DuplicatePair> pairs = service.findDuplicatePairs(10);
+
+        assertEquals(1, pairs.size());
+        assertEquals(4L, pairs.get(0).placeId());
+        assertEquals(2L, pairs.get(0).duplicateOf());
+    }
+
+    @Test
+    @DisplayName("Should move a re-indexed place out of its old cell")
+    void shouldMoveReindexedPlace() {
+        service.index(1, "The Coffee House", CAFE, 48.8800, 2.3522);
+
+        assertTrue(service.check("Coffee House, The", CAFE, 48.8567, 2.3523).candidates().isEmpty());
+        assertEquals(1L, service.check("Coffee House, The", CAFE, 48.8801, 2.3522).autoLinkTo());
+        assertEquals(3, service.getIndexedPlaceCount());
+    }
+}
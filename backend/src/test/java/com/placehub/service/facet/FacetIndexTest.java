@@ -0,0 +1,138 @@
+package com.placehub.service.facet;
+
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.placehub.service.facet.FacetIndex.Result;
+import com.placehub.service.facet.FacetIndex.Term;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FacetIndex and CompressedBitmap.
+ */
+class FacetIndexTest {
+
+    @Test
+    @DisplayName("Should match BitSet semantics across sparse and dense chunks")
+    void shouldMatchBitSet() {
+        Random random = new Random(42);
+        CompressedBitmap a = new CompressedBitmap();
+        CompressedBitmap b = new CompressedBitmap();
+        BitSet expectedA = new BitSet();
+        BitSet expectedB = new BitSet();
+        // Dense run in chunk 0, sparse values spread over many chunks
+        for (int i = 0; i < 20_000; i++) {
+            int dense = random.nextInt(60_000);
+            int sparse = random.nextInt(5_000_000);
+            a.add(dense);
+            expectedA.set(dense);
+            b.add(sparse);
+            expectedB.set(sparse);
+            if (i % 3 == 0) {
+                a.add(sparse);
+                expectedA.set(sparse);
+            }
+        }
+        for (int i = 0; i < 15_000; i++) {
+            int value = random.nextInt(60_000);
+            assertEquals(expectedA.get(value), a.remove(value));
+            expectedA.clear(value);
+        }
+
+        BitSet and = (BitSet) expectedA.clone();
+        and.and(expectedB);
+        BitSet or = (BitSet) expectedA.clone();
+        or.or(expectedB);
+
+        assertEquals(expectedA.cardinality(), a.cardinality());
+        assertEquals(and.cardinality(), a.andCardinality(b));
+        assertArrayEquals(and.stream().toArray(), a.and(b).toArray(Integer.MAX_VALUE));
+        assertArrayEquals(or.stream().toArray(), a.or(b).toArray(Integer.MAX_VALUE));
+        assertTrue(a.contains(expectedA.nextSetBit(0)));
+        assertFalse(a.contains(expectedA.nextClearBit(0)));
+    }
+
+    @Test
+    @DisplayName("Should AND facets, OR values and count each facet without its own selection")
+    void shouldCountFacetsDisjunctively() {
+        FacetIndex index = new FacetIndex();
+        index.put(1, terms("cafe", "paris", "true"));
+        index.put(2, terms("cafe", "lyon", "false"));
+        index.put(3, terms("bar", "paris", "false"));
+        index.put(4, terms("park", "paris", "true"));
+
+        Result result = index.search(
+                Map.of(Facet.CITY, Set.of("paris"), Facet.CATEGORY, Set.of("cafe", "bar")),
+                EnumSet.of(Facet.CATEGORY, Facet.CITY, Facet.VISITED), 10, 10);
+
+        assertEquals(2, result.total());
+        assertArrayEquals(new int[] {1, 3}, result.docs());
+        // Category counts ignore the category selection but keep city = paris
+        assertEquals(Map.of("cafe", 1, "bar", 1, "park", 1), result.counts().get(Facet.CATEGORY));
+        assertEquals(Map.of("paris", 2, "lyon", 1), result.counts().get(Facet.CITY));
+        assertEquals(Map.of("true", 1, "false", 1), result.counts().get(Facet.VISITED));
+    }
+
+    @Test
+    @DisplayName("Should update bitmaps incrementally when a document changes or is removed")
+    void shouldUpdateIncrementally() {
+        FacetIndex index = new FacetIndex();
+        index.put(1, terms("cafe", "paris", "false"));
+        index.put(2, terms("cafe", "paris", "false"));
+        index.addTerm(2, new Term(Facet.TAG, "vegan"));
+
+        index.put(1, terms("cafe", "paris", "true"));
+        index.remove(2);
+
+        Result visited = index.search(Map.of(Facet.VISITED, Set.of("true")), EnumSet.of(Facet.TAG), 10, 10);
+        assertArrayEquals(new int[] {1}, visited.docs());
+        assertTrue(visited.counts().get(Facet.TAG).isEmpty());
+        assertEquals(0, index.search(Map.of(Facet.TAG, Set.of("vegan")), Set.of(), 10, 10).total());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Should count the most frequent values and the selected ones")
+    void shouldCountTopAndSelectedValues() {
+        FacetIndex index = new FacetIndex();
+        Random random = new Random(7);
+        Map<String, Integer> expected = new HashMap<>();
+        for (int doc = 0; doc < 5_000; doc++) {
+            // Skewed: city0 is the most frequent, city49 the rarest
+            String city = "city" + Math.min(49, (int) Math.abs(random.nextGaussian() * 12));
+            String visited = String.valueOf(doc % 2 == 0);
+            index.put(doc, List.of(new Term(Facet.CITY, city), new Term(Facet.VISITED, visited)));
+            if (visited.equals("true")) {
+                expected.merge(city, 1, Integer::sum);
+            }
+        }
+        String rarest = expected.entrySet().stream().min(Map.Entry.comparingByValue()).orElseThrow().getKey();
+
+        Result result = index.search(Map.of(Facet.VISITED, Set.of("true"), Facet.CITY, Set.of(rarest)),
+                EnumSet.of(Facet.CITY), 10, 3);
+
+        List<Map.Entry<String, Integer>> top = expected.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(3)
+                .toList();
+        Map<String, Integer> counts = result.counts().get(Facet.CITY);
+        assertEquals(List.copyOf(top), List.copyOf(counts.entrySet()).subList(0, 3));
+        assertEquals(expected.get(rarest), counts.get(rarest), "a selected value is counted whatever its rank");
+        assertEquals(4, counts.size());
+    }
+
+    private static List<Term> terms(String category, String city, String visited) {
+        return List.of(new Term(Facet.CATEGORY, category), new Term(Facet.CITY, city),
+                new Term(Facet.VISITED, visited));
+    }
+}
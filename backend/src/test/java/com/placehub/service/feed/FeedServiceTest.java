@@ -0,0 +1,141 @@
+package com.placehub.service.feed;
+
+import java.util.List;
+
+import com.placehub.DTO.CreatePlaceListRequest;
+import com.placehub.DTO.CursorPage;
+import com.placehub.DTO.FeedItemResponse;
+import com.placehub.DTO.SavePlaceRequest;
+import com.placehub.TestFixtures;
+import com.placehub.entity.Follow;
+import com.placehub.entity.User;
+import com.placehub.repository.FollowRepository;
+import com.placehub.service.PlaceListService;
+import com.placehub.service.SavedPlaceService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the hybrid fan-out feed. The test configuration fans out saves of
+ * users with at most two followers; the "star" user has three and is merged in on read.
+ */
+@SpringBootTest
+class FeedServiceTest {
+
+    @Autowired
+    private FeedService feedService;
+
+    @Autowired
+    private PlaceListService placeListService;
+
+    @Autowired
+    private SavedPlaceService savedPlaceService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User reader;
+    private User author;
+    private User star;
+    private User fan;
+    private List<User> users;
+    private List<Long> placeIds;
+
+    @BeforeEach
+    void setUp() {
+        reader = fixtures.user("feed-reader@example.com");
+        author = fixtures.user("feed-author@example.com");
+        star = fixtures.user("feed-star@example.com");
+        fan = fixtures.user("feed-fan@example.com");
+        User otherFan = fixtures.user("feed-other-fan@example.com");
+        users = List.of(reader, author, star, fan, otherFan);
+        follow(reader, author);
+        follow(reader, star);
+        follow(fan, star);
+        follow(otherFan, star);
+        placeIds = fixtures.places(author, 4, 41.39, 2.17);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll(users, placeIds);
+    }
+
+    @Test
+    @DisplayName("Should merge fanned-out saves with saves of accounts read on demand, most recent first")
+    void shouldMergeTimelineWithPullAccounts() {
+        Long authorList = list(author, "Barcelona", true);
+        Long starList = list(star, "Best of Barcelona", true);
+        Long first = save(author, authorList, 0);
+        Long second = save(star, starList, 1);
+        Long third = save(author, authorList, 2);
+
+        assertEquals(2, count("SELECT COUNT(*) FROM feed_items WHERE user_id = ?", reader.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM feed_items WHERE user_id = ?", fan.getId()),
+                "saves of the star are not copied");
+        assertEquals(1, count("SELECT COUNT(*) FROM feed_pull_accounts WHERE user_id = ?", star.getId()));
+
+        CursorPage<FeedItemResponse> page = feedService.getFeed(reader.getId(), null, 2);
+        assertEquals(List.of(third, second), ids(page));
+        assertEquals("Best of Barcelona", page.items().get(1).getPlaceListName());
+        assertEquals(star.getId(), page.items().get(1).getUser().getId());
+        assertNotNull(page.nextCursor());
+
+        CursorPage<FeedItemResponse> next = feedService.getFeed(reader.getId(), page.nextCursor(), 2);
+        assertEquals(List.of(first), ids(next));
+        assertEquals("Place " + placeIds.get(0), next.items().get(0).getPlace().getName());
+        assertNull(next.nextCursor());
+
+        assertEquals(List.of(second), ids(feedService.getFeed(fan.getId(), null, 10)));
+    }
+
+    @Test
+    @DisplayName("Should leave saves into private lists out of the feed")
+    void shouldSkipPrivateLists() {
+        Long privateList = list(author, "Secret spots", false);
+        Long publicList = list(author, "Tapas", true);
+        save(author, privateList, 0);
+        Long shown = save(author, publicList, 1);
+        assertEquals(List.of(shown), ids(feedService.getFeed(reader.getId(), null, 10)));
+
+        // A list made private later disappears from feeds it was copied into
+        jdbcTemplate.update("UPDATE place_lists SET is_public = FALSE WHERE id = ?", publicList);
+        assertTrue(feedService.getFeed(reader.getId(), null, 10).items().isEmpty());
+    }
+
+    private void follow(User follower, User following) {
+        followRepository.save(Follow.builder().follower(follower).following(following).build());
+    }
+
+    private Long list(User owner, String name, boolean isPublic) {
+        return placeListService.createList(CreatePlaceListRequest.builder().name(name).isPublic(isPublic).build(),
+                owner).getId();
+    }
+
+    private Long save(User user, Long listId, int place) {
+        return savedPlaceService.savePlace(listId, SavePlaceRequest.builder().placeId(placeIds.get(place)).build(),
+                user).getId();
+    }
+
+    private long count(String sql, Long userId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, userId);
+    }
+
+    private static List<Long> ids(CursorPage<FeedItemResponse> page) {
+        return page.items().stream().map(FeedItemResponse::getSavedPlaceId).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.placehub.service.geocoding;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GazetteerIndex.
+ */
+class GazetteerIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private GazetteerIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path gazetteer = tempDir.resolve("cities.txt");
+        Files.writeString(gazetteer, String.join("\n",
+                row(2988507, "Paris", 48.85341, 2.3488, "P", "FR", "11"),
+                row(2983489, "Rennes", 48.11198, -1.67429, "P", "FR", "53"),
+                row(2643743, "London", 51.50853, -0.12574, "P", "GB", "ENG"),
+                row(5128581, "New York City", 40.71427, -74.00597, "P", "US", "NY"),
+                row(2186224, "Nuku'alofa", -21.13938, -175.2018, "P", "TO", "04"),
+                row(1, "Mont Blanc", 45.8326, 6.8652, "T", "FR", "84")));
+
+        Map<String, String> admin1 = Map.of("FR.11", "Île-de-France", "US.NY", "New York");
+        Path indexFile = tempDir.resolve("cities.idx");
+        assertEquals(5, GazetteerIndex.build(gazetteer, admin1, indexFile));
+        index = GazetteerIndex.open(indexFile);
+    }
+
+    @Test
+    @DisplayName("Should resolve the nearest populated place with its region")
+    void shouldResolveNearestCity() {
+        GazetteerIndex.Match match = index.nearest(48.8606, 2.3376, 30_000);
+
+        assertNotNull(match);
+        assertEquals("Paris", match.city());
+        assertEquals("Île-de-France", match.admin1());
+        assertEquals("FR", match.countryCode());
+        assertTrue(match.distanceMeters() < 2_000);
+    }
+
+    @Test
+    @DisplayName("Should return null when nothing is within range")
+    void shouldReturnNullOutOfRange() {
+        assertNull(index.nearest(47.8, -1.0, 30_000));
+        assertEquals("Rennes", index.nearest(47.8, -1.0, 500_000).city());
+    }
+
+    @Test
+    @DisplayName("Should search across the antimeridian and skip non-populated features")
+    void shouldHandleEdgeCases() {
+        assertEquals("Nuku'alofa", index.nearest(-21.14, 179.9, 600_000).city());
+        assertEquals("Paris", index.nearest(45.8326, 6.8652, 1_000_000).city());
+        assertEquals("United States", GazetteerIndex.countryName("US"));
+    }
+
+    private static String row(long id, String name, double lat, double lon, String featureClass,
+                              String country, String admin1) {
+        return id + "\t" + name + "\t" + name + "\t\t" + lat + "\t" + lon + "\t" + featureClass
+                + "\tPPL\t" + country + "\t\t" + admin1 + "\t\t\t\t0\t\t0\tEurope/Paris\t2024-01-01";
+    }
+}
@@ -0,0 +1,94 @@
+package com.placehub.service.graph;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import com.placehub.service.graph.FollowGraph.Suggestion;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FollowGraph.
+ */
+class FollowGraphTest {
+
+    @Test
+    @DisplayName("Should match a set of edges across bulk load, follows and unfollows")
+    void shouldMatchEdgeSet() {
+        Random random = new Random(42);
+        int users = 300;
+        int size = 5_000;
+        long[] followerIds = new long[size];
+        long[] followingIds = new long[size];
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            followerIds[i] = 1_000 + random.nextInt(users);
+            followingIds[i] = 1_000 + random.nextInt(users);
+            expected.add(edge(followerIds[i], followingIds[i]));
+        }
+        FollowGraph graph = FollowGraph.of(followerIds, followingIds, size);
+        assertEquals(expected.size(), graph.edgeCount(), "duplicates are dropped");
+
+        for (int i = 0; i < 20_000; i++) {
+            long follower = 1_000 + random.nextInt(users + 50);
+            long following = 1_000 + random.nextInt(users + 50);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(edge(follower, following)), graph.follow(follower, following));
+            } else {
+                assertEquals(expected.remove(edge(follower, following)), graph.unfollow(follower, following));
+            }
+        }
+
+        assertEquals(expected.size(), graph.edgeCount());
+        for (long follower = 1_000; follower < 1_000 + users + 50; follower++) {
+            int followingCount = 0;
+            int followerCount = 0;
+            for (long other = 1_000; other < 1_000 + users + 50; other++) {
+                assertEquals(expected.contains(edge(follower, other)), graph.follows(follower, other));
+                followingCount += expected.contains(edge(follower, other)) ? 1 : 0;
+                followerCount += expected.contains(edge(other, follower)) ? 1 : 0;
+            }
+            assertEquals(followingCount, graph.followingCount(follower));
+            assertEquals(followerCount, graph.followerCount(follower));
+        }
+        assertFalse(graph.follows(1, 2));
+        assertEquals(0, graph.followerCount(1));
+    }
+
+    @Test
+    @DisplayName("Should suggest users followed by followed users, most shared first")
+    void shouldRankSuggestionsByMutuals() {
+        FollowGraph graph = new FollowGraph();
+        graph.follow(1, 2);
+        graph.follow(1, 3);
+        graph.follow(1, 4);
+        // 10 is followed by all three, 11 by two, 12 and 13 by one; 13 has more followers than 12
+        for (long friend = 2; friend <= 4; friend++) {
+            graph.follow(friend, 10);
+        }
+        graph.follow(2, 11);
+        graph.follow(3, 11);
+        graph.follow(2, 12);
+        graph.follow(3, 13);
+        graph.follow(50, 13);
+        // Already followed, and the user themselves, are left out
+        graph.follow(2, 3);
+        graph.follow(4, 1);
+
+        Suggestion[] suggestions = graph.suggest(1, 10, 100, 100);
+        assertArrayEquals(new Suggestion[] {
+                new Suggestion(10, 3), new Suggestion(11, 2), new Suggestion(13, 1), new Suggestion(12, 1)
+        }, suggestions);
+        assertEquals(2, graph.suggest(1, 2, 100, 100).length);
+        assertEquals(0, graph.suggest(10, 10, 100, 100).length, "follows nobody");
+        assertEquals(0, graph.suggest(99, 10, 100, 100).length, "unknown user");
+    }
+
+    private static long edge(long follower, long following) {
+        return follower << 32 | following;
+    }
+}
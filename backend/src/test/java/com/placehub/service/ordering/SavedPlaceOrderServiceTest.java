@@ -0,0 +1,137 @@
+package com.placehub.service.ordering;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.placehub.DTO.CreatePlaceListRequest;
+import com.placehub.DTO.MoveSavedPlacesRequest;
+import com.placehub.DTO.SavePlaceRequest;
+import com.placehub.DTO.SavedPlaceResponse;
+import com.placehub.TestFixtures;
+import com.placehub.entity.User;
+import com.placehub.exception.SavedPlaceNotFoundException;
+import com.placehub.service.PlaceListService;
+import com.placehub.service.SavedPlaceService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RankKeys and SavedPlaceOrderService against the H2 test database.
+ */
+@SpringBootTest
+class SavedPlaceOrderServiceTest {
+
+    private static final int LIST_SIZE = 6;
+
+    @Autowired
+    private SavedPlaceOrderService savedPlaceOrderService;
+
+    @Autowired
+    private SavedPlaceService savedPlaceService;
+
+    @Autowired
+    private PlaceListService placeListService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private Long listId;
+    private List<Long> placeIds;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.user("order-owner@example.com");
+        listId = placeListService.createList(CreatePlaceListRequest.builder().name("Tokyo").build(), owner).getId();
+        placeIds = fixtures.places(owner, LIST_SIZE, 35.68, 139.76);
+        ids = new ArrayList<>();
+        for (Long placeId : placeIds) {
+            ids.add(savedPlaceService.savePlace(listId, SavePlaceRequest.builder().placeId(placeId).build(), owner)
+                    .getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll(List.of(owner), placeIds);
+    }
+
+    @Test
+    @DisplayName("Keys made between random neighbours should stay ordered and short")
+    void shouldGenerateOrderedKeys() {
+        Random random = new Random(7);
+        List<String> keys = new ArrayList<>(RankKeys.sequence(10));
+        for (int i = 0; i < 5_000; i++) {
+            int position = random.nextInt(keys.size() + 1);
+            String before = position == 0 ? null : keys.get(position - 1);
+            String after = position == keys.size() ? null : keys.get(position);
+            String key = RankKeys.between(before, after);
+            assertTrue(before == null || before.compareTo(key) < 0, before + " < " + key);
+            assertTrue(after == null || key.compareTo(after) < 0, key + " < " + after);
+            keys.add(position, key);
+        }
+        assertTrue(keys.stream().allMatch(key -> key.length() < 20), "random inserts keep keys short");
+
+        String last = RankKeys.INITIAL;
+        for (int i = 0; i < 10_000; i++) {
+            last = RankKeys.between(last, null);
+        }
+        assertEquals(RankKeys.INITIAL.length(), last.length(), "appends step the integer part");
+
+        List<String> bulk = RankKeys.between(keys.get(0), keys.get(1), 1000);
+        assertEquals(1000, bulk.size());
+        for (int i = 1; i < bulk.size(); i++) {
+            assertTrue(bulk.get(i - 1).compareTo(bulk.get(i)) < 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should move items after an anchor, writing only the moved rows, and keep order on rebalance")
+    void shouldMoveItems() {
+        String untouched = rankOf(ids.get(1));
+
+        assertEquals(2, savedPlaceOrderService.moveItems(listId,
+                new MoveSavedPlacesRequest(List.of(ids.get(5), ids.get(4)), ids.get(0), null), owner).moved());
+        List<Long> expected = List.of(ids.get(0), ids.get(5), ids.get(4), ids.get(1), ids.get(2), ids.get(3));
+        assertEquals(expected, itemIds());
+        assertEquals(untouched, rankOf(ids.get(1)));
+
+        savedPlaceOrderService.moveItems(listId, new MoveSavedPlacesRequest(List.of(ids.get(3)), null, null), owner);
+        expected = List.of(ids.get(3), ids.get(0), ids.get(5), ids.get(4), ids.get(1), ids.get(2));
+        assertEquals(expected, itemIds());
+
+        assertEquals(LIST_SIZE, savedPlaceOrderService.rebalance(listId));
+        assertEquals(expected, itemIds());
+    }
+
+    @Test
+    @DisplayName("Should reject anchors outside the list")
+    void shouldRejectForeignAnchor() {
+        assertThrows(SavedPlaceNotFoundException.class, () -> savedPlaceOrderService.moveItems(listId,
+                new MoveSavedPlacesRequest(List.of(ids.get(0)), -1L, null), owner));
+        assertThrows(IllegalArgumentException.class, () -> savedPlaceOrderService.moveItems(listId,
+                new MoveSavedPlacesRequest(List.of(ids.get(0)), ids.get(0), null), owner));
+    }
+
+    private List<Long> itemIds() {
+        return placeListService.getList(listId, null, 50, owner).body().getItems().stream()
+                .map(SavedPlaceResponse::getId).toList();
+    }
+
+    private String rankOf(Long savedPlaceId) {
+        return jdbcTemplate.queryForObject("SELECT rank_key FROM saved_places WHERE id = ?", String.class, savedPlaceId);
+    }
+}
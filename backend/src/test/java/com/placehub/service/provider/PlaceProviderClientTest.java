@@ -0,0 +1,154 @@
+package com.placehub.service.provider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.placehub.exception.ProviderUnavailableException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PlaceProviderClient.
+ */
+class PlaceProviderClientTest {
+
+    private static final ProviderPlace CAFE = new ProviderPlace("g1", "Cafe", "cafe", 48.85, 2.35, null, "Paris", "France");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(50);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent lookups of the same place into one upstream call")
+    void shouldCoalesceConcurrentLookups() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        PlaceProviderClient client = client(id -> {
+            upstreamCalls.incrementAndGet();
+            await(release);
+            return Optional.of(CAFE);
+        });
+
+        List<Future<Optional<ProviderPlace>>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(executor.submit(() -> client.lookup("g1")));
+        }
+        // Give every caller time to join the in-flight call before it completes
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<Optional<ProviderPlace>> result : results) {
+            assertEquals(CAFE, result.get(5, TimeUnit.SECONDS).orElseThrow());
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(49.0, count("coalesced"));
+
+        client.lookup("g1");
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1.0, count("cache_hit"));
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after consecutive failures and fail fast")
+    void shouldOpenCircuitAfterFailures() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        PlaceProviderClient client = client(id -> {
+            upstreamCalls.incrementAndGet();
+            throw new IllegalStateException("upstream down");
+        });
+
+        for (String id : List.of("f1", "f2", "f3")) {
+            assertThrows(ProviderUnavailableException.class, () -> client.lookup(id));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        assertThrows(ProviderUnavailableException.class, () -> client.lookup("other"));
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(3.0, count("failure"));
+        assertEquals(1.0, count("circuit_open"));
+    }
+
+    @Test
+    @DisplayName("Should reject calls beyond the bulkhead limit")
+    void shouldRejectWhenBulkheadFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PlaceProviderClient client = client(id -> {
+            await(release);
+            return Optional.empty();
+        });
+
+        Future<?> first = executor.submit(() -> client.lookup("a"));
+        Future<?> second = executor.submit(() -> client.lookup("b"));
+        Thread.sleep(100);
+
+        ProviderUnavailableException exception = assertThrows(ProviderUnavailableException.class, () -> client.lookup("c"));
+        assertTrue(exception.getMessage().contains("concurrent"));
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(2.0, count("not_found"));
+    }
+
+    private PlaceProviderClient client(PlaceLookup lookup) {
+        PlaceProvider provider = new PlaceProvider() {
+            @Override
+            public String getName() {
+                return "test";
+            }
+
+            @Override
+            public Optional<ProviderPlace> lookup(String externalId) {
+                return lookup.lookup(externalId);
+            }
+        };
+        PlaceProviderClient client = new PlaceProviderClient(provider, meterRegistry);
+        ReflectionTestUtils.setField(client, "cacheTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(client, "negativeCacheTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(client, "cacheMaxEntries", 1000);
+        ReflectionTestUtils.setField(client, "maxConcurrentCalls", 2);
+        ReflectionTestUtils.setField(client, "bulkheadWait", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(client, "callTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(client, "failureThreshold", 3);
+        ReflectionTestUtils.setField(client, "openDuration", Duration.ofMinutes(1));
+        client.init();
+        return client;
+    }
+
+    private double count(String outcome) {
+        var counter = meterRegistry.find(PlaceProviderClient.METRIC_NAME).tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface PlaceLookup {
+        Optional<ProviderPlace> lookup(String externalId);
+    }
+}
@@ -0,0 +1,205 @@
+package com.placehub.service.push;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import com.placehub.BackendApplication;
+import com.placehub.DTO.CreatePlaceListRequest;
+import com.placehub.DTO.SavePlaceRequest;
+import com.placehub.entity.Place;
+import com.placehub.entity.User;
+import com.placehub.repository.PlaceRepository;
+import com.placehub.repository.UserRepository;
+import com.placehub.security.JwtService;
+import com.placehub.service.FollowService;
+import com.placehub.service.PlaceListService;
+import com.placehub.service.SavedPlaceService;
+import com.placehub.service.graph.FollowGraphService;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Connection-scale test of the event streams: thousands of clients hold a stream open on a
+ * node with a few dozen request threads, and an event reaches all of them.
+ */
+class EventHubScaleTest {
+
+    private static final int CONNECTIONS = 2_000;
+    private static final int REQUEST_THREADS = 50;
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private static ConfigurableApplicationContext node;
+    private static ExecutorService clientExecutor;
+    private static HttpClient client;
+    private static User star;
+    private static List<User> fans;
+
+    @BeforeAll
+    static void startNode() {
+        node = new SpringApplicationBuilder(BackendApplication.class)
+                .run("--spring.datasource.url=jdbc:h2:mem:push;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + REQUEST_THREADS,
+                        "--server.tomcat.accept-count=" + CONNECTIONS);
+        UserRepository userRepository = node.getBean(UserRepository.class);
+        star = userRepository.save(user("star"));
+        fans = userRepository.saveAll(IntStream.range(0, CONNECTIONS).mapToObj(i -> user("fan" + i)).toList());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        node.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO follows (follower_id, following_id, created_at) " +
+                "VALUES (?, ?, ?)", fans.stream().map(fan -> new Object[] {fan.getId(), star.getId(), now}).toList());
+        node.getBean(FollowGraphService.class).rebuild();
+
+        // A few client threads too: the JDK client multiplexes its connections on a selector
+        clientExecutor = Executors.newFixedThreadPool(4);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientExecutor).build();
+    }
+
+    @AfterAll
+    static void stopNode() {
+        node.close();
+        clientExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should hold thousands of idle streams without a thread each and fan an event out to all of them")
+    void shouldFanOutToThousandsOfStreams() throws InterruptedException {
+        CountDownLatch connected = new CountDownLatch(CONNECTIONS + 1);
+        Map<Long, Stream> streams = new ConcurrentHashMap<>();
+        JwtService jwtService = node.getBean(JwtService.class);
+        String url = "http://localhost:" + node.getEnvironment().getProperty("local.server.port")
+                + "/api/users/me/events";
+        List<User> subscribers = new ArrayList<>(fans);
+        subscribers.add(star);
+        for (User subscriber : subscribers) {
+            Stream stream = new Stream(connected);
+            streams.put(subscriber.getId(), stream);
+            client.sendAsync(HttpRequest.newBuilder(URI.create(url))
+                    .header("Authorization", "Bearer " + jwtService.generateToken(subscriber))
+                    .header("Accept", "text/event-stream")
+                    .build(), BodyHandlers.fromLineSubscriber(stream));
+        }
+        assertTrue(connected.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), connected.getCount() + " streams did not open");
+        EventHub eventHub = node.getBean(EventHub.class);
+        assertEquals(CONNECTIONS + 1, eventHub.connectionCount());
+        assertTrue(ManagementFactory.getThreadMXBean().getThreadCount() < CONNECTIONS / 4,
+                "idle streams hold no thread");
+
+        // A save into a public list reaches every follower, and the owner's other devices
+        Place place = node.getBean(PlaceRepository.class).save(Place.builder()
+                .name("Rooftop")
+                .categoryCode((short) 1)
+                .latitude(41.39)
+                .longitude(2.17)
+                .createdBy(star)
+                .build());
+        Long listId = node.getBean(PlaceListService.class).createList(CreatePlaceListRequest.builder()
+                .name("Barcelona")
+                .isPublic(true)
+                .build(), star).getId();
+        long start = System.currentTimeMillis();
+        node.getBean(SavedPlaceService.class).savePlace(listId, SavePlaceRequest.builder()
+                .placeId(place.getId())
+                .build(), star);
+        for (User fan : fans) {
+            streams.get(fan.getId()).await("place-saved");
+        }
+        long fanOutMillis = System.currentTimeMillis() - start;
+        streams.get(star.getId()).await("lists-changed");
+        assertEquals(0, streams.get(star.getId()).count("place-saved"), "users are not told of their own saves");
+        assertTrue(fanOutMillis < TIMEOUT_SECONDS * 1000, "fanned out in " + fanOutMillis + " ms");
+
+        // A follow only reaches the followed user
+        User first = fans.get(0);
+        User second = fans.get(1);
+        node.getBean(FollowService.class).follow(second.getId(), first);
+        streams.get(second.getId()).await("follower");
+        assertEquals(1, streams.values().stream().mapToInt(stream -> stream.count("follower")).sum());
+    }
+
+    private static User user(String name) {
+        return User.builder()
+                .firstName(name)
+                .lastName("Push")
+                .email(name + "@push.example.com")
+                .password("encoded-password")
+                .build();
+    }
+
+    /**
+     * Client end of an event stream, counting the events it received by name.
+     */
+    private static final class Stream implements Flow.Subscriber<String> {
+
+        private final CountDownLatch connected;
+        private final Map<String, AtomicInteger> events = new ConcurrentHashMap<>();
+
+        Stream(CountDownLatch connected) {
+            this.connected = connected;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.equals(":connected")) {
+                connected.countDown();
+            } else if (line.startsWith("event:")) {
+                events.computeIfAbsent(line.substring("event:".length()), name -> new AtomicInteger())
+                        .incrementAndGet();
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        int count(String name) {
+            AtomicInteger count = events.get(name);
+            return count != null ? count.get() : 0;
+        }
+
+        synchronized void await(String name) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + TIMEOUT_SECONDS * 1000;
+            while (count(name) == 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                assertTrue(remaining > 0, name + " not received within " + TIMEOUT_SECONDS + " s");
+                wait(remaining);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.placehub.service.recommendation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import com.placehub.service.recommendation.CoOccurrenceIndex.Neighbor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CoOccurrenceIndex.
+ */
+class CoOccurrenceIndexTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should count shared lists like a brute-force count, skipping oversized lists")
+    void shouldMatchBruteForce() {
+        Random random = new Random(42);
+        List<Set<Long>> lists = new ArrayList<>();
+        for (int l = 0; l < 400; l++) {
+            Set<Long> list = new TreeSet<>();
+            int size = l == 0 ? 50 : 1 + random.nextInt(8);
+            while (list.size() < size) {
+                list.add(100L + random.nextInt(1_000));
+            }
+            lists.add(list);
+        }
+        CoOccurrenceIndex index = build(lists, 49, 1_000);
+
+        Map<Long, Map<Long, Integer>> shared = new HashMap<>();
+        Map<Long, Integer> listCounts = new HashMap<>();
+        for (Set<Long> list : lists.subList(1, lists.size())) {
+            for (long a : list) {
+                listCounts.merge(a, 1, Integer::sum);
+                for (long b : list) {
+                    if (a != b) {
+                        shared.computeIfAbsent(a, id -> new HashMap<>()).merge(b, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        for (long place = 100; place < 1_100; place++) {
+            Map<Long, Integer> expected = shared.getOrDefault(place, Map.of());
+            List<Neighbor> neighbors = index.neighbors(place, 1_000);
+            assertEquals(expected.size(), neighbors.size());
+            for (Neighbor neighbor : neighbors) {
+                int count = expected.get(neighbor.placeId());
+                assertEquals(count, neighbor.shared());
+                assertEquals(count / Math.sqrt(listCounts.get(place) * listCounts.get(neighbor.placeId())),
+                        neighbor.score(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should update incrementally like a rebuild, and sum similarities over seeds")
+    void shouldUpdateIncrementally() {
+        CoOccurrenceIndex index = build(List.of(Set.of(1L, 2L, 3L), Set.of(1L, 2L)), 100, 10);
+        index.added(4, new long[] {1, 2});
+        index.removed(3, new long[] {1, 2});
+        CoOccurrenceIndex rebuilt = build(List.of(Set.of(1L, 2L, 4L), Set.of(1L, 2L)), 100, 10);
+        assertEquals(rebuilt.neighbors(1, 10), index.neighbors(1, 10));
+        assertEquals(rebuilt.neighbors(4, 10), index.neighbors(4, 10));
+        assertTrue(index.neighbors(3, 10).isEmpty());
+
+        // 2 is related to both seeds, 4 to one of them
+        List<Neighbor> recommended = index.recommend(List.of(1L, 4L), 10, id -> false);
+        assertEquals(List.of(2L), recommended.stream().map(Neighbor::placeId).toList());
+        assertEquals(3, recommended.get(0).shared());
+        assertTrue(index.recommend(List.of(1L), 10, id -> id == 2).stream().noneMatch(n -> n.placeId() == 2));
+    }
+
+    @Test
+    @DisplayName("Should keep at most the configured number of neighbors per place")
+    void shouldBoundNeighbors() {
+        List<Set<Long>> lists = new ArrayList<>();
+        for (long other = 2; other < 30; other++) {
+            lists.add(Set.of(1L, other));
+        }
+        lists.add(Set.of(1L, 2L));
+        CoOccurrenceIndex index = build(lists, 100, 5);
+        List<Neighbor> neighbors = index.neighbors(1, 100);
+        assertEquals(5, neighbors.size());
+        assertEquals(2L, neighbors.get(0).placeId(), "the strongest neighbor is kept");
+
+        index.added(1, new long[] {99});
+        assertEquals(5, index.neighbors(1, 100).size());
+    }
+
+    private CoOccurrenceIndex build(List<Set<Long>> lists, int maxListSize, int maxNeighbors) {
+        int size = lists.stream().mapToInt(Set::size).sum();
+        long[] listIds = new long[size];
+        long[] placeIds = new long[size];
+        int i = 0;
+        for (int l = 0; l < lists.size(); l++) {
+            for (long place : lists.get(l)) {
+                listIds[i] = l;
+                placeIds[i++] = place;
+            }
+        }
+        return CoOccurrenceIndex.build(listIds, placeIds, size, maxNeighbors, maxListSize, pool);
+    }
+}
@@ -0,0 +1,110 @@
+package com.placehub.service.socialgeo;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import com.placehub.service.socialgeo.SaveGridIndex.Hit;
+import com.placehub.util.GeoUtils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SaveGridIndex.
+ */
+class SaveGridIndexTest {
+
+    private static final int USERS = 2_000;
+    private static final int PLACES = 500;
+    private static final double LATITUDE = 48.85;
+    private static final double LONGITUDE = 2.35;
+
+    @Test
+    @DisplayName("Should match a brute-force search across bulk load, saves and removals, for any followee count")
+    void shouldMatchBruteForce() {
+        Random random = new Random(7);
+        // Float-exact coordinates, as stored by the index
+        double[][] places = new double[PLACES][];
+        for (int p = 0; p < PLACES; p++) {
+            places[p] = new double[] {(float) (LATITUDE + (random.nextDouble() - 0.5) * 0.2),
+                    (float) (LONGITUDE + (random.nextDouble() - 0.5) * 0.2)};
+        }
+
+        int size = 20_000;
+        long[] saverIds = new long[size];
+        long[] placeIds = new long[size];
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        Map<List<Long>, Integer> expected = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            int place = random.nextInt(PLACES);
+            saverIds[i] = 10_000 + random.nextInt(USERS);
+            placeIds[i] = place;
+            latitudes[i] = places[place][0];
+            longitudes[i] = places[place][1];
+            expected.merge(List.of(saverIds[i], placeIds[i]), 1, Integer::sum);
+        }
+        SaveGridIndex index = SaveGridIndex.build(saverIds, placeIds, latitudes, longitudes, size, 0.01);
+        assertEquals(expected.size(), index.size(), "a user saving a place twice is one posting");
+
+        for (int i = 0; i < 5_000; i++) {
+            long saver = 10_000 + random.nextInt(USERS);
+            int place = random.nextInt(PLACES);
+            List<Long> key = List.of(saver, (long) place);
+            if (random.nextInt(3) > 0) {
+                index.add(saver, place, places[place][0], places[place][1]);
+                expected.merge(key, 1, Integer::sum);
+            } else {
+                index.remove(saver, place, places[place][0], places[place][1]);
+                expected.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+        assertEquals(expected.size(), index.size());
+
+        // Few, some and most users, so every intersection strategy runs
+        for (int followees : new int[] {3, 150, 1_900}) {
+            long[] following = LongStream.range(0, USERS).map(i -> 10_000 + i)
+                    .filter(i -> random.nextInt(USERS) < followees).sorted().toArray();
+            for (double radius : new double[] {500, 2_000, 8_000}) {
+                Map<Long, Integer> counts = new HashMap<>();
+                expected.keySet().forEach(save -> {
+                    double[] place = places[save.get(1).intValue()];
+                    if (Arrays.binarySearch(following, save.get(0)) >= 0
+                            && GeoUtils.distanceMeters(LATITUDE, LONGITUDE, place[0], place[1]) <= radius) {
+                        counts.merge(save.get(1), 1, Integer::sum);
+                    }
+                });
+
+                List<Hit> hits = index.search(following, LATITUDE, LONGITUDE, radius, PLACES, 2);
+                Map<Long, Integer> found = new HashMap<>();
+                hits.forEach(hit -> found.put(hit.placeId(), hit.saverCount()));
+                assertEquals(counts, found, followees + " followees within " + radius + " m");
+                for (int i = 1; i < hits.size(); i++) {
+                    assertTrue(hits.get(i - 1).saverCount() >= hits.get(i).saverCount(), "most saved first");
+                }
+                hits.forEach(hit -> assertEquals(Math.min(2, hit.saverCount()), hit.saverIds().length));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should search across the antimeridian and respect the limit")
+    void shouldWrapAroundAndLimit() {
+        SaveGridIndex index = new SaveGridIndex(0.01);
+        index.add(1, 100, -17.75, 179.999);
+        index.add(1, 101, -17.75, -179.999);
+        index.add(2, 101, -17.75, -179.999);
+        index.add(3, 102, -17.75, -179.999);
+
+        List<Hit> hits = index.search(new long[] {1, 2}, -17.75, 179.9995, 1_000, 10, 3);
+        assertEquals(List.of(101L, 100L), hits.stream().map(Hit::placeId).toList());
+        assertEquals(2, hits.get(0).saverCount());
+        assertEquals(1, index.search(new long[] {1, 2}, -17.75, 179.9995, 1_000, 1, 3).size());
+    }
+}
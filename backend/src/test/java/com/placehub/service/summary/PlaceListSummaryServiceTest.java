@@ -0,0 +1,153 @@
+package com.placehub.service.summary;
+
+import java.util.List;
+import java.util.Map;
+
+import com.placehub.DTO.CreatePlaceListRequest;
+import com.placehub.DTO.SavePlaceRequest;
+import com.placehub.DTO.UpdateSavedPlaceRequest;
+import com.placehub.TestFixtures;
+import com.placehub.entity.User;
+import com.placehub.service.PlaceListService;
+import com.placehub.service.SavedPlaceService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for PlaceListSummaryService, checking that incremental maintenance
+ * through SavedPlaceService matches a full recomputation.
+ */
+@SpringBootTest
+class PlaceListSummaryServiceTest {
+
+    @Autowired
+    private PlaceListSummaryService placeListSummaryService;
+
+    @Autowired
+    private PlaceListService placeListService;
+
+    @Autowired
+    private SavedPlaceService savedPlaceService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private Long listId;
+    private List<Long> placeIds;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.user("summary-owner@example.com");
+        listId = placeListService.createList(CreatePlaceListRequest.builder().name("Lisbon").build(), owner).getId();
+
+        // Four corners and a point in the middle
+        placeIds = fixtures.places(owner, new double[] {38.70, -9.20}, new double[] {38.80, -9.20},
+                new double[] {38.70, -9.10}, new double[] {38.80, -9.10}, new double[] {38.75, -9.15});
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll(List.of(owner), placeIds);
+    }
+
+    @Test
+    @DisplayName("Should keep counters, rating, bounds and thumbnail in step with saves, edits and removals")
+    void shouldMaintainSummaryIncrementally() {
+        Long[] ids = new Long[5];
+        for (int i = 0; i < 5; i++) {
+            ids[i] = savedPlaceService.savePlace(listId, SavePlaceRequest.builder()
+                    .placeId(placeIds.get(i))
+                    .rating(i + 1)
+                    .visited(i % 2 == 0)
+                    .imageUrl(i < 2 ? "https://img/" + i : null)
+                    .build(), owner).getId();
+        }
+        Map<String, Object> summary = summary();
+        assertEquals(5L, ((Number) summary.get("ITEM_COUNT")).longValue());
+        assertEquals(3L, ((Number) summary.get("VISITED_COUNT")).longValue());
+        assertEquals(15L, ((Number) summary.get("RATING_SUM")).longValue());
+        assertEquals(-9.20, (Double) summary.get("MIN_LONGITUDE"), 1e-9);
+        assertEquals("https://img/1", summary.get("COVER_IMAGE_URL"));
+        assertSameSummary(summary, rebuilt());
+
+        savedPlaceService.updateSavedPlace(ids[0], UpdateSavedPlaceRequest.builder().rating(5).visited(false).build(),
+                owner);
+        assertEquals(19L, ((Number) summary().get("RATING_SUM")).longValue());
+        assertSameSummary(summary(), rebuilt());
+
+        // Removing the cover item falls back to the older image, removing corners shrinks the box
+        savedPlaceService.removeSavedPlace(ids[1], null, owner);
+        assertEquals("https://img/0", summary().get("COVER_IMAGE_URL"));
+        savedPlaceService.removeSavedPlace(ids[0], null, owner);
+        savedPlaceService.removeSavedPlace(ids[2], null, owner);
+        summary = summary();
+        assertEquals(2L, ((Number) summary.get("ITEM_COUNT")).longValue());
+        assertEquals(38.75, (Double) summary.get("MIN_LATITUDE"), 1e-9);
+        assertNull(summary.get("COVER_IMAGE_URL"));
+        assertSameSummary(summary, rebuilt());
+    }
+
+    @Test
+    @DisplayName("Should expose the summary on the list browse endpoint")
+    void shouldExposeSummaryOnBrowse() {
+        savedPlaceService.savePlace(listId, SavePlaceRequest.builder().placeId(placeIds.get(0))
+                .rating(4).build(), owner);
+        savedPlaceService.savePlace(listId, SavePlaceRequest.builder().placeId(placeIds.get(3))
+                .rating(2).build(), owner);
+
+        var list = placeListService.getMyLists(null, 10, owner).items().stream()
+                .filter(item -> item.getId().equals(listId)).findFirst().orElseThrow();
+        assertEquals(2, list.getSummary().getItemCount());
+        assertEquals(3.0, list.getSummary().getAverageRating(), 1e-9);
+        assertEquals(38.75, list.getSummary().getCenterLatitude(), 1e-9);
+        assertEquals(-9.10, list.getSummary().getMaxLongitude(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should create the summaries of lists that have none")
+    void shouldCreateMissingSummaries() {
+        savedPlaceService.savePlace(listId, SavePlaceRequest.builder().placeId(placeIds.get(0))
+                .rating(4)
+                .imageUrl("https://img/0").build(), owner);
+        savedPlaceService.savePlace(listId, SavePlaceRequest.builder().placeId(placeIds.get(3)).visited(true).build(),
+                owner);
+        Map<String, Object> expected = summary();
+
+        jdbcTemplate.update("DELETE FROM place_list_summaries WHERE place_list_id = ?", listId);
+        placeListSummaryService.createMissingSummaries();
+        assertSameSummary(expected, summary());
+    }
+
+    private Map<String, Object> summary() {
+        return jdbcTemplate.queryForMap("SELECT * FROM place_list_summaries WHERE place_list_id = ?", listId);
+    }
+
+    // Coordinate sums may differ from a recomputation in the last bits
+    private static void assertSameSummary(Map<String, Object> expected, Map<String, Object> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((column, value) -> {
+            if (value instanceof Double number) {
+                assertEquals(number, (Double) actual.get(column), 1e-9, column);
+            } else {
+                assertEquals(value, actual.get(column), column);
+            }
+        });
+    }
+
+    private Map<String, Object> rebuilt() {
+        placeListSummaryService.rebuild(List.of(listId));
+        return summary();
+    }
+}
@@ -0,0 +1,207 @@
+package com.placehub.service.summary;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import com.placehub.DTO.CreatePlaceListRequest;
+import com.placehub.DTO.PlaceStatsResponse;
+import com.placehub.DTO.SavePlaceRequest;
+import com.placehub.DTO.UpdateSavedPlaceRequest;
+import com.placehub.TestFixtures;
+import com.placehub.entity.PlaceRatingSummary;
+import com.placehub.entity.User;
+import com.placehub.service.PlaceListService;
+import com.placehub.service.PlaceService;
+import com.placehub.service.SavedPlaceService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for PlaceRatingSummaryService, checking that incremental maintenance
+ * through SavedPlaceService matches a full recomputation.
+ */
+@SpringBootTest
+class PlaceRatingSummaryServiceTest {
+
+    @Autowired
+    private PlaceRatingSummaryService placeRatingSummaryService;
+
+    @Autowired
+    private PlaceListService placeListService;
+
+    @Autowired
+    private SavedPlaceService savedPlaceService;
+
+    @Autowired
+    private PlaceService placeService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User alice;
+    private User bob;
+    private List<Long> placeIds;
+    private Long place;
+    private Long otherPlace;
+
+    @BeforeEach
+    void setUp() {
+        alice = fixtures.user("rating-alice@example.com");
+        bob = fixtures.user("rating-bob@example.com");
+        placeIds = fixtures.places(alice, 2, 41.39, 2.17);
+        place = placeIds.get(0);
+        otherPlace = placeIds.get(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll(List.of(alice, bob), placeIds);
+    }
+
+    @Test
+    @DisplayName("Should keep the rating histogram and visited count in step with saves, edits and removals")
+    void shouldMaintainSummaryIncrementally() {
+        Long aliceList = list(alice);
+        Long bobList = list(bob);
+        Long aliceEntry = savedPlaceService.savePlace(aliceList, SavePlaceRequest.builder().placeId(place)
+                .rating(4).visited(true).build(), alice).getId();
+        Long bobEntry = savedPlaceService.savePlace(bobList, SavePlaceRequest.builder().placeId(place)
+                .rating(2).build(), bob).getId();
+        savedPlaceService.savePlace(bobList, SavePlaceRequest.builder().placeId(otherPlace).build(), bob);
+
+        PlaceStatsResponse stats = placeService.getPlaceStats(place);
+        assertEquals(2, stats.getRatingCount());
+        assertEquals(3.0, stats.getAverageRating(), 1e-9);
+        assertEquals(List.of(0L, 1L, 0L, 1L, 0L), stats.getRatingHistogram());
+        assertEquals(1, stats.getVisitedCount());
+        assertNull(placeService.getPlaceStats(otherPlace).getAverageRating(), "saved but never rated");
+        assertSameSummaries();
+
+        savedPlaceService.updateSavedPlace(bobEntry, UpdateSavedPlaceRequest.builder().rating(5).visited(true)
+                .build(), bob);
+        stats = placeService.getPlaceStats(place);
+        assertEquals(List.of(0L, 0L, 0L, 1L, 1L), stats.getRatingHistogram(), "the old rating is subtracted");
+        assertEquals(4.5, stats.getAverageRating(), 1e-9);
+        assertEquals(2, stats.getVisitedCount());
+        assertSameSummaries();
+
+        savedPlaceService.removeSavedPlace(aliceEntry, null, alice);
+        stats = placeService.getPlaceStats(place);
+        assertEquals(1, stats.getRatingCount());
+        assertEquals(5.0, stats.getAverageRating(), 1e-9);
+        assertEquals(1, stats.getVisitedCount());
+        assertSameSummaries();
+    }
+
+    @Test
+    @DisplayName("Should create the missing summaries and recompute merged places")
+    void shouldRebuildSummaries() {
+        Long aliceList = list(alice);
+        savedPlaceService.savePlace(aliceList, SavePlaceRequest.builder().placeId(place).rating(3).build(), alice);
+        savedPlaceService.savePlace(list(bob), SavePlaceRequest.builder().placeId(otherPlace).rating(5).visited(true)
+                .build(), bob);
+        Map<String, Object> expected = summary(place);
+
+        jdbcTemplate.update("DELETE FROM place_rating_summaries WHERE place_id = ?", place);
+        placeRatingSummaryService.createMissingSummaries();
+        assertEquals(expected, summary(place));
+
+        placeService.mergePlace(otherPlace, place, alice);
+        PlaceStatsResponse stats = placeService.getPlaceStats(place);
+        assertEquals(2, stats.getRatingCount());
+        assertEquals(4.0, stats.getAverageRating(), 1e-9);
+        assertEquals(1, stats.getVisitedCount());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM place_rating_summaries WHERE place_id = ?",
+                Integer.class, otherPlace));
+    }
+
+    @Test
+    @DisplayName("Should keep one entry per list when merging places saved in the same list")
+    void shouldMergePlacesSharingAList() {
+        Long aliceList = list(alice);
+        savedPlaceService.savePlace(aliceList, SavePlaceRequest.builder().placeId(place).rating(3).build(), alice);
+        Long doubled = savedPlaceService.savePlace(aliceList, SavePlaceRequest.builder().placeId(otherPlace).rating(5)
+                .build(), alice).getId();
+        savedPlaceService.savePlace(list(bob), SavePlaceRequest.builder().placeId(otherPlace).rating(4).build(), bob);
+        long version = placeListService.getChanges(aliceList, 0, alice).getVersion();
+
+        placeService.mergePlace(otherPlace, place, alice);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM saved_places WHERE place_list_id = ?",
+                Integer.class, aliceList));
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT item_count FROM place_list_summaries " +
+                "WHERE place_list_id = ?", Long.class, aliceList));
+        assertEquals(List.of(doubled), placeListService.getChanges(aliceList, version, alice).getDeletedIds());
+        PlaceStatsResponse stats = placeService.getPlaceStats(place);
+        assertEquals(2, stats.getRatingCount(), "the kept entry and bob's moved one");
+        assertEquals(3.5, stats.getAverageRating(), 1e-9);
+        assertEquals(2, stats.getSaveCount());
+        assertSameSummaries();
+    }
+
+    @Test
+    @DisplayName("Should keep concurrent edits of one entry and their ratings in the summary")
+    void shouldSerializeConcurrentEdits() throws Exception {
+        Long entry = savedPlaceService.savePlace(list(alice), SavePlaceRequest.builder().placeId(place)
+                .rating(1).build(), alice).getId();
+
+        // Note-only and rating-only edits race; neither may write back a stale copy of the other
+        List<Callable<Object>> edits = IntStream.range(0, 16).<Callable<Object>>mapToObj(i -> () ->
+                savedPlaceService.updateSavedPlace(entry, i % 2 == 0
+                        ? UpdateSavedPlaceRequest.builder().note("note " + i).build()
+                        : UpdateSavedPlaceRequest.builder().rating(i % 4 + 2).visited(i % 3 == 0).build(), alice))
+                .toList();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (Future<Object> edit : executor.invokeAll(edits)) {
+                edit.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT note, rating FROM saved_places WHERE id = ?", entry);
+        assertNotNull(row.get("NOTE"));
+        assertNotEquals(1, ((Number) row.get("RATING")).intValue());
+        assertSameSummaries();
+    }
+
+    // A place with no rated or visited entry may have no summary row or an all-zero one
+    private void assertSameSummaries() {
+        for (Long placeId : placeIds) {
+            List<Long> incremental = counts(placeId);
+            placeRatingSummaryService.rebuild(List.of(placeId));
+            assertEquals(incremental, counts(placeId), "place " + placeId);
+        }
+    }
+
+    private List<Long> counts(long placeId) {
+        PlaceRatingSummary summary = placeRatingSummaryService.getSummary(placeId);
+        return List.of(summary.getRatingCount(), summary.getRatingSum(), summary.getRating1Count(),
+                summary.getRating2Count(), summary.getRating3Count(), summary.getRating4Count(),
+                summary.getRating5Count(), summary.getVisitedCount());
+    }
+
+    private Map<String, Object> summary(long placeId) {
+        return jdbcTemplate.queryForMap("SELECT * FROM place_rating_summaries WHERE place_id = ?", placeId);
+    }
+
+    private Long list(User user) {
+        return placeListService.createList(CreatePlaceListRequest.builder().name("Barcelona").build(), user).getId();
+    }
+}
@@ -0,0 +1,134 @@
+package com.placehub.service.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.placehub.DTO.CreatePlaceListRequest;
+import com.placehub.DTO.MoveSavedPlacesRequest;
+import com.placehub.DTO.PlaceListChangesResponse;
+import com.placehub.DTO.SavePlaceRequest;
+import com.placehub.DTO.SavedPlaceResponse;
+import com.placehub.DTO.UpdateSavedPlaceRequest;
+import com.placehub.TestFixtures;
+import com.placehub.entity.User;
+import com.placehub.exception.PlaceListVersionConflictException;
+import com.placehub.service.PlaceListService;
+import com.placehub.service.SavedPlaceService;
+import com.placehub.service.ordering.SavedPlaceOrderService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for list versions and delta sync against the H2 test database.
+ */
+@SpringBootTest
+class PlaceListChangeServiceTest {
+
+    private static final int LIST_SIZE = 4;
+
+    @Autowired
+    private PlaceListService placeListService;
+
+    @Autowired
+    private SavedPlaceService savedPlaceService;
+
+    @Autowired
+    private SavedPlaceOrderService savedPlaceOrderService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private Long listId;
+    private List<Long> placeIds;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.user("sync-owner@example.com");
+        listId = placeListService.createList(CreatePlaceListRequest.builder().name("Berlin").build(), owner).getId();
+        placeIds = fixtures.places(owner, LIST_SIZE, 52.52, 13.40);
+        ids = new ArrayList<>();
+        for (Long placeId : placeIds) {
+            ids.add(savedPlaceService.savePlace(listId, SavePlaceRequest.builder().placeId(placeId).build(), owner)
+                    .getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll(List.of(owner), placeIds);
+    }
+
+    @Test
+    @DisplayName("Should return only the items changed or removed since the client version")
+    void shouldReturnDeltaSinceVersion() {
+        PlaceListChangesResponse initial = placeListService.getChanges(listId, 0, owner);
+        assertFalse(initial.isFull(), "the log covers the list since its creation");
+        assertEquals(LIST_SIZE, initial.getItems().size());
+        long since = initial.getVersion();
+        assertEquals(LIST_SIZE, since);
+
+        SavedPlaceResponse updated = savedPlaceService.updateSavedPlace(ids.get(1),
+                UpdateSavedPlaceRequest.builder().rating(4).expectedVersion(since).build(), owner);
+        assertEquals(since + 1, updated.getListVersion());
+        long version = savedPlaceService.removeSavedPlace(ids.get(2), updated.getListVersion(), owner);
+
+        PlaceListChangesResponse delta = placeListService.getChanges(listId, since, owner);
+        assertFalse(delta.isFull());
+        assertEquals(version, delta.getVersion());
+        assertEquals(version, delta.getList().getVersion());
+        assertEquals(List.of(ids.get(1)), delta.getItems().stream().map(SavedPlaceResponse::getId).toList());
+        assertEquals(4, delta.getItems().get(0).getRating());
+        assertEquals(List.of(ids.get(2)), delta.getDeletedIds());
+
+        PlaceListChangesResponse upToDate = placeListService.getChanges(listId, version, owner);
+        assertTrue(upToDate.getItems().isEmpty());
+        assertTrue(upToDate.getDeletedIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should log only the moved items and reject writes against a stale version")
+    void shouldRejectStaleWrites() {
+        long version = placeListService.getChanges(listId, 0, owner).getVersion();
+        long moved = savedPlaceOrderService.moveItems(listId,
+                new MoveSavedPlacesRequest(List.of(ids.get(3)), null, version), owner).version();
+        assertEquals(version + 1, moved);
+
+        assertThrows(PlaceListVersionConflictException.class, () -> savedPlaceService.updateSavedPlace(ids.get(0),
+                UpdateSavedPlaceRequest.builder().visited(true).expectedVersion(version).build(), owner));
+        assertThrows(PlaceListVersionConflictException.class,
+                () -> savedPlaceService.removeSavedPlace(ids.get(0), version, owner));
+
+        PlaceListChangesResponse delta = placeListService.getChanges(listId, version, owner);
+        assertFalse(delta.isFull());
+        assertEquals(List.of(ids.get(3)), delta.getItems().stream().map(SavedPlaceResponse::getId).toList());
+        assertTrue(delta.getItems().get(0).getRank().compareTo(
+                placeListService.getChanges(listId, 0, owner).getItems().get(1).getRank()) < 0);
+    }
+
+    @Test
+    @DisplayName("Should fall back to a full snapshot once the log no longer reaches the client version")
+    void shouldFallBackToSnapshotAfterPruning() {
+        long since = placeListService.getChanges(listId, 0, owner).getVersion();
+        savedPlaceService.removeSavedPlace(ids.get(0), null, owner);
+        jdbcTemplate.update("DELETE FROM place_list_changes WHERE place_list_id = ? AND version <= ?",
+                listId, since + 1);
+
+        PlaceListChangesResponse response = placeListService.getChanges(listId, since, owner);
+        assertTrue(response.isFull());
+        assertEquals(ids.subList(1, LIST_SIZE), response.getItems().stream().map(SavedPlaceResponse::getId).toList());
+        assertTrue(response.getDeletedIds().isEmpty());
+    }
+}
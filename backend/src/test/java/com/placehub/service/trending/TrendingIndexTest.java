@@ -0,0 +1,90 @@
+package com.placehub.service.trending;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.placehub.service.trending.TrendingIndex.Trend;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrendingIndex and DecayedSpaceSaving.
+ */
+class TrendingIndexTest {
+
+    private static final long HOUR = 3_600_000;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Should find heavy hitters among many rare items in bounded memory")
+    void shouldFindHeavyHitters() {
+        DecayedSpaceSaving sketch = new DecayedSpaceSaving(20, 24 * HOUR, START);
+        Random random = new Random(42);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            // Items 1 to 3 make 30% of the stream, 10 000 other items the rest
+            long id = random.nextInt(10) < 3 ? 1 + random.nextInt(3) : 1_000 + random.nextInt(10_000);
+            sketch.add(id, START);
+            expected.merge(id, 1, Integer::sum);
+        }
+        assertEquals(20, sketch.size());
+        DecayedSpaceSaving.Entry[] top = sketch.top(3, START);
+        assertEquals(List.of(1L, 2L, 3L), List.of(top[0].id(), top[1].id(), top[2].id()).stream().sorted().toList());
+        for (DecayedSpaceSaving.Entry entry : top) {
+            int count = expected.get(entry.id());
+            assertTrue(entry.count() >= count && entry.count() - entry.error() <= count,
+                    "the estimate overshoots by at most its error");
+        }
+    }
+
+    @Test
+    @DisplayName("Should let older saves fade out with the half-life")
+    void shouldDecay() {
+        TrendingIndex index = new TrendingIndex(10, 100, HOUR);
+        for (int i = 0; i < 8; i++) {
+            index.add("city:fr:paris", 1, START);
+        }
+        for (int i = 0; i < 3; i++) {
+            index.add("city:fr:paris", 2, START + 2 * HOUR);
+        }
+
+        List<Trend> top = index.top(List.of("city:fr:paris"), 10, START + 2 * HOUR);
+        assertEquals(2, top.get(0).placeId(), "3 recent saves beat 8 saves two half-lives old");
+        assertEquals(3.0, top.get(0).score(), 1e-9);
+        assertEquals(2.0, top.get(1).score(), 1e-9);
+        assertEquals(0.75, index.top(List.of("city:fr:paris"), 1, START + 4 * HOUR).get(0).score(), 1e-9);
+
+        // Far beyond the weight range: the landmark moves and counts stay finite
+        index.add("city:fr:paris", 3, START + 100 * HOUR);
+        assertEquals(3, index.top(List.of("city:fr:paris"), 1, START + 100 * HOUR).get(0).placeId());
+    }
+
+    @Test
+    @DisplayName("Should restore snapshots of changed regions and drop least recently used regions")
+    void shouldSnapshotAndEvictRegions() {
+        TrendingIndex index = new TrendingIndex(10, 2, HOUR);
+        index.add("cell:1:1", 7, START);
+        index.add("cell:1:1", 7, START);
+        index.add("cell:1:2", 8, START);
+        Map<String, byte[]> changed = index.drainDirty();
+        assertEquals(2, changed.size());
+        assertTrue(index.drainDirty().isEmpty());
+
+        TrendingIndex restored = new TrendingIndex(10, 2, HOUR);
+        changed.forEach(restored::restore);
+        List<Trend> top = restored.top(List.of("cell:1:1", "cell:1:2"), 10, START + HOUR);
+        assertEquals(List.of(new Trend(7, 1.0), new Trend(8, 0.5)), top);
+
+        index.top(List.of("cell:1:1"), 1, START);
+        index.add("cell:9:9", 9, START);
+        assertEquals(2, index.regionCount());
+        assertEquals(Set.of("cell:1:2"), index.drainEvicted());
+        assertEquals(Set.of("cell:9:9"), index.drainDirty().keySet());
+    }
+}
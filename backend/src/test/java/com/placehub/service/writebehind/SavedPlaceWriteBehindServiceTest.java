@@ -0,0 +1,172 @@
+package com.placehub.service.writebehind;
+
+import java.util.List;
+import java.util.Map;
+
+import com.placehub.DTO.CreatePlaceListRequest;
+import com.placehub.DTO.SavePlaceRequest;
+import com.placehub.DTO.SavedPlaceResponse;
+import com.placehub.DTO.UpdateSavedPlaceRequest;
+import com.placehub.TestFixtures;
+import com.placehub.entity.User;
+import com.placehub.exception.PlaceListVersionConflictException;
+import com.placehub.exception.SavedPlaceNotFoundException;
+import com.placehub.service.PlaceListService;
+import com.placehub.service.PlaceService;
+import com.placehub.service.SavedPlaceService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the write-behind of saved place edits, flushed explicitly.
+ */
+@SpringBootTest
+class SavedPlaceWriteBehindServiceTest {
+
+    @Autowired
+    private SavedPlaceWriteBehindService savedPlaceWriteBehindService;
+
+    @Autowired
+    private SavedPlaceService savedPlaceService;
+
+    @Autowired
+    private PlaceListService placeListService;
+
+    @Autowired
+    private PlaceService placeService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+    private User owner;
+    private Long listId;
+    private List<Long> placeIds;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        owner = fixtures.user("write-behind-owner@example.com");
+        placeIds = fixtures.places(owner, 2, 45.76, 4.83);
+        listId = placeListService.createList(CreatePlaceListRequest.builder().name("Lyon").build(), owner).getId();
+        ReflectionTestUtils.setField(savedPlaceWriteBehindService, "enabled", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        savedPlaceWriteBehindService.flush();
+        ReflectionTestUtils.setField(savedPlaceWriteBehindService, "enabled", false);
+        fixtures.deleteAll(List.of(owner), placeIds);
+    }
+
+    @Test
+    @DisplayName("Should coalesce edits in memory and write them with the summaries in one flush")
+    void shouldCoalesceEditsUntilFlush() {
+        Long id = save(0);
+        long version = version();
+
+        savedPlaceService.updateSavedPlace(id, UpdateSavedPlaceRequest.builder().visited(true).build(), owner);
+        savedPlaceService.updateSavedPlace(id, UpdateSavedPlaceRequest.builder().rating(2).build(), owner);
+        savedPlaceService.updateSavedPlace(id, UpdateSavedPlaceRequest.builder().note("Go early").build(), owner);
+        SavedPlaceResponse response = savedPlaceService.updateSavedPlace(id,
+                UpdateSavedPlaceRequest.builder().rating(4).build(), owner);
+        assertEquals(4, response.getRating());
+        assertTrue(response.getVisited());
+        assertEquals("Go early", response.getNote());
+        assertEquals(version, version(), "nothing is written before the flush");
+        assertNull(row(id).get("RATING"));
+
+        savedPlaceWriteBehindService.flush();
+        Map<String, Object> row = row(id);
+        assertEquals(4, row.get("RATING"));
+        assertEquals(true, row.get("VISITED"));
+        assertEquals("Go early", row.get("NOTE"));
+        assertEquals(version + 1, version(), "one list change for all the edits");
+        assertEquals(4.0, placeService.getPlaceStats(placeIds.get(0)).getAverageRating(), 1e-9);
+        assertEquals(1, placeService.getPlaceStats(placeIds.get(0)).getVisitedCount());
+        assertEquals(4L, jdbcTemplate.queryForObject("SELECT rating_sum FROM place_list_summaries " +
+                "WHERE place_list_id = ?", Long.class, listId));
+    }
+
+    @Test
+    @DisplayName("Should let the owner read their buffered edits and fold them into synchronous writes")
+    void shouldReadOwnWritesAndOrderSynchronousWrites() throws Exception {
+        Long first = save(0);
+        Long second = save(1);
+
+        savedPlaceService.updateSavedPlace(first, UpdateSavedPlaceRequest.builder().note("Terrace").build(), owner);
+        mockMvc.perform(get("/api/lists/" + listId).with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[?(@.id == " + first + ")].note").value("Terrace"));
+        assertEquals("Terrace", row(first).get("NOTE"), "the owner's read flushes their edits of the list");
+
+        // Not bufferable: the pending rating is applied together with the image
+        savedPlaceService.updateSavedPlace(first, UpdateSavedPlaceRequest.builder().rating(5).build(), owner);
+        savedPlaceService.updateSavedPlace(first, UpdateSavedPlaceRequest.builder().imageUrl("https://img/1").build(),
+                owner);
+        assertEquals(5, row(first).get("RATING"));
+        assertEquals("https://img/1", row(first).get("IMAGE_URL"));
+        assertEquals("Terrace", row(first).get("NOTE"));
+
+        // Pending edits of a removed item are dropped
+        savedPlaceService.updateSavedPlace(second, UpdateSavedPlaceRequest.builder().rating(1).build(), owner);
+        savedPlaceService.removeSavedPlace(second, null, owner);
+        savedPlaceWriteBehindService.flush();
+        assertEquals(1, placeService.getPlaceStats(placeIds.get(0)).getRatingCount());
+        assertEquals(0, placeService.getPlaceStats(placeIds.get(1)).getRatingCount());
+    }
+
+    @Test
+    @DisplayName("Should keep buffered edits when a synchronous write is rejected")
+    void shouldKeepBufferedEditsOfRejectedWrites() {
+        Long id = save(0);
+        long version = version();
+        User stranger = fixtures.user("write-behind-stranger@example.com");
+        savedPlaceService.updateSavedPlace(id, UpdateSavedPlaceRequest.builder().note("Book ahead").build(), owner);
+
+        assertThrows(SavedPlaceNotFoundException.class, () -> savedPlaceService.updateSavedPlace(id,
+                UpdateSavedPlaceRequest.builder().imageUrl("https://img/1").build(), stranger));
+        assertThrows(SavedPlaceNotFoundException.class, () -> savedPlaceService.removeSavedPlace(id, null, stranger));
+        assertThrows(PlaceListVersionConflictException.class,
+                () -> savedPlaceService.removeSavedPlace(id, version - 1, owner));
+
+        savedPlaceWriteBehindService.flush();
+        assertEquals("Book ahead", row(id).get("NOTE"));
+    }
+
+    private Long save(int place) {
+        return savedPlaceService.savePlace(listId, SavePlaceRequest.builder().placeId(placeIds.get(place)).build(),
+                owner).getId();
+    }
+
+    private long version() {
+        return jdbcTemplate.queryForObject("SELECT version FROM place_lists WHERE id = ?", Long.class, listId);
+    }
+
+    private Map<String, Object> row(Long id) {
+        return jdbcTemplate.queryForMap("SELECT * FROM saved_places WHERE id = ?", id);
+    }
+}